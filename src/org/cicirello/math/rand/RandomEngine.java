@@ -0,0 +1,155 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.math.rand;
+
+import java.util.Random;
+
+/**
+ * <p>A RandomEngine is a fast, splittable pseudorandom number generator (PRNG), intended
+ * to be owned by a single search thread (or a single split copy of a search or operator).  
+ * Unlike {@link java.util.concurrent.ThreadLocalRandom}, which requires a thread-local lookup on every
+ * use, a RandomEngine is simply kept as a field by the object that uses it.  And unlike
+ * ThreadLocalRandom, a RandomEngine can be seeded, so that parallel runs are reproducible
+ * from a single seed: each call to {@link #split} deterministically derives a new RandomEngine
+ * whose stream of random numbers is statistically independent of the stream of the original.</p>
+ *
+ * <p>RandomEngine extends {@link Random}, so that it can be passed anywhere a Random is expected,
+ * such as to the methods of {@link RandomIndexer} and {@link ZigguratGaussian}.  Subclasses need only
+ * implement {@link #nextLong}, {@link #setSeed}, and {@link #split}, as this class implements
+ * the other methods of Random in terms of nextLong.  RandomEngines are not thread-safe.</p>
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.23.2020
+ */
+public abstract class RandomEngine extends Random {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Initializes a RandomEngine with a seed chosen by {@link Random}.
+	 */
+	protected RandomEngine() {
+		super();
+	}
+	
+	/**
+	 * Initializes a RandomEngine with a specified seed, which is passed
+	 * to the {@link #setSeed} method of the subclass.
+	 * @param seed The seed.
+	 */
+	protected RandomEngine(long seed) {
+		super(seed);
+	}
+	
+	/**
+	 * Reinitializes the state of this RandomEngine from a seed.  This method is 
+	 * called by the constructors of RandomEngine before the constructor of the subclass
+	 * begins, so implementations must not depend upon any field initializers.
+	 * @param seed The seed.
+	 */
+	@Override
+	public abstract void setSeed(long seed);
+	
+	/**
+	 * Generates the next pseudorandom long in the sequence.  All of the
+	 * other methods for generating random numbers are implemented in terms of this method.
+	 * @return the next pseudorandom long
+	 */
+	@Override
+	public abstract long nextLong();
+	
+	/**
+	 * Generates a new RandomEngine, whose stream of random numbers is 
+	 * statistically independent of the stream of this RandomEngine.  The state of the
+	 * new RandomEngine is derived deterministically from the state of this one, and
+	 * this RandomEngine's state advances as a result.
+	 * @return a new RandomEngine
+	 */
+	public abstract RandomEngine split();
+	
+	@Override
+	protected final int next(int bits) {
+		return (int)(nextLong() >>> (64 - bits));
+	}
+	
+	@Override
+	public final int nextInt() {
+		return (int)(nextLong() >>> 32);
+	}
+	
+	/**
+	 * Generates a pseudorandom int uniformly distributed in the interval [0, bound).
+	 * This implementation uses Lemire's multiply and shift method, which usually 
+	 * requires no division.
+	 * @param bound The upper bound (exclusive), which must be positive.
+	 * @return a pseudorandom int in the interval [0, bound)
+	 * @throws IllegalArgumentException if bound &le; 0
+	 */
+	@Override
+	public final int nextInt(int bound) {
+		if (bound <= 0) throw new IllegalArgumentException("bound must be positive");
+		long m = (nextLong() >>> 32) * bound;
+		long low = m & 0xffffffffL;
+		if (low < bound) {
+			// rejection is needed only in this rare case
+			long threshold = (0x100000000L - bound) % bound;
+			while (low < threshold) {
+				m = (nextLong() >>> 32) * bound;
+				low = m & 0xffffffffL;
+			}
+		}
+		return (int)(m >>> 32);
+	}
+	
+	/**
+	 * Generates a pseudorandom double uniformly distributed in the interval [0.0, 1.0),
+	 * from the upper 53 bits of the next long.
+	 * @return a pseudorandom double in the interval [0.0, 1.0)
+	 */
+	@Override
+	public final double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+	
+	@Override
+	public final float nextFloat() {
+		return (nextLong() >>> 40) * 0x1.0p-24f;
+	}
+	
+	@Override
+	public final boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+	
+	/**
+	 * Generates a pseudorandom number from a standard Gaussian distribution, 
+	 * using the {@link ZigguratGaussian Ziggurat method}, which is considerably
+	 * faster than the polar method of {@link Random#nextGaussian}.
+	 * @return a pseudorandom number from a Gaussian distribution with mean 0 and standard deviation 1
+	 */
+	@Override
+	public final double nextGaussian() {
+		return ZigguratGaussian.nextGaussian(this);
+	}
+}
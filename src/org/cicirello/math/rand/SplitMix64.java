@@ -0,0 +1,110 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.math.rand;
+
+/**
+ * <p>This class implements the SplitMix64 pseudorandom number generator of
+ * Steele, Lea, and Flood (2014), which is also the algorithm of {@link java.util.SplittableRandom}.
+ * SplitMix64 adds a constant, gamma, to a 64-bit state, and outputs a mixed version of the
+ * result.  Its {@link #split} method derives both the state and the gamma of the new 
+ * generator from this generator's stream.  SplitMix64 is extremely fast, with only 64 bits of state.
+ * For longer streams with better statistical properties, see {@link Xoshiro256PlusPlus}.</p>
+ *
+ * <ul>
+ * <li>G. L. Steele Jr., D. Lea, and C. H. Flood. Fast Splittable Pseudorandom Number Generators.
+ * Proceedings of the 2014 ACM International Conference on Object Oriented Programming 
+ * Systems Languages &amp; Applications, pages 453-472, 2014.</li>
+ * </ul>
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.23.2020
+ */
+public final class SplitMix64 extends RandomEngine {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	
+	private long state;
+	private long gamma;
+	
+	/**
+	 * Constructs a SplitMix64 generator with a seed chosen by {@link java.util.Random}.
+	 */
+	public SplitMix64() {
+		super();
+	}
+	
+	/**
+	 * Constructs a SplitMix64 generator from a seed.  Generators constructed
+	 * with the same seed generate the same sequence of random numbers.
+	 * @param seed The seed.
+	 */
+	public SplitMix64(long seed) {
+		super(seed);
+	}
+	
+	/*
+	 * internal constructor used by split
+	 */
+	private SplitMix64(long seed, long gamma) {
+		super(seed);
+		this.gamma = gamma;
+	}
+	
+	@Override
+	public void setSeed(long seed) {
+		state = seed;
+		gamma = GOLDEN_GAMMA;
+	}
+	
+	@Override
+	public long nextLong() {
+		return mix64(state += gamma);
+	}
+	
+	@Override
+	public SplitMix64 split() {
+		long seed = nextLong();
+		return new SplitMix64(seed, mixGamma(state += gamma));
+	}
+	
+	/*
+	 * package-private so that Xoshiro256PlusPlus can seed its state with it
+	 */
+	static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+	
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		// avoid gammas with too few bit transitions
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return n < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.math.rand;
+
+/**
+ * <p>This class implements the xoshiro256++ pseudorandom number generator of 
+ * Blackman and Vigna (2019), which has 256 bits of state, a period of 2<sup>256</sup> - 1, and
+ * passes all known statistical tests.  It is a good general purpose choice of {@link RandomEngine}.</p>
+ *
+ * <p>The state is initialized from a 64-bit seed by the {@link SplitMix64} algorithm, as
+ * recommended by the authors.  The {@link #split} method seeds the new generator in the same way
+ * from the next value of this generator's stream, which supports splitting to any depth (e.g., 
+ * a split search may itself be split).  If you instead need a set of streams that are 
+ * guaranteed not to overlap, use the {@link #jump} method, which advances the generator by 
+ * 2<sup>128</sup> steps.</p>
+ *
+ * <ul>
+ * <li>D. Blackman and S. Vigna. Scrambled Linear Pseudorandom Number Generators. 
+ * arXiv:1805.01407, 2019.</li>
+ * </ul>
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.23.2020
+ */
+public final class Xoshiro256PlusPlus extends RandomEngine {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private static final long[] JUMP = {
+		0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL
+	};
+	
+	private long s0;
+	private long s1;
+	private long s2;
+	private long s3;
+	
+	/**
+	 * Constructs a xoshiro256++ generator with a seed chosen by {@link java.util.Random}.
+	 */
+	public Xoshiro256PlusPlus() {
+		super();
+	}
+	
+	/**
+	 * Constructs a xoshiro256++ generator from a seed.  Generators constructed
+	 * with the same seed generate the same sequence of random numbers.
+	 * @param seed The seed.
+	 */
+	public Xoshiro256PlusPlus(long seed) {
+		super(seed);
+	}
+	
+	@Override
+	public void setSeed(long seed) {
+		// the state is the next 4 outputs of SplitMix64, which can't all be 0
+		s0 = SplitMix64.mix64(seed += 0x9e3779b97f4a7c15L);
+		s1 = SplitMix64.mix64(seed += 0x9e3779b97f4a7c15L);
+		s2 = SplitMix64.mix64(seed += 0x9e3779b97f4a7c15L);
+		s3 = SplitMix64.mix64(seed + 0x9e3779b97f4a7c15L);
+	}
+	
+	@Override
+	public long nextLong() {
+		final long result = Long.rotateLeft(s0 + s3, 23) + s0;
+		final long t = s1 << 17;
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = Long.rotateLeft(s3, 45);
+		return result;
+	}
+	
+	@Override
+	public Xoshiro256PlusPlus split() {
+		return new Xoshiro256PlusPlus(nextLong());
+	}
+	
+	/**
+	 * Advances the state of this generator by 2<sup>128</sup> steps, 
+	 * equivalent to 2<sup>128</sup> calls to {@link #nextLong}.  
+	 * This can be used to generate 2<sup>128</sup> non-overlapping subsequences.
+	 */
+	public void jump() {
+		long t0 = 0;
+		long t1 = 0;
+		long t2 = 0;
+		long t3 = 0;
+		for (long jump : JUMP) {
+			for (int b = 0; b < 64; b++) {
+				if ((jump & (1L << b)) != 0) {
+					t0 ^= s0;
+					t1 ^= s1;
+					t2 ^= s2;
+					t3 ^= s3;
+				}
+				nextLong();
+			}
+		}
+		s0 = t0;
+		s1 = t1;
+		s2 = t2;
+		s3 = t3;
+	}
+}
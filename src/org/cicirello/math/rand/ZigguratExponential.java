@@ -0,0 +1,221 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.math.rand;
+ 
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>This class provides methods for generating pseudorandom numbers 
+ * from an exponential distribution using the Ziggurat Algorithm of
+ * Marsaglia and Tsang (2000).  The vast majority of samples require only
+ * a single 64-bit random number, a table lookup, an integer comparison and 
+ * a multiplication, in contrast to the logarithm required by the usual inversion
+ * method.  The methods of this class generate samples from the exponential 
+ * distribution with mean 1.  Multiply the result by the desired mean for 
+ * other exponential distributions.</p>
+ *
+ * <p>Like {@link ZigguratGaussian}, this class is a utility class of static methods,
+ * which take the pseudorandom number generator as a parameter, and which default
+ * to {@link ThreadLocalRandom} otherwise.  The tables are computed when the class
+ * is loaded, using 256 levels, and 56 bits of each random long 
+ * (the other 8 bits choose the level).</p>
+ *
+ * <ul>
+ * <li>G. Marsaglia and W. W. Tsang. <a href=http://www.jstatsoft.org/v05/i08/ target=_top>The 
+ * ziggurat method for generating random variables</a>. 
+ * Journal of Statistical Software. 5(1):1–7, 2000.</li>
+ * </ul>
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.25.2020
+ */
+public final class ZigguratExponential {
+	
+	/* 
+	 * Utility class with nothing but static methods, 
+	 * so constructor is private to prevent instantiation.
+	 */
+	private ZigguratExponential() {}
+	
+	// position of right-most step 
+	private static final double PARAM_R = 7.69711747013104972;
+	
+	// area of each level
+	private static final double PARAM_V = 3.949659822581572e-3;
+	
+	// number of levels
+	private static final int N = 256;
+	
+	// 2^56, the range of the random integer that selects a point within a level 
+	private static final double M = 0x1.0p56;
+	
+	// ktab[i] is 2^56 times x[i-1]/x[i], used to accept without any floating point operations 
+	private static final long[] ktab = new long[N];
+	
+	// wtab[i] is 2^{-56}*x[i]
+	private static final double[] wtab = new double[N];
+	
+	// ftab[i] is exp(-x[i])
+	private static final double[] ftab = new double[N];
+	
+	static {
+		double de = PARAM_R;
+		double te = PARAM_R;
+		// width of the base level, which includes the tail
+		double q = PARAM_V / StrictMath.exp(-de);
+		ktab[0] = (long)((de / q) * M);
+		ktab[1] = 0;
+		wtab[0] = q / M;
+		wtab[N-1] = de / M;
+		ftab[0] = 1.0;
+		ftab[N-1] = StrictMath.exp(-de);
+		for (int i = N-2; i >= 1; i--) {
+			de = -StrictMath.log(PARAM_V / de + StrictMath.exp(-de));
+			ktab[i+1] = (long)((de / te) * M);
+			te = de;
+			ftab[i] = StrictMath.exp(-de);
+			wtab[i] = de / M;
+		}
+	}
+	
+	/**
+	 * Generates a random number from an exponential distribution with mean 1.
+	 * {@link ThreadLocalRandom} is used as the pseudorandom number generator for the 
+	 * source of randomness.
+	 * @return A random number from an exponential distribution with mean 1.
+	 */
+	public static double nextExponential() {
+		return nextExponential(ThreadLocalRandom.current());
+	}
+	
+	/**
+	 * Generates a random number from an exponential distribution with mean 1.
+	 * @param r The pseudorandom number generator to use for the 
+	 * source of randomness.
+	 * @return A random number from an exponential distribution with mean 1.
+	 */
+	public static double nextExponential(Random r) {
+		long bits = r.nextLong();
+		int i = (int)bits & 0xff;
+		long j = bits >>> 8;
+		return j < ktab[i] ? j * wtab[i] : nextExponential(i, j, r);
+	}
+	
+	/**
+	 * Generates a random number from an exponential distribution with mean 1.
+	 * @param r The pseudorandom number generator to use for the 
+	 * source of randomness.
+	 * @return A random number from an exponential distribution with mean 1.
+	 */
+	public static double nextExponential(SplittableRandom r) {
+		long bits = r.nextLong();
+		int i = (int)bits & 0xff;
+		long j = bits >>> 8;
+		return j < ktab[i] ? j * wtab[i] : nextExponential(i, j, r);
+	}
+	
+	/**
+	 * Fills an array with random numbers from an exponential distribution with mean 1.
+	 * {@link ThreadLocalRandom} is used as the pseudorandom number generator for the 
+	 * source of randomness.
+	 * @param values The array to fill.
+	 */
+	public static void nextExponential(double[] values) {
+		nextExponential(values, 0, values.length, ThreadLocalRandom.current());
+	}
+	
+	/**
+	 * Fills the elements values[from] through values[to-1] of an array with random numbers 
+	 * from an exponential distribution with mean 1.
+	 * @param values The array to fill.
+	 * @param from The first index to fill (inclusive).
+	 * @param to The last index to fill (exclusive).
+	 * @param r The pseudorandom number generator to use for the 
+	 * source of randomness.
+	 * @throws ArrayIndexOutOfBoundsException if from &lt; to, and either from &lt; 0 or to &gt; values.length
+	 */
+	public static void nextExponential(double[] values, int from, int to, Random r) {
+		for (int k = from; k < to; k++) {
+			long bits = r.nextLong();
+			int i = (int)bits & 0xff;
+			long j = bits >>> 8;
+			values[k] = j < ktab[i] ? j * wtab[i] : nextExponential(i, j, r);
+		}
+	}
+	
+	/**
+	 * Fills the elements values[from] through values[to-1] of an array with random numbers 
+	 * from an exponential distribution with mean 1.
+	 * @param values The array to fill.
+	 * @param from The first index to fill (inclusive).
+	 * @param to The last index to fill (exclusive).
+	 * @param r The pseudorandom number generator to use for the 
+	 * source of randomness.
+	 * @throws ArrayIndexOutOfBoundsException if from &lt; to, and either from &lt; 0 or to &gt; values.length
+	 */
+	public static void nextExponential(double[] values, int from, int to, SplittableRandom r) {
+		for (int k = from; k < to; k++) {
+			long bits = r.nextLong();
+			int i = (int)bits & 0xff;
+			long j = bits >>> 8;
+			values[k] = j < ktab[i] ? j * wtab[i] : nextExponential(i, j, r);
+		}
+	}
+	
+	/*
+	 * The slow path of the Ziggurat algorithm, for a level i and point j that failed
+	 * the fast test.  Generates new random bits until a sample is accepted.
+	 */
+	private static double nextExponential(int i, long j, Random r) {
+		while (true) {
+			// the exponential distribution is memoryless, so the tail beyond 
+			// the right-most step is that step plus an exponential
+			if (i == 0) return PARAM_R - StrictMath.log(1.0 - r.nextDouble());
+			double x = j * wtab[i];
+			if (ftab[i] + r.nextDouble() * (ftab[i-1] - ftab[i]) < StrictMath.exp(-x)) return x;
+			long bits = r.nextLong();
+			i = (int)bits & 0xff;
+			j = bits >>> 8;
+			if (j < ktab[i]) return j * wtab[i];
+		}
+	}
+	
+	/*
+	 * The slow path of the Ziggurat algorithm, for a level i and point j that failed
+	 * the fast test.  Generates new random bits until a sample is accepted.
+	 */
+	private static double nextExponential(int i, long j, SplittableRandom r) {
+		while (true) {
+			if (i == 0) return PARAM_R - StrictMath.log(1.0 - r.nextDouble());
+			double x = j * wtab[i];
+			if (ftab[i] + r.nextDouble() * (ftab[i-1] - ftab[i]) < StrictMath.exp(-x)) return x;
+			long bits = r.nextLong();
+			i = (int)bits & 0xff;
+			j = bits >>> 8;
+			if (j < ktab[i]) return j * wtab[i];
+		}
+	}
+}
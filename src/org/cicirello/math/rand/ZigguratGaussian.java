@@ -101,7 +101,7 @@ import java.util.concurrent.ThreadLocalRandom;
  * 
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 8.16.2019
+ * @version 7.24.2020
  */
 public final class ZigguratGaussian {
 	
@@ -350,12 +350,125 @@ public final class ZigguratGaussian {
 	 * standard deviation 1.
 	 */
 	public static double nextGaussian(Random r) {
+		return nextGaussianFromBits(r.nextInt(), r);
+	}
+	
+	/**
+	 * Generates a random number from a Gaussian distribution with
+	 * mean 0 and standard deviation 1.
+	 * @param r The pseudorandom number generator to use for the 
+	 * source of randomness.
+	 * @return A random number from a Gaussian distribution with mean 0 and
+	 * standard deviation 1.
+	 */
+	public static double nextGaussian(SplittableRandom r) {
+		return nextGaussianFromBits(r.nextInt(), r);
+	}
+	
+	/**
+	 * Fills an array with random numbers from a Gaussian distribution with
+	 * mean 0 and standard deviation, sigma, of your choosing.
+	 * {@link ThreadLocalRandom} is used as the pseudorandom number generator for the 
+	 * source of randomness.
+	 * @param sigma The standard deviation of the Gaussian.
+	 * @param values The array to fill.
+	 */
+	public static void nextGaussian(double sigma, double[] values) {
+		nextGaussian(sigma, values, 0, values.length, ThreadLocalRandom.current());
+	}
+	
+	/**
+	 * Fills the elements values[from] through values[to-1] of an array with random numbers 
+	 * from a Gaussian distribution with mean 0 and standard deviation, sigma, of your choosing.
+	 * {@link ThreadLocalRandom} is used as the pseudorandom number generator for the 
+	 * source of randomness.
+	 * @param sigma The standard deviation of the Gaussian.
+	 * @param values The array to fill.
+	 * @param from The first index to fill (inclusive).
+	 * @param to The last index to fill (exclusive).
+	 * @throws ArrayIndexOutOfBoundsException if from &lt; to, and either from &lt; 0 or to &gt; values.length
+	 */
+	public static void nextGaussian(double sigma, double[] values, int from, int to) {
+		nextGaussian(sigma, values, from, to, ThreadLocalRandom.current());
+	}
+	
+	/**
+	 * Fills the elements values[from] through values[to-1] of an array with random numbers 
+	 * from a Gaussian distribution with mean 0 and standard deviation, sigma, of your choosing.
+	 * This is faster than calling {@link #nextGaussian(double, Random)} once per element,
+	 * since it obtains the random bits for two samples from each call to the pseudorandom
+	 * number generator.
+	 * @param sigma The standard deviation of the Gaussian.
+	 * @param values The array to fill.
+	 * @param from The first index to fill (inclusive).
+	 * @param to The last index to fill (exclusive).
+	 * @param r The pseudorandom number generator to use for the 
+	 * source of randomness.
+	 * @throws ArrayIndexOutOfBoundsException if from &lt; to, and either from &lt; 0 or to &gt; values.length
+	 */
+	public static void nextGaussian(double sigma, double[] values, int from, int to, Random r) {
+		int k = from;
+		for (int end = to - 1; k < end; k += 2) {
+			long bits = r.nextLong();
+			int hi = (int)(bits >>> 32);
+			int lo = (int)bits;
+			int j = hi & 0x00ffffff;
+			int i = (hi >>> 24) & 0x7f;
+			// fast path, taken about 99% of the time, is a table lookup and a multiplication
+			values[k] = sigma * (j < ktab[i] ? (hi < 0 ? j * wtab[i] : -j * wtab[i]) : nextGaussianFromBits(hi, r));
+			j = lo & 0x00ffffff;
+			i = (lo >>> 24) & 0x7f;
+			values[k+1] = sigma * (j < ktab[i] ? (lo < 0 ? j * wtab[i] : -j * wtab[i]) : nextGaussianFromBits(lo, r));
+		}
+		if (k < to) {
+			values[k] = sigma * nextGaussianFromBits(r.nextInt(), r);
+		}
+	}
+	
+	/**
+	 * Fills the elements values[from] through values[to-1] of an array with random numbers 
+	 * from a Gaussian distribution with mean 0 and standard deviation, sigma, of your choosing.
+	 * This is faster than calling {@link #nextGaussian(double, SplittableRandom)} once per element,
+	 * since it obtains the random bits for two samples from each call to the pseudorandom
+	 * number generator.
+	 * @param sigma The standard deviation of the Gaussian.
+	 * @param values The array to fill.
+	 * @param from The first index to fill (inclusive).
+	 * @param to The last index to fill (exclusive).
+	 * @param r The pseudorandom number generator to use for the 
+	 * source of randomness.
+	 * @throws ArrayIndexOutOfBoundsException if from &lt; to, and either from &lt; 0 or to &gt; values.length
+	 */
+	public static void nextGaussian(double sigma, double[] values, int from, int to, SplittableRandom r) {
+		int k = from;
+		for (int end = to - 1; k < end; k += 2) {
+			long bits = r.nextLong();
+			int hi = (int)(bits >>> 32);
+			int lo = (int)bits;
+			int j = hi & 0x00ffffff;
+			int i = (hi >>> 24) & 0x7f;
+			values[k] = sigma * (j < ktab[i] ? (hi < 0 ? j * wtab[i] : -j * wtab[i]) : nextGaussianFromBits(hi, r));
+			j = lo & 0x00ffffff;
+			i = (lo >>> 24) & 0x7f;
+			values[k+1] = sigma * (j < ktab[i] ? (lo < 0 ? j * wtab[i] : -j * wtab[i]) : nextGaussianFromBits(lo, r));
+		}
+		if (k < to) {
+			values[k] = sigma * nextGaussianFromBits(r.nextInt(), r);
+		}
+	}
+	
+	/*
+	 * The Ziggurat algorithm, starting from 32 random bits that have already been 
+	 * generated.  If the sample from those bits is rejected, then new random bits are
+	 * generated until a sample is accepted.  Package-private for use by ZigguratCauchy.
+	 */
+	static double nextGaussianFromBits(int bits, Random r) {
 		double x, y;
-		int sign;
 
 		// Original C code used infinite loop with 2 breaks for escaping.
-		// Rewrote as do-while loop since one of the break conditions was at end anyway.
-		do {
+		// Rewrote as while loop with the escape conditions as breaks
+		// so that the first iteration can use bits already generated by the caller.
+		while (true) {
 			// In the original C language version, there were 2
 			// calls to the pseudorandom number generator here.
 			// One of them was to get a random 8 bit integer for i.
@@ -367,10 +480,8 @@ public final class ZigguratGaussian {
 			// the nextInt() method to get one random 32 bit integer, using the
 			// left most bit for sign, the next 7 bits for i, and the right
 			// 24 bits for j.  
-			int i = r.nextInt();	  
-			sign = (i < 0) ? 1 : -1; 
-			int j = i & 0x00ffffff;	
-			i = (i >>> 24) & 0x7f;
+			int j = bits & 0x00ffffff;	
+			int i = (bits >>> 24) & 0x7f;
 
 			x = j * wtab[i];
 
@@ -387,27 +498,27 @@ public final class ZigguratGaussian {
 				x = PARAM_R - StrictMath.log(1.0 - r.nextDouble()) * PARAM_R_INV;
 				y = StrictMath.exp(-PARAM_R * (x - HALF_PARAM_R)) * r.nextDouble();
 			}
+			
+			if (y < StrictMath.exp(-0.5 * x * x)) break;
+			
+			bits = r.nextInt();
+		}
 
-		} while (y >= StrictMath.exp(-0.5 * x * x));
-
-		return sign * x;
+		return bits < 0 ? x : -x;
 	}
 	
-	/**
-	 * Generates a random number from a Gaussian distribution with
-	 * mean 0 and standard deviation 1.
-	 * @param r The pseudorandom number generator to use for the 
-	 * source of randomness.
-	 * @return A random number from a Gaussian distribution with mean 0 and
-	 * standard deviation 1.
+	/*
+	 * The Ziggurat algorithm, starting from 32 random bits that have already been 
+	 * generated.  If the sample from those bits is rejected, then new random bits are
+	 * generated until a sample is accepted.  Package-private for use by ZigguratCauchy.
 	 */
-	public static double nextGaussian(SplittableRandom r) {
+	static double nextGaussianFromBits(int bits, SplittableRandom r) {
 		double x, y;
-		int sign;
 
 		// Original C code used infinite loop with 2 breaks for escaping.
-		// Rewrote as do-while loop since one of the break conditions was at end anyway.
-		do {
+		// Rewrote as while loop with the escape conditions as breaks
+		// so that the first iteration can use bits already generated by the caller.
+		while (true) {
 			// In the original C language version, there were 2
 			// calls to the pseudorandom number generator here.
 			// One of them was to get a random 8 bit integer for i.
@@ -419,10 +530,8 @@ public final class ZigguratGaussian {
 			// the nextInt() method to get one random 32 bit integer, using the
 			// left most bit for sign, the next 7 bits for i, and the right
 			// 24 bits for j.  
-			int i = r.nextInt();	  
-			sign = (i < 0) ? 1 : -1; 
-			int j = i & 0x00ffffff;	
-			i = (i >>> 24) & 0x7f;
+			int j = bits & 0x00ffffff;	
+			int i = (bits >>> 24) & 0x7f;
 
 			x = j * wtab[i];
 
@@ -439,10 +548,13 @@ public final class ZigguratGaussian {
 				x = PARAM_R - StrictMath.log(1.0 - r.nextDouble()) * PARAM_R_INV;
 				y = StrictMath.exp(-PARAM_R * (x - HALF_PARAM_R)) * r.nextDouble();
 			}
+			
+			if (y < StrictMath.exp(-0.5 * x * x)) break;
+			
+			bits = r.nextInt();
+		}
 
-		} while (y >= StrictMath.exp(-0.5 * x * x));
-
-		return sign * x;
+		return bits < 0 ? x : -x;
 	}
 }	
  
@@ -0,0 +1,232 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search;
+
+import org.cicirello.util.Copyable;
+import org.cicirello.util.CopyableInto;
+
+/**
+ * <p>A ProgressBuffer is a per-worker (i.e., per search thread) layer between a search and
+ * the {@link ProgressTracker} that it shares with other search threads.  When the ProgressTracker 
+ * is configured to publish on a cadence (see {@link ProgressTracker#setPublicationCadence}), 
+ * improvements found by the search are kept in the buffer, and published to the shared 
+ * ProgressTracker only once the configured number of evaluations or nanoseconds have elapsed 
+ * since the oldest unpublished improvement.  This reduces cross-core cache traffic on the 
+ * shared ProgressTracker when a search frequently finds improvements.  Otherwise, which is the
+ * default, every update is passed directly to the ProgressTracker.</p>
+ *
+ * <p>A search using a ProgressBuffer must call {@link #checkpoint()} (or {@link #checkpoint(long)})
+ * as it evaluates candidate solutions, and must call {@link #flush} at the end of each run.  
+ * It should use the {@link #setFoundBest} method of the buffer,
+ * rather than that of the ProgressTracker, which publishes the buffered solution before
+ * signaling that the best possible solution was found.  The stop signal
+ * is unaffected by buffering: searches should continue to check the
+ * {@link ProgressTracker#isStopped} method of the ProgressTracker directly.</p>
+ *
+ * <p>A ProgressBuffer is not thread-safe, and each search thread must have its own.</p>
+ *
+ * @param <T> The type of object the search is optimizing.
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.16.2020
+ */
+public final class ProgressBuffer<T extends Copyable<T>> {
+	
+	private ProgressTracker<T> tracker;
+	
+	// unpublished best solution, or null if none
+	private T pending;
+	private int pendingCost;
+	private double pendingCostD;
+	private boolean pendingIntCost;
+	
+	// cadence in effect for the pending solution
+	private int maxEvals;
+	private long maxNanos;
+	private long evals;
+	private long since;
+	
+	/**
+	 * Constructs a ProgressBuffer.
+	 * @param tracker The shared ProgressTracker to which this buffer publishes.
+	 * @throws NullPointerException if tracker is null
+	 */
+	public ProgressBuffer(ProgressTracker<T> tracker) {
+		if (tracker == null) throw new NullPointerException();
+		this.tracker = tracker;
+	}
+	
+	/**
+	 * Gets the ProgressTracker to which this buffer publishes.
+	 * @return the ProgressTracker
+	 */
+	public ProgressTracker<T> getProgressTracker() {
+		return tracker;
+	}
+	
+	/**
+	 * Changes the ProgressTracker to which this buffer publishes, first 
+	 * publishing any buffered solution to the previous ProgressTracker.
+	 * @param tracker The new ProgressTracker.  If null, the ProgressTracker is not changed.
+	 */
+	public void setProgressTracker(ProgressTracker<T> tracker) {
+		if (tracker != null) {
+			flush();
+			this.tracker = tracker;
+		}
+	}
+	
+	/**
+	 * Gets the cost of the best solution known to this buffer, which is the lower of
+	 * the cost of the unpublished solution (if any) and the cost of the ProgressTracker's solution.
+	 * @return the cost of the best solution known to this buffer
+	 */
+	public int getCost() {
+		int cost = tracker.getCost();
+		return pending != null && pendingCost < cost ? pendingCost : cost;
+	}
+	
+	/**
+	 * Gets the cost of the best solution known to this buffer, which is the lower of
+	 * the cost of the unpublished solution (if any) and the cost of the ProgressTracker's solution.
+	 * @return the cost of the best solution known to this buffer
+	 */
+	public double getCostDouble() {
+		double cost = tracker.getCostDouble();
+		return pending != null && pendingCostD < cost ? pendingCostD : cost;
+	}
+	
+	/**
+	 * Updates the best solution, either by buffering it (if the ProgressTracker is configured
+	 * to publish on a cadence), or otherwise by passing it directly to the ProgressTracker's 
+	 * {@link ProgressTracker#update(int,Copyable) update} method.  
+	 * A buffered solution is only kept if it is better than the solution already buffered.
+	 * @param cost The cost of the solution.
+	 * @param solution The new solution.
+	 * @return The cost of the best solution known to this buffer.  This may or may not be equal
+	 * to the cost passed as a parameter.
+	 */
+	public int update(int cost, T solution) {
+		if (pending == null) {
+			if (!startBuffering()) return tracker.update(cost, solution);
+		} else if (cost >= pendingCost) {
+			return pendingCost;
+		}
+		pending = copyOf(solution);
+		pendingCostD = pendingCost = cost;
+		pendingIntCost = true;
+		return cost;
+	}
+	
+	/**
+	 * Updates the best solution, either by buffering it (if the ProgressTracker is configured
+	 * to publish on a cadence), or otherwise by passing it directly to the ProgressTracker's 
+	 * {@link ProgressTracker#update(double,Copyable) update} method.  
+	 * A buffered solution is only kept if it is better than the solution already buffered.
+	 * @param cost The cost of the solution.
+	 * @param solution The new solution.
+	 * @return The cost of the best solution known to this buffer.  This may or may not be equal
+	 * to the cost passed as a parameter.
+	 */
+	public double update(double cost, T solution) {
+		if (pending == null) {
+			if (!startBuffering()) return tracker.update(cost, solution);
+		} else if (cost >= pendingCostD) {
+			return pendingCostD;
+		}
+		pending = copyOf(solution);
+		pendingCostD = cost;
+		pendingIntCost = false;
+		return cost;
+	}
+	
+	/**
+	 * Records that the search evaluated one more candidate solution, and publishes
+	 * the buffered solution (if any) if it is due.
+	 */
+	public void checkpoint() {
+		if (pending != null && (++evals >= maxEvals || maxNanos > 0 && System.nanoTime() - since >= maxNanos)) {
+			flush();
+		}
+	}
+	
+	/**
+	 * Records that the search evaluated some number of additional candidate solutions, 
+	 * and publishes the buffered solution (if any) if it is due.
+	 * @param evaluations The number of evaluations since the previous checkpoint.
+	 */
+	public void checkpoint(long evaluations) {
+		if (pending != null && ((evals += evaluations) >= maxEvals || maxNanos > 0 && System.nanoTime() - since >= maxNanos)) {
+			flush();
+		}
+	}
+	
+	/**
+	 * Publishes the buffered solution (if any) to the ProgressTracker.
+	 */
+	public void flush() {
+		if (pending != null) {
+			// the buffered solution is already a private copy, so ownership passes to the tracker
+			if (pendingIntCost) tracker.publish(pendingCost, pending);
+			else tracker.publish(pendingCostD, pending);
+			pending = null;
+		}
+	}
+	
+	/**
+	 * Publishes the buffered solution (if any) to the ProgressTracker, and then 
+	 * records in the ProgressTracker that its solution is the best possible solution.
+	 */
+	public void setFoundBest() {
+		flush();
+		tracker.setFoundBest();
+	}
+	
+	/*
+	 * Copies a solution for buffering.  While a buffered solution is unpublished, this
+	 * buffer is its only owner, so its memory is reused for the copy if the type of solution
+	 * supports it.  Once published, it belongs to the tracker, and pending is null.
+	 */
+	@SuppressWarnings("unchecked")
+	private T copyOf(T solution) {
+		if (pending != null && solution instanceof CopyableInto) {
+			return ((CopyableInto<T>)solution).copyInto(pending);
+		}
+		return solution.copy();
+	}
+	
+	/*
+	 * Reads the cadence from the tracker when buffering a new solution.
+	 * Returns false if the tracker isn't configured for buffering.
+	 */
+	private boolean startBuffering() {
+		maxEvals = tracker.getPublicationEvaluations();
+		maxNanos = tracker.getPublicationNanos();
+		if (maxEvals <= 1 && maxNanos <= 0) return false;
+		if (maxEvals <= 0) maxEvals = Integer.MAX_VALUE;
+		evals = 0;
+		if (maxNanos > 0) since = System.nanoTime();
+		return true;
+	}
+}
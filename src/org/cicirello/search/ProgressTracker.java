@@ -21,14 +21,35 @@
 package org.cicirello.search;
 
 import org.cicirello.util.Copyable;
+import org.cicirello.util.CopyableInto;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * This class is used to track search algorithm progress, and supports
+ * <p>This class is used to track search algorithm progress, and supports
  * multithreaded search algorithms.  For a multithreaded search algorithm,
- * all search threads should share a single instance.  The {@link #update update} 
- * methods and the {@link #getSolutionCostPair} method 
- * of this class use synchronization for thread-safety.
- * All other methods are non-blocking.
+ * all search threads should share a single instance.  The best solution, its
+ * cost, and the time it was found are published together as a single immutable
+ * snapshot, so all of the methods that read them, including the {@link #getSolutionCostPair} 
+ * method, are non-blocking and always see a cost that corresponds to the solution.</p>
+ *
+ * <p>A ProgressTracker updates the best solution in one of two modes, chosen when it 
+ * is constructed.  By default, the {@link #update update} methods use synchronization 
+ * for thread-safety, copying the new solution while holding a lock.  In lock-free mode
+ * (see the {@link #ProgressTracker(boolean)} constructor), the update methods instead copy
+ * the new solution without holding any lock, and then publish it with an atomic 
+ * compare-and-set that only succeeds if it is still better than the best published solution, 
+ * retrying if another thread published first.  Lock-free mode scales better when many 
+ * threads frequently find improvements (e.g., early in a run of a parallel 
+ * search with many threads), at the expense of an occasional wasted copy by a thread 
+ * that loses a race with a better solution.</p>
+ *
+ * <p>If the type of solution implements {@link CopyableInto}, then the ProgressTracker
+ * double-buffers its copies of the best solution: the copy that it made of a best solution 
+ * that is replaced before it was ever obtained from the ProgressTracker (e.g., via the
+ * {@link #getSolution} or {@link #getSolutionCostPair} methods) is reused as the
+ * target of the copy of the next improvement.  This avoids allocating a new solution
+ * for each of the many improvements that are typically found early in a run.  A solution
+ * that has been obtained from the ProgressTracker is never reused.</p>
  *
  * @param <T> The type of object the search is optimizing.
  * @since 1.0
@@ -36,36 +57,54 @@ import org.cicirello.util.Copyable;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 5.8.2020
+ * @version 7.31.2020
  */
 public final class ProgressTracker<T extends Copyable<T>> {
 	
-	private volatile int bestCost;
-	private volatile double bestCostD;
-	private volatile T bestSolution;
-	private volatile long when;
+	private final AtomicReference<Best<T>> best;
+	
+	// a copy of a replaced best solution that was never handed out, reused for the next copy
+	private final AtomicReference<T> spare;
 	
 	private volatile boolean foundBest;
 	private volatile boolean stop;
-	private volatile boolean containsIntCost;
 	
-	private long origin;
+	// publication cadence for ProgressBuffers
+	private volatile int publicationEvals;
+	private volatile long publicationNanos;
+	
+	// run by the updating thread when the best solution changes
+	private volatile Runnable listener;
+	
+	private final long origin;
 	
+	// null in lock-free mode
 	private final Object lock;
 	
 	/**
-	 * Constructs a ProgressTracker.
+	 * Constructs a ProgressTracker, whose update methods use synchronization
+	 * for thread-safety.
 	 */
 	public ProgressTracker() {
-		lock = new Object();
-		bestCost = Integer.MAX_VALUE;
-		bestCostD = Double.POSITIVE_INFINITY;
-		when = origin = System.nanoTime();
+		this(false);
+	}
+	
+	/**
+	 * Constructs a ProgressTracker.
+	 * @param lockFree If true, the update methods of the ProgressTracker are lock-free, copying 
+	 * the new solution outside of any lock and publishing it with an atomic compare-and-set.  
+	 * If false, the update methods use synchronization for thread-safety.
+	 */
+	public ProgressTracker(boolean lockFree) {
+		lock = lockFree ? null : new Object();
+		origin = System.nanoTime();
+		best = new AtomicReference<Best<T>>(new Best<T>(null, false, Integer.MAX_VALUE, Double.POSITIVE_INFINITY, false, origin));
+		spare = new AtomicReference<T>();
 		/* Assuming default initial values for the following: 
-		 * bestSolution = null;
 		 * foundBest = false;
 		 * stop = false;
-		 * containsIntCost = false;
+		 * publicationEvals = 0;
+		 * publicationNanos = 0;
 		 */
 	}
 	
@@ -73,7 +112,8 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * Updates the best solution contained in this progress tracker.
 	 * The update takes place only if the new solution has lower cost than
 	 * the current best cost solution stored in the progress tracker.  This method
-	 * is thread-safe.  However, it uses synchronization for thread-safety, so
+	 * is thread-safe.  However, unless the ProgressTracker is in lock-free mode, 
+	 * it uses synchronization for thread-safety, so
 	 * it is strongly suggested that in multithreaded search implementations that
 	 * you reserve calls to this method for when the search believes it has likely found 
 	 * a better solution than all currently running threads.  Although in theory the 
@@ -89,22 +129,49 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * that means the best solution was previously updated by this or another thread.
 	 */
 	public int update(int cost, T solution) {
-		synchronized (lock) {
-			if (bestSolution == null || cost < bestCost) {
-				bestCostD = bestCost = cost;
-				bestSolution = solution.copy();
-				containsIntCost = true;
-				when = System.nanoTime();
+		return update(cost, solution, true);
+	}
+	
+	/*
+	 * Used by ProgressBuffer to publish a solution that it already copied, 
+	 * and which it will not modify.
+	 */
+	int publish(int cost, T solution) {
+		return update(cost, solution, false);
+	}
+	
+	private int update(int cost, T solution, boolean copy) {
+		if (lock == null) {
+			Best<T> current = best.get();
+			if (current.solution != null && cost >= current.cost) return current.cost;
+			Best<T> b = new Best<T>(copy ? snapshot(solution) : solution, copy, cost, cost, true, System.nanoTime());
+			while (!best.compareAndSet(current, b)) {
+				current = best.get();
+				if (current.solution != null && cost >= current.cost) {
+					if (copy) spare.set(b.solution);
+					return current.cost;
+				}
 			}
-			return bestCost;
+			recycle(current);
+			notifyListener();
+			return cost;
 		}
+		synchronized (lock) {
+			Best<T> current = best.get();
+			if (current.solution != null && cost >= current.cost) return current.cost;
+			best.set(new Best<T>(copy ? snapshot(solution) : solution, copy, cost, cost, true, System.nanoTime()));
+			recycle(current);
+		}
+		notifyListener();
+		return cost;
 	}
 	
 	/**
 	 * Updates the best solution contained in this progress tracker.
 	 * The update takes place only if the new solution has lower cost than
 	 * the current best cost solution stored in the progress tracker.  This method
-	 * is thread-safe.  However, it uses synchronization for thread-safety, so
+	 * is thread-safe.  However, unless the ProgressTracker is in lock-free mode, 
+	 * it uses synchronization for thread-safety, so
 	 * it is strongly suggested that in multithreaded search implementations that
 	 * you reserve calls to this method for when the search believes it has likely found 
 	 * a better solution than all currently running threads.  Although in theory the 
@@ -120,34 +187,57 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * that means the best solution was previously updated by this or another thread.
 	 */
 	public double update(double cost, T solution) {
-		synchronized (lock) {
-			if (bestSolution == null || cost < bestCostD) {
-				bestCostD = cost;
-				bestSolution = solution.copy();
-				containsIntCost = false;
-				when = System.nanoTime();
+		return update(cost, solution, true);
+	}
+	
+	/*
+	 * Used by ProgressBuffer to publish a solution that it already copied, 
+	 * and which it will not modify.
+	 */
+	double publish(double cost, T solution) {
+		return update(cost, solution, false);
+	}
+	
+	private double update(double cost, T solution, boolean copy) {
+		if (lock == null) {
+			Best<T> current = best.get();
+			if (current.solution != null && cost >= current.costD) return current.costD;
+			T c = copy ? snapshot(solution) : solution;
+			long time = System.nanoTime();
+			// the int cost is carried over, so the snapshot is recreated on each attempt
+			while (!best.compareAndSet(current, new Best<T>(c, copy, current.cost, cost, false, time))) {
+				current = best.get();
+				if (current.solution != null && cost >= current.costD) {
+					if (copy) spare.set(c);
+					return current.costD;
+				}
 			}
-			return bestCostD;
+			recycle(current);
+			notifyListener();
+			return cost;
 		}
+		synchronized (lock) {
+			Best<T> current = best.get();
+			if (current.solution != null && cost >= current.costD) return current.costD;
+			best.set(new Best<T>(copy ? snapshot(solution) : solution, copy, current.cost, cost, false, System.nanoTime()));
+			recycle(current);
+		}
+		notifyListener();
+		return cost;
 	}
 	
 	/**
 	 * Gets the current best solution and its corresponding cost from the ProgressTracker.
-	 * This method
-	 * is thread-safe, and the solution and cost contained in the returned object are
-	 * guaranteed to correspond with each other.  However, it uses synchronization for thread-safety,
-	 * so if all you need is the current cost, you should instead use the non-blocking 
-	 * {@link #getCost} or {@link #getCostDouble} methods.  Likewise, if all you need is
-	 * the solution, you should instead use the non-blocking {@link #getSolution} method.
+	 * This method is thread-safe and non-blocking, and the solution and cost contained 
+	 * in the returned object are guaranteed to correspond with each other.  
 	 * @return current best solution and its corresponding cost
 	 */
 	public SolutionCostPair<T> getSolutionCostPair() {
-		synchronized (lock) {
-			if (containsIntCost)
-				return new SolutionCostPair<T>(bestSolution, bestCost);
-			else
-				return new SolutionCostPair<T>(bestSolution, bestCostD);
-		}
+		Best<T> b = acquire();
+		if (b.containsIntCost)
+			return new SolutionCostPair<T>(b.solution, b.cost);
+		else
+			return new SolutionCostPair<T>(b.solution, b.costD);
 	}
 	
 	/**
@@ -157,7 +247,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * @return the cost of the current best solution
 	 */
 	public int getCost() {
-		return bestCost;
+		return best.get().cost;
 	}
 	
 	/**
@@ -165,7 +255,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * @return the cost of the current best solution
 	 */
 	public double getCostDouble() {
-		return bestCostD;
+		return best.get().costD;
 	}
 	
 	/**
@@ -173,7 +263,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * @return the current best solution
 	 */
 	public T getSolution() {
-		return bestSolution;
+		return acquire().solution;
 	}
 	
 	/**
@@ -184,7 +274,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * most recent recording of best solution. 
 	 */
 	public long elapsed() {
-		return when - origin;
+		return best.get().when - origin;
 	}
 	
 	/**
@@ -193,6 +283,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 */
 	public void setFoundBest() {
 		foundBest = true;
+		notifyListener();
 	}
 	
 	/**
@@ -219,6 +310,31 @@ public final class ProgressTracker<T extends Copyable<T>> {
 		stop = false;
 	}
 	
+	/**
+	 * <p>Sets a listener that is run each time the best solution contained in this
+	 * ProgressTracker changes, as well as when {@link #setFoundBest} is called.  This enables
+	 * a thread that is coordinating parallel searches to block until there is progress, 
+	 * rather than polling the ProgressTracker.</p>
+	 *
+	 * <p>The listener is run by whichever thread updated the ProgressTracker, after the
+	 * update is complete, so it should be brief and non-blocking.  A ProgressTracker has at
+	 * most one listener.</p>
+	 *
+	 * @param listener The listener, or null to remove the current listener.
+	 */
+	public void setChangeListener(Runnable listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Gets the listener that is run each time the best solution contained in this 
+	 * ProgressTracker changes.
+	 * @return the listener, or null if there is none
+	 */
+	public Runnable getChangeListener() {
+		return listener;
+	}
+	
 	/**
 	 * Checks whether a flag is set indicating that all searches sharing this ProgressTracker
 	 * should stop.
@@ -228,6 +344,52 @@ public final class ProgressTracker<T extends Copyable<T>> {
 		return stop;
 	}
 	
+	/**
+	 * <p>Sets the cadence on which searches sharing this ProgressTracker publish improvements
+	 * they find, for searches that buffer their improvements locally with a {@link ProgressBuffer}.
+	 * A buffered improvement is published once the search has evaluated the given number of 
+	 * additional candidate solutions, or once the given number of nanoseconds have elapsed, 
+	 * whichever comes first.  A search always publishes its buffered improvement at
+	 * the end of a run, and prior to signaling that it found the best possible solution.
+	 * By default, improvements are published immediately.</p>
+	 *
+	 * <p>Buffering reduces contention among search threads that frequently find improvements, 
+	 * at the expense of the ProgressTracker lagging behind the searches.
+	 * The new cadence takes effect the next time each search buffers an improvement.</p>
+	 *
+	 * @param evaluations The maximum number of evaluations between finding an improvement 
+	 * and publishing it.  Values less than or equal to 1, in combination with nanos less than or 
+	 * equal to 0, mean publish immediately.  A value less than or equal to 0, in combination with a 
+	 * positive nanos, means publication is time-based only.
+	 * @param nanos The maximum number of nanoseconds between finding an improvement and publishing it,
+	 * which is only checked as the search evaluates candidate solutions.  A value less
+	 * than or equal to 0 means publication is not time-based.
+	 */
+	public void setPublicationCadence(int evaluations, long nanos) {
+		publicationEvals = evaluations;
+		publicationNanos = nanos;
+	}
+	
+	/**
+	 * Gets the maximum number of evaluations between a search finding an improvement 
+	 * and publishing it to this ProgressTracker.
+	 * See {@link #setPublicationCadence} for details.
+	 * @return the maximum number of evaluations between finding and publishing an improvement
+	 */
+	public int getPublicationEvaluations() {
+		return publicationEvals;
+	}
+	
+	/**
+	 * Gets the maximum number of nanoseconds between a search finding an improvement 
+	 * and publishing it to this ProgressTracker.
+	 * See {@link #setPublicationCadence} for details.
+	 * @return the maximum number of nanoseconds between finding and publishing an improvement
+	 */
+	public long getPublicationNanos() {
+		return publicationNanos;
+	}
+	
 	/**
 	 * Checks whether the cost of the solution contained in this ProgressTracker
 	 * is integer valued.  
@@ -236,6 +398,71 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * method is undefined.
 	 */
 	public boolean containsIntCost() {
-		return containsIntCost;
+		return best.get().containsIntCost;
+	}
+	
+	private void notifyListener() {
+		Runnable r = listener;
+		if (r != null) r.run();
+	}
+	
+	/*
+	 * Copies a solution, into the spare if there is one and the solution supports it.
+	 */
+	@SuppressWarnings("unchecked")
+	private T snapshot(T solution) {
+		T target = spare.getAndSet(null);
+		if (target != null && solution instanceof CopyableInto) {
+			return ((CopyableInto<T>)solution).copyInto(target);
+		}
+		return solution.copy();
+	}
+	
+	/*
+	 * Called after replacing the best snapshot.  The replacement is a volatile write that 
+	 * precedes the volatile read of escaped, and acquire sets escaped before it re-reads best.  
+	 * So either acquire sees the replacement and retries, or this sees that the replaced 
+	 * solution escaped and does not reuse it.
+	 */
+	private void recycle(Best<T> replaced) {
+		if (replaced.owned && !replaced.escaped) spare.set(replaced.solution);
+	}
+	
+	/*
+	 * Gets the best snapshot, for a method that hands out its solution.
+	 */
+	private Best<T> acquire() {
+		Best<T> b = best.get();
+		while (!b.escaped) {
+			b.escaped = true;
+			Best<T> current = best.get();
+			if (current == b) break;
+			b = current;
+		}
+		return b;
+	}
+	
+	/*
+	 * Snapshot of the best solution, its cost, and when it was found.  Only
+	 * escaped changes, once the solution is handed out.
+	 */
+	private static final class Best<T> {
+		private final T solution;
+		// true if the solution is a copy that belongs to the tracker
+		private final boolean owned;
+		private final int cost;
+		private final double costD;
+		private final boolean containsIntCost;
+		private final long when;
+		private volatile boolean escaped;
+		
+		private Best(T solution, boolean owned, int cost, double costD, boolean containsIntCost, long when) {
+			this.solution = solution;
+			this.owned = owned;
+			this.cost = cost;
+			this.costD = costD;
+			this.containsIntCost = containsIntCost;
+			this.when = when;
+		}
 	}
 }
\ No newline at end of file
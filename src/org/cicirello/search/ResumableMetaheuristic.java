@@ -0,0 +1,78 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search;
+
+import org.cicirello.util.Copyable;
+
+/**
+ * This interface defines the required methods for implementations
+ * of metaheuristics that can execute a run in segments, continuing 
+ * the run from where the previous segment ended without reinitializing
+ * control parameters (such as the temperature of simulated annealing), and that
+ * can inject a solution, such as one migrated from another search, between segments.
+ *
+ * @param <T> The type of object under optimization.
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.6.2020
+ */
+public interface ResumableMetaheuristic<T extends Copyable<T>> extends ReoptimizableMetaheuristic<T> {
+	
+	/**
+	 * <p>Begins a run of the metaheuristic at the previously best found solution, as 
+	 * {@link #reoptimize(int) reoptimize} does, reinitializing control parameters for a run
+	 * whose total length is runLength, but executes only the first segment of the run.  
+	 * The rest of the run is executed by the {@link #resume resume} method.</p>
+	 * @param runLength The total length of the run.
+	 * @param segmentLength The length of the first segment of the run.  If segmentLength
+	 * is greater than runLength, then the entire run is executed.
+	 * @return The current solution at the end of the segment and its cost, which may or may not be the best
+	 * of run solution, and which may or may not be the same as the solution contained
+	 * in this metaheuristic's {@link ProgressTracker}, which contains the best of all runs.
+	 * Returns null if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 */
+	SolutionCostPair<T> reoptimize(int runLength, int segmentLength);
+	
+	/**
+	 * <p>Executes the next segment of the run most recently begun by the 
+	 * {@link #reoptimize(int,int) reoptimize(runLength, segmentLength)} method, without
+	 * reinitializing control parameters.  The segment continues from the solution at which
+	 * the previous segment ended, unless a solution is injected, in which case the segment 
+	 * continues from a copy of the injected solution.  If there is no run to continue,
+	 * such as if the previous run is complete, then this method begins a new run whose length
+	 * is segmentLength, at the injected solution if there is one, and otherwise at the previously best 
+	 * found solution.</p>
+	 * @param segmentLength The length of the segment.  If segmentLength
+	 * is greater than the remaining length of the run, then the rest of the run is executed.
+	 * @param injected A solution to continue the run from, or null to continue from
+	 * the end of the previous segment.  The injected solution is not changed by this method.
+	 * @return The current solution at the end of the segment and its cost, which may or may not be the best
+	 * of run solution, and which may or may not be the same as the solution contained
+	 * in this metaheuristic's {@link ProgressTracker}, which contains the best of all runs.
+	 * Returns null if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 */
+	SolutionCostPair<T> resume(int segmentLength, T injected);
+}
@@ -0,0 +1,148 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.concurrent;
+
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.util.Copyable;
+import java.util.ArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Internal class used by the timed parallel multistarters to coordinate a
+ * set of worker threads that run until a deadline.  The worker threads check 
+ * the deadline via {@link #expired} before each restart, and notify the coordinator
+ * via {@link #workerDone} when they finish.  The coordinating thread blocks in 
+ * {@link #await} until the deadline, until all workers finish, or until the best possible
+ * solution is found, whichever comes first.  While blocked, it is woken only when the
+ * best solution in the ProgressTracker changes, which it records in the search history.
+ * The coordinator must be set as the ProgressTracker's 
+ * {@link ProgressTracker#setChangeListener change listener} for the duration of the search,
+ * and it passes each change on to the listener (if any) that it replaced, which must be 
+ * restored at the end of the search.
+ *
+ * @param <T> The type of object being optimized.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.17.2020
+ */
+final class DeadlineCoordinator<T extends Copyable<T>> implements Runnable {
+	
+	private final ProgressTracker<T> tracker;
+	private final long deadline;
+	private final Runnable previous;
+	
+	private final ReentrantLock lock;
+	private final Condition signal;
+	
+	// guarded by lock
+	private boolean changed;
+	private int running;
+	
+	/**
+	 * Constructs the coordinator.
+	 * @param tracker The ProgressTracker shared by the workers.
+	 * @param nanos The length of time, in nanoseconds, from now until the deadline.
+	 * @param numWorkers The number of worker threads.
+	 * @param previous The change listener that the coordinator replaces, or null if none.
+	 */
+	DeadlineCoordinator(ProgressTracker<T> tracker, long nanos, int numWorkers, Runnable previous) {
+		this.tracker = tracker;
+		this.previous = previous;
+		deadline = System.nanoTime() + nanos;
+		lock = new ReentrantLock();
+		signal = lock.newCondition();
+		running = numWorkers;
+	}
+	
+	/**
+	 * Checks whether the deadline has passed.
+	 * @return true if the deadline has passed
+	 */
+	boolean expired() {
+		return System.nanoTime() - deadline >= 0;
+	}
+	
+	/**
+	 * Called by a worker thread when it finishes.
+	 */
+	void workerDone() {
+		lock.lock();
+		try {
+			running--;
+			signal.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Called by the ProgressTracker when its best solution changes.
+	 */
+	@Override
+	public void run() {
+		lock.lock();
+		try {
+			changed = true;
+			signal.signal();
+		} finally {
+			lock.unlock();
+		}
+		if (previous != null) previous.run();
+	}
+	
+	/**
+	 * Blocks until the deadline, until all workers finish, or until the best possible
+	 * solution is found, recording in the history the best solution contained in the 
+	 * ProgressTracker at the start, and each time that it changes.
+	 * @param history The list in which to record the history of best solutions.
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 */
+	void await(ArrayList<SolutionCostPair<T>> history) throws InterruptedException {
+		if (tracker.getSolution() != null) history.add(tracker.getSolutionCostPair());
+		boolean done = false;
+		while (!done) {
+			boolean record;
+			lock.lock();
+			try {
+				long remaining = deadline - System.nanoTime();
+				while (!changed && running > 0 && !tracker.didFindBest() && remaining > 0) {
+					remaining = signal.awaitNanos(remaining);
+				}
+				record = changed;
+				changed = false;
+				done = running <= 0 || tracker.didFindBest() || remaining <= 0;
+			} finally {
+				lock.unlock();
+			}
+			// copying the solution is done without holding the lock, so workers aren't blocked
+			if (record) {
+				SolutionCostPair<T> current = tracker.getSolutionCostPair();
+				// setFoundBest also wakes the coordinator without a change in the best solution 
+				if (history.isEmpty() || current.compareTo(history.get(history.size()-1)) < 0) {
+					history.add(current);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,595 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.concurrent;
+
+import org.cicirello.search.Metaheuristic;
+import org.cicirello.search.ReoptimizableMetaheuristic;
+import org.cicirello.search.ResumableMetaheuristic;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.problems.Problem;
+import org.cicirello.util.Copyable;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * <p>This class implements an island model for parallel metaheuristics, such as
+ * parallel {@link org.cicirello.search.sa.SimulatedAnnealing SimulatedAnnealing}.
+ * It can be used with any class that implements the {@link ReoptimizableMetaheuristic} interface.
+ * Unlike a {@link ParallelMultistarter}, whose parallel searches are fully independent and
+ * only share the best solution found via a {@link ProgressTracker}, the islands
+ * of an island model periodically migrate their elite solutions to other islands, so that
+ * an island that is stuck in a poor region of the search space can continue from a better
+ * solution found elsewhere.</p>
+ *
+ * <p>Each island runs in its own thread, and has its own ProgressTracker, which keeps the
+ * island's elite (i.e., best found) solution.  The search proceeds in epochs.  
+ * Every migrationInterval epochs, each island sends its elite solution
+ * to one or more other islands, as determined by the {@link Topology}.  At the start of its 
+ * next epoch, an island replaces its elite solution with the best solution it received, if that
+ * solution is better.  Islands don't wait for each other: each island has a lock-free 
+ * mailbox, which holds the best solution sent to the island since it last checked.</p>
+ *
+ * <p>If the metaheuristic is a {@link ResumableMetaheuristic}, such as 
+ * {@link org.cicirello.search.sa.SimulatedAnnealing SimulatedAnnealing}, then the epochs of
+ * each call to {@link #optimize} are segments of a single run of each island, which continues
+ * from one epoch to the next without reinitializing control parameters (e.g., the annealing schedule), 
+ * and a migrant that an island accepts is injected into the island's run as its current solution.  
+ * Otherwise, during each epoch, each island calls the {@link ReoptimizableMetaheuristic#reoptimize reoptimize} 
+ * method of its metaheuristic, which begins at the island's elite solution (or a random solution in the island's
+ * first epoch).</p>
+ *
+ * <p>The best solution across all of the islands is kept in the island model's ProgressTracker,
+ * which is the ProgressTracker of the metaheuristics at the time of construction.  
+ * The islands check it between epochs, so the search terminates early if any island finds the best
+ * possible solution, or if the ProgressTracker's {@link ProgressTracker#stop stop} method is called.</p>
+ *
+ * @param <T> The type of object being optimized.
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.6.2020
+ */
+public final class IslandModel<T extends Copyable<T>> implements Metaheuristic<T>, AutoCloseable {
+	
+	/**
+	 * The migration topologies, which determine which islands each island
+	 * sends its elite solution to.
+	 */
+	public enum Topology {
+		/** Each island sends its elite solution to the next island in a ring. */
+		RING,
+		/** Each island sends its elite solution to a randomly chosen other island. */
+		RANDOM,
+		/** 
+		 * The first island is a hub, which sends its elite solution to all of the other islands,
+		 * and each of the other islands sends its elite solution to the hub. 
+		 */
+		STAR
+	}
+	
+	private final ArrayList<ReoptimizableMetaheuristic<T>> islands;
+	private final ArrayList<ProgressTracker<T>> islandTrackers;
+	private final ArrayList<Mailbox<T>> mailboxes;
+	private ProgressTracker<T> tracker;
+	private final int epochLength;
+	private final int migrationInterval;
+	private final Topology topology;
+	private final AtomicLong migrations;
+	
+	// the source of random numbers for the random topology, or null for ThreadLocalRandom,
+	// and the island's own engines, which are split from it
+	private final RandomEngine engine;
+	private final ArrayList<RandomEngine> islandEngines;
+	
+	// created upon first use, unless an executor is set
+	private ExecutorService threadPool;
+	private boolean ownsThreadPool;
+	private boolean closed;
+	
+	/**
+	 * Constructs an island model with a ring topology, in which each island
+	 * sends its elite solution to the next island at the end of every epoch.
+	 * @param search The metaheuristic to run on the islands.  Each island runs a functionally
+	 * identical copy of search, generated by its split method, and is given its own ProgressTracker.
+	 * The ProgressTracker of search becomes the island model's ProgressTracker.  The search itself 
+	 * is not run, and its ProgressTracker is left unchanged.
+	 * @param numIslands The number of islands, each of which runs in its own thread.
+	 * @param epochLength The run length of each island's metaheuristic in each epoch.
+	 * @throws IllegalArgumentException if numIslands is less than 1.
+	 * @throws IllegalArgumentException if epochLength is less than 1.
+	 */
+	public IslandModel(ReoptimizableMetaheuristic<T> search, int numIslands, int epochLength) {
+		this(search, numIslands, epochLength, 1, Topology.RING);
+	}
+	
+	/**
+	 * Constructs an island model.
+	 * @param search The metaheuristic to run on the islands.  Each island runs a functionally
+	 * identical copy of search, generated by its split method, and is given its own ProgressTracker.
+	 * The ProgressTracker of search becomes the island model's ProgressTracker.  The search itself 
+	 * is not run, and its ProgressTracker is left unchanged.
+	 * @param numIslands The number of islands, each of which runs in its own thread.
+	 * @param epochLength The run length of each island's metaheuristic in each epoch.
+	 * @param migrationInterval The number of epochs between migrations.
+	 * @param topology The migration topology.
+	 * @throws IllegalArgumentException if numIslands is less than 1.
+	 * @throws IllegalArgumentException if epochLength is less than 1.
+	 * @throws IllegalArgumentException if migrationInterval is less than 1.
+	 * @throws NullPointerException if topology is null.
+	 */
+	public IslandModel(ReoptimizableMetaheuristic<T> search, int numIslands, int epochLength, int migrationInterval, Topology topology) {
+		this(search, numIslands, epochLength, migrationInterval, topology, null);
+	}
+	
+	/**
+	 * Constructs an island model that uses a given source of random numbers 
+	 * for the {@link Topology#RANDOM RANDOM} topology.
+	 * @param search The metaheuristic to run on the islands.  Each island runs a functionally
+	 * identical copy of search, generated by its split method, and is given its own ProgressTracker.
+	 * The ProgressTracker of search becomes the island model's ProgressTracker.  The search itself 
+	 * is not run, and its ProgressTracker is left unchanged.
+	 * @param numIslands The number of islands, each of which runs in its own thread.
+	 * @param epochLength The run length of each island's metaheuristic in each epoch.
+	 * @param migrationInterval The number of epochs between migrations.
+	 * @param topology The migration topology.
+	 * @param engine The source of random numbers for choosing the destinations of migrants, 
+	 * such as a {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, 
+	 * which is split for each island, and when the island model is split.  
+	 * If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if numIslands is less than 1.
+	 * @throws IllegalArgumentException if epochLength is less than 1.
+	 * @throws IllegalArgumentException if migrationInterval is less than 1.
+	 * @throws NullPointerException if topology is null.
+	 */
+	public IslandModel(ReoptimizableMetaheuristic<T> search, int numIslands, int epochLength, int migrationInterval, Topology topology, RandomEngine engine) {
+		if (numIslands < 1) throw new IllegalArgumentException("must be at least 1 island");
+		validate(epochLength, migrationInterval, topology);
+		ArrayList<ReoptimizableMetaheuristic<T>> searches = new ArrayList<ReoptimizableMetaheuristic<T>>(numIslands);
+		for (int i = 0; i < numIslands; i++) {
+			searches.add(search.split());
+		}
+		tracker = search.getProgressTracker();
+		islands = searches;
+		this.epochLength = epochLength;
+		this.migrationInterval = migrationInterval;
+		this.topology = topology;
+		this.engine = engine;
+		migrations = new AtomicLong();
+		islandTrackers = new ArrayList<ProgressTracker<T>>(numIslands);
+		mailboxes = new ArrayList<Mailbox<T>>(numIslands);
+		islandEngines = new ArrayList<RandomEngine>(numIslands);
+		initIslands();
+	}
+	
+	/**
+	 * Constructs an island model, with one island for each of a collection of metaheuristics.
+	 * @param searches A collection of the metaheuristics to run on the islands.
+	 * The number of islands will be equal to the size of this collection.  Each island runs a
+	 * functionally identical copy of one of the searches, generated by its split method, and is given 
+	 * its own ProgressTracker.  The ProgressTracker that they share becomes the island model's 
+	 * ProgressTracker.  The searches themselves are not run, and their ProgressTracker is left unchanged.
+	 * @param epochLength The run length of each island's metaheuristic in each epoch.
+	 * @param migrationInterval The number of epochs between migrations.
+	 * @param topology The migration topology.
+	 * @throws IllegalArgumentException if searches is empty.
+	 * @throws IllegalArgumentException if epochLength is less than 1.
+	 * @throws IllegalArgumentException if migrationInterval is less than 1.
+	 * @throws NullPointerException if topology is null.
+	 * @throws IllegalArgumentException if the Collection of Metaheuristics don't all share the same
+	 * problem (i.e., requires that s1.getProblem() == s2.getProblem() for all s1, s2 in searches).
+	 * @throws IllegalArgumentException if the Collection of Metaheuristics don't all share a single
+	 * ProgressTracker (i.e., requires that 
+	 * s1.getProgressTracker() == s2.getProgressTracker() for all s1, s2 in searches).
+	 */
+	public IslandModel(Collection<? extends ReoptimizableMetaheuristic<T>> searches, int epochLength, int migrationInterval, Topology topology) {
+		this(searches, epochLength, migrationInterval, topology, null);
+	}
+	
+	/**
+	 * Constructs an island model, with one island for each of a collection of metaheuristics,
+	 * that uses a given source of random numbers for the {@link Topology#RANDOM RANDOM} topology.
+	 * @param searches A collection of the metaheuristics to run on the islands.
+	 * The number of islands will be equal to the size of this collection.  Each island runs a
+	 * functionally identical copy of one of the searches, generated by its split method, and is given 
+	 * its own ProgressTracker.  The ProgressTracker that they share becomes the island model's 
+	 * ProgressTracker.  The searches themselves are not run, and their ProgressTracker is left unchanged.
+	 * @param epochLength The run length of each island's metaheuristic in each epoch.
+	 * @param migrationInterval The number of epochs between migrations.
+	 * @param topology The migration topology.
+	 * @param engine The source of random numbers for choosing the destinations of migrants, 
+	 * such as a {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, 
+	 * which is split for each island, and when the island model is split.  
+	 * If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if searches is empty.
+	 * @throws IllegalArgumentException if epochLength is less than 1.
+	 * @throws IllegalArgumentException if migrationInterval is less than 1.
+	 * @throws NullPointerException if topology is null.
+	 * @throws IllegalArgumentException if the Collection of Metaheuristics don't all share the same
+	 * problem (i.e., requires that s1.getProblem() == s2.getProblem() for all s1, s2 in searches).
+	 * @throws IllegalArgumentException if the Collection of Metaheuristics don't all share a single
+	 * ProgressTracker (i.e., requires that 
+	 * s1.getProgressTracker() == s2.getProgressTracker() for all s1, s2 in searches).
+	 */
+	public IslandModel(Collection<? extends ReoptimizableMetaheuristic<T>> searches, int epochLength, int migrationInterval, Topology topology, RandomEngine engine) {
+		if (searches.size() < 1) throw new IllegalArgumentException("must be at least 1 island");
+		validate(epochLength, migrationInterval, topology);
+		islands = new ArrayList<ReoptimizableMetaheuristic<T>>(searches.size());
+		ProgressTracker<T> t = null;
+		Problem<T> problem = null;
+		for (ReoptimizableMetaheuristic<T> s : searches) {
+			if (problem == null) {
+				problem = s.getProblem();
+				if (problem == null) throw new IllegalArgumentException("Metaheuristic has no problem to solve.");
+			} else if(s.getProblem() != problem) {
+				throw new IllegalArgumentException("All Metaheuristics in searches must solve the same problem.");
+			}
+			if (t==null) {
+				t = s.getProgressTracker();
+				if (t == null) throw new IllegalArgumentException("All Metaheuristics in searches must share a single ProgressTracker.");
+			} else if (s.getProgressTracker() != t) {
+				throw new IllegalArgumentException("All Metaheuristics in searches must share a single ProgressTracker.");
+			}
+			islands.add(s.split());
+		}
+		tracker = t;
+		this.epochLength = epochLength;
+		this.migrationInterval = migrationInterval;
+		this.topology = topology;
+		this.engine = engine;
+		migrations = new AtomicLong();
+		islandTrackers = new ArrayList<ProgressTracker<T>>(islands.size());
+		mailboxes = new ArrayList<Mailbox<T>>(islands.size());
+		islandEngines = new ArrayList<RandomEngine>(islands.size());
+		initIslands();
+	}
+	
+	/*
+	 * private for use by split method
+	 */
+	private IslandModel(IslandModel<T> other) {
+		islands = new ArrayList<ReoptimizableMetaheuristic<T>>(other.islands.size());
+		for (ReoptimizableMetaheuristic<T> island : other.islands) {
+			islands.add(island.split());
+		}
+		tracker = other.tracker;
+		epochLength = other.epochLength;
+		migrationInterval = other.migrationInterval;
+		topology = other.topology;
+		engine = other.engine != null ? other.engine.split() : null;
+		migrations = new AtomicLong();
+		islandTrackers = new ArrayList<ProgressTracker<T>>(islands.size());
+		mailboxes = new ArrayList<Mailbox<T>>(islands.size());
+		islandEngines = new ArrayList<RandomEngine>(islands.size());
+		initIslands();
+	}
+	
+	/**
+	 * <p>Executes the island model.  Each island runs the given number of epochs,
+	 * unless the search terminates early because one of the islands found the best possible 
+	 * solution, or the ProgressTracker's stop method was called.</p>
+	 *
+	 * <p>If this method is called multiple times, each island continues from its elite solution
+	 * from the previous call.  If the islands' metaheuristic is a {@link ResumableMetaheuristic},
+	 * then each call begins a new run of each island, whose length is numEpochs * epochLength.</p>
+	 *
+	 * @param numEpochs The number of epochs.  The total run length of each island is 
+	 * numEpochs * epochLength, where the meaning of run length depends upon the metaheuristic.
+	 *
+	 * @return The best solution (and its cost) among the islands' elite solutions, 
+	 * which may or may not be the same as the solution contained
+	 * in the island model's {@link ProgressTracker}, which contains the best of all runs.
+	 * Returns null if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 *
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	@Override
+	public SolutionCostPair<T> optimize(int numEpochs) {
+		
+		if (closed) {
+			throw new IllegalStateException("This IslandModel was previously closed.");
+		}
+		
+		class IslandCallable implements Callable<SolutionCostPair<T>> {
+			
+			int which;
+			
+			IslandCallable(int which) {
+				this.which = which;
+			}
+			
+			@Override
+			public SolutionCostPair<T> call() {
+				return runIsland(which, numEpochs);
+			}
+		}
+		
+		SolutionCostPair<T> bestIsland = null;
+		if (!tracker.isStopped() && !tracker.didFindBest()) {
+			ArrayList<Future<SolutionCostPair<T>>> futures = new ArrayList<Future<SolutionCostPair<T>>>(); 
+			for (int i = 0; i < islands.size(); i++) {
+				futures.add(threadPool().submit(new IslandCallable(i)));
+			}
+			for (Future<SolutionCostPair<T>> f : futures) {
+				try {
+					SolutionCostPair<T> pair = f.get();
+					if (bestIsland == null || pair != null && pair.compareTo(bestIsland) < 0) {
+						bestIsland = pair;
+					}
+				} 
+				catch (InterruptedException ex) { }
+				catch (ExecutionException ex) { }
+			}
+		}
+		return bestIsland; 
+	}
+	
+	/**
+	 * Gets the number of islands.
+	 * @return the number of islands
+	 */
+	public int getNumIslands() {
+		return islands.size();
+	}
+	
+	/**
+	 * Gets the total number of solutions sent from one island to another,
+	 * across all calls to the {@link #optimize} method.
+	 * @return the total number of migrations
+	 */
+	public long getTotalMigrations() {
+		return migrations.get();
+	}
+	
+	/**
+	 * <p>Initiates an orderly shutdown of the thread pool used by this IslandModel.
+	 * The IslandModel utilizes a fixed thread pool so that multiple calls to
+	 * the {@link #optimize} method can reuse threads to minimize the expensive task of
+	 * thread creation.  When you no longer need the IslandModel, you should call
+	 * the close method to ensure that unneeded threads do not persist.
+	 * If an ExecutorService was provided via the {@link #setExecutor} method, 
+	 * then it is not shut down, since it may be shared.
+	 * Once close is called, all subsequent calls to {@link #optimize} will throw an exception.</p>
+	 * <p>This method is invoked automatically on objects managed by the try-with-resources statement.</p>
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		if (ownsThreadPool) threadPool.shutdown();
+	}
+	
+	/**
+	 * <p>Sets the ExecutorService used to run the islands, such as the shared
+	 * thread pool provided by {@link SearchExecutors#sharedPool}, or an ExecutorService that runs 
+	 * each island in a virtual thread.  By default, the IslandModel creates
+	 * its own fixed thread pool, with one thread per island, upon the first call to 
+	 * {@link #optimize}.  An ExecutorService that is set with this method is not shut down by the
+	 * {@link #close} method, and it is also used by the objects returned by the {@link #split} method.</p>
+	 *
+	 * <p>If the ExecutorService has fewer threads than the number of islands, 
+	 * then some of the islands wait for others to finish before they begin, and
+	 * will receive migrants only from islands that have already run.</p>
+	 *
+	 * @param executor The ExecutorService to use, or null for the IslandModel to use its own thread pool.
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		if (closed) {
+			throw new IllegalStateException("This IslandModel was previously closed.");
+		}
+		if (ownsThreadPool) {
+			threadPool.shutdown();
+			ownsThreadPool = false;
+		}
+		threadPool = executor;
+	}
+	
+	@Override
+	public IslandModel<T> split() {
+		IslandModel<T> im = new IslandModel<T>(this);
+		if (!ownsThreadPool) im.threadPool = threadPool;
+		if (closed) im.close();
+		return im;
+	}
+	
+	@Override
+	public ProgressTracker<T> getProgressTracker() {
+		return tracker;
+	}
+	
+	@Override
+	public void setProgressTracker(ProgressTracker<T> tracker) {
+		if (tracker != null) this.tracker = tracker;
+	}
+	
+	@Override
+	public Problem<T> getProblem() {
+		return islands.get(0).getProblem();
+	}
+	
+	/**
+	 * <p>Gets the total run length of all islands combined.
+	 * The meaning of run length may vary based on what metaheuristic is run on the islands.</p>
+	 * @return the total run length of all islands, across all calls to the {@link #optimize} method.
+	 */
+	@Override
+	public long getTotalRunLength() {
+		long total = 0;
+		for (ReoptimizableMetaheuristic<T> island : islands) {
+			total = total + island.getTotalRunLength();
+		}
+		return total;
+	}
+	
+	/*
+	 * package-private for use by tests: gets the ProgressTracker of an island
+	 */
+	ProgressTracker<T> getIslandProgressTracker(int which) {
+		return islandTrackers.get(which);
+	}
+	
+	/*
+	 * Runs one island for the given number of epochs, returning the island's elite solution.
+	 */
+	private SolutionCostPair<T> runIsland(int which, int numEpochs) {
+		ReoptimizableMetaheuristic<T> island = islands.get(which);
+		ProgressTracker<T> islandTracker = islandTrackers.get(which);
+		Mailbox<T> mailbox = mailboxes.get(which);
+		ResumableMetaheuristic<T> resumable = island instanceof ResumableMetaheuristic ? 
+			(ResumableMetaheuristic<T>)island : null;
+		int runLength = numEpochs <= Integer.MAX_VALUE / epochLength ? numEpochs * epochLength : Integer.MAX_VALUE;
+		for (int e = 1; e <= numEpochs && !tracker.isStopped() && !tracker.didFindBest(); e++) {
+			SolutionCostPair<T> migrant = mailbox.take();
+			// the island only accepts the migrant if it is better than the island's elite
+			if (migrant != null) {
+				SolutionCostPair<T> elite = islandTracker.getSolutionCostPair();
+				if (elite.getSolution() == null || migrant.compareTo(elite) < 0) {
+					update(islandTracker, migrant);
+				} else {
+					migrant = null;
+				}
+			}
+			if (resumable == null) {
+				island.reoptimize(epochLength);
+			} else if (e == 1) {
+				// the run begins at the island's elite, which includes an accepted migrant
+				resumable.reoptimize(runLength, epochLength);
+			} else {
+				resumable.resume(epochLength, migrant != null ? migrant.getSolution() : null);
+			}
+			SolutionCostPair<T> elite = islandTracker.getSolutionCostPair();
+			if (elite.getSolution() == null) continue;
+			update(tracker, elite);
+			if (islandTracker.didFindBest()) {
+				tracker.setFoundBest();
+			} else if (e % migrationInterval == 0) {
+				migrate(which, elite);
+			}
+		}
+		SolutionCostPair<T> elite = islandTracker.getSolutionCostPair();
+		return elite.getSolution() != null ? elite : null;
+	}
+	
+	/*
+	 * Sends an island's elite solution to its neighbors in the topology.
+	 * The solution is immutable once in a ProgressTracker, and recipients
+	 * copy it into their own ProgressTrackers, so it is sent without copying. 
+	 */
+	private void migrate(int from, SolutionCostPair<T> elite) {
+		int n = islands.size();
+		if (n < 2) return;
+		switch (topology) {
+			case RING: 
+				send(elite, (from + 1) % n);
+				break;
+			case RANDOM:
+				RandomEngine r = islandEngines.get(from);
+				int to = r != null ? r.nextInt(n - 1) : ThreadLocalRandom.current().nextInt(n - 1);
+				send(elite, to >= from ? to + 1 : to);
+				break;
+			case STAR:
+				if (from == 0) {
+					for (int i = 1; i < n; i++) send(elite, i);
+				} else {
+					send(elite, 0);
+				}
+				break;
+		}
+	}
+	
+	private void send(SolutionCostPair<T> elite, int to) {
+		mailboxes.get(to).offer(elite);
+		migrations.incrementAndGet();
+	}
+	
+	private void update(ProgressTracker<T> t, SolutionCostPair<T> pair) {
+		if (pair.containsIntCost()) t.update(pair.getCost(), pair.getSolution());
+		else t.update(pair.getCostDouble(), pair.getSolution());
+	}
+	
+	/*
+	 * Gives each island its own ProgressTracker, mailbox, and random engine.  The islands are
+	 * split from the caller's searches, so the caller's searches keep their tracker.
+	 */
+	private void initIslands() {
+		for (ReoptimizableMetaheuristic<T> island : islands) {
+			ProgressTracker<T> t = new ProgressTracker<T>();
+			island.setProgressTracker(t);
+			islandTrackers.add(t);
+			mailboxes.add(new Mailbox<T>());
+			islandEngines.add(engine != null ? engine.split() : null);
+		}
+	}
+	
+	private static void validate(int epochLength, int migrationInterval, Topology topology) {
+		if (epochLength < 1) throw new IllegalArgumentException("epochLength must be at least 1");
+		if (migrationInterval < 1) throw new IllegalArgumentException("migrationInterval must be at least 1");
+		if (topology == null) throw new NullPointerException("topology must be non-null");
+	}
+	
+	/*
+	 * Gets the ExecutorService, creating a thread pool if one hasn't been set.
+	 */
+	private ExecutorService threadPool() {
+		if (threadPool == null) {
+			threadPool = Executors.newFixedThreadPool(islands.size());
+			ownsThreadPool = true;
+		}
+		return threadPool;
+	}
+	
+	/*
+	 * A lock-free mailbox, which holds the best solution sent
+	 * to an island since the island last checked it.
+	 */
+	private static final class Mailbox<T extends Copyable<T>> {
+		
+		private final AtomicReference<SolutionCostPair<T>> slot;
+		
+		Mailbox() {
+			slot = new AtomicReference<SolutionCostPair<T>>();
+		}
+		
+		void offer(SolutionCostPair<T> migrant) {
+			SolutionCostPair<T> current;
+			do {
+				current = slot.get();
+				if (current != null && current.compareTo(migrant) <= 0) return;
+			} while (!slot.compareAndSet(current, migrant));
+		}
+		
+		SolutionCostPair<T> take() {
+			return slot.getAndSet(null);
+		}
+	}
+}
@@ -63,12 +63,15 @@ import java.util.Iterator;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.15.2020
+ * @version 7.18.2020
  */
 public final class ParallelMultistarter<T extends Copyable<T>> implements Metaheuristic<T>, AutoCloseable {
 	
 	private final ArrayList<Multistarter<T>> multistarters;
-	private final ExecutorService threadPool;
+	// created upon first use, unless an executor is set
+	private ExecutorService threadPool;
+	private boolean ownsThreadPool;
+	private boolean closed;
 	
 	/**
 	 * Constructs a parallel multistart metaheuristic that executes multiple runs of
@@ -88,7 +91,6 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 		for (int i = 1; i < numThreads; i++) {
 			multistarters.add(new Multistarter<T>(search.split(), runLength));
 		}
-		threadPool = Executors.newFixedThreadPool(numThreads);
 	}
 	
 	/**
@@ -108,7 +110,6 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 		for (int i = 1; i < numThreads; i++) {
 			multistarters.add(new Multistarter<T>(search.split(), r.split()));
 		}
-		threadPool = Executors.newFixedThreadPool(numThreads);
 	}
 	
 	/**
@@ -129,7 +130,6 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 				addedFirst = true;
 			}
 		}
-		threadPool = Executors.newFixedThreadPool(multistarters.size());
 	}
 	
 	/**
@@ -170,7 +170,6 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 			}
 			multistarters.add(new Multistarter<T>(s, rs.next()));
 		}
-		threadPool = Executors.newFixedThreadPool(multistarters.size());
 	}
 	
 	/**
@@ -208,7 +207,6 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 			}
 			multistarters.add(new Multistarter<T>(s, runLength));
 		}
-		threadPool = Executors.newFixedThreadPool(multistarters.size());
 	}
 	
 	/**
@@ -227,7 +225,6 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 		for (int i = 1; i < numThreads; i++) {
 			multistarters.add(multistartSearch.split());
 		}
-		threadPool = Executors.newFixedThreadPool(numThreads);
 	}
 	
 	/**
@@ -263,7 +260,6 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 			}
 			this.multistarters.add(m);
 		}
-		threadPool = Executors.newFixedThreadPool(multistarters.size());
 	}
 	
 	
@@ -294,7 +290,7 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 	@Override
 	public SolutionCostPair<T> optimize(int numRestarts) {
 		
-		if (threadPool.isShutdown()) {
+		if (closed) {
 			throw new IllegalStateException("This ParallelMultistarter was previously closed.");
 		}
 		
@@ -317,7 +313,7 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 		if (!tracker.isStopped() && !tracker.didFindBest()) {
 			ArrayList<Future<SolutionCostPair<T>>> futures = new ArrayList<Future<SolutionCostPair<T>>>(); 
 			for (Multistarter<T> m : multistarters) {
-				futures.add(threadPool.submit(new MultistartCallable(m)));
+				futures.add(threadPool().submit(new MultistartCallable(m)));
 			}
 			for (Future<SolutionCostPair<T>> f : futures) {
 				try {
@@ -339,12 +335,51 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 	 * the {@link #optimize} method can reuse threads to minimize the expensive task of
 	 * thread creation.  When you no longer need the ParallelMultistarter, you should call
 	 * the close method to ensure that unneeded threads do not persist.
+	 * If an ExecutorService was provided via the {@link #setExecutor} method, 
+	 * then it is not shut down, since it may be shared.
 	 * Once close is called, all subsequent calls to {@link #optimize} will throw an exception.</p>
 	 * <p>This method is invoked automatically on objects managed by the try-with-resources statement.</p>
 	 */
 	@Override
 	public void close() {
-		threadPool.shutdown();
+		closed = true;
+		if (ownsThreadPool) threadPool.shutdown();
+	}
+	
+	/**
+	 * <p>Sets the ExecutorService used to run the parallel searches, such as the shared
+	 * thread pool provided by {@link SearchExecutors#sharedPool}, or an ExecutorService that runs 
+	 * each parallel search in a virtual thread.  By default, the ParallelMultistarter creates
+	 * its own fixed thread pool, with one thread per parallel search, upon the first call to 
+	 * {@link #optimize}.  An ExecutorService that is set with this method is not shut down by the
+	 * {@link #close} method, and it is also used by the objects returned by the {@link #split} method.</p>
+	 *
+	 * <p>If the ExecutorService has fewer threads than the number of parallel searches, 
+	 * then some of the parallel searches wait for others to finish before they begin.</p>
+	 *
+	 * @param executor The ExecutorService to use, or null for the ParallelMultistarter to use its own thread pool.
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		if (closed) {
+			throw new IllegalStateException("This ParallelMultistarter was previously closed.");
+		}
+		if (ownsThreadPool) {
+			threadPool.shutdown();
+			ownsThreadPool = false;
+		}
+		threadPool = executor;
+	}
+	
+	/*
+	 * Gets the ExecutorService, creating a thread pool if one hasn't been set.
+	 */
+	private ExecutorService threadPool() {
+		if (threadPool == null) {
+			threadPool = Executors.newFixedThreadPool(multistarters.size());
+			ownsThreadPool = true;
+		}
+		return threadPool;
 	}
 	
 	@Override
@@ -354,7 +389,8 @@ public final class ParallelMultistarter<T extends Copyable<T>> implements Metahe
 			splits.add(m.split());
 		}
 		ParallelMultistarter<T> pm = new ParallelMultistarter<T>(splits);
-		if (threadPool.isShutdown()) pm.close();
+		if (!ownsThreadPool) pm.threadPool = threadPool;
+		if (closed) pm.close();
 		return pm;
 	}
 	
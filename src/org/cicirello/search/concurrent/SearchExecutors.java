@@ -0,0 +1,142 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.concurrent;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.lang.reflect.Method;
+
+/**
+ * <p>This utility class provides ExecutorServices for use with the parallel multistarters
+ * of this package (see the setExecutor methods of {@link ParallelMultistarter}, 
+ * {@link ParallelReoptimizableMultistarter}, {@link TimedParallelMultistarter}, and
+ * {@link TimedParallelReoptimizableMultistarter}).  By default, each of those parallel
+ * multistarters creates its own fixed thread pool, with one thread per parallel search.  
+ * This is appropriate if you are running a single search at a time.  However, in an application
+ * running many searches concurrently, the threads of those separate thread pools compete for the 
+ * available cores, and creating and shutting down all of those threads can be costly.
+ * In that case, the searches can share the bounded, work-stealing thread pool provided 
+ * by the {@link #sharedPool} method, or can run each parallel search in a virtual thread
+ * (see {@link #newVirtualThreadExecutor}) if supported by the Java runtime.</p>
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.18.2020
+ */
+public final class SearchExecutors {
+	
+	/*
+	 * Utility class with nothing but static methods, 
+	 * so constructor is private to prevent instantiation.
+	 */
+	private SearchExecutors() {}
+	
+	/**
+	 * <p>Gets a global, bounded, work-stealing thread pool, shared by all searches that
+	 * use it.  Its parallelism is equal to the number of available processors, so that
+	 * concurrent searches share the cores rather than oversubscribing them.  Its threads 
+	 * are daemon threads, and are created only when needed.</p>
+	 *
+	 * <p>Since it is shared, the shutdown methods of the pool returned by this method have 
+	 * no effect, and closing a parallel multistarter that uses it does not shut it down.
+	 * Parallel searches submitted to the pool beyond its parallelism wait for a thread 
+	 * to become available, so the timed parallel multistarters may run fewer parallel 
+	 * searches than configured when the pool is busy.</p>
+	 *
+	 * @return the shared thread pool
+	 */
+	public static ExecutorService sharedPool() {
+		return SharedPoolHolder.POOL;
+	}
+	
+	/**
+	 * Checks whether the Java runtime supports virtual threads.
+	 * @return true if virtual threads are supported
+	 */
+	public static boolean virtualThreadsSupported() {
+		return VirtualThreads.FACTORY != null;
+	}
+	
+	/**
+	 * Creates an ExecutorService that runs each task in a new virtual thread, if 
+	 * the Java runtime supports virtual threads.  The caller is responsible
+	 * for shutting it down when it is no longer needed.
+	 * @return an ExecutorService that runs each task in a new virtual thread
+	 * @throws UnsupportedOperationException if the Java runtime doesn't support virtual threads
+	 */
+	public static ExecutorService newVirtualThreadExecutor() {
+		if (VirtualThreads.FACTORY == null) {
+			throw new UnsupportedOperationException("This Java runtime doesn't support virtual threads.");
+		}
+		try {
+			return (ExecutorService)VirtualThreads.FACTORY.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("This Java runtime doesn't support virtual threads.", e);
+		}
+	}
+	
+	/*
+	 * Lazily initialized holder of the shared pool.
+	 */
+	private static final class SharedPoolHolder {
+		private static final ForkJoinPool POOL = new SharedPool(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/*
+	 * Lazily initialized holder of the virtual thread factory method, which is
+	 * looked up by reflection so that the library doesn't require a Java version
+	 * that supports virtual threads.
+	 */
+	private static final class VirtualThreads {
+		private static final Method FACTORY = lookup();
+		
+		private static Method lookup() {
+			try {
+				return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			} catch (NoSuchMethodException e) {
+				return null;
+			}
+		}
+	}
+	
+	/*
+	 * A work-stealing pool that can't be shut down, since it is shared.
+	 */
+	private static final class SharedPool extends ForkJoinPool {
+		
+		private SharedPool(int parallelism) {
+			super(parallelism);
+		}
+		
+		@Override
+		public void shutdown() {}
+		
+		@Override
+		public List<Runnable> shutdownNow() {
+			return new ArrayList<Runnable>();
+		}
+	}
+}
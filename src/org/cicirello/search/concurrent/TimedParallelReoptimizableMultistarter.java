@@ -74,7 +74,7 @@ import java.util.Iterator;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.11.2020
+ * @version 7.18.2020
  */
 public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>> implements ReoptimizableMetaheuristic<T>, AutoCloseable {
 	
@@ -85,7 +85,10 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 	public static final int TIME_UNIT_MS = 1000;
 	
 	private final ArrayList<ReoptimizableMultistarter<T>> multistarters;
-	private final ExecutorService threadPool;
+	// created upon first use, unless an executor is set
+	private ExecutorService threadPool;
+	private boolean ownsThreadPool;
+	private boolean closed;
 	private int timeUnit;
 	private ArrayList<SolutionCostPair<T>> history;
 	
@@ -107,7 +110,6 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 		for (int i = 1; i < numThreads; i++) {
 			multistarters.add(new ReoptimizableMultistarter<T>(search.split(), runLength));
 		}
-		threadPool = Executors.newFixedThreadPool(numThreads);
 		timeUnit = TIME_UNIT_MS;
 		history = null;
 	}
@@ -129,7 +131,6 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 		for (int i = 1; i < numThreads; i++) {
 			multistarters.add(new ReoptimizableMultistarter<T>(search.split(), r.split()));
 		}
-		threadPool = Executors.newFixedThreadPool(numThreads);
 		timeUnit = TIME_UNIT_MS;
 		history = null;
 	}
@@ -152,7 +153,6 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 				addedFirst = true;
 			}
 		}
-		threadPool = Executors.newFixedThreadPool(multistarters.size());
 		timeUnit = TIME_UNIT_MS;
 		history = null;
 	}
@@ -195,7 +195,6 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 			}
 			multistarters.add(new ReoptimizableMultistarter<T>(s, rs.next()));
 		}
-		threadPool = Executors.newFixedThreadPool(multistarters.size());
 		timeUnit = TIME_UNIT_MS;
 		history = null;
 	}
@@ -235,7 +234,6 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 			}
 			multistarters.add(new ReoptimizableMultistarter<T>(s, runLength));
 		}
-		threadPool = Executors.newFixedThreadPool(multistarters.size());
 		timeUnit = TIME_UNIT_MS;
 		history = null;
 	}
@@ -256,7 +254,6 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 		for (int i = 1; i < numThreads; i++) {
 			multistarters.add(multistartSearch.split());
 		}
-		threadPool = Executors.newFixedThreadPool(numThreads);
 		timeUnit = TIME_UNIT_MS;
 		history = null;
 	}
@@ -294,7 +291,6 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 			}
 			this.multistarters.add(m);
 		}
-		threadPool = Executors.newFixedThreadPool(multistarters.size());
 		timeUnit = TIME_UNIT_MS;
 		history = null;
 	}
@@ -328,24 +324,25 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 	}
 	
 	/**
-	 * Gets a list of the best solution stored in this search's {@link ProgressTracker}
-	 * at each time interval of the most recent call to the {@link #optimize} 
+	 * Gets a list of the best solutions stored in this search's {@link ProgressTracker}
+	 * during the most recent call to the {@link #optimize} 
 	 * or {@link #reoptimize} methods, or null if neither {@link #optimize} nor {@link #reoptimize}
-	 * has not been called.
+	 * has been called.
+	 * The first element of the list is the best solution in the ProgressTracker
+	 * at the start of the call (if the ProgressTracker contained a solution at that time), 
+	 * and a new element is added each time the best solution in the ProgressTracker 
+	 * improves, in order of decreasing cost.  
+	 * If several improvements occur in rapid succession, the list may contain only the last of them.
 	 * Note that the ProgressTracker stores the best solution found across all calls
 	 * to the {@link #optimize} and {@link #reoptimize} methods, 
 	 * so the solutions in the list returned by this
 	 * method may or may not have been found during the most 
 	 * recent call to {@link #optimize} or {@link #reoptimize}.
-	 * The length of the list returned will be no greater than the value passed to 
-	 * {@link #optimize} or {@link #reoptimize} for the time parameter.  
-	 * The length will be less than the time parameter
-	 * in the event that the search terminates early due to finding the optimal solution.
 	 * 
-	 * @return A list of the best found solution, as stored in the ProgressTracker, at each time
-	 * interval during the most recent call to the {@link #optimize} or {@link #reoptimize} methods, 
+	 * @return A list of the best found solutions, as stored in the ProgressTracker, 
+	 * during the most recent call to the {@link #optimize} or {@link #reoptimize} methods, 
 	 * or null if neither 
-	 * {@link #optimize} nor {@link #reoptimize} has not been called.
+	 * {@link #optimize} nor {@link #reoptimize} has been called.
 	 */
 	public ArrayList<SolutionCostPair<T>> getSearchHistory() {
 		return history;
@@ -386,43 +383,62 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 	 */
 	@Override
 	public SolutionCostPair<T> optimize(int time) {
-		if (threadPool.isShutdown()) {
+		if (closed) {
 			throw new IllegalStateException("This TimedParallelReoptimizableMultistarter was previously closed.");
 		}
 		
 		class MultistartCallable implements Callable<SolutionCostPair<T>> {
 		
 			ReoptimizableMultistarter<T> multistartSearch;
+			DeadlineCoordinator<T> coordinator;
 			
-			MultistartCallable(ReoptimizableMultistarter<T> multistartSearch) {
+			MultistartCallable(ReoptimizableMultistarter<T> multistartSearch, DeadlineCoordinator<T> coordinator) {
 				this.multistartSearch = multistartSearch;
+				this.coordinator = coordinator;
 			}
 			
 			@Override
 			public SolutionCostPair<T> call() {
-				return multistartSearch.optimize(Integer.MAX_VALUE);
+				ProgressTracker<T> tracker = multistartSearch.getProgressTracker();
+				SolutionCostPair<T> bestRestart = null;
+				try {
+					// no restart begins once the deadline has passed
+					while (!coordinator.expired() && !tracker.isStopped() && !tracker.didFindBest()) {
+						SolutionCostPair<T> thisRestart = multistartSearch.optimize(1);
+						if (bestRestart == null || thisRestart != null && thisRestart.compareTo(bestRestart) < 0) {
+							bestRestart = thisRestart;
+						}
+					}
+				} finally {
+					coordinator.workerDone();
+				}
+				return bestRestart;
 			}
 		}
 		
 		SolutionCostPair<T> bestRestart = null;
 		ProgressTracker<T> tracker = multistarters.get(0).getProgressTracker();
 		tracker.start();
-		history = new ArrayList<SolutionCostPair<T>>(time);
+		history = new ArrayList<SolutionCostPair<T>>();
 		if (!tracker.didFindBest()) {
+			// the coordinator passes changes on to any listener of the caller's, which is restored after the search
+			Runnable listener = tracker.getChangeListener();
+			DeadlineCoordinator<T> coordinator = new DeadlineCoordinator<T>(tracker, 1000000L * timeUnit * time, multistarters.size(), listener);
+			tracker.setChangeListener(coordinator);
 			ArrayList<Future<SolutionCostPair<T>>> futures = new ArrayList<Future<SolutionCostPair<T>>>(); 
-			for (ReoptimizableMultistarter<T> m : multistarters) {
-				futures.add(threadPool.submit(new MultistartCallable(m)));
-			}
-			for (int i = 0; i < time && !tracker.didFindBest(); i++) {
+			try {
+				for (ReoptimizableMultistarter<T> m : multistarters) {
+					futures.add(threadPool().submit(new MultistartCallable(m, coordinator)));
+				}
 				try {
-					Thread.sleep(timeUnit);
+					coordinator.await(history);
 				} catch (InterruptedException e) {
 					System.err.println("TimedParallelReoptimizableMultistarter was interrupted: " + e);
-					break;
 				}
-				history.add(tracker.getSolutionCostPair());
+			} finally {
+				tracker.stop();
+				tracker.setChangeListener(listener);
 			}
-			tracker.stop();
 			for (Future<SolutionCostPair<T>> f : futures) {
 				try {
 					SolutionCostPair<T> pair = f.get();
@@ -474,43 +490,62 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 	 */
 	@Override
 	public SolutionCostPair<T> reoptimize(int time) {
-		if (threadPool.isShutdown()) {
+		if (closed) {
 			throw new IllegalStateException("This TimedParallelReoptimizableMultistarter was previously closed.");
 		}
 		
 		class MultistartCallable implements Callable<SolutionCostPair<T>> {
 		
 			ReoptimizableMultistarter<T> multistartSearch;
+			DeadlineCoordinator<T> coordinator;
 			
-			MultistartCallable(ReoptimizableMultistarter<T> multistartSearch) {
+			MultistartCallable(ReoptimizableMultistarter<T> multistartSearch, DeadlineCoordinator<T> coordinator) {
 				this.multistartSearch = multistartSearch;
+				this.coordinator = coordinator;
 			}
 			
 			@Override
 			public SolutionCostPair<T> call() {
-				return multistartSearch.reoptimize(Integer.MAX_VALUE);
+				ProgressTracker<T> tracker = multistartSearch.getProgressTracker();
+				SolutionCostPair<T> bestRestart = null;
+				try {
+					// no restart begins once the deadline has passed
+					while (!coordinator.expired() && !tracker.isStopped() && !tracker.didFindBest()) {
+						SolutionCostPair<T> thisRestart = multistartSearch.reoptimize(1);
+						if (bestRestart == null || thisRestart != null && thisRestart.compareTo(bestRestart) < 0) {
+							bestRestart = thisRestart;
+						}
+					}
+				} finally {
+					coordinator.workerDone();
+				}
+				return bestRestart;
 			}
 		}
 		
 		SolutionCostPair<T> bestRestart = null;
 		ProgressTracker<T> tracker = multistarters.get(0).getProgressTracker();
 		tracker.start();
-		history = new ArrayList<SolutionCostPair<T>>(time);
+		history = new ArrayList<SolutionCostPair<T>>();
 		if (!tracker.didFindBest()) {
+			// the coordinator passes changes on to any listener of the caller's, which is restored after the search
+			Runnable listener = tracker.getChangeListener();
+			DeadlineCoordinator<T> coordinator = new DeadlineCoordinator<T>(tracker, 1000000L * timeUnit * time, multistarters.size(), listener);
+			tracker.setChangeListener(coordinator);
 			ArrayList<Future<SolutionCostPair<T>>> futures = new ArrayList<Future<SolutionCostPair<T>>>(); 
-			for (ReoptimizableMultistarter<T> m : multistarters) {
-				futures.add(threadPool.submit(new MultistartCallable(m)));
-			}
-			for (int i = 0; i < time && !tracker.didFindBest(); i++) {
+			try {
+				for (ReoptimizableMultistarter<T> m : multistarters) {
+					futures.add(threadPool().submit(new MultistartCallable(m, coordinator)));
+				}
 				try {
-					Thread.sleep(timeUnit);
+					coordinator.await(history);
 				} catch (InterruptedException e) {
 					System.err.println("TimedParallelReoptimizableMultistarter was interrupted: " + e);
-					break;
 				}
-				history.add(tracker.getSolutionCostPair());
+			} finally {
+				tracker.stop();
+				tracker.setChangeListener(listener);
 			}
-			tracker.stop();
 			for (Future<SolutionCostPair<T>> f : futures) {
 				try {
 					SolutionCostPair<T> pair = f.get();
@@ -531,13 +566,52 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 	 * the {@link #optimize} method can reuse threads to minimize the expensive task of
 	 * thread creation.  When you no longer need the TimedParallelReoptimizableMultistarter, you should call
 	 * the close method to ensure that unneeded threads do not persist.
+	 * If an ExecutorService was provided via the {@link #setExecutor} method, 
+	 * then it is not shut down, since it may be shared.
 	 * Once close is called, all subsequent calls to {@link #optimize} and {@link #reoptimize} 
 	 * will throw an exception.</p>  
 	 * <p>This method is invoked automatically on objects managed by the try-with-resources statement.</p>
 	 */
 	@Override
 	public void close() {
-		threadPool.shutdown();
+		closed = true;
+		if (ownsThreadPool) threadPool.shutdown();
+	}
+	
+	/**
+	 * <p>Sets the ExecutorService used to run the parallel searches, such as the shared
+	 * thread pool provided by {@link SearchExecutors#sharedPool}, or an ExecutorService that runs 
+	 * each parallel search in a virtual thread.  By default, the TimedParallelReoptimizableMultistarter creates
+	 * its own fixed thread pool, with one thread per parallel search, upon the first call to 
+	 * {@link #optimize} or {@link #reoptimize}.  An ExecutorService that is set with this method is not shut down by the
+	 * {@link #close} method, and it is also used by the objects returned by the {@link #split} method.</p>
+	 *
+	 * <p>If the ExecutorService has fewer threads than the number of parallel searches, 
+	 * then some of the parallel searches wait for others to finish before they begin.</p>
+	 *
+	 * @param executor The ExecutorService to use, or null for the TimedParallelReoptimizableMultistarter to use its own thread pool.
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		if (closed) {
+			throw new IllegalStateException("This TimedParallelReoptimizableMultistarter was previously closed.");
+		}
+		if (ownsThreadPool) {
+			threadPool.shutdown();
+			ownsThreadPool = false;
+		}
+		threadPool = executor;
+	}
+	
+	/*
+	 * Gets the ExecutorService, creating a thread pool if one hasn't been set.
+	 */
+	private ExecutorService threadPool() {
+		if (threadPool == null) {
+			threadPool = Executors.newFixedThreadPool(multistarters.size());
+			ownsThreadPool = true;
+		}
+		return threadPool;
 	}
 	
 	@Override
@@ -548,7 +622,8 @@ public final class TimedParallelReoptimizableMultistarter<T extends Copyable<T>>
 		}
 		TimedParallelReoptimizableMultistarter<T> pm = new TimedParallelReoptimizableMultistarter<T>(splits);
 		pm.setTimeUnit(timeUnit);
-		if (threadPool.isShutdown()) pm.close();
+		if (!ownsThreadPool) pm.threadPool = threadPool;
+		if (closed) pm.close();
 		return pm;
 	}
 	
@@ -22,12 +22,23 @@ package org.cicirello.search.hc;
 
 import org.cicirello.util.Copyable;
 import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.ProgressBuffer;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.IncrementalOptimizationProblem;
+import org.cicirello.search.problems.IncrementalIntegerCostOptimizationProblem;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
+import org.cicirello.search.operators.Move;
+import org.cicirello.search.operators.UndoableMove;
+import org.cicirello.search.operators.RandomAccessMutationOperator;
+import org.cicirello.search.operators.AnchoredMutationOperator;
+import org.cicirello.search.operators.AnchoredNeighborhood;
+import org.cicirello.util.CopyableInto;
+import org.cicirello.math.rand.RandomEngine;
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.Metaheuristic;
 import org.cicirello.search.SimpleLocalMetaheuristic;
@@ -48,13 +59,36 @@ import org.cicirello.search.SimpleLocalMetaheuristic;
  * If no such neighbor exists, the
  * search terminates with the current solution.</p> 
  *
+ * <p>If the problem supports incremental evaluation (i.e., it implements
+ * {@link IncrementalIntegerCostOptimizationProblem} or {@link IncrementalOptimizationProblem}), 
+ * and the iterators of the mutation operator are {@link MoveMutationIterator}s, then
+ * the hill climber scores each neighbor by the change in cost of its move, without 
+ * modifying the current candidate, applying only the first improving move.  Otherwise, 
+ * each neighbor is generated and evaluated in full.</p>
+ *
+ * <p>By default, each scan of the neighborhood begins with the first neighbor of the 
+ * mutation operator's iterators, so near a local optimum the search repeatedly re-evaluates 
+ * the same early neighbors.  If the mutation operator is a {@link RandomAccessMutationOperator},
+ * the {@link #setNeighborOrder setNeighborOrder} method can instead be used to scan each neighborhood
+ * circularly, beginning with the neighbor that follows the most recent improvement, or 
+ * in a random order (see {@link NeighborOrder}).</p>
+ *
+ * <p>For large problems, most of the neighbors evaluated near a local optimum are in parts 
+ * of the candidate solution that have not changed since they last failed to yield an improvement.
+ * If the mutation operator is an {@link AnchoredMutationOperator}, such as the permutation
+ * swap, reversal, insertion, and block move operators, the {@link #setDontLookBits setDontLookBits} 
+ * method can be used to skip those parts of the neighborhood with don't-look bits 
+ * (see {@link AnchoredNeighborhood}), which together with the candidate lists of 
+ * those operators can reduce the cost of a scan of the neighborhood from quadratic to nearly 
+ * linear in the length of a permutation.</p>
+ *
  * @param <T> The type of object under optimization.
  *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.15.2020
+ * @version 8.6.2020
  */
 public final class FirstDescentHillClimber<T extends Copyable<T>> implements Metaheuristic<T>, SimpleLocalMetaheuristic<T> {
 	
@@ -62,9 +96,14 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 	private final IntegerCostOptimizationProblem<T> pOptInt;
 	private final Initializer<T> initializer;
 	private ProgressTracker<T> tracker;
+	private final ProgressBuffer<T> buffer;
 	private final IterableMutationOperator<T> mutation;
-	private final OneClimb<T> climber;
+	private OneClimb<T> climber;
+	private NeighborOrder order = NeighborOrder.FIXED;
+	private boolean dontLookBits;
 	private long neighborCount;
+	// the source of random numbers for the random neighbor order, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs a first descent hill climber object for real-valued optimization problem.
@@ -76,6 +115,24 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 	 * @throws NullPointerException if any of the parameters are null.
 	 */
 	public FirstDescentHillClimber(OptimizationProblem<T> problem, IterableMutationOperator<T> mutation, Initializer<T> initializer, ProgressTracker<T> tracker) {
+		this(problem, mutation, initializer, tracker, null);
+	}
+	
+	/**
+	 * Constructs a first descent hill climber object for real-valued optimization problem,
+	 * which uses a given source of random numbers for the {@link NeighborOrder#RANDOM RANDOM} 
+	 * neighbor order.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator.
+	 * @param initializer The source of random initial states for each hill climb.
+	 * @param tracker A ProgressTracker object, which is used to keep track of the best
+	 * solution found during the run, the time when it was found, and other related data.
+	 * @param engine The source of random numbers for the random neighbor order, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the hill climber is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws NullPointerException if any of the parameters other than engine are null.
+	 */
+	public FirstDescentHillClimber(OptimizationProblem<T> problem, IterableMutationOperator<T> mutation, Initializer<T> initializer, ProgressTracker<T> tracker, RandomEngine engine) {
 		if (problem == null || mutation == null || initializer == null || tracker == null) {
 			throw new NullPointerException();
 		}
@@ -84,6 +141,8 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 		this.mutation = mutation;
 		this.initializer = initializer;
 		this.tracker = tracker;
+		this.engine = engine;
+		buffer = new ProgressBuffer<T>(tracker);
 		climber = initClimberDouble();
 	}
 	
@@ -97,6 +156,24 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 	 * @throws NullPointerException if any of the parameters are null.
 	 */
 	public FirstDescentHillClimber(IntegerCostOptimizationProblem<T> problem, IterableMutationOperator<T> mutation, Initializer<T> initializer, ProgressTracker<T> tracker) {
+		this(problem, mutation, initializer, tracker, null);
+	}
+	
+	/**
+	 * Constructs a first descent hill climber object for integer-valued optimization problem,
+	 * which uses a given source of random numbers for the {@link NeighborOrder#RANDOM RANDOM} 
+	 * neighbor order.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator.
+	 * @param initializer The source of random initial states for each hill climb.
+	 * @param tracker A ProgressTracker object, which is used to keep track of the best
+	 * solution found during the run, the time when it was found, and other related data.
+	 * @param engine The source of random numbers for the random neighbor order, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the hill climber is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws NullPointerException if any of the parameters other than engine are null.
+	 */
+	public FirstDescentHillClimber(IntegerCostOptimizationProblem<T> problem, IterableMutationOperator<T> mutation, Initializer<T> initializer, ProgressTracker<T> tracker, RandomEngine engine) {
 		if (problem == null || mutation == null || initializer == null || tracker == null) {
 			throw new NullPointerException();
 		}
@@ -105,6 +182,8 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 		this.mutation = mutation;
 		this.initializer = initializer;
 		this.tracker = tracker;
+		this.engine = engine;
+		buffer = new ProgressBuffer<T>(tracker);
 		climber = initClimberInt();
 	}
 	
@@ -144,11 +223,17 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 		// this one must be shared.
 		tracker = other.tracker;
 		
+		// each thread buffers its own improvements
+		buffer = new ProgressBuffer<T>(tracker);
+		
 		// split: not threadsafe
 		mutation = other.mutation.split();
 		initializer = other.initializer.split();
+		engine = other.engine != null ? other.engine.split() : null;
 		
-		climber = pOptInt != null ? initClimberInt() : initClimberDouble();
+		order = other.order;
+		dontLookBits = other.dontLookBits;
+		climber = initClimber();
 		
 		// use default of 0 for this one: neighborCount
 	}
@@ -158,13 +243,17 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 	public SolutionCostPair<T> optimize() {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		neighborCount++;
-		return climber.climbOnce(initializer.createCandidateSolution());
+		SolutionCostPair<T> result = climber.climbOnce(initializer.createCandidateSolution());
+		buffer.flush();
+		return result;
 	}
 	
 	@Override
 	public SolutionCostPair<T> optimize(T start) {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
-		return climber.climbOnce(start.copy());
+		SolutionCostPair<T> result = climber.climbOnce(start.copy());
+		buffer.flush();
+		return result;
 	}
 	
 	/**
@@ -185,10 +274,13 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		SolutionCostPair<T> best = null;
 		for (int i = 0; i < numRestarts && !tracker.didFindBest() && !tracker.isStopped(); i++) {
+			long evals = neighborCount;
 			SolutionCostPair<T> current = climber.climbOnce(initializer.createCandidateSolution());
 			neighborCount++;
+			buffer.checkpoint(neighborCount - evals);
 			if (best == null || current.compareTo(best) < 0) best = current;
 		}
+		buffer.flush();
 		return best;
 	}
 	
@@ -199,7 +291,10 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 	
 	@Override
 	public void setProgressTracker(ProgressTracker<T> tracker) {
-		if (tracker != null) this.tracker = tracker;
+		if (tracker != null) {
+			this.tracker = tracker;
+			buffer.setProgressTracker(tracker);
+		}
 	}
 	
 	@Override
@@ -225,11 +320,110 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 		return new FirstDescentHillClimber<T>(this);
 	}
 	
+	/**
+	 * <p>Sets the order in which the hill climber scans the neighborhood of the 
+	 * current candidate solution for an improving neighbor.  The {@link NeighborOrder#CIRCULAR CIRCULAR} and 
+	 * {@link NeighborOrder#RANDOM RANDOM} orders require a mutation operator that is a 
+	 * {@link RandomAccessMutationOperator}, and otherwise the hill climber uses
+	 * the {@link NeighborOrder#FIXED FIXED} order.  In those orders, if the problem supports
+	 * incremental evaluation, then the hill climber scores each neighbor by the change in cost
+	 * of its move.  Otherwise, it evaluates each neighbor in full, in place if the moves of the 
+	 * operator are {@link UndoableMove}s (undoing each move that doesn't improve), and otherwise 
+	 * by evaluating a copy of each neighbor.</p>
+	 *
+	 * <p>The order is also used by the objects returned by the {@link #split} method.</p>
+	 *
+	 * @param order The order in which to scan neighborhoods.
+	 * @throws NullPointerException if order is null
+	 */
+	public void setNeighborOrder(NeighborOrder order) {
+		if (order == null) throw new NullPointerException();
+		this.order = order;
+		climber = initClimber();
+	}
+	
+	/**
+	 * Gets the order in which the hill climber scans neighborhoods.
+	 * @return the order in which the hill climber scans neighborhoods
+	 */
+	public NeighborOrder getNeighborOrder() {
+		return order;
+	}
+	
+	/**
+	 * <p>Sets whether the hill climber uses don't-look bits, which requires a mutation operator
+	 * that is an {@link AnchoredMutationOperator}, and is otherwise ignored.  With don't-look bits, the 
+	 * hill climber cycles over the anchors of the neighborhood (e.g., the indexes of a permutation),
+	 * beginning with the anchor of the most recent improvement, and scanning only the moves of each 
+	 * anchor whose don't-look bit is clear.  It sets an anchor's bit when none of its moves improve
+	 * the current candidate solution, and applying an improving move clears the bits of the anchors 
+	 * that it affects.  The climb ends when the bits of all anchors are set.  Since don't-look bits
+	 * are a heuristic, the result is usually, but not necessarily, a local optimum of the full 
+	 * neighborhood.  When using don't-look bits, the {@link #setNeighborOrder neighbor order} is ignored.
+	 * If the problem supports incremental evaluation, then the hill climber scores each neighbor by the
+	 * change in cost of its move.  Otherwise, it evaluates each neighbor in full, in place if the moves 
+	 * are {@link UndoableMove}s, and otherwise by evaluating a copy of each neighbor.</p>
+	 *
+	 * <p>This setting is also used by the objects returned by the {@link #split} method.</p>
+	 *
+	 * @param dontLookBits true to use don't-look bits, and false otherwise, which is the default
+	 */
+	public void setDontLookBits(boolean dontLookBits) {
+		this.dontLookBits = dontLookBits;
+		climber = initClimber();
+	}
+	
+	/**
+	 * Checks whether the hill climber uses don't-look bits.
+	 * @return true if the hill climber uses don't-look bits
+	 */
+	public boolean getDontLookBits() {
+		return dontLookBits;
+	}
+	
+	/**
+	 * The orders in which a {@link FirstDescentHillClimber} can scan the 
+	 * neighborhood of the current candidate solution for an improving neighbor.
+	 */
+	public enum NeighborOrder {
+		/** 
+		 * Each scan begins at the first neighbor of the mutation operator's iterators, 
+		 * and proceeds in the order of iteration.  This is the default. 
+		 */
+		FIXED, 
+		/** 
+		 * Each scan begins with the neighbor whose index follows that of the most recent
+		 * improving neighbor, and proceeds in order by index, wrapping around to index 0,
+		 * so that neighbors that were recently rejected are the last to be reconsidered. 
+		 */
+		CIRCULAR, 
+		/** 
+		 * Each scan visits the neighbors in a new random order, which is generated lazily
+		 * without storing the neighborhood or the order. 
+		 */
+		RANDOM
+	}
+	
 	private interface OneClimb<T extends Copyable<T>> {
 		SolutionCostPair<T> climbOnce(T current);
 	}
 	
+	private OneClimb<T> initClimber() {
+		if (dontLookBits && mutation instanceof AnchoredMutationOperator) {
+			AnchoredMutationOperator<T> anchored = (AnchoredMutationOperator<T>)mutation;
+			return pOptInt != null ? initClimberIntAnchored(anchored) : initClimberDoubleAnchored(anchored);
+		}
+		if (order != NeighborOrder.FIXED && mutation instanceof RandomAccessMutationOperator) {
+			RandomAccessMutationOperator<T> indexed = (RandomAccessMutationOperator<T>)mutation;
+			return pOptInt != null ? initClimberIntIndexed(indexed) : initClimberDoubleIndexed(indexed);
+		}
+		return pOptInt != null ? initClimberInt() : initClimberDouble();
+	}
+	
 	private OneClimb<T> initClimberInt() {
+		if (pOptInt instanceof IncrementalIntegerCostOptimizationProblem) {
+			return initClimberIntDelta((IncrementalIntegerCostOptimizationProblem<T>)pOptInt);
+		}
 		return new OneClimb<T>() {
 			public SolutionCostPair<T> climbOnce(T current) {
 				// compute cost of start
@@ -251,10 +445,10 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 					if (!keepClimbing) iter.rollback();
 				}
 				// update tracker
-				if (currentCost < tracker.getCost()) {
-					tracker.update(currentCost, current);
+				if (currentCost < buffer.getCost()) {
+					buffer.update(currentCost, current);
 					if (currentCost == pOptInt.minCost()) {
-						tracker.setFoundBest();
+						buffer.setFoundBest();
 					}
 				}
 				return new SolutionCostPair<T>(current, currentCost);
@@ -263,6 +457,9 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 	}
 	
 	private OneClimb<T> initClimberDouble() {
+		if (pOpt instanceof IncrementalOptimizationProblem) {
+			return initClimberDoubleDelta((IncrementalOptimizationProblem<T>)pOpt);
+		}
 		return new OneClimb<T>() {
 			public SolutionCostPair<T> climbOnce(T current) {
 				// compute cost of start
@@ -284,14 +481,419 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> implements Met
 					if (!keepClimbing) iter.rollback();
 				}
 				// update tracker
-				if (currentCost < tracker.getCostDouble()) {
-					tracker.update(currentCost, current);
+				if (currentCost < buffer.getCostDouble()) {
+					buffer.update(currentCost, current);
 					if (currentCost == pOpt.minCost()) {
-						tracker.setFoundBest();
+						buffer.setFoundBest();
 					}
 				}			
 				return new SolutionCostPair<T>(current, currentCost);
 			}
 		};
+	}	
+	/*
+	 * Scores neighbors by delta evaluation for mutation operators whose iterators 
+	 * support moves, falling back to full evaluation for those that don't.
+	 */
+	private OneClimb<T> initClimberIntDelta(IncrementalIntegerCostOptimizationProblem<T> pInc) {
+		return new OneClimb<T>() {
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				int currentCost = pInc.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					keepClimbing = false;
+					MutationIterator iter = mutation.iterator(current);
+					if (iter instanceof MoveMutationIterator) {
+						@SuppressWarnings("unchecked")
+						MoveMutationIterator<T> moves = (MoveMutationIterator<T>)iter;
+						while (moves.hasNext()) {
+							Move<T> move = moves.nextMove();
+							neighborCount++;
+							int cost = currentCost + pInc.costDelta(current, move);
+							if (cost < currentCost) {
+								// applies the move to current
+								moves.setSavepoint();
+								moves.rollback();
+								currentCost = cost;
+								keepClimbing = true;
+								break;
+							}
+						}
+					} else {
+						while (iter.hasNext()) {
+							iter.nextMutant();
+							neighborCount++;
+							int cost = pInc.cost(current);
+							if (cost < currentCost) {
+								currentCost = cost;
+								keepClimbing = true;
+								break;
+							}
+						}
+						if (!keepClimbing) iter.rollback();
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCost()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pInc.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Scores neighbors by delta evaluation for mutation operators whose iterators 
+	 * support moves, falling back to full evaluation for those that don't.
+	 */
+	private OneClimb<T> initClimberDoubleDelta(IncrementalOptimizationProblem<T> pInc) {
+		return new OneClimb<T>() {
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				double currentCost = pInc.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					keepClimbing = false;
+					MutationIterator iter = mutation.iterator(current);
+					if (iter instanceof MoveMutationIterator) {
+						@SuppressWarnings("unchecked")
+						MoveMutationIterator<T> moves = (MoveMutationIterator<T>)iter;
+						while (moves.hasNext()) {
+							Move<T> move = moves.nextMove();
+							neighborCount++;
+							double cost = currentCost + pInc.costDelta(current, move);
+							if (cost < currentCost) {
+								// applies the move to current
+								moves.setSavepoint();
+								moves.rollback();
+								currentCost = cost;
+								keepClimbing = true;
+								break;
+							}
+						}
+					} else {
+						while (iter.hasNext()) {
+							iter.nextMutant();
+							neighborCount++;
+							double cost = pInc.cost(current);
+							if (cost < currentCost) {
+								currentCost = cost;
+								keepClimbing = true;
+								break;
+							}
+						}
+						if (!keepClimbing) iter.rollback();
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCostDouble()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pInc.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Scans neighborhoods by index, either circularly or in a random order.
+	 */
+	private OneClimb<T> initClimberIntIndexed(final RandomAccessMutationOperator<T> indexed) {
+		final IncrementalIntegerCostOptimizationProblem<T> pInc = pOptInt instanceof IncrementalIntegerCostOptimizationProblem 
+			? (IncrementalIntegerCostOptimizationProblem<T>)pOptInt : null;
+		final RandomIndexOrder randomOrder = order == NeighborOrder.RANDOM ? new RandomIndexOrder(engine) : null;
+		return new OneClimb<T>() {
+			// for full evaluation of neighbors whose moves can't be undone
+			private T scratch;
+			@SuppressWarnings("unchecked")
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				int currentCost = pOptInt.cost(current);
+				long start = 0;
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					keepClimbing = false;
+					long n = indexed.neighborhoodSize(current);
+					if (randomOrder != null) randomOrder.reset(n);
+					for (long k = 0; k < n; k++) {
+						long index = randomOrder != null ? randomOrder.get(k) : (start + k) % n;
+						Move<T> move = indexed.getMove(current, index);
+						neighborCount++;
+						if (pInc != null) {
+							int cost = currentCost + pInc.costDelta(current, move);
+							if (cost < currentCost) {
+								move.apply(current);
+								currentCost = cost;
+								keepClimbing = true;
+							}
+						} else if (move instanceof UndoableMove) {
+							// evaluate the neighbor in place, undoing the move unless it improves
+							move.apply(current);
+							int cost = pOptInt.cost(current);
+							if (cost < currentCost) {
+								currentCost = cost;
+								keepClimbing = true;
+							} else {
+								((UndoableMove<T>)move).undo(current);
+							}
+						} else {
+							scratch = copyOf(current, scratch);
+							move.apply(scratch);
+							int cost = pOptInt.cost(scratch);
+							if (cost < currentCost) {
+								T previous = current;
+								current = scratch;
+								scratch = previous;
+								currentCost = cost;
+								keepClimbing = true;
+							}
+						}
+						if (keepClimbing) {
+							start = index + 1;
+							break;
+						}
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCost()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pOptInt.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Scans neighborhoods by index, either circularly or in a random order.
+	 */
+	private OneClimb<T> initClimberDoubleIndexed(final RandomAccessMutationOperator<T> indexed) {
+		final IncrementalOptimizationProblem<T> pInc = pOpt instanceof IncrementalOptimizationProblem 
+			? (IncrementalOptimizationProblem<T>)pOpt : null;
+		final RandomIndexOrder randomOrder = order == NeighborOrder.RANDOM ? new RandomIndexOrder(engine) : null;
+		return new OneClimb<T>() {
+			// for full evaluation of neighbors whose moves can't be undone
+			private T scratch;
+			@SuppressWarnings("unchecked")
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				double currentCost = pOpt.cost(current);
+				long start = 0;
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					keepClimbing = false;
+					long n = indexed.neighborhoodSize(current);
+					if (randomOrder != null) randomOrder.reset(n);
+					for (long k = 0; k < n; k++) {
+						long index = randomOrder != null ? randomOrder.get(k) : (start + k) % n;
+						Move<T> move = indexed.getMove(current, index);
+						neighborCount++;
+						if (pInc != null) {
+							double cost = currentCost + pInc.costDelta(current, move);
+							if (cost < currentCost) {
+								move.apply(current);
+								currentCost = cost;
+								keepClimbing = true;
+							}
+						} else if (move instanceof UndoableMove) {
+							// evaluate the neighbor in place, undoing the move unless it improves
+							move.apply(current);
+							double cost = pOpt.cost(current);
+							if (cost < currentCost) {
+								currentCost = cost;
+								keepClimbing = true;
+							} else {
+								((UndoableMove<T>)move).undo(current);
+							}
+						} else {
+							scratch = copyOf(current, scratch);
+							move.apply(scratch);
+							double cost = pOpt.cost(scratch);
+							if (cost < currentCost) {
+								T previous = current;
+								current = scratch;
+								scratch = previous;
+								currentCost = cost;
+								keepClimbing = true;
+							}
+						}
+						if (keepClimbing) {
+							start = index + 1;
+							break;
+						}
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCostDouble()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pOpt.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Scans neighborhoods anchor by anchor, skipping anchors whose don't-look bits are set.
+	 */
+	private OneClimb<T> initClimberIntAnchored(final AnchoredMutationOperator<T> anchored) {
+		final IncrementalIntegerCostOptimizationProblem<T> pInc = pOptInt instanceof IncrementalIntegerCostOptimizationProblem 
+			? (IncrementalIntegerCostOptimizationProblem<T>)pOptInt : null;
+		return new OneClimb<T>() {
+			// for full evaluation of neighbors whose moves can't be undone
+			private T scratch;
+			@SuppressWarnings("unchecked")
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				int currentCost = pOptInt.cost(current);
+				AnchoredNeighborhood<T> neighborhood = anchored.neighborhood(current);
+				int n = neighborhood.numAnchors();
+				// number of consecutive anchors without an improvement
+				int idle = 0;
+				for (int anchor = 0; idle < n; ) {
+					boolean improved = false;
+					if (!neighborhood.isDontLook(anchor)) {
+						neighborhood.select(anchor);
+						while (!improved && neighborhood.hasNext()) {
+							Move<T> move = neighborhood.nextMove();
+							neighborCount++;
+							if (pInc == null && move instanceof UndoableMove) {
+								// evaluate the neighbor in place, undoing the move unless it improves
+								move.apply(current);
+								int cost = pOptInt.cost(current);
+								if (cost < currentCost) {
+									neighborhood.accept();
+									currentCost = cost;
+									improved = true;
+								} else {
+									((UndoableMove<T>)move).undo(current);
+								}
+								continue;
+							}
+							int cost;
+							if (pInc != null) {
+								cost = currentCost + pInc.costDelta(current, move);
+							} else {
+								scratch = copyOf(current, scratch);
+								move.apply(scratch);
+								cost = pOptInt.cost(scratch);
+							}
+							if (cost < currentCost) {
+								neighborhood.apply();
+								currentCost = cost;
+								improved = true;
+							}
+						}
+						if (!improved) neighborhood.setDontLook(anchor);
+					}
+					if (improved) {
+						// rescan the same anchor, since it may have further improvements
+						idle = 0;
+					} else {
+						idle++;
+						anchor = anchor + 1 < n ? anchor + 1 : 0;
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCost()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pOptInt.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Scans neighborhoods anchor by anchor, skipping anchors whose don't-look bits are set.
+	 */
+	private OneClimb<T> initClimberDoubleAnchored(final AnchoredMutationOperator<T> anchored) {
+		final IncrementalOptimizationProblem<T> pInc = pOpt instanceof IncrementalOptimizationProblem 
+			? (IncrementalOptimizationProblem<T>)pOpt : null;
+		return new OneClimb<T>() {
+			// for full evaluation of neighbors whose moves can't be undone
+			private T scratch;
+			@SuppressWarnings("unchecked")
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				double currentCost = pOpt.cost(current);
+				AnchoredNeighborhood<T> neighborhood = anchored.neighborhood(current);
+				int n = neighborhood.numAnchors();
+				// number of consecutive anchors without an improvement
+				int idle = 0;
+				for (int anchor = 0; idle < n; ) {
+					boolean improved = false;
+					if (!neighborhood.isDontLook(anchor)) {
+						neighborhood.select(anchor);
+						while (!improved && neighborhood.hasNext()) {
+							Move<T> move = neighborhood.nextMove();
+							neighborCount++;
+							if (pInc == null && move instanceof UndoableMove) {
+								// evaluate the neighbor in place, undoing the move unless it improves
+								move.apply(current);
+								double cost = pOpt.cost(current);
+								if (cost < currentCost) {
+									neighborhood.accept();
+									currentCost = cost;
+									improved = true;
+								} else {
+									((UndoableMove<T>)move).undo(current);
+								}
+								continue;
+							}
+							double cost;
+							if (pInc != null) {
+								cost = currentCost + pInc.costDelta(current, move);
+							} else {
+								scratch = copyOf(current, scratch);
+								move.apply(scratch);
+								cost = pOpt.cost(scratch);
+							}
+							if (cost < currentCost) {
+								neighborhood.apply();
+								currentCost = cost;
+								improved = true;
+							}
+						}
+						if (!improved) neighborhood.setDontLook(anchor);
+					}
+					if (improved) {
+						// rescan the same anchor, since it may have further improvements
+						idle = 0;
+					} else {
+						idle++;
+						anchor = anchor + 1 < n ? anchor + 1 : 0;
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCostDouble()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pOpt.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	@SuppressWarnings("unchecked")
+	private T copyOf(T source, T target) {
+		if (target != null && source instanceof CopyableInto) {
+			return ((CopyableInto<T>)source).copyInto(target);
+		}
+		return source.copy();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.hc;
+
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Internal (package-private) class that generates a random ordering of the 
+ * indexes 0 through n-1 lazily, one index at a time, in constant expected time per index
+ * and without storing the ordering.  The ordering is a random bijection implemented
+ * as a Feistel network over the smallest domain of 2<sup>2k</sup> values that contains
+ * the n indexes, and indexes outside of the range 0 through n-1 are mapped back into 
+ * that range by iterating the bijection (i.e., cycle walking).
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.6.2020 
+ */
+final class RandomIndexOrder {
+	
+	private static final int ROUNDS = 4;
+	
+	private final long[] keys;
+	private long n;
+	private int halfBits;
+	private long mask;
+	
+	// the source of the round keys, or null for ThreadLocalRandom
+	private final RandomEngine engine;
+	
+	RandomIndexOrder(RandomEngine engine) {
+		keys = new long[ROUNDS];
+		this.engine = engine;
+	}
+	
+	/*
+	 * Begins a new random ordering of the indexes 0 through n-1.
+	 */
+	void reset(long n) {
+		this.n = n;
+		int bits = 64 - Long.numberOfLeadingZeros(Math.max(n-1, 1));
+		halfBits = (bits + 1) >> 1;
+		mask = (1L << halfBits) - 1;
+		Random r = engine != null ? engine : ThreadLocalRandom.current();
+		for (int k = 0; k < ROUNDS; k++) {
+			keys[k] = r.nextLong();
+		}
+	}
+	
+	/*
+	 * Gets the index in position t of the ordering, where 0 <= t < n.
+	 */
+	long get(long t) {
+		long x = t;
+		do {
+			x = permute(x);
+		} while (x >= n);
+		return x;
+	}
+	
+	private long permute(long x) {
+		long left = x >>> halfBits;
+		long right = x & mask;
+		for (int k = 0; k < ROUNDS; k++) {
+			long temp = left ^ (mix(right ^ keys[k]) & mask);
+			left = right;
+			right = temp;
+		}
+		return (left << halfBits) | right;
+	}
+	
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
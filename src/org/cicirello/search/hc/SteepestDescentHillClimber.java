@@ -22,15 +22,26 @@ package org.cicirello.search.hc;
 
 import org.cicirello.util.Copyable;
 import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.ProgressBuffer;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.IncrementalOptimizationProblem;
+import org.cicirello.search.problems.IncrementalIntegerCostOptimizationProblem;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
+import org.cicirello.search.operators.RandomAccessMutationOperator;
+import org.cicirello.search.operators.Move;
+import org.cicirello.search.operators.UndoableMove;
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.Metaheuristic;
 import org.cicirello.search.SimpleLocalMetaheuristic;
+import org.cicirello.util.CopyableInto;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 
 /**
@@ -49,13 +60,31 @@ import org.cicirello.search.SimpleLocalMetaheuristic;
  * whose cost is lower than the current cost.  If no such neighbor exists, the
  * search terminates with the current solution.</p> 
  *
+ * <p>If the problem supports incremental evaluation (i.e., it implements
+ * {@link IncrementalIntegerCostOptimizationProblem} or {@link IncrementalOptimizationProblem}), 
+ * and the iterators of the mutation operator are {@link MoveMutationIterator}s, then
+ * the hill climber scores each neighbor by the change in cost of its move, without 
+ * modifying the current candidate, and then applies only the best move.  Otherwise, 
+ * each neighbor is generated and evaluated in full.</p>
+ *
+ * <p>If the problem does not support incremental evaluation, but prefers to evaluate candidate 
+ * solutions in batches (i.e., its {@link Problem#preferredBatchSize preferredBatchSize} method 
+ * returns a value greater than 1), then the hill climber copies the neighbors in batches of that size, 
+ * and evaluates each batch with a single call to the problem's batch evaluation method.  The
+ * copies are reused from batch to batch if the type of object under optimization 
+ * implements {@link CopyableInto}.</p>
+ *
+ * <p>The neighbors of each step of a hill climb can be evaluated in parallel by
+ * setting a fork/join pool with the {@link #setNeighborhoodPool setNeighborhoodPool} method.
+ * See the documentation of that method for details.</p>
+ *
  * @param <T> The type of object under optimization.
  *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.15.2020
+ * @version 8.6.2020
  */
 public final class SteepestDescentHillClimber<T extends Copyable<T>> implements Metaheuristic<T>, SimpleLocalMetaheuristic<T> {
 	
@@ -63,8 +92,10 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 	private final IntegerCostOptimizationProblem<T> pOptInt;
 	private final Initializer<T> initializer;
 	private ProgressTracker<T> tracker;
+	private final ProgressBuffer<T> buffer;
 	private final IterableMutationOperator<T> mutation;
-	private final OneClimb<T> climber;
+	private OneClimb<T> climber;
+	private ForkJoinPool pool;
 	private long neighborCount;
 	
 	/**
@@ -85,6 +116,7 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 		this.mutation = mutation;
 		this.initializer = initializer;
 		this.tracker = tracker;
+		buffer = new ProgressBuffer<T>(tracker);
 		climber = initClimberDouble();
 	}
 	
@@ -106,6 +138,7 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 		this.mutation = mutation;
 		this.initializer = initializer;
 		this.tracker = tracker;
+		buffer = new ProgressBuffer<T>(tracker);
 		climber = initClimberInt();
 	}
 	
@@ -145,11 +178,17 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 		// this one must be shared.
 		tracker = other.tracker;
 		
+		// each thread buffers its own improvements
+		buffer = new ProgressBuffer<T>(tracker);
+		
 		// split: not threadsafe
 		mutation = other.mutation.split();
 		initializer = other.initializer.split();
 		
-		climber = pOptInt != null ? initClimberInt() : initClimberDouble();
+		// threadsafe, so just copy reference
+		pool = other.pool;
+		
+		climber = initClimber();
 		
 		// use default of 0 for this one: neighborCount
 	}
@@ -158,13 +197,17 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 	public SolutionCostPair<T> optimize() {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		neighborCount++;
-		return climber.climbOnce(initializer.createCandidateSolution());
+		SolutionCostPair<T> result = climber.climbOnce(initializer.createCandidateSolution());
+		buffer.flush();
+		return result;
 	}
 	
 	@Override
 	public SolutionCostPair<T> optimize(T start) {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
-		return climber.climbOnce(start.copy());
+		SolutionCostPair<T> result = climber.climbOnce(start.copy());
+		buffer.flush();
+		return result;
 	}
 	
 	/**
@@ -185,10 +228,13 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		SolutionCostPair<T> best = null;
 		for (int i = 0; i < numRestarts && !tracker.didFindBest() && !tracker.isStopped(); i++) {
+			long evals = neighborCount;
 			SolutionCostPair<T> current = climber.climbOnce(initializer.createCandidateSolution());
 			neighborCount++;
+			buffer.checkpoint(neighborCount - evals);
 			if (best == null || current.compareTo(best) < 0) best = current;
 		}
+		buffer.flush();
 		return best;
 	}
 	
@@ -199,7 +245,10 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 	
 	@Override
 	public void setProgressTracker(ProgressTracker<T> tracker) {
-		if (tracker != null) this.tracker = tracker;
+		if (tracker != null) {
+			this.tracker = tracker;
+			buffer.setProgressTracker(tracker);
+		}
 	}
 	
 	@Override
@@ -207,6 +256,36 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 		return (pOptInt != null) ? pOptInt : pOpt;
 	}
 	
+	/**
+	 * <p>Sets a fork/join pool for evaluating the neighbors of each step of a hill climb in parallel.
+	 * Each of the pool's worker threads evaluates its share of the neighbors of its own copy of the
+	 * current candidate solution, and the best neighbor is then applied to the 
+	 * current candidate solution.  If the mutation operator is a {@link RandomAccessMutationOperator}, 
+	 * then the neighborhood is split into one contiguous range of indexes per thread, each thread 
+	 * gets the moves of its range directly by index, and the best move is applied directly by index.
+	 * The result of each hill climb is then identical to that of serial evaluation of the neighbors 
+	 * in the order of their indexes, which may resolve ties differently than serial evaluation 
+	 * in the order of the operator's iterators.  Otherwise, each thread iterates over the whole neighborhood, 
+	 * evaluating the neighbors that are interleaved with those of the other threads by position, and the 
+	 * result of each hill climb is identical to that of serial evaluation, including the resolution of ties.</p>
+	 *
+	 * <p>Parallel evaluation requires that the mutation operator either provides random access to the 
+	 * neighborhood or has iterators that are {@link MoveMutationIterator}s, and that the cost methods of the problem 
+	 * are safe to call concurrently.  If the problem supports incremental evaluation, 
+	 * then the threads score each neighbor by the change in cost of its move.  Otherwise, 
+	 * they evaluate each neighbor in full, in place if the move is an {@link UndoableMove} 
+	 * (undoing it after the evaluation), and otherwise by evaluating a copy of the neighbor.  If the mutation operator supports neither
+	 * random access nor moves, then the neighborhoods are evaluated serially.  A pool that is set
+	 * with this method is also used by the objects returned by the {@link #split} method.</p>
+	 *
+	 * @param pool The ForkJoinPool to use, such as {@link ForkJoinPool#commonPool}, 
+	 * or null to evaluate neighborhoods serially, which is the default.
+	 */
+	public void setNeighborhoodPool(ForkJoinPool pool) {
+		this.pool = pool;
+		climber = initClimber();
+	}
+	
 	/**
 	 * <p>Gets the total run length, where run length is number of candidate solutions
 	 * generated by the hill climber.  This is the total run length
@@ -229,7 +308,19 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 		SolutionCostPair<T> climbOnce(T current);
 	}
 	
+	private OneClimb<T> initClimber() {
+		OneClimb<T> serial = pOptInt != null ? initClimberInt() : initClimberDouble();
+		if (pool == null) return serial;
+		return pOptInt != null ? initClimberIntParallel(serial) : initClimberDoubleParallel(serial);
+	}
+	
 	private OneClimb<T> initClimberInt() {
+		if (pOptInt instanceof IncrementalIntegerCostOptimizationProblem) {
+			return initClimberIntDelta((IncrementalIntegerCostOptimizationProblem<T>)pOptInt);
+		}
+		if (pOptInt.preferredBatchSize() > 1) {
+			return initClimberIntBatch();
+		}
 		return new OneClimb<T>() {
 			public SolutionCostPair<T> climbOnce(T current) {
 				// compute cost of start
@@ -255,10 +346,10 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 					}
 				}
 				// update tracker
-				if (currentCost < tracker.getCost()) {
-					tracker.update(currentCost, current);
+				if (currentCost < buffer.getCost()) {
+					buffer.update(currentCost, current);
 					if (currentCost == pOptInt.minCost()) {
-						tracker.setFoundBest();
+						buffer.setFoundBest();
 					}
 				}
 				return new SolutionCostPair<T>(current, currentCost);
@@ -267,6 +358,12 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 	}
 	
 	private OneClimb<T> initClimberDouble() {
+		if (pOpt instanceof IncrementalOptimizationProblem) {
+			return initClimberDoubleDelta((IncrementalOptimizationProblem<T>)pOpt);
+		}
+		if (pOpt.preferredBatchSize() > 1) {
+			return initClimberDoubleBatch();
+		}
 		return new OneClimb<T>() {
 			public SolutionCostPair<T> climbOnce(T current) {
 				// compute cost of start
@@ -292,10 +389,65 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 					}
 				}
 				// update tracker
-				if (currentCost < tracker.getCostDouble()) {
-					tracker.update(currentCost, current);
+				if (currentCost < buffer.getCostDouble()) {
+					buffer.update(currentCost, current);
 					if (currentCost == pOpt.minCost()) {
-						tracker.setFoundBest();
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Scores neighbors by delta evaluation for mutation operators whose iterators 
+	 * support moves, falling back to full evaluation for those that don't.
+	 */
+	private OneClimb<T> initClimberIntDelta(IncrementalIntegerCostOptimizationProblem<T> pInc) {
+		return new OneClimb<T>() {
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				int currentCost = pInc.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					MutationIterator iter = mutation.iterator(current);
+					int bestNeighborCost = currentCost;
+					if (iter instanceof MoveMutationIterator) {
+						@SuppressWarnings("unchecked")
+						MoveMutationIterator<T> moves = (MoveMutationIterator<T>)iter;
+						while (moves.hasNext()) {
+							Move<T> move = moves.nextMove();
+							neighborCount++;
+							int cost = currentCost + pInc.costDelta(current, move);
+							if (cost < bestNeighborCost) {
+								moves.setSavepoint();
+								bestNeighborCost = cost;
+							}
+						}
+					} else {
+						while (iter.hasNext()) {
+							iter.nextMutant();
+							neighborCount++;
+							int cost = pInc.cost(current);
+							if (cost < bestNeighborCost) {
+								iter.setSavepoint();
+								bestNeighborCost = cost;
+							}
+						}
+					}
+					iter.rollback();
+					if (bestNeighborCost == currentCost) {
+						keepClimbing = false;
+					} else {
+						currentCost = bestNeighborCost;
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCost()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pInc.minCost()) {
+						buffer.setFoundBest();
 					}
 				}
 				return new SolutionCostPair<T>(current, currentCost);
@@ -303,4 +455,498 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> implements
 		};
 	}
 	
+	/*
+	 * Scores neighbors by delta evaluation for mutation operators whose iterators 
+	 * support moves, falling back to full evaluation for those that don't.
+	 */
+	private OneClimb<T> initClimberDoubleDelta(IncrementalOptimizationProblem<T> pInc) {
+		return new OneClimb<T>() {
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				double currentCost = pInc.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					MutationIterator iter = mutation.iterator(current);
+					double bestNeighborCost = currentCost;
+					if (iter instanceof MoveMutationIterator) {
+						@SuppressWarnings("unchecked")
+						MoveMutationIterator<T> moves = (MoveMutationIterator<T>)iter;
+						while (moves.hasNext()) {
+							Move<T> move = moves.nextMove();
+							neighborCount++;
+							double cost = currentCost + pInc.costDelta(current, move);
+							if (cost < bestNeighborCost) {
+								moves.setSavepoint();
+								bestNeighborCost = cost;
+							}
+						}
+					} else {
+						while (iter.hasNext()) {
+							iter.nextMutant();
+							neighborCount++;
+							double cost = pInc.cost(current);
+							if (cost < bestNeighborCost) {
+								iter.setSavepoint();
+								bestNeighborCost = cost;
+							}
+						}
+					}
+					iter.rollback();
+					if (bestNeighborCost == currentCost) {
+						keepClimbing = false;
+					} else {
+						currentCost = bestNeighborCost;
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCostDouble()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pInc.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Evaluates neighbors in batches, via copies of the neighbors, for problems
+	 * that prefer batch evaluation.
+	 */
+	private OneClimb<T> initClimberIntBatch() {
+		return new OneClimb<T>() {
+			private final ArrayList<T> batch = new ArrayList<T>();
+			private final int[] costs = new int[pOptInt.preferredBatchSize()];
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				int currentCost = pOptInt.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					MutationIterator iter = mutation.iterator(current);
+					int bestNeighborCost = currentCost;
+					T bestNeighbor = null;
+					while (iter.hasNext()) {
+						int n = nextBatch(iter, current, batch, costs.length);
+						pOptInt.costs(n < batch.size() ? batch.subList(0, n) : batch, costs);
+						for (int i = 0; i < n; i++) {
+							if (costs[i] < bestNeighborCost) {
+								bestNeighborCost = costs[i];
+								// take the neighbor out of the batch, giving its slot the 
+								// previous best neighbor for reuse
+								T previous = bestNeighbor;
+								bestNeighbor = batch.get(i);
+								batch.set(i, previous);
+							}
+						}
+					}
+					iter.rollback();
+					if (bestNeighbor == null) {
+						keepClimbing = false;
+					} else {
+						current = bestNeighbor;
+						currentCost = bestNeighborCost;
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCost()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pOptInt.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Evaluates neighbors in batches, via copies of the neighbors, for problems
+	 * that prefer batch evaluation.
+	 */
+	private OneClimb<T> initClimberDoubleBatch() {
+		return new OneClimb<T>() {
+			private final ArrayList<T> batch = new ArrayList<T>();
+			private final double[] costs = new double[pOpt.preferredBatchSize()];
+			public SolutionCostPair<T> climbOnce(T current) {
+				// compute cost of start
+				double currentCost = pOpt.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					MutationIterator iter = mutation.iterator(current);
+					double bestNeighborCost = currentCost;
+					T bestNeighbor = null;
+					while (iter.hasNext()) {
+						int n = nextBatch(iter, current, batch, costs.length);
+						pOpt.costs(n < batch.size() ? batch.subList(0, n) : batch, costs);
+						for (int i = 0; i < n; i++) {
+							if (costs[i] < bestNeighborCost) {
+								bestNeighborCost = costs[i];
+								// take the neighbor out of the batch, giving its slot the 
+								// previous best neighbor for reuse
+								T previous = bestNeighbor;
+								bestNeighbor = batch.get(i);
+								batch.set(i, previous);
+							}
+						}
+					}
+					iter.rollback();
+					if (bestNeighbor == null) {
+						keepClimbing = false;
+					} else {
+						current = bestNeighbor;
+						currentCost = bestNeighborCost;
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCostDouble()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pOpt.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Partitions each neighborhood among the threads of the fork/join pool, 
+	 * falling back to serial evaluation for mutation operators whose iterators don't support moves.
+	 */
+	private OneClimb<T> initClimberIntParallel(final OneClimb<T> serial) {
+		final IncrementalIntegerCostOptimizationProblem<T> pInc = pOptInt instanceof IncrementalIntegerCostOptimizationProblem 
+			? (IncrementalIntegerCostOptimizationProblem<T>)pOptInt : null;
+		final ArrayList<IntWorker> workers = new ArrayList<IntWorker>();
+		int numWorkers = pool.getParallelism();
+		for (int i = 0; i < numWorkers; i++) {
+			workers.add(new IntWorker(i, numWorkers, pInc));
+		}
+		final ForkJoinPool forkJoinPool = pool;
+		return new OneClimb<T>() {
+			public SolutionCostPair<T> climbOnce(T current) {
+				if (!supportsMoves(current)) {
+					return serial.climbOnce(current);
+				}
+				// compute cost of start
+				int currentCost = pOptInt.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					for (IntWorker w : workers) {
+						w.reset(current, currentCost);
+					}
+					forkJoinPool.invoke(new Fork(workers));
+					long bestIndex = -1;
+					int bestNeighborCost = currentCost;
+					for (IntWorker w : workers) {
+						neighborCount += w.evaluated;
+						if (w.bestIndex >= 0 && (w.bestCost < bestNeighborCost || w.bestCost == bestNeighborCost && w.bestIndex < bestIndex)) {
+							bestNeighborCost = w.bestCost;
+							bestIndex = w.bestIndex;
+						}
+					}
+					if (bestIndex < 0) {
+						keepClimbing = false;
+					} else {
+						applyMove(current, bestIndex);
+						currentCost = bestNeighborCost;
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCost()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pOptInt.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Partitions each neighborhood among the threads of the fork/join pool, 
+	 * falling back to serial evaluation for mutation operators whose iterators don't support moves.
+	 */
+	private OneClimb<T> initClimberDoubleParallel(final OneClimb<T> serial) {
+		final IncrementalOptimizationProblem<T> pInc = pOpt instanceof IncrementalOptimizationProblem 
+			? (IncrementalOptimizationProblem<T>)pOpt : null;
+		final ArrayList<DoubleWorker> workers = new ArrayList<DoubleWorker>();
+		int numWorkers = pool.getParallelism();
+		for (int i = 0; i < numWorkers; i++) {
+			workers.add(new DoubleWorker(i, numWorkers, pInc));
+		}
+		final ForkJoinPool forkJoinPool = pool;
+		return new OneClimb<T>() {
+			public SolutionCostPair<T> climbOnce(T current) {
+				if (!supportsMoves(current)) {
+					return serial.climbOnce(current);
+				}
+				// compute cost of start
+				double currentCost = pOpt.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					for (DoubleWorker w : workers) {
+						w.reset(current, currentCost);
+					}
+					forkJoinPool.invoke(new Fork(workers));
+					long bestIndex = -1;
+					double bestNeighborCost = currentCost;
+					for (DoubleWorker w : workers) {
+						neighborCount += w.evaluated;
+						if (w.bestIndex >= 0 && (w.bestCost < bestNeighborCost || w.bestCost == bestNeighborCost && w.bestIndex < bestIndex)) {
+							bestNeighborCost = w.bestCost;
+							bestIndex = w.bestIndex;
+						}
+					}
+					if (bestIndex < 0) {
+						keepClimbing = false;
+					} else {
+						applyMove(current, bestIndex);
+						currentCost = bestNeighborCost;
+					}
+				}
+				// update tracker
+				if (currentCost < buffer.getCostDouble()) {
+					buffer.update(currentCost, current);
+					if (currentCost == pOpt.minCost()) {
+						buffer.setFoundBest();
+					}
+				}
+				return new SolutionCostPair<T>(current, currentCost);
+			}
+		};
+	}
+	
+	/*
+	 * Checks whether the neighbors of current can be evaluated in parallel, which 
+	 * requires random access to the neighborhood, or iterators that support moves.
+	 */
+	private boolean supportsMoves(T current) {
+		return mutation instanceof RandomAccessMutationOperator || mutation.iterator(current) instanceof MoveMutationIterator;
+	}
+	
+	/*
+	 * Applies the move at the specified index of the neighborhood of current, directly 
+	 * if the mutation operator provides random access, and otherwise by iterating to it.
+	 */
+	@SuppressWarnings("unchecked")
+	private void applyMove(T current, long index) {
+		if (mutation instanceof RandomAccessMutationOperator) {
+			((RandomAccessMutationOperator<T>)mutation).getMove(current, index).apply(current);
+			return;
+		}
+		MoveMutationIterator<T> moves = (MoveMutationIterator<T>)mutation.iterator(current);
+		for (long i = 0; i < index; i++) {
+			moves.nextMove();
+		}
+		moves.nextMove();
+		moves.setSavepoint();
+		moves.rollback();
+	}
+	
+	/*
+	 * Runs all of the workers in the fork/join pool.
+	 */
+	private final class Fork extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final ArrayList<? extends NeighborhoodWorker> workers;
+		
+		Fork(ArrayList<? extends NeighborhoodWorker> workers) {
+			this.workers = workers;
+		}
+		
+		@Override
+		protected void compute() {
+			invokeAll(workers);
+		}
+	}
+	
+	/*
+	 * Evaluates its share of the neighbors of its own copy of the current candidate solution, 
+	 * using its own split of the mutation operator.  If the operator provides random access, 
+	 * the share is the id-th of numWorkers contiguous ranges of indexes.  Otherwise, it is every 
+	 * numWorkers-th neighbor, beginning with the id-th, which requires iterating over them all.
+	 */
+	private abstract class NeighborhoodWorker extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int id;
+		private final int numWorkers;
+		private final IterableMutationOperator<T> op;
+		T mine;
+		private T scratch;
+		long bestIndex;
+		long evaluated;
+		
+		NeighborhoodWorker(int id, int numWorkers) {
+			this.id = id;
+			this.numWorkers = numWorkers;
+			op = mutation.split();
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		protected final void compute() {
+			bestIndex = -1;
+			evaluated = 0;
+			if (op instanceof RandomAccessMutationOperator) {
+				RandomAccessMutationOperator<T> indexed = (RandomAccessMutationOperator<T>)op;
+				long size = indexed.neighborhoodSize(mine);
+				long end = size * (id + 1) / numWorkers;
+				for (long index = size * id / numWorkers; index < end; index++) {
+					evaluated++;
+					evaluate(indexed.getMove(mine, index), index);
+				}
+				return;
+			}
+			MoveMutationIterator<T> moves = (MoveMutationIterator<T>)op.iterator(mine);
+			int skip = id;
+			for (long index = 0; moves.hasNext(); index++) {
+				Move<T> move = moves.nextMove();
+				if (skip == 0) {
+					evaluated++;
+					evaluate(move, index);
+					skip = numWorkers - 1;
+				} else {
+					skip--;
+				}
+			}
+		}
+		
+		/*
+		 * Evaluates the neighbor of mine described by move, recording the index 
+		 * if it is the best so far.
+		 */
+		abstract void evaluate(Move<T> move, long index);
+		
+		final void reset(T current) {
+			mine = copyOf(current, mine);
+			reinitialize();
+		}
+		
+		/*
+		 * Applies the move to mine if it can be undone, and otherwise
+		 * copies mine, and applies the move to the copy.  Callers must 
+		 * call restore with the same move after evaluating the neighbor.
+		 */
+		final T neighbor(Move<T> move) {
+			if (move instanceof UndoableMove) {
+				move.apply(mine);
+				return mine;
+			}
+			scratch = copyOf(mine, scratch);
+			move.apply(scratch);
+			return scratch;
+		}
+		
+		/*
+		 * Undoes the move if neighbor applied it to mine.
+		 */
+		@SuppressWarnings("unchecked")
+		final void restore(Move<T> move) {
+			if (move instanceof UndoableMove) {
+				((UndoableMove<T>)move).undo(mine);
+			}
+		}
+	}
+	
+	private final class IntWorker extends NeighborhoodWorker {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final IncrementalIntegerCostOptimizationProblem<T> pInc;
+		private int currentCost;
+		int bestCost;
+		
+		IntWorker(int id, int numWorkers, IncrementalIntegerCostOptimizationProblem<T> pInc) {
+			super(id, numWorkers);
+			this.pInc = pInc;
+		}
+		
+		void reset(T current, int currentCost) {
+			this.currentCost = bestCost = currentCost;
+			reset(current);
+		}
+		
+		@Override
+		void evaluate(Move<T> move, long index) {
+			int cost;
+			if (pInc != null) {
+				cost = currentCost + pInc.costDelta(mine, move);
+			} else {
+				cost = pOptInt.cost(neighbor(move));
+				restore(move);
+			}
+			if (cost < bestCost) {
+				bestCost = cost;
+				bestIndex = index;
+			}
+		}
+	}
+	
+	private final class DoubleWorker extends NeighborhoodWorker {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final IncrementalOptimizationProblem<T> pInc;
+		private double currentCost;
+		double bestCost;
+		
+		DoubleWorker(int id, int numWorkers, IncrementalOptimizationProblem<T> pInc) {
+			super(id, numWorkers);
+			this.pInc = pInc;
+		}
+		
+		void reset(T current, double currentCost) {
+			this.currentCost = bestCost = currentCost;
+			reset(current);
+		}
+		
+		@Override
+		void evaluate(Move<T> move, long index) {
+			double cost;
+			if (pInc != null) {
+				cost = currentCost + pInc.costDelta(mine, move);
+			} else {
+				cost = pOpt.cost(neighbor(move));
+				restore(move);
+			}
+			if (cost < bestCost) {
+				bestCost = cost;
+				bestIndex = index;
+			}
+		}
+	}
+	
+	/*
+	 * Copies up to batchSize of the next neighbors of current into the batch, 
+	 * reusing the existing copies in the batch when possible.  Returns the number 
+	 * of neighbors copied.
+	 */
+	private int nextBatch(MutationIterator iter, T current, ArrayList<T> batch, int batchSize) {
+		int n = 0;
+		for ( ; n < batchSize && iter.hasNext(); n++) {
+			iter.nextMutant();
+			neighborCount++;
+			if (n < batch.size()) {
+				batch.set(n, copyOf(current, batch.get(n)));
+			} else {
+				batch.add(current.copy());
+			}
+		}
+		return n;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private T copyOf(T source, T target) {
+		if (target != null && source instanceof CopyableInto) {
+			return ((CopyableInto<T>)source).copyInto(target);
+		}
+		return source.copy();
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators;
+
+/**
+ * <p>An {@link IterableMutationOperator} whose neighborhoods can also be scanned one 
+ * anchor at a time, where an anchor is a component of the candidate solution
+ * (e.g., a position in a permutation), and each neighbor belongs to one or more anchors.
+ * This enables a local search to use don't-look bits, skipping the anchors 
+ * whose part of the candidate solution has not changed since they last failed to 
+ * yield an improving neighbor (see {@link AnchoredNeighborhood}).</p>
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.5.2020
+ */
+public interface AnchoredMutationOperator<T> extends IterableMutationOperator<T> {
+	
+	/**
+	 * Creates an {@link AnchoredNeighborhood} for scanning the neighbors of a 
+	 * candidate solution anchor by anchor.  The neighborhood
+	 * continues to follow the candidate solution as moves are applied to it with
+	 * the neighborhood's {@link AnchoredNeighborhood#apply apply} method, and
+	 * all of its don't-look bits are initially clear.
+	 * The candidate solution must not otherwise be changed while the neighborhood is in use.
+	 * @param c The candidate solution.
+	 * @return an AnchoredNeighborhood over the neighbors of c
+	 */
+	AnchoredNeighborhood<T> neighborhood(T c);
+	
+	@Override
+	AnchoredMutationOperator<T> split();
+}
@@ -0,0 +1,135 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators;
+
+/**
+ * <p>The neighborhood of a candidate solution, partitioned by anchors, 
+ * as created by an {@link AnchoredMutationOperator}.  An anchor is a component of 
+ * the candidate solution, such as a position in a permutation, and the 
+ * moves of an anchor are the neighbors that change that component.  
+ * The neighborhood maintains one don't-look bit per anchor.  A local search sets 
+ * an anchor's don't-look bit when none of its moves improve the candidate solution, 
+ * and applying a move with the {@link #apply} method clears the bits of the anchors
+ * that the move affects, so that subsequent scans can skip the anchors that are unlikely
+ * to yield an improvement.  Don't-look bits are a heuristic: a candidate 
+ * solution for which all of the bits are set is usually, but not necessarily, a 
+ * local optimum of the full neighborhood.</p>
+ *
+ * <p>Example: Here is an example of a first descent scan with don't-look bits.</p>
+ *
+ * <pre><code>
+ * T x = some object of type T.
+ * IncrementalIntegerCostOptimizationProblem&lt;T&gt; problem = ....
+ * AnchoredNeighborhood&lt;T&gt; hood = anchoredOperator.neighborhood(x);
+ * for (int a = 0, idle = 0; idle &lt; hood.numAnchors(); ) {
+ *     boolean improved = false;
+ *     if (!hood.isDontLook(a)) {
+ *         hood.select(a);
+ *         while (!improved &amp;&amp; hood.hasNext()) {
+ *             if (problem.costDelta(x, hood.nextMove()) &lt; 0) {
+ *                 hood.apply();
+ *                 improved = true;
+ *             }
+ *         }
+ *         if (!improved) hood.setDontLook(a);
+ *     }
+ *     if (improved) idle = 0;
+ *     else {
+ *         idle++;
+ *         a = (a + 1) % hood.numAnchors();
+ *     }
+ * }
+ * </code></pre>
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.6.2020
+ */
+public interface AnchoredNeighborhood<T> {
+	
+	/**
+	 * Gets the number of anchors, which are indexed from 0 through numAnchors() - 1.
+	 * @return the number of anchors
+	 */
+	int numAnchors();
+	
+	/**
+	 * Checks whether the don't-look bit of an anchor is set.
+	 * @param anchor The index of the anchor.
+	 * @return true if the don't-look bit of the anchor is set
+	 * @throws IndexOutOfBoundsException if anchor is negative or not less than numAnchors()
+	 */
+	boolean isDontLook(int anchor);
+	
+	/**
+	 * Sets the don't-look bit of an anchor.
+	 * @param anchor The index of the anchor.
+	 * @throws IndexOutOfBoundsException if anchor is negative or not less than numAnchors()
+	 */
+	void setDontLook(int anchor);
+	
+	/**
+	 * Begins iterating over the moves of an anchor, relative to the current
+	 * state of the candidate solution.
+	 * @param anchor The index of the anchor.
+	 * @throws IndexOutOfBoundsException if anchor is negative or not less than numAnchors()
+	 */
+	void select(int anchor);
+	
+	/**
+	 * Checks if the selected anchor has additional moves.
+	 * @return true if the selected anchor has additional moves, and false if it doesn't
+	 * or if no anchor is selected
+	 */
+	boolean hasNext();
+	
+	/**
+	 * Advances to the next move of the selected anchor, without modifying the 
+	 * candidate solution.  The returned Move may be reused (and changed) by the 
+	 * next call to this method, and so should not be retained.
+	 * @return the move that would transform the candidate solution into its next neighbor
+	 * @throws IllegalStateException if the selected anchor has no additional moves
+	 */
+	Move<T> nextMove();
+	
+	/**
+	 * Applies the most recent move returned by {@link #nextMove} to the 
+	 * candidate solution, and clears the don't-look bits of the anchors that the
+	 * move affects.  Afterwards, no anchor is selected.
+	 * @throws IllegalStateException if no move was returned by nextMove since the
+	 * most recent call to {@link #select}, apply, or {@link #accept}
+	 */
+	void apply();
+	
+	/**
+	 * Records that the caller has already applied the most recent move returned by 
+	 * {@link #nextMove} to the candidate solution, such as to evaluate the neighbor in place,
+	 * and clears the don't-look bits of the anchors that the move affects, exactly as 
+	 * {@link #apply} does, but without changing the candidate solution.  Afterwards, 
+	 * no anchor is selected.
+	 * @throws IllegalStateException if no move was returned by nextMove since the
+	 * most recent call to {@link #select}, apply, or accept
+	 */
+	void accept();
+}
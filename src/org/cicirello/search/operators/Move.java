@@ -0,0 +1,52 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators;
+
+/**
+ * <p>A Move describes a single mutation of a candidate solution, such as
+ * a swap of two specific elements of a permutation, independent of whether
+ * or not that mutation has actually been applied to the candidate solution.</p>
+ *
+ * <p>Moves enable delta (i.e., incremental) evaluation of neighbors.  A search algorithm
+ * can obtain a Move from a {@link MoveMutationOperator}, ask a problem that supports
+ * incremental evaluation for the change in cost that the Move would cause, and then
+ * apply the Move only if it decides to keep the neighbor.  See the 
+ * {@link org.cicirello.search.problems.IncrementalIntegerCostOptimizationProblem} and 
+ * {@link org.cicirello.search.problems.IncrementalOptimizationProblem} interfaces
+ * for the problem side of this contract.</p>
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.13.2020
+ */
+public interface Move<T> {
+	
+	/**
+	 * Applies this Move to a candidate solution, changing its state to that
+	 * of the neighbor described by this Move.
+	 *
+	 * @param c The candidate solution to change.
+	 */
+	void apply(T c);
+}
@@ -0,0 +1,82 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators;
+
+/**
+ * <p>A {@link MutationIterator} that can also iterate over the neighbors of
+ * a candidate solution as {@link Move} objects, without modifying the candidate
+ * solution.  This enables a local search to score each neighbor with the
+ * cost change computed by an incremental problem (e.g., 
+ * {@link org.cicirello.search.problems.IncrementalIntegerCostOptimizationProblem}),
+ * applying to the candidate solution only the one move that it keeps.</p>
+ *
+ * <p>A MoveMutationIterator is used in exactly one of two modes, determined by the
+ * first of the {@link #nextMutant} or {@link #nextMove} methods that is called.
+ * In mutant mode, it behaves exactly as specified by {@link MutationIterator}.
+ * In move mode, the candidate solution is not changed while iterating, 
+ * the {@link #setSavepoint} method records the most recent move, and the
+ * {@link #rollback} method applies that saved move to the candidate solution
+ * (or leaves the candidate unchanged if no savepoint was set).  In both modes,
+ * the candidate solution ends in the state of the most recent savepoint after 
+ * calling rollback.  Both modes iterate over the same neighbors in the same order.</p>
+ *
+ * <p>Example: Here is an example of iterating over all neighbors in move mode,
+ * keeping the best.</p>
+ *
+ * <pre><code>
+ * T x = some object of type T.
+ * IncrementalIntegerCostOptimizationProblem&lt;T&gt; problem = ....
+ * MoveMutationIterator&lt;T&gt; iter = ....
+ * int bestDelta = 0;
+ * while (iter.hasNext()) {
+ *     Move&lt;T&gt; move = iter.nextMove();
+ *     int delta = problem.costDelta(x, move);
+ *     if (delta &lt; bestDelta) {
+ *          bestDelta = delta;
+ *          iter.setSavepoint();
+ *     } 
+ * }
+ * // This next statement applies the best move (if any) to x.
+ * iter.rollback(); 
+ * </code></pre>
+ *
+ * @param <T> The type of object under mutation.
+ *
+ * @since 1.0
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.14.2020
+ */
+public interface MoveMutationIterator<T> extends MutationIterator {
+	
+	/**
+	 * Advances to the next neighbor of the candidate solution, returning it as
+	 * a move relative to the candidate solution's current state, without
+	 * modifying the candidate solution.
+	 * The returned Move may be reused (and changed) by the next call to this method, 
+	 * and so should not be retained.
+	 * @return the move that would transform the candidate solution into its next neighbor
+	 * @throws IllegalStateException if there are no additional neighbors to iterate over,
+	 * if the {@link #rollback} method was called, or if the {@link #nextMutant} method
+	 * was previously called on this iterator.
+	 */
+	Move<T> nextMove();
+}
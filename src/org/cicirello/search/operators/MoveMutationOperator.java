@@ -0,0 +1,61 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators;
+
+/**
+ * <p>Implement the MoveMutationOperator interface to define a mutation operator
+ * that is able to describe a random mutation as a {@link Move} prior to
+ * applying it.  This enables metaheuristics such as simulated annealing 
+ * to compute the cost of a random neighbor from a cost delta, if the problem 
+ * supports incremental evaluation, 
+ * and to only modify the candidate solution if the neighbor is accepted.</p>
+ *
+ * <p>Implementations must ensure that the following two are equivalent:
+ * <code>mutate(c);</code> and <code>nextMove(c).apply(c);</code>.  Additionally, 
+ * after <code>nextMove(c).apply(c);</code> a call to <code>undo(c)</code> must revert c
+ * to its state prior to applying the move, just as it would following a call to
+ * <code>mutate(c)</code>.</p>
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.13.2020
+ */
+public interface MoveMutationOperator<T> extends UndoableMutationOperator<T> {
+	
+	/**
+	 * Randomly selects a mutation of a candidate solution, without changing
+	 * the candidate solution.  The Move that is returned is selected using the same
+	 * probability distribution as the {@link #mutate} method.
+	 * The Move that is returned may be reused by the
+	 * operator, and is only guaranteed to be valid until the next call to
+	 * nextMove or {@link #mutate}.
+	 *
+	 * @param c The candidate solution.  This method does not change the state of c.
+	 * @return A Move describing the randomly selected mutation of c.
+	 */
+	Move<T> nextMove(T c);
+	
+	@Override
+	MoveMutationOperator<T> split();
+}
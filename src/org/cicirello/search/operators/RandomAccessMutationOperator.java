@@ -0,0 +1,67 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators;
+
+/**
+ * <p>An {@link IterableMutationOperator} that also provides random access
+ * to the neighbors of a candidate solution, by index, as {@link Move} objects.
+ * This enables a local search to begin scanning a neighborhood anywhere, such as 
+ * from the position of its most recent improvement, or to scan it in a random 
+ * order, without iterating over the neighbors that precede them.</p>
+ *
+ * <p>The neighbors of a candidate solution c are indexed from 0 through
+ * neighborhoodSize(c) - 1.  The indexing covers exactly the neighbors that the operator's 
+ * {@link MutationIterator}s iterate over, but need not be in the same order.</p>
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.4.2020
+ */
+public interface RandomAccessMutationOperator<T> extends IterableMutationOperator<T> {
+	
+	/**
+	 * Gets the number of neighbors of a candidate solution, which are the 
+	 * candidate solutions a single mutation away.
+	 * @param c The candidate solution.
+	 * @return the number of neighbors of c
+	 */
+	long neighborhoodSize(T c);
+	
+	/**
+	 * Gets one of the neighbors of a candidate solution, as the move that would
+	 * transform the candidate solution into that neighbor, without changing
+	 * the candidate solution.
+	 * The Move that is returned may be reused by the
+	 * operator, and is only guaranteed to be valid until the next call to getMove.
+	 * @param c The candidate solution.  This method does not change the state of c.
+	 * @param index The index of the neighbor, which must be at least 0 and less
+	 * than {@link #neighborhoodSize neighborhoodSize(c)}.
+	 * @return the move that transforms c into its neighbor with the specified index
+	 * @throws IndexOutOfBoundsException if index is negative or not less than neighborhoodSize(c)
+	 */
+	Move<T> getMove(T c, long index);
+	
+	@Override
+	RandomAccessMutationOperator<T> split();
+}
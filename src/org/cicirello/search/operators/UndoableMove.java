@@ -0,0 +1,48 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators;
+
+/**
+ * <p>A {@link Move} that can also revert its own effect on a candidate solution.
+ * This enables a search to evaluate a neighbor in place, by applying the move to
+ * the candidate solution, evaluating it, and undoing the move if it decides not to keep
+ * the neighbor, rather than evaluating a copy of the candidate solution.  Generating a
+ * copy of a candidate solution c is likely an operation whose cost is linear in the size
+ * of c, while undoing a move often costs no more than applying it.</p>
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.6.2020
+ */
+public interface UndoableMove<T> extends Move<T> {
+	
+	/**
+	 * Reverts this Move, returning a candidate solution to its state prior to the
+	 * move.  The behavior of undo is only defined if this Move was the most recent 
+	 * change to the candidate solution.
+	 *
+	 * @param c The candidate solution to revert, to which this Move was previously applied.
+	 */
+	void undo(T c);
+}
@@ -32,7 +32,7 @@ import org.cicirello.search.representations.BitVector;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 4.27.2020 
+ * @version 7.26.2020 
  */
 final class BitFlipIterator implements MutationIterator {
 	
@@ -98,7 +98,8 @@ final class BitFlipIterator implements MutationIterator {
 	@Override
 	public void setSavepoint() {
 		if (indexes[0] >= 0) {
-			save = indexes.clone();
+			if (save == null) save = new int[maxBits];
+			System.arraycopy(indexes, 0, save, 0, numBits);
 			numBitsSaved = numBits;
 		}
 	}
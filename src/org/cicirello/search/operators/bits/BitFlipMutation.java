@@ -23,6 +23,9 @@ package org.cicirello.search.operators.bits;
 import org.cicirello.search.representations.BitVector;
 import org.cicirello.search.operators.UndoableMutationOperator;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>This class implements Bit Flip Mutation, the mutation operator commonly used
@@ -40,16 +43,38 @@ import org.cicirello.math.rand.RandomIndexer;
  * BitVectors that guarantees that all calls to the {@link #mutate} method will change
  * the BitVector, then consider using the {@link DefiniteBitFlipMutation} class instead.</p> 
  *
+ * <p>For low mutation rates, rather than deciding for each bit whether to flip it, this class
+ * generates the gaps between consecutive flipped bits from a geometric distribution, which is 
+ * equivalent but costs time proportional to the number of bits flipped rather than the length of 
+ * the BitVector.  The indexes of the flipped bits are kept in a reusable buffer for the {@link #undo}
+ * method.</p>
+ *
+ * <p>By default, the random numbers are generated with ThreadLocalRandom.  The 
+ * {@link #BitFlipMutation(double, RandomEngine)} constructor instead accepts a {@link RandomEngine},
+ * which is split whenever the operator is split, so that seeded runs are reproducible.</p>
+ *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 4.25.2020
+ * @version 7.26.2020
  */
 public final class BitFlipMutation implements UndoableMutationOperator<BitVector> {
 	
 	private final double m;
+	// 1 / ln(1-m), for generating geometric gaps between flipped bits
+	private final double invLogOneMinusM;
 	private int[] flipped;
+	private int numFlipped;
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
+	
+	/*
+	 * Mutation rates below this threshold generate geometric gaps.  Above it, there are
+	 * so many flipped bits that a logarithm per flipped bit costs more than sampling
+	 * every bit.
+	 */
+	private static final double GEOMETRIC_THRESHOLD = 0.1;
 	
 	/**
 	 * Constructs a BitFlipMutation operator with a specified mutation rate.
@@ -60,8 +85,26 @@ public final class BitFlipMutation implements UndoableMutationOperator<BitVector
 	 * @throws IllegalArgumentException if m &le; 0 or if m &ge; 1.
 	 */
 	public BitFlipMutation(double m) {
+		this(m, null);
+	}
+	
+	/**
+	 * Constructs a BitFlipMutation operator with a specified mutation rate, and
+	 * a given source of random numbers.
+	 * @param m The mutation rate, which is the probability of flipping any individual bit.
+	 * The expected number of bits flipped during a call to the {@link #mutate} method is
+	 * m*N where N is the length of the mutated BitVector.  There is no guarantee that any bits will be flipped
+	 * during a mutation (e.g., if m is close to 0).
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if m &le; 0 or if m &ge; 1.
+	 */
+	public BitFlipMutation(double m, RandomEngine engine) {
 		if (m <= 0 || m >= 1) throw new IllegalArgumentException("m constrained by: 0.0 < m < 1.0");
 		this.m = m;
+		invLogOneMinusM = 1.0 / Math.log1p(-m);
+		this.engine = engine;
 	}
 	
 	/*
@@ -69,22 +112,45 @@ public final class BitFlipMutation implements UndoableMutationOperator<BitVector
 	 */
 	private BitFlipMutation(BitFlipMutation other) {
 		m = other.m;
+		invLogOneMinusM = other.invLogOneMinusM;
+		engine = other.engine != null ? other.engine.split() : null;
 	}
 	
 	@Override
 	public void mutate(BitVector c) {
-		flipped = RandomIndexer.sample(c.length(), m);
-		for (int i = 0; i < flipped.length; i++) {
-			c.flip(flipped[i]);
+		final int n = c.length();
+		Random r = engine != null ? engine : ThreadLocalRandom.current();
+		if (m < GEOMETRIC_THRESHOLD) {
+			if (flipped == null) flipped = new int[4];
+			numFlipped = 0;
+			int i = -1;
+			while (true) {
+				// number of bits skipped before the next flipped bit
+				double gap = Math.log(1.0 - r.nextDouble()) * invLogOneMinusM;
+				if (gap >= n - 1 - i) break;
+				i += 1 + (int)gap;
+				if (numFlipped == flipped.length) {
+					int[] temp = new int[2 * numFlipped];
+					System.arraycopy(flipped, 0, temp, 0, numFlipped);
+					flipped = temp;
+				}
+				flipped[numFlipped] = i;
+				numFlipped++;
+				c.flip(i);
+			}
+		} else {
+			flipped = RandomIndexer.sample(n, m, r);
+			numFlipped = flipped.length;
+			for (int i = 0; i < numFlipped; i++) {
+				c.flip(flipped[i]);
+			}
 		}
 	}
 	
 	@Override
 	public void undo(BitVector c) {
-		if (flipped != null) {
-			for (int i = 0; i < flipped.length; i++) {
-				c.flip(flipped[i]);
-			}
+		for (int i = 0; i < numFlipped; i++) {
+			c.flip(flipped[i]);
 		}
 	}
 	
@@ -22,21 +22,27 @@ package org.cicirello.search.operators.bits;
 
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.representations.BitVector;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * Generates random {@link BitVector} objects for use in generating random initial solutions
  * for simulated annealing and other metaheuristics.  Also used for copying such objects.
- * A BitVector is an indexable vector of bits.  
+ * A BitVector is an indexable vector of bits.  The random bits are generated with ThreadLocalRandom,
+ * unless the initializer is constructed with a {@link RandomEngine}, which is split whenever 
+ * the initializer is split.
  *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 5.11.2020
+ * @version 7.28.2020
  */
 public final class BitVectorInitializer implements Initializer<BitVector> {
 	
 	private final int bitLength;
+	private final boolean trackOnes;
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Construct a BitVectorInitializer for creating random BitVectors of a
@@ -45,19 +51,56 @@ public final class BitVectorInitializer implements Initializer<BitVector> {
 	 * @throws IllegalArgumentException if bitLength is negative.
 	 */
 	public BitVectorInitializer(int bitLength) {
+		this(bitLength, false);
+	}
+	
+	/**
+	 * Construct a BitVectorInitializer for creating random BitVectors of a
+	 * specified length, which optionally track their counts of 1 bits.
+	 * @param bitLength The length in bits of the BitVectors created by this initializer.
+	 * @param trackOnes If true, the BitVectors created by this initializer maintain their
+	 * counts of 1 bits incrementally, so that problems such as 
+	 * {@link org.cicirello.search.problems.OneMax OneMax} whose costs depend on
+	 * that count are evaluated in constant time.  
+	 * See {@link BitVector#BitVector(int, boolean, boolean)}.
+	 * @throws IllegalArgumentException if bitLength is negative.
+	 */
+	public BitVectorInitializer(int bitLength, boolean trackOnes) {
+		this(bitLength, trackOnes, null);
+	}
+	
+	/**
+	 * Construct a BitVectorInitializer for creating random BitVectors of a
+	 * specified length, with a given source of random numbers.
+	 * @param bitLength The length in bits of the BitVectors created by this initializer.
+	 * @param trackOnes If true, the BitVectors created by this initializer maintain their
+	 * counts of 1 bits incrementally.  See {@link #BitVectorInitializer(int, boolean)}.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the initializer is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if bitLength is negative.
+	 */
+	public BitVectorInitializer(int bitLength, boolean trackOnes, RandomEngine engine) {
 		if (bitLength < 0) throw new IllegalArgumentException("bitLength must be non-negative.");
 		this.bitLength = bitLength;
+		this.trackOnes = trackOnes;
+		this.engine = engine;
 	}
 	
 	@Override
 	public BitVector createCandidateSolution() {
-		return new BitVector(bitLength, true);
+		if (engine == null) return new BitVector(bitLength, true, trackOnes);
+		BitVector v = new BitVector(bitLength, false, trackOnes);
+		for (int i = 0; (i << 5) < bitLength; i++) {
+			v.set32(i, engine.nextInt());
+		}
+		return v;
 	}
 	
 	@Override
 	public BitVectorInitializer split() {
-		//thread-safe so can simply return this.
-		return this;
+		// without an engine, it is thread-safe so can simply return this.
+		return engine != null ? new BitVectorInitializer(bitLength, trackOnes, engine.split()) : this;
 	}
 	
 }
\ No newline at end of file
@@ -25,6 +25,9 @@ import org.cicirello.search.operators.UndoableMutationOperator;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>DefiniteBitFlipMutation implements a variation of Bit Flip Mutation.
@@ -57,16 +60,24 @@ import org.cicirello.math.rand.RandomIndexer;
  * combinations of f bits are equally likely.  The expected number of bits flipped during a single
  * call to the {@link #mutate} method is (1+B)/2.</p> 
  *
+ * <p>By default, the random numbers are generated with ThreadLocalRandom.  The 
+ * {@link #DefiniteBitFlipMutation(int, RandomEngine)} constructor instead accepts a {@link RandomEngine},
+ * which is split whenever the operator is split, so that seeded runs are reproducible.</p>
+ *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 4.27.2020
+ * @version 7.26.2020
  */
 public final class DefiniteBitFlipMutation implements UndoableMutationOperator<BitVector>, IterableMutationOperator<BitVector> {
 	
 	private final int b;
+	// reused across calls to mutate, of which the first numFlipped are the flipped bits
 	private int[] flipped;
+	private int numFlipped;
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs a DefiniteBitFlipMutation operator.
@@ -76,8 +87,23 @@ public final class DefiniteBitFlipMutation implements UndoableMutationOperator<B
 	 * @throws IllegalArgumentException if b is less than 1.
 	 */
 	public DefiniteBitFlipMutation(int b) {
+		this(b, null);
+	}
+	
+	/**
+	 * Constructs a DefiniteBitFlipMutation operator with a given source of random numbers.
+	 * @param b The maximum number of bits to flip during a single call to the {@link #mutate} method.
+	 * The number of bits flipped during each call to {@link #mutate} method is chosen uniformly at random
+	 * from the interval [1, b].
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if b is less than 1.
+	 */
+	public DefiniteBitFlipMutation(int b, RandomEngine engine) {
 		if (b < 1) throw new IllegalArgumentException("b must be at least 1");
 		this.b = b;
+		this.engine = engine;
 	}
 	
 	/*
@@ -85,22 +111,23 @@ public final class DefiniteBitFlipMutation implements UndoableMutationOperator<B
 	 */
 	private DefiniteBitFlipMutation(DefiniteBitFlipMutation other) {
 		b = other.b;
+		engine = other.engine != null ? other.engine.split() : null;
 	}
 	
 	@Override
 	public void mutate(BitVector c) {
-		flipped = RandomIndexer.sample(c.length(), RandomIndexer.nextBiasedInt(min(b,c.length())) + 1, (int[])null);
-		for (int i = 0; i < flipped.length; i++) {
+		Random r = engine != null ? engine : ThreadLocalRandom.current();
+		numFlipped = RandomIndexer.nextBiasedInt(min(b,c.length()), r) + 1;
+		flipped = RandomIndexer.sample(c.length(), numFlipped, flipped, r);
+		for (int i = 0; i < numFlipped; i++) {
 			c.flip(flipped[i]);
 		}
 	}
 	
 	@Override
 	public void undo(BitVector c) {
-		if (flipped != null) {
-			for (int i = 0; i < flipped.length; i++) {
-				c.flip(flipped[i]);
-			}
+		for (int i = 0; i < numFlipped; i++) {
+			c.flip(flipped[i]);
 		}
 	}
 	
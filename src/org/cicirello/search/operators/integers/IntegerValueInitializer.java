@@ -37,7 +37,7 @@ import org.cicirello.math.rand.RandomIndexer;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.31.2020
  */
 public class IntegerValueInitializer implements Initializer<SingleInteger> {
 	
@@ -166,6 +166,22 @@ public class IntegerValueInitializer implements Initializer<SingleInteger> {
 		}
 		
 	
+		/**
+		 * Copies this object into another object, reusing its memory, if the other
+		 * object has the same bounds as this one; and otherwise constructs a new copy.
+		 * @param target The object to hold the copy.
+		 * @return target if it was compatible, and otherwise a new copy of this object
+		 */
+		@Override
+		public SingleInteger copyInto(SingleInteger target) {
+			if (target instanceof BoundedInteger) {
+				if (IntegerValueInitializer.this == ((BoundedInteger)target).getOuterThis()) {
+					return super.copyInto(target);
+				}
+			}
+			return copy();
+		}
+		
 		private IntegerValueInitializer getOuterThis() { return IntegerValueInitializer.this; };
 		
 		
@@ -23,6 +23,9 @@ package org.cicirello.search.operators.integers;
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.representations.IntegerVector;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Generating random {@link IntegerVector} objects for use in generating random initial solutions
@@ -32,13 +35,15 @@ import org.cicirello.math.rand.RandomIndexer;
  * In the bounded case, the objects created by this class enforce the bounds upon calls
  * to {@link IntegerVector#set} such that the {@link IntegerVector#set} method will set the value to
  * the min if a value is passed less than min (and similarly for max). 
- *
+ * By default, the random values are generated with ThreadLocalRandom, but several
+ * of the constructors accept a {@link RandomEngine}, which is split when the 
+ * initializer is split, to enable reproducible multithreaded runs.
  *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.31.2020
  */
 public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 	
@@ -47,6 +52,7 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 	private final int[] b;
 	private final int[] min;
 	private final int[] max;
+	private final RandomEngine engine;
 	
 	/**
 	 * Construct a IntegerVectorInitializer that generates
@@ -64,11 +70,34 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 	 * @throws NegativeArraySizeException if n &lt; 0
 	 */
 	public IntegerVectorInitializer(int n, int a, int b) {
+		this(n, a, b, (RandomEngine)null);
+	}
+	
+	/**
+	 * Construct a IntegerVectorInitializer that generates
+	 * random solutions such that the values of all n variables are chosen
+	 * uniformly in the interval [a, b), using a specified source of random numbers.  The 
+	 * {@link IntegerVector} objects returned by the
+	 * {@link #createCandidateSolution} method are otherwise unbounded
+	 * (i.e., future mutations may alter the values such that it leaves that
+	 * interval).  Use a different constructor if you need to enforce bounds.
+	 *
+	 * @param n The number of input variables for the function.
+	 * @param a The lower end of the interval (inclusive).
+	 * @param b The upper end of the interval (exclusive).
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when this initializer is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if a &ge; b
+	 * @throws NegativeArraySizeException if n &lt; 0
+	 */
+	public IntegerVectorInitializer(int n, int a, int b, RandomEngine engine) {
 		if (a >= b) throw new IllegalArgumentException("a must be less than b");
 		x = new int[n];
 		this.a = new int[] { a };
 		this.b = new int[] { b };
 		min = max = null;
+		this.engine = engine;
 	}
 	
 	/**
@@ -98,6 +127,7 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 		this.a = a.clone();
 		this.b = b.clone();
 		min = max = null;
+		engine = null;
 	}
 	
 	/**
@@ -120,6 +150,32 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 	 * @throws NegativeArraySizeException if n &lt; 0
 	 */
 	public IntegerVectorInitializer(int n, int a, int b, int min, int max) {
+		this(n, a, b, min, max, null);
+	}
+	
+	/**
+	 * Construct a IntegerVectorInitializer that generates
+	 * random solutions such that the values of all n variables are chosen
+	 * uniformly in the interval [a, b), subject to
+	 * bounds [min, max], using a specified source of random numbers.  If this constructor is used, then the 
+	 * {@link #createCandidateSolution} method will return 
+	 * an object of a subclass of {@link IntegerVector}, which will
+	 * enforce the constraint that the values of the function inputs must
+	 * remain in the interval [min, max] as mutation and other operators
+	 * are applied.
+	 *
+	 * @param n The number of input variables for the function.
+	 * @param a The lower end of the interval (inclusive).
+	 * @param b The upper end of the interval (exclusive).
+	 * @param min Lower bound on allowed values for the function inputs generated.
+	 * @param max Upper bound on allowed values for the function inputs generated.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when this initializer is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if a &ge; b or if min &gt; max
+	 * @throws NegativeArraySizeException if n &lt; 0
+	 */
+	public IntegerVectorInitializer(int n, int a, int b, int min, int max, RandomEngine engine) {
 		if (a >= b) throw new IllegalArgumentException("a must be less than b");
 		if (min > max) throw new IllegalArgumentException("min must be less than or equal to max");
 		x = new int[n];
@@ -127,6 +183,7 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 		this.b = new int[] { b > max + 1 ? max + 1 : b };
 		this.min = new int[] { min };
 		this.max = new int[] { max };
+		this.engine = engine;
 	}
 	
 	/**
@@ -166,6 +223,7 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 		}
 		this.min = new int[] { min };
 		this.max = new int[] { max };
+		engine = null;
 	}
 	
 	/**
@@ -193,6 +251,37 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 	 * exists an i, such that a[i] &ge; b[i] or min[i] &gt; max[i].
 	 */
 	public IntegerVectorInitializer(int[] a, int[] b, int[] min, int[] max) {
+		this(a, b, min, max, null);
+	}
+	
+	/**
+	 * Construct a IntegerVectorInitializer that generates
+	 * random solutions such that the values of variable i is chosen
+	 * uniformly in the interval [a[i], b[i]), subject to
+	 * bounds [min[i], max[i]], using a specified source of random numbers.  If this constructor is used, then the 
+	 * {@link #createCandidateSolution} method will return 
+	 * an object of a subclass of {@link IntegerVector}, which will
+	 * enforce the constraint that the values of the function inputs must
+	 * remain in the interval [min[i], max[i]] as mutation and other operators
+	 * are applied.
+	 *
+	 * @param a An array of the left points of the intervals, inclusive.  The length
+	 * of this array corresponds to the number of input variables for the function
+	 * you are optimizing.  Variable x[i]'s initial value will be at least a[i].
+	 * @param b An array of the right points of the intervals, exclusive.  The length
+	 * of this array corresponds to the number of input variables for the function
+	 * you are optimizing.  Variable x[i]'s initial value will be less than b[i].
+	 * @param min An array of lower bounds on allowed values for the function inputs generated,
+	 * such that x[i] will never be less than min[i].
+	 * @param max An array of upper bounds on allowed values for the function inputs generated,
+	 * such that x[i] will never be greater than max[i].
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when this initializer is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if the lengths of a and b are different; or if there
+	 * exists an i, such that a[i] &ge; b[i] or min[i] &gt; max[i].
+	 */
+	public IntegerVectorInitializer(int[] a, int[] b, int[] min, int[] max, RandomEngine engine) {
 		if (a.length != b.length || min.length != max.length || a.length != min.length) {
 			throw new IllegalArgumentException("lengths of a, b, min, and max must be identical");
 		}
@@ -213,18 +302,32 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 		}
 		this.min = min.clone();
 		this.max = max.clone();
+		this.engine = engine;
+	}
+	
+	/*
+	 * private for use by split method
+	 */
+	private IntegerVectorInitializer(IntegerVectorInitializer other) {
+		x = new int[other.x.length];
+		a = other.a;
+		b = other.b;
+		min = other.min;
+		max = other.max;
+		engine = other.engine.split();
 	}
 	
 	
 	@Override
 	public final IntegerVector createCandidateSolution() {
+		Random r = engine != null ? engine : ThreadLocalRandom.current();
 		if (a.length > 1) {
 			for (int i = 0; i < x.length; i++) {
-				x[i] = a[i] + RandomIndexer.nextInt(b[i]-a[i]);
+				x[i] = a[i] + RandomIndexer.nextInt(b[i]-a[i], r);
 			}
 		} else {
 			for (int i = 0; i < x.length; i++) {
-				x[i] = a[0] + RandomIndexer.nextInt(b[0]-a[0]);
+				x[i] = a[0] + RandomIndexer.nextInt(b[0]-a[0], r);
 			}
 		}
 		if (min != null) {
@@ -236,8 +339,8 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 	
 	@Override
 	public IntegerVectorInitializer split() {
-		//thread-safe so can simply return this.
-		return this;
+		//thread-safe without an engine so can simply return this.
+		return engine == null ? this : new IntegerVectorInitializer(this);
 	}
 	
 	
@@ -323,6 +426,23 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 			return new BoundedIntegerVector(this);
 		}
 		
+		/**
+		 * Copies this object into another object, reusing its memory, if the other
+		 * object has the same bounds as this one; and otherwise constructs a new copy.
+		 * @param target The object to hold the copy.
+		 * @return target if it was compatible, and otherwise a new copy of this object
+		 */
+		@Override
+		public IntegerVector copyInto(IntegerVector target) {
+			if (target instanceof BoundedIntegerVector) {
+				IntegerVectorInitializer init = ((BoundedIntegerVector)target).getOuterThis();
+				if (IntegerVectorInitializer.this == init || min == init.min && max == init.max) {
+					return super.copyInto(target);
+				}
+			}
+			return copy();
+		}
+		
 		private IntegerVectorInitializer getOuterThis() { return IntegerVectorInitializer.this; };
 		
 		
@@ -339,7 +459,10 @@ public class IntegerVectorInitializer implements Initializer<IntegerVector> {
 		public boolean equals(Object other) {
 			if (!super.equals(other)) return false;
 			BoundedIntegerVector b = (BoundedIntegerVector)other;
-			return IntegerVectorInitializer.this == b.getOuterThis();
+			IntegerVectorInitializer init = b.getOuterThis();
+			// an initializer split from another shares its bounds arrays
+			return IntegerVectorInitializer.this == init 
+				|| min == init.min && max == init.max;
 		}
 		
 		/**
@@ -24,6 +24,9 @@ import org.cicirello.search.operators.MutationOperator;
 import org.cicirello.search.representations.IntegerValued;
 import org.cicirello.math.rand.RandomIndexer;
 import org.cicirello.math.rand.RandomVariates;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This mutation operator is for integer valued representations, and replaces an
@@ -41,6 +44,10 @@ import org.cicirello.math.rand.RandomVariates;
  * {@link IntegerValued} class for that purpose is not recommended as there are much more efficient
  * ways of representing strings of bits (e.g., using bit level operators).  
  *
+ * <p>By default, the random numbers are generated with ThreadLocalRandom.  The 
+ * {@link #RandomValueChangeMutation(int, int, double, int, RandomEngine)} constructor instead 
+ * accepts a {@link RandomEngine}, which is split whenever the operator is split.</p>
+ *
  * @param <T> The specific IntegerValued type.
  *
  * @since 1.0
@@ -58,6 +65,8 @@ public class RandomValueChangeMutation<T extends IntegerValued> implements Mutat
 	private final int min_k;
 	private int[] indexes;
 	private int lastK;
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs a RandomValueChangeMutation operator that always 
@@ -108,12 +117,34 @@ public class RandomValueChangeMutation<T extends IntegerValued> implements Mutat
 	 * @throws IllegalArgumentException if a &ge; b or if p is negative.
 	 */
 	public RandomValueChangeMutation(int a, int b, double p, int k) {
+		this(a, b, p, k, null);
+	}
+	
+	/**
+	 * Constructs a RandomValueChangeMutation operator with a given source of random numbers.
+	 * If the IntegerValued undergoing mutation contains n integer parameters, 
+	 * then this mutation operator will mutate n*p of those integers on average during
+	 * calls to {@link #mutate}, but will definitely mutate at least k of them.  
+	 * @param a The lower bound of the domain from which to choose random values.
+	 * @param b The upper bound of the domain from which to choose random values.  b must be
+	 * greater than a (i.e., there must be at least 2 values in the domain).
+	 * @param p The probability of mutating an individual integer.  Negative p are treated as p=0.
+	 * If p is greater than 1, it is treated as p=1.
+	 * @param k The minimum number of integer parameters of the IntegerValued undergoing
+	 * mutation to mutate during calls to the {@link #mutate} method.  Negative k are treated as k=0.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if a &ge; b or if p is negative.
+	 */
+	public RandomValueChangeMutation(int a, int b, double p, int k, RandomEngine engine) {
 		range = b - a + 1;
 		if (range <= 1) throw new IllegalArgumentException("b must be greater than a");
 		this.a = a;
 		this.b = b;
 		this.p = p <= 0.0 ? 0.0 : (p >= 1.0 ? 1.0 : p);
 		min_k = k <= 0 ? 0 : k;
+		this.engine = engine;
 	}
 	
 	/*
@@ -125,17 +156,19 @@ public class RandomValueChangeMutation<T extends IntegerValued> implements Mutat
 		p = other.p;
 		min_k = other.min_k;
 		range = other.range;
+		engine = other.engine != null ? other.engine.split() : null;
 	}
 	
 	@Override
 	public void mutate(T c) {
 		if (c.length() == 0) return;
 		int min = c.length() < min_k ? c.length() : min_k;
-		lastK = p > 0 ? RandomVariates.nextBinomial(c.length(), p) : min;
+		Random r = engine != null ? engine : ThreadLocalRandom.current();
+		lastK = p > 0 ? RandomVariates.nextBinomial(c.length(), p, r) : min;
 		if (lastK < min) lastK = min;
-		indexes = RandomIndexer.sample(c.length(), lastK, indexes);
+		indexes = RandomIndexer.sample(c.length(), lastK, indexes, r);
 		for (int i = 0; i < lastK; i++) {
-			int v = a + RandomIndexer.nextInt(range-1);
+			int v = a + RandomIndexer.nextInt(range-1, r);
 			if (v >= c.get(indexes[i])) v++;
 			c.set(indexes[i], v);
 		}
@@ -143,7 +176,7 @@ public class RandomValueChangeMutation<T extends IntegerValued> implements Mutat
 	
 	@Override
 	public RandomValueChangeMutation<T> split() {
-		return new RandomValueChangeMutation<T>(a, b, p, min_k);
+		return new RandomValueChangeMutation<T>(this);
 	}
 	
 	/**
@@ -176,11 +209,12 @@ public class RandomValueChangeMutation<T extends IntegerValued> implements Mutat
 	 */
 	void restorableMutate(T c, int[] old) {
 		int min = c.length() < min_k ? c.length() : min_k;
-		lastK = p > 0 ? RandomVariates.nextBinomial(c.length(), p) : min;
+		Random r = engine != null ? engine : ThreadLocalRandom.current();
+		lastK = p > 0 ? RandomVariates.nextBinomial(c.length(), p, r) : min;
 		if (lastK < min) lastK = min;
-		indexes = RandomIndexer.sample(c.length(), lastK, indexes);
+		indexes = RandomIndexer.sample(c.length(), lastK, indexes, r);
 		for (int i = 0; i < lastK; i++) {
-			int v = a + RandomIndexer.nextInt(range-1);
+			int v = a + RandomIndexer.nextInt(range-1, r);
 			old[i] = c.get(indexes[i]);
 			if (v >= old[i]) v++;
 			c.set(indexes[i], v);
@@ -22,6 +22,7 @@ package org.cicirello.search.operators.integers;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
 import org.cicirello.search.representations.IntegerValued;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * This mutation operator (supporting the undo operation) 
@@ -112,6 +113,27 @@ public final class UndoableRandomValueChangeMutation<T extends IntegerValued> ex
 		super(a, b, p, k);
 	}
 	
+	/**
+	 * Constructs a UndoableRandomValueChangeMutation operator with a given source of random numbers.
+	 * If the IntegerValued undergoing mutation contains n integer parameters, 
+	 * then this mutation operator will mutate n*p of those integers on average during
+	 * calls to {@link #mutate}, but will definitely mutate at least k of them.  
+	 * @param a The lower bound of the domain from which to choose random values.
+	 * @param b The upper bound of the domain from which to choose random values.  b must be
+	 * greater than a (i.e., there must be at least 2 values in the domain).
+	 * @param p The probability of mutating an individual integer.  Negative p are treated as p=0.
+	 * If p is greater than 1, it is treated as p=1.
+	 * @param k The minimum number of integer parameters of the IntegerValued undergoing
+	 * mutation to mutate during calls to the {@link #mutate} method.  Negative k are treated as k=0.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if a &ge; b or if p is negative.
+	 */
+	public UndoableRandomValueChangeMutation(int a, int b, double p, int k, RandomEngine engine) {
+		super(a, b, p, k, engine);
+	}
+	
 	@Override
 	public void mutate(T c) {
 		if (c.length() > 0) {
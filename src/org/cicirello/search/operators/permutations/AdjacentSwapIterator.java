@@ -20,7 +20,7 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -31,19 +31,21 @@ import org.cicirello.permutations.Permutation;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.4.2019 
+ * @version 7.14.2020 
  */
-final class AdjacentSwapIterator implements MutationIterator {
+final class AdjacentSwapIterator implements MoveMutationIterator<Permutation> {
 	
 	private boolean rolled;
 	private boolean hasMore;
 	private final Permutation p;
 	private int i;
 	private int x;
+	private boolean mutated;
+	private PermutationMove move;
 	
 	AdjacentSwapIterator(Permutation p) {
 		this.p = p;
-		// default init: rolled = false;
+		// default inits: rolled = mutated = false; move = null;
 		hasMore = p.length() >= 2;
 		x = i = -1;
 	}
@@ -57,6 +59,8 @@ final class AdjacentSwapIterator implements MutationIterator {
 	public void nextMutant() {
 		if (!hasMore) throw new IllegalStateException("no neighbors left");
 		if (rolled) throw new IllegalStateException("illegal to call nextMutant after calling rollback");
+		if (move != null) throw new IllegalStateException("illegal to call nextMutant after calling nextMove");
+		mutated = true;
 		if (i >= 0) {
 			p.swap(i,i+1);
 		}
@@ -65,6 +69,17 @@ final class AdjacentSwapIterator implements MutationIterator {
 		if (i == p.length()-2) hasMore = false;
 	}
 	
+	@Override
+	public PermutationMove nextMove() {
+		if (!hasMore) throw new IllegalStateException("no neighbors left");
+		if (rolled) throw new IllegalStateException("illegal to call nextMove after calling rollback");
+		if (mutated) throw new IllegalStateException("illegal to call nextMove after calling nextMutant");
+		if (move == null) move = new PermutationMove(PermutationMove.Type.SWAP);
+		i++;
+		if (i == p.length()-2) hasMore = false;
+		return move.set(i,i+1);
+	}
+	
 	@Override
 	public void setSavepoint() {
 		x = i;
@@ -74,7 +89,9 @@ final class AdjacentSwapIterator implements MutationIterator {
 	public void rollback() {
 		if (!rolled) {
 			rolled = true;
-			if (x < 0) {
+			if (move != null) {
+				if (x >= 0) move.set(x,x+1).apply(p);
+			} else if (x < 0) {
 				if (i >= 0) p.swap(i,i+1);
 			} else if (i != x) {
 				p.swap(i,i+1);
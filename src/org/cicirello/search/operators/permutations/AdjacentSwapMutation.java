@@ -20,11 +20,15 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.UndoableMutationOperator;
-import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.MoveMutationOperator;
+import org.cicirello.search.operators.RandomAccessMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class implements an adjacent swap mutation on permutations, where one mutation
@@ -37,30 +41,87 @@ import org.cicirello.math.rand.RandomIndexer;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.4.2019
+ * @version 8.4.2020
  */
-public final class AdjacentSwapMutation implements UndoableMutationOperator<Permutation>, IterableMutationOperator<Permutation> {
+public final class AdjacentSwapMutation implements MoveMutationOperator<Permutation>, RandomAccessMutationOperator<Permutation> {
 
-	private int index;
+	// needed to implement undo
+	private final int[] indexes;
+	// describes the most recent mutation, and shares the indexes array
+	private final PermutationMove move;
+	// the most recent neighbor accessed by index
+	private PermutationMove indexed;
+	
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs an AdjacentSwapMutation mutation operator.
 	 */
-	public AdjacentSwapMutation() {}
+	public AdjacentSwapMutation() {
+		this(null);
+	}
+	
+	/**
+	 * Constructs an AdjacentSwapMutation mutation operator that uses a given source of random numbers.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 */
+	public AdjacentSwapMutation(RandomEngine engine) {
+		indexes = new int[2];
+		move = new PermutationMove(indexes, PermutationMove.Type.SWAP);
+		this.engine = engine;
+	}
 	
 	@Override
 	public void mutate(Permutation c) {
-        if (c.length() >= 2) c.swap(index = RandomIndexer.nextInt(c.length()-1), index+1);
+		if (c.length() >= 2) {
+			generateIndexes(c.length());
+			c.swap(indexes[0], indexes[1]);
+		}
 	}
 	
 	@Override
 	public void undo(Permutation c) {
-		if (c.length() >= 2) c.swap(index, index+1);
+		if (c.length() >= 2) c.swap(indexes[0], indexes[1]);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#SWAP SWAP}, where the two indexes
+	 * are adjacent.</p>
+	 */
+	@Override
+	public PermutationMove nextMove(Permutation c) {
+		if (c.length() >= 2) generateIndexes(c.length());
+		return move;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#SWAP SWAP}, where the two indexes
+	 * are adjacent.  The runtime of this method is O(1).</p>
+	 */
+	@Override
+	public PermutationMove getMove(Permutation c, long index) {
+		if (index < 0 || index >= neighborhoodSize(c)) {
+			throw new IndexOutOfBoundsException("index: " + index);
+		}
+		if (indexed == null) indexed = new PermutationMove(PermutationMove.Type.SWAP);
+		return indexed.setPair(index, c.length(), 1);
+	}
+	
+	@Override
+	public long neighborhoodSize(Permutation c) {
+		return PermutationMove.numPairs(c.length(), 1);
 	}
 	
 	@Override
 	public AdjacentSwapMutation split() {
-		return new AdjacentSwapMutation();
+		return new AdjacentSwapMutation(splitEngine());
 	}
 	
 	/**
@@ -69,9 +130,30 @@ public final class AdjacentSwapMutation implements UndoableMutationOperator<Perm
 	 * {@link MutationIterator#nextMutant}, {@link MutationIterator#setSavepoint}, and
 	 * {@link MutationIterator#rollback} methods of the {@link MutationIterator} created by this method
 	 * is O(1).</p>
+	 * <p>The {@link MoveMutationIterator#nextMove} method of that iterator is O(1) in the worst case.</p>
 	 */
 	@Override
-	public MutationIterator iterator(Permutation p) {
+	public MoveMutationIterator<Permutation> iterator(Permutation p) {
 		return new AdjacentSwapIterator(p);
 	}
+	
+	private void generateIndexes(int n) {
+		indexes[0] = RandomIndexer.nextInt(n-1, random());
+		indexes[1] = indexes[0] + 1;
+	}
+	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.
+	 */
+	private Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
+	/*
+	 * Splits the engine, if there is one, for the split of this operator.
+	 */
+	private RandomEngine splitEngine() {
+		return engine != null ? engine.split() : null;
+	}
 }
\ No newline at end of file
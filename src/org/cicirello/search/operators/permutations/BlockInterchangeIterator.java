@@ -20,7 +20,7 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -31,9 +31,9 @@ import org.cicirello.permutations.Permutation;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.11.2019 
+ * @version 7.14.2020 
  */
-final class BlockInterchangeIterator implements MutationIterator {
+final class BlockInterchangeIterator implements MoveMutationIterator<Permutation> {
 	
 	private boolean rolled;
 	private boolean hasMoreInsertions;
@@ -59,6 +59,10 @@ final class BlockInterchangeIterator implements MutationIterator {
 	private int nextS;
 	private final int MAX_S;
 	
+	// used by move mode
+	private boolean mutated;
+	private PermutationMove move;
+	
 	BlockInterchangeIterator(Permutation p) {
 		this.p = p;
 		// phase 1: adjacent blocks and at least 1 block is single element
@@ -84,6 +88,8 @@ final class BlockInterchangeIterator implements MutationIterator {
 	@Override
 	public void nextMutant() {
 		if (rolled) throw new IllegalStateException("illegal to call nextMutant after calling rollback");
+		if (move != null) throw new IllegalStateException("illegal to call nextMutant after calling nextMove");
+		mutated = true;
 		if (hasMoreInsertions) {
 			nextInsertion();
 		} else if (hasMoreElementSwaps) {
@@ -97,6 +103,25 @@ final class BlockInterchangeIterator implements MutationIterator {
 		}
 	}
 	
+	@Override
+	public PermutationMove nextMove() {
+		if (rolled) throw new IllegalStateException("illegal to call nextMove after calling rollback");
+		if (mutated) throw new IllegalStateException("illegal to call nextMove after calling nextMutant");
+		if (move == null) move = new PermutationMove(PermutationMove.Type.BLOCK_INTERCHANGE);
+		if (hasMoreInsertions) {
+			nextInsertionIndexes();
+		} else if (hasMoreElementSwaps) {
+			nextSwapIndexes();
+		} else if (hasMoreBlocksInserts) {
+			nextBlockInsertionIndexes();
+		} else if(hasMoreBlocksSwaps) {
+			nextBlockSwapIndexes();
+		} else {
+			throw new IllegalStateException("no neighbors left");
+		}
+		return setMove(phase, h, i, j, k);
+	}
+	
 	@Override
 	public void setSavepoint() {
 		w = h;
@@ -110,108 +135,169 @@ final class BlockInterchangeIterator implements MutationIterator {
 	public void rollback() {
 		if (!rolled) {
 			rolled = true;
-			switch (phase) {
-				case 1: 
-					if (i!=j) p.removeAndInsert(i, j); 
-					break;
-				case 2:
-					p.swap(i, j);
-					break;
-				case 3:
-					p.removeAndInsert(i, k-j+1, j);
-					break;
-				case 4:
-					p.swapBlocks(h, h+k-j, k-i+h, k);
-					break;
-				
-			}
-			switch (savePhase) {
-				case 1: 
-					p.removeAndInsert(y, x); 
-					break;
-				case 2:
-					p.swap(x, y);
-					break;
-				case 3:
-					p.removeAndInsert(y, z-y+1, x);
-					break;
-				case 4:
-					p.swapBlocks(w, x, y, z);
-					break;
+			if (move != null) {
+				if (savePhase > 0) setMove(savePhase, w, x, y, z).apply(p);
+			} else {
+				switch (phase) {
+					case 1: 
+						if (i!=j) p.removeAndInsert(i, j); 
+						break;
+					case 2:
+						p.swap(i, j);
+						break;
+					case 3:
+						p.removeAndInsert(i, k-j+1, j);
+						break;
+					case 4:
+						p.swapBlocks(h, h+k-j, k-i+h, k);
+						break;
+					
+				}
+				switch (savePhase) {
+					case 1: 
+						p.removeAndInsert(y, x); 
+						break;
+					case 2:
+						p.swap(x, y);
+						break;
+					case 3:
+						p.removeAndInsert(y, z-y+1, x);
+						break;
+					case 4:
+						p.swapBlocks(w, x, y, z);
+						break;
+				}
 			}
 		}
 	}
 	
+	/*
+	 * The helpers nextInsertion, nextSwap, nextBlockInsertion, and nextBlockSwap, used by 
+	 * nextMutant, advance the indexes with the corresponding index helpers below (which are used
+	 * directly by nextMove, which leaves p unchanged), and then transform p from the previous
+	 * neighbor into the next.  Rather than undoing the previous neighbor and applying the
+	 * next, most transitions use the kind of step that the index helper reports
+	 * to change p with a constant number of swaps, for an amortized O(1) nextMutant.
+	 */
+	
+	// kinds of steps reported by the index helpers of phases 1 and 3
+	private static final int STEP = 0;
+	private static final int NEXT_ROW = 1;
+	private static final int WRAP = 2;
+	private static final int PREVIOUS_ROW = 3;
+	private static final int EARLIER = 4;
+	private static final int LATER = 5;
+	private static final int JUMP = 6;
+	
 	private void nextInsertion() {
+		int oldI = i;
+		int oldJ = j;
+		int step = nextInsertionIndexes();
+		if (step != STEP) p.removeAndInsert(oldI, oldJ);
+		if (step == WRAP) p.swap(1, 2);
+		else if (step == PREVIOUS_ROW) p.swap(i, i-1);
+		p.swap(i,j);
+	}
+	
+	private void nextSwap() {
+		if (phase == 1) p.removeAndInsert(i, j);
+		else p.swap(i, j);
+		nextSwapIndexes();
+		p.swap(i, j);
+	}
+	
+	private void nextBlockInsertion() {
+		int oldPhase = phase;
+		int oldI = i;
+		int oldJ = j;
+		int oldS = k-j+1;
+		int step = nextBlockInsertionIndexes();
+		int s = k-j+1;
+		if (step == EARLIER) {
+			p.removeAndInsert(i, i+s);
+		} else if (step == LATER) {
+			p.removeAndInsert(oldI+s, oldI);
+		} else {
+			if (oldPhase == 2) p.swap(oldI, oldJ);
+			else if (oldI != oldJ) p.removeAndInsert(oldI, oldS, oldJ);
+			p.removeAndInsert(j, s, i);
+		}
+	}
+	
+	private void nextBlockSwap() {
+		if (phase == 3) {
+			if (i!=j) p.removeAndInsert(i, k-j+1, j);
+		} else {
+			p.swapBlocks(h, h+k-j, k-i+h, k);
+		}
+		nextBlockSwapIndexes();
+		p.swapBlocks(h, i, j, k);
+	}
+	
+	private int nextInsertionIndexes() {
+		int step = STEP;
 		if (j >= i) {
 			j++;
 			if (j >= p.length()) {
-				p.removeAndInsert(i, j-1);
+				step = NEXT_ROW;
 				i++;
 				if (i >= p.length() - 1) {
+					step = WRAP;
 					i = 2;
 					j = 0;
-					p.swap(1, 2);
 				} else j = i + 1;
 			}
 		} else {
 			j--;
 			if (j < 0) {
-				p.removeAndInsert(i, j+1);
+				step = PREVIOUS_ROW;
 				i++;
 				j = i - 2;
-				p.swap(i,i-1);
 			}
 		}
-		p.swap(i,j);
 		if (p.length() <= 2 || j==0 && i==p.length()-1) {
 			hasMoreInsertions = false;
 			hasMore = hasMoreElementSwaps;
 		}
+		return step;
 	}
 	
-	private void nextSwap() {
+	private void nextSwapIndexes() {
 		if (phase == 1) {
 			phase = 2;
-			p.removeAndInsert(i, j);
 			i = 0;
 			j = 2;
 		} else {
-			p.swap(i, j);
 			j++;
 			if (j >= p.length()) {
 				i++;
 				j = i + 2;
 			}
 		}
-		p.swap(i, j);
 		if (i == p.length()-3) {
 			hasMoreElementSwaps = false;
 			hasMore = hasMoreBlocksInserts;
 		}
 	}
 	
-	private void nextBlockInsertion() {
+	private int nextBlockInsertionIndexes() {
 		int s = k-j+1;
+		int step = JUMP;
 		if (phase == 2) {
 			phase = 3;
-			p.swap(i,j);
 			nextS = 2;
 			j = p.length() - 2;
 			k = j + 1;
 			i = j - 2;
-			p.removeAndInsert(j, 2, i);
 			if (i==0) {
 				hasMoreBlocksInserts = false;
 				hasMore = hasMoreBlocksSwaps;
 			}
 		} else if (s != nextS) {
-			if (i!=j) p.removeAndInsert(i,s,j);
 			j = p.length() - nextS;
 			i = j - nextS;
 			s = nextS;
 			k = j + s - 1;
-			p.removeAndInsert(j, s, i);
 			if (i==0) {
 				hasMoreBlocksInserts = false;
 				hasMore = hasMoreBlocksSwaps;
@@ -219,24 +305,20 @@ final class BlockInterchangeIterator implements MutationIterator {
 		} else {
 			if (j > i) {
 				if (i > 0) {
+					step = EARLIER;
 					i--;
-					p.removeAndInsert(i, i+s);
 				} else if (j > s) {
-					p.removeAndInsert(i,s,j);
 					j--;
 					k--;
 					i = j - s;
-					p.removeAndInsert(j,s,i);
 					if (i == 0 && p.length() <= s + s) {
 						hasMoreBlocksInserts = false;
 						hasMore = hasMoreBlocksSwaps;
 					}
 				} else {
-					p.removeAndInsert(i,s,j);
 					j = 0;
 					k = s - 1;
 					i = s + 1;
-					p.removeAndInsert(j,s,i);
 					if (p.length() == s + s + 1) {
 						hasMoreBlocksInserts = false;
 						hasMore = hasMoreBlocksSwaps;
@@ -244,14 +326,12 @@ final class BlockInterchangeIterator implements MutationIterator {
 				}
 			} else {
 				if (i < p.length() - s) {
-					p.removeAndInsert(i+s, i);
+					step = LATER;
 					i++;
 				} else {
-					p.removeAndInsert(i,s,j);
 					j++;
 					k++;
 					i = j + s + 1;
-					p.removeAndInsert(j, s, i);
 					if (i == p.length()-s) {
 						if (s==MAX_S) {
 							hasMoreBlocksInserts = false;
@@ -261,18 +341,17 @@ final class BlockInterchangeIterator implements MutationIterator {
 				}
 			}
 		}
+		return step;
 	}
 	
-	private void nextBlockSwap() {
+	private void nextBlockSwapIndexes() {
 		if (phase == 3) {
 			phase = 4;
-			if (i!=j) p.removeAndInsert(i, k-j+1, j);
 			h = 0;
 			i = 0;
 			j = 2;
 			k = 3;
 		} else {
-			p.swapBlocks(h, h+k-j, k-i+h, k);
 			k++;
 			if (k >= p.length()) {
 				j++;
@@ -292,7 +371,19 @@ final class BlockInterchangeIterator implements MutationIterator {
 				}
 			}
 		}
-		p.swapBlocks(h, i, j, k);
 		if (h == p.length()-4 && h!=i) hasMoreBlocksSwaps = hasMore = false;
 	}
+	
+	/*
+	 * Sets the move to the block interchange that transforms p into the neighbor
+	 * defined by the indexes h, i, j, k of the given phase.
+	 */
+	private PermutationMove setMove(int phase, int h, int i, int j, int k) {
+		switch (phase) {
+			case 1: return j > i ? move.set(i, j-1, j, j) : move.set(j, j, j+1, i);
+			case 2: return move.set(i, i, j, j);
+			case 3: return j > i ? move.set(i, j-1, j, k) : move.set(j, k, k+1, i+k-j);
+			default: return move.set(h, i, j, k);
+		}
+	}
 }
\ No newline at end of file
@@ -20,11 +20,15 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.UndoableMutationOperator;
-import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.MoveMutationOperator;
+import org.cicirello.search.operators.RandomAccessMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>This class implements a block interchange mutation on permutations, where one mutation
@@ -52,18 +56,37 @@ import org.cicirello.math.rand.RandomIndexer;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.11.2019
+ * @version 8.6.2020
  */
-public class BlockInterchangeMutation implements UndoableMutationOperator<Permutation>, IterableMutationOperator<Permutation> {
+public class BlockInterchangeMutation implements MoveMutationOperator<Permutation>, RandomAccessMutationOperator<Permutation> {
 	
 	// needed to implement undo
 	private final int[] indexes;
+	// describes the most recent mutation, and shares the indexes array
+	private final PermutationMove move;
+	// the most recent neighbor accessed by index
+	private PermutationMove indexed;
+	
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs a BlockInterchangeMutation mutation operator.
 	 */
-	public BlockInterchangeMutation() { 
-		indexes = new int[4]; 
+	public BlockInterchangeMutation() {
+		this(null);
+	}
+	
+	/**
+	 * Constructs a BlockInterchangeMutation mutation operator that uses a given source of random numbers.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 */
+	public BlockInterchangeMutation(RandomEngine engine) {
+		indexes = new int[4];
+		move = new PermutationMove(indexes, PermutationMove.Type.BLOCK_INTERCHANGE);
+		this.engine = engine;
 	}
 	
 	@Override
@@ -81,9 +104,39 @@ public class BlockInterchangeMutation implements UndoableMutationOperator<Permut
 		}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#BLOCK_INTERCHANGE BLOCK_INTERCHANGE}.</p>
+	 */
+	@Override
+	public final PermutationMove nextMove(Permutation c) {
+		if (c.length() >= 2) generateIndexes(c.length(), indexes);
+		return move;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#BLOCK_INTERCHANGE BLOCK_INTERCHANGE}.  The runtime of this method is O(1).</p>
+	 */
+	@Override
+	public final PermutationMove getMove(Permutation c, long index) {
+		if (index < 0 || index >= neighborhoodSize(c)) {
+			throw new IndexOutOfBoundsException("index: " + index);
+		}
+		if (indexed == null) indexed = new PermutationMove(PermutationMove.Type.BLOCK_INTERCHANGE);
+		return indexed.setBlockInterchange(index);
+	}
+	
+	@Override
+	public final long neighborhoodSize(Permutation c) {
+		return PermutationMove.numBlockInterchanges(c.length());
+	}
+	
 	@Override
 	public BlockInterchangeMutation split() {
-		return new BlockInterchangeMutation();
+		return new BlockInterchangeMutation(splitEngine());
 	}
 	
 	/**
@@ -94,9 +147,10 @@ public class BlockInterchangeMutation implements UndoableMutationOperator<Permut
 	 * The worst case runtime of the {@link MutationIterator#nextMutant} and
 	 * {@link MutationIterator#rollback} methods 
 	 * is O(n), where n is the length of the Permutation.</p>
+	 * <p>The {@link MoveMutationIterator#nextMove} method of that iterator is O(1) in the worst case.</p>
 	 */
 	@Override
-	public MutationIterator iterator(Permutation p) {
+	public MoveMutationIterator<Permutation> iterator(Permutation p) {
 		return new BlockInterchangeIterator(p);
 	}
 	
@@ -108,7 +162,7 @@ public class BlockInterchangeMutation implements UndoableMutationOperator<Permut
 	void generateIndexes(int n, int[] indexes) {
 		// The RandomIndexer.sampleInsertion method puts result in sorted order
 		// to begin with. 
-		RandomIndexer.sampleInsertion(n+2, 4, indexes);
+		RandomIndexer.sampleInsertion(n+2, 4, indexes, random());
 		// All index values generated by above are unique.
 		// However, block size 1 should be allowed, which would require
 		// duplicated indexes.  We handle this by passing n+2 (above).  An index 
@@ -127,4 +181,20 @@ public class BlockInterchangeMutation implements UndoableMutationOperator<Permut
 		}
 	}
 	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.  This package access method is also used by
+	 * the window limited version implemented as a subclass.
+	 */
+	final Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
+	/*
+	 * Splits the engine, if there is one, for the split, including those of the window
+	 * limited version implemented as a subclass.
+	 */
+	final RandomEngine splitEngine() {
+		return engine != null ? engine.split() : null;
+	}
 }
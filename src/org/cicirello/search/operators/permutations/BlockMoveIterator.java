@@ -20,7 +20,7 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -31,9 +31,9 @@ import org.cicirello.permutations.Permutation;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.9.2019 
+ * @version 7.14.2020 
  */
-final class BlockMoveIterator implements MutationIterator {
+final class BlockMoveIterator implements MoveMutationIterator<Permutation> {
 	
 	private boolean rolled;
 	private boolean hasMore;
@@ -46,13 +46,16 @@ final class BlockMoveIterator implements MutationIterator {
 	private int z;
 	private final int MAX_S;
 	private int nextS;
+	private boolean mutated;
+	private PermutationMove move;
 	
 	BlockMoveIterator(Permutation p) {
 		this.p = p;
 		hasMore = p.length() >= 2;
 		// Default inits:
 		//    x = y = z = 0;
-		//    rolled = false;
+		//    rolled = mutated = false;
+		//    move = null;
 		nextS = s = 1;
 		MAX_S = p.length() >> 1;
 	}
@@ -66,6 +69,8 @@ final class BlockMoveIterator implements MutationIterator {
 	public void nextMutant() {
 		if (!hasMore) throw new IllegalStateException("no neighbors left");
 		if (rolled) throw new IllegalStateException("illegal to call nextMutant after calling rollback");
+		if (move != null) throw new IllegalStateException("illegal to call nextMutant after calling nextMove");
+		mutated = true;
 		if (nextS==1) {
 			nextInsertion();
 		} else {	
@@ -73,6 +78,20 @@ final class BlockMoveIterator implements MutationIterator {
 		}
 	}
 	
+	@Override
+	public PermutationMove nextMove() {
+		if (!hasMore) throw new IllegalStateException("no neighbors left");
+		if (rolled) throw new IllegalStateException("illegal to call nextMove after calling rollback");
+		if (mutated) throw new IllegalStateException("illegal to call nextMove after calling nextMutant");
+		if (move == null) move = new PermutationMove(PermutationMove.Type.BLOCK_MOVE);
+		if (nextS==1) {
+			nextInsertionIndexes();
+		} else {	
+			nextBlockInsertionIndexes();
+		}
+		return setMove(i, j, s);
+	}
+	
 	@Override
 	public void setSavepoint() {
 		x = i;
@@ -84,7 +103,9 @@ final class BlockMoveIterator implements MutationIterator {
 	public void rollback() {
 		if (!rolled) {
 			rolled = true;
-			if (z > 0) {
+			if (move != null) {
+				if (z > 0) setMove(x, y, z).apply(p);
+			} else if (z > 0) {
 				if (i != x || j != y || s != z) {
 					p.removeAndInsert(i, s, j);
 					p.removeAndInsert(y, z, x);
@@ -118,68 +139,102 @@ final class BlockMoveIterator implements MutationIterator {
 	 */ 
 	 
 	private void nextInsertion() {
+		int oldI = i;
+		int oldJ = j;
+		int step = nextInsertionIndexes();
+		if (step != STEP) p.removeAndInsert(oldI, oldJ);
+		if (step == WRAP) p.swap(1, 2);
+		else if (step == PREVIOUS_ROW) p.swap(i, i-1);
+		p.swap(i,j);
+	}
+	
+	private void nextBlockInsertion() {
+		int oldI = i;
+		int oldJ = j;
+		int oldS = s;
+		int step = nextBlockInsertionIndexes();
+		if (step == EARLIER) {
+			p.removeAndInsert(i, i+s);
+		} else if (step == LATER) {
+			p.removeAndInsert(oldI+s, oldI);
+		} else {
+			if (oldI != oldJ) p.removeAndInsert(oldI, oldS, oldJ);
+			p.removeAndInsert(j, s, i);
+		}
+	}
+	
+	/*
+	 * The next pair of helpers determine the order of the neighbors, updating only the indexes.
+	 * They are used directly by nextMove, which leaves p unchanged, and by nextInsertion and
+	 * nextBlockInsertion, which use the kind of step that they report to transform p from
+	 * the previous neighbor into the next.
+	 */
+	
+	// kinds of steps reported by the index helpers
+	private static final int STEP = 0;
+	private static final int NEXT_ROW = 1;
+	private static final int WRAP = 2;
+	private static final int PREVIOUS_ROW = 3;
+	private static final int EARLIER = 4;
+	private static final int LATER = 5;
+	private static final int JUMP = 6;
+	
+	private int nextInsertionIndexes() {
+		int step = STEP;
 		if (j >= i) {
 			j++;
 			if (j >= p.length()) {
-				p.removeAndInsert(i, j-1);
+				step = NEXT_ROW;
 				i++;
 				if (i >= p.length() - 1) {
+					step = WRAP;
 					i = 2;
 					j = 0;
-					p.swap(1, 2);
 				} else j = i + 1;
 			}
 		} else {
 			j--;
 			if (j < 0) {
-				p.removeAndInsert(i, j+1);
+				step = PREVIOUS_ROW;
 				i++;
 				j = i - 2;
-				p.swap(i,i-1);
 			}
 		}
-		p.swap(i,j);
 		if (p.length() <= 2 || j==0 && i==p.length()-1) {
 			if (MAX_S==1) hasMore = false;
 			else nextS = 2;
 		}
+		return step;
 	}
 	
-	private void nextBlockInsertion() {
+	private int nextBlockInsertionIndexes() {
+		int step = JUMP;
 		if (s != nextS) {
-			if (i!=j) p.removeAndInsert(i,s,j);
 			j = p.length() - nextS;
 			i = j - nextS;
 			s = nextS;
-			p.removeAndInsert(j, s, i);
 			if (i == 0) hasMore = false;
 		} else {
 			if (j > i) {
 				if (i > 0) {
+					step = EARLIER;
 					i--;
-					p.removeAndInsert(i, i+s);
 				} else if (j > s) {
-					p.removeAndInsert(i,s,j);
 					j--;
 					i = j - s;
-					p.removeAndInsert(j,s,i);
 					if (i == 0 && p.length() <= s + s) hasMore = false;
 				} else {
-					p.removeAndInsert(i,s,j);
 					j = 0;
 					i = s + 1;
-					p.removeAndInsert(j,s,i);
 					if (p.length() == s + s + 1) hasMore = false;
 				}
 			} else {
 				if (i < p.length() - s) {
-					p.removeAndInsert(i+s, i);
+					step = LATER;
 					i++;
 				} else {
-					p.removeAndInsert(i,s,j);
 					j++;
 					i = j + s + 1;
-					p.removeAndInsert(j, s, i);
 					if (i == p.length()-s) {
 						if (s==MAX_S) hasMore = false;
 						else nextS++;
@@ -187,5 +242,14 @@ final class BlockMoveIterator implements MutationIterator {
 				}
 			}
 		}
+		return step;
+	}
+	
+	/*
+	 * Sets the move to the block move that transforms p into the neighbor
+	 * reached by removing the block of size s at index j and reinserting it at index i.
+	 */
+	private PermutationMove setMove(int i, int j, int s) {
+		return j > i ? move.set(i, j, j+s-1) : move.set(j, j+s, i+s-1);
 	}
 }
\ No newline at end of file
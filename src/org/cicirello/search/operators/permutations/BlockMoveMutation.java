@@ -20,11 +20,17 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.UndoableMutationOperator;
-import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.MoveMutationOperator;
+import org.cicirello.search.operators.RandomAccessMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
+import org.cicirello.search.operators.AnchoredMutationOperator;
+import org.cicirello.search.operators.AnchoredNeighborhood;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>This class implements a block move mutation on permutations, where one mutation
@@ -51,18 +57,39 @@ import org.cicirello.math.rand.RandomIndexer;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.9.2019
+ * @version 8.6.2020
  */
-public class BlockMoveMutation implements UndoableMutationOperator<Permutation>, IterableMutationOperator<Permutation> {
+public class BlockMoveMutation implements MoveMutationOperator<Permutation>, RandomAccessMutationOperator<Permutation>, AnchoredMutationOperator<Permutation> {
 	
 	// needed to implement undo
 	private final int[] indexes;
+	// describes the most recent mutation, and shares the indexes array
+	private final PermutationMove move;
+	// the most recent neighbor accessed by index
+	private PermutationMove indexed;
+	// restricts the moves of anchored neighborhoods, if not null
+	private int[][] candidates;
+	
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs a BlockMoveMutation mutation operator.
 	 */
-	public BlockMoveMutation() { 
-		indexes = new int[3]; 
+	public BlockMoveMutation() {
+		this(null);
+	}
+	
+	/**
+	 * Constructs a BlockMoveMutation mutation operator that uses a given source of random numbers.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 */
+	public BlockMoveMutation(RandomEngine engine) {
+		indexes = new int[3];
+		move = new PermutationMove(indexes, PermutationMove.Type.BLOCK_MOVE);
+		this.engine = engine;
 	}
 	
 	@Override
@@ -75,12 +102,44 @@ public class BlockMoveMutation implements UndoableMutationOperator<Permutation>,
 	
 	@Override
 	public final void undo(Permutation c) {
-		c.removeAndInsert(indexes[0], indexes[2]-indexes[1]+1, indexes[1]);
+		if (c.length() >= 2) c.removeAndInsert(indexes[0], indexes[2]-indexes[1]+1, indexes[1]);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#BLOCK_MOVE BLOCK_MOVE}.</p>
+	 */
+	@Override
+	public final PermutationMove nextMove(Permutation c) {
+		if (c.length() >= 2) generateIndexes(c.length(), indexes);
+		return move;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#BLOCK_MOVE BLOCK_MOVE}.  The runtime of this method is O(1).</p>
+	 */
+	@Override
+	public final PermutationMove getMove(Permutation c, long index) {
+		if (index < 0 || index >= neighborhoodSize(c)) {
+			throw new IndexOutOfBoundsException("index: " + index);
+		}
+		if (indexed == null) indexed = new PermutationMove(PermutationMove.Type.BLOCK_MOVE);
+		return indexed.setBlockMove(index, c.length(), windowLimit());
+	}
+	
+	@Override
+	public final long neighborhoodSize(Permutation c) {
+		return PermutationMove.numBlockMoves(c.length(), windowLimit());
 	}
 	
 	@Override
 	public BlockMoveMutation split() {
-		return new BlockMoveMutation();
+		BlockMoveMutation copy = new BlockMoveMutation(splitEngine());
+		copy.setCandidateLists(candidates);
+		return copy;
 	}
 	
 	 /**
@@ -92,12 +151,64 @@ public class BlockMoveMutation implements UndoableMutationOperator<Permutation>,
 	 * And the worst case runtime of the 
 	 * {@link MutationIterator#rollback} method 
 	 * is O(n), where n is the length of the Permutation.</p>
+	 * <p>The {@link MoveMutationIterator#nextMove} method of that iterator is O(1) in the worst case.</p>
 	 */
 	@Override
-	public MutationIterator iterator(Permutation p) {
+	public MoveMutationIterator<Permutation> iterator(Permutation p) {
 		return new BlockMoveIterator(p);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>The anchors are the indexes of the permutation, and the moves of the anchor at index i
+	 * are the block moves of the blocks that begin at index i to each of the earlier indexes
+	 * (within the window limit for the window limited subclass), unless there are candidate lists
+	 * (see {@link #setCandidateLists setCandidateLists}). Applying a block move clears the
+	 * don't-look bits of the indexes of the elements that it moves and of the indexes adjacent to
+	 * them.  The {@link PermutationMove}s of the neighborhood are of type
+	 * {@link PermutationMove.Type#BLOCK_MOVE BLOCK_MOVE}.</p>
+	 * @throws IllegalArgumentException if the candidate lists are inconsistent with the length of c
+	 */
+	@Override
+	public final AnchoredNeighborhood<Permutation> neighborhood(Permutation c) {
+		return new PermutationNeighborhood(c, PermutationMove.Type.BLOCK_MOVE, windowLimit(), candidates);
+	}
+	
+	/**
+	 * Sets candidate neighbor lists, which restrict the moves of the {@link AnchoredNeighborhood}s
+	 * created by the {@link #neighborhood neighborhood} method.  With candidate lists, the moves
+	 * of the anchor at index i are the block moves of the blocks that begin at index i to the
+	 * indexes of the earlier elements in the candidate list of the element at index i, such as the
+	 * elements that are nearest to it for a problem like the traveling salesperson.  Candidate
+	 * lists do not affect the other methods of this mutation operator.
+	 * @param candidates An array with one candidate list for each permutation element, such that
+	 * candidates[e] contains the elements that are candidate partners of element e.  Pass null 
+	 * to remove the candidate lists, which is the default.  The lists are not copied, and they are
+	 * shared with the mutation operators returned by the {@link #split} method, so they must not be 
+	 * changed while in use.
+	 */
+	public final void setCandidateLists(int[][] candidates) {
+		this.candidates = candidates;
+	}
+	
+	/*
+	 * This package access method allows the window limited version
+	 * implemented as a subclass to share the candidate lists with its splits.
+	 */
+	final int[][] candidateLists() {
+		return candidates;
+	}
+	
+	/*
+	 * This package access method allows the window limited version
+	 * implemented as a subclass to limit the moves of anchored neighborhoods, and 
+	 * the neighbors that are accessed by index, without modifying the neighborhood, 
+	 * getMove, and neighborhoodSize methods.
+	 */
+	int windowLimit() {
+		return Integer.MAX_VALUE;
+	}
+	
 	/*
 	 * This package access method allows the window limited version
 	 * implemented as a subclass to change how indexes are generated
@@ -111,7 +222,24 @@ public class BlockMoveMutation implements UndoableMutationOperator<Permutation>,
 		// Note 2: Without loss of generality, the indexes are generated to
 		// move the block earlier in the permutation.  We can do this because 
 		// a "block move" essentially swaps two adjacent "blocks."
-		RandomIndexer.nextIntTriple(n+1, indexes, true);
+		RandomIndexer.nextIntTriple(n+1, indexes, true, random());
 		if (indexes[2]==n) indexes[2] = indexes[1];
 	}
+	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.  This package access method is also used by
+	 * the window limited version implemented as a subclass.
+	 */
+	final Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
+	/*
+	 * Splits the engine, if there is one, for the split, including those of the window
+	 * limited version implemented as a subclass.
+	 */
+	final RandomEngine splitEngine() {
+		return engine != null ? engine.split() : null;
+	}
 }
\ No newline at end of file
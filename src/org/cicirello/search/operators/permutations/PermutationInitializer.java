@@ -23,6 +23,7 @@ package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.permutations.Permutation;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>The PermutationInitializer provides metaheuristic implementations, such
@@ -35,7 +36,9 @@ import org.cicirello.permutations.Permutation;
  * <p>This initializer generates permutations uniformly at random from
  * among the space of permutations.  This is the typical case for many 
  * metaheuristics (e.g., hill climbers and simulated annealers often 
- * begin at a random solution).</p>
+ * begin at a random solution).  The random permutations are generated with ThreadLocalRandom,
+ * unless the initializer is constructed with a {@link RandomEngine}, which is split whenever 
+ * the initializer is split.</p>
  *
  * @since 1.0
  *
@@ -46,6 +49,8 @@ import org.cicirello.permutations.Permutation;
 public final class PermutationInitializer implements Initializer<Permutation> {
 	
 	private final int n;
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs a PermutationInitializer.
@@ -54,18 +59,32 @@ public final class PermutationInitializer implements Initializer<Permutation> {
 	 * @throws IllegalArgumentException if n is negative.
 	 */
 	public PermutationInitializer(int n) {
+		this(n, null);
+	}
+	
+	/**
+	 * Constructs a PermutationInitializer with a given source of random numbers.
+	 * @param n The length of the permutations generated by this permutation initializer.
+	 * n must be non-negative.  
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the initializer is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if n is negative.
+	 */
+	public PermutationInitializer(int n, RandomEngine engine) {
 		if (n < 0) throw new IllegalArgumentException("n must be non-negative");
 		this.n = n;
+		this.engine = engine;
 	}
 	
 	@Override
 	public Permutation createCandidateSolution() {
-		return new Permutation(n);
+		return engine != null ? new Permutation(n, engine) : new Permutation(n);
 	}
 	
 	@Override
 	public PermutationInitializer split() {
-		// class is thread-safe, and immutable so just return this. 
-		return this; 
+		// without an engine, class is thread-safe, and immutable so just return this. 
+		return engine != null ? new PermutationInitializer(n, engine.split()) : this; 
 	}
 }
\ No newline at end of file
@@ -0,0 +1,351 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators.permutations;
+
+import org.cicirello.search.operators.UndoableMove;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.representations.ZobristHash;
+
+/**
+ * <p>A PermutationMove describes a single mutation of a permutation, 
+ * such as a swap or a reversal, by its type and the indexes that define it.
+ * PermutationMoves are produced by the {@link org.cicirello.search.operators.MoveMutationOperator#nextMove nextMove} method of 
+ * the permutation mutation operators in this package, and are intended for use
+ * by problems that support incremental evaluation 
+ * (see {@link org.cicirello.search.problems.IncrementalIntegerCostOptimizationProblem}
+ * and {@link org.cicirello.search.problems.IncrementalOptimizationProblem}).
+ * Such a problem can use the {@link #getType getType} and {@link #get get} methods to compute 
+ * the change in cost caused by the move without applying it.</p>
+ *
+ * <p>The meaning of the indexes depends upon the {@link Type} of the move as follows:</p>
+ * <ul>
+ * <li>{@link Type#SWAP SWAP}: The elements at indexes get(0) and get(1) are swapped.
+ * The two indexes may be in either order.</li>
+ * <li>{@link Type#INSERTION INSERTION}: The element at index get(0) is removed and reinserted
+ * such that it ends up at index get(1).</li>
+ * <li>{@link Type#REVERSAL REVERSAL}: The elements from index get(0) through index get(1), inclusive,
+ * are reversed.  The two indexes may be in either order.</li>
+ * <li>{@link Type#BLOCK_MOVE BLOCK_MOVE}: The block of elements from index get(1) through index get(2), 
+ * inclusive, is moved earlier to begin at index get(0).  Equivalently, the adjacent
+ * blocks get(0) through get(1)-1 and get(1) through get(2) are swapped.  
+ * The indexes satisfy get(0) &lt; get(1) &le; get(2).</li>
+ * <li>{@link Type#BLOCK_INTERCHANGE BLOCK_INTERCHANGE}: The non-overlapping blocks get(0) through get(1)
+ * and get(2) through get(3) are swapped.  The indexes satisfy 
+ * get(0) &le; get(1) &lt; get(2) &le; get(3).</li>
+ * </ul>
+ *
+ * <p>A move is only meaningful for permutations of length at least 2.  Applying
+ * a move to a shorter permutation leaves it unchanged.</p>
+ *
+ * <p>Every type of move can be undone with the {@link #undo undo} method, at the 
+ * same cost as applying it, which enables a search to evaluate a neighbor in place.</p>
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.6.2020
+ */
+public final class PermutationMove implements UndoableMove<Permutation> {
+	
+	/**
+	 * The types of PermutationMove.  See the {@link PermutationMove} class
+	 * documentation for the meaning of the indexes of each type of move.
+	 */
+	public enum Type {
+		/** Swap of two elements. */
+		SWAP(2), 
+		/** Removal of an element and reinsertion elsewhere. */
+		INSERTION(2), 
+		/** Reversal of a subpermutation. */
+		REVERSAL(2), 
+		/** Swap of two adjacent blocks of elements. */
+		BLOCK_MOVE(3), 
+		/** Swap of two non-adjacent blocks of elements. */
+		BLOCK_INTERCHANGE(4);
+		
+		private final int numIndexes;
+		
+		private Type(int numIndexes) {
+			this.numIndexes = numIndexes;
+		}
+		
+		/**
+		 * Gets the number of indexes that define a move of this type.
+		 * @return the number of indexes that define a move of this type
+		 */
+		public int numIndexes() {
+			return numIndexes;
+		}
+	}
+	
+	private final Type type;
+	private final int[] indexes;
+	
+	/**
+	 * Constructs a PermutationMove.
+	 * @param type The type of move.
+	 * @param indexes The indexes that define the move, which must be consistent with 
+	 * the requirements of the type of move.  See the {@link PermutationMove} class
+	 * documentation for details.
+	 * @throws IllegalArgumentException if the number of indexes is inconsistent with the type of move
+	 * @throws NullPointerException if type is null
+	 */
+	public PermutationMove(Type type, int... indexes) {
+		if (indexes.length != type.numIndexes) {
+			throw new IllegalArgumentException("A " + type + " move requires " + type.numIndexes + " indexes.");
+		}
+		this.type = type;
+		this.indexes = indexes.clone();
+	}
+	
+	/*
+	 * Internal constructor used by the mutation operators, which shares the 
+	 * operator's array of indexes rather than copying it.
+	 */
+	PermutationMove(int[] indexes, Type type) {
+		this.type = type;
+		this.indexes = indexes;
+	}
+	
+	/*
+	 * Internal constructor used by the mutation iterators, which own
+	 * the move and reset its indexes as they iterate.
+	 */
+	PermutationMove(Type type) {
+		this(new int[type.numIndexes], type);
+	}
+	
+	/*
+	 * Internal methods used by the mutation iterators to reset the indexes.
+	 */
+	PermutationMove set(int i, int j) {
+		indexes[0] = i;
+		indexes[1] = j;
+		return this;
+	}
+	
+	PermutationMove set(int i, int j, int k) {
+		indexes[0] = i;
+		indexes[1] = j;
+		indexes[2] = k;
+		return this;
+	}
+	
+	PermutationMove set(int h, int i, int j, int k) {
+		indexes[0] = h;
+		indexes[1] = i;
+		indexes[2] = j;
+		indexes[3] = k;
+		return this;
+	}
+	
+	/*
+	 * Internal methods used by the random access of the mutation operators to index
+	 * the pairs of indexes i &lt; j of a permutation of length n such that j - i &le; window.
+	 * The pairs are in order by i, and then by j.
+	 */
+	static long numPairs(int n, int window) {
+		int d = Math.min(window, n-1);
+		if (d <= 0) return 0;
+		return (long)(n-d)*d + (long)d*(d-1)/2;
+	}
+	
+	PermutationMove setPair(long k, int n, int window) {
+		int d = Math.min(window, n-1);
+		long full = (long)(n-d)*d;
+		if (k < full) {
+			// the first n-d values of i are each paired with d values of j
+			int i = (int)(k / d);
+			return set(i, i + 1 + (int)(k % d));
+		}
+		// the last d positions are paired with all later positions, so
+		// count pairs back from the end, as triangular numbers
+		long r = (long)d*(d-1)/2 - 1 - (k - full);
+		long q = (long)((Math.sqrt(8.0*r+1) - 1) / 2);
+		while (q*(q+1)/2 > r) q--;
+		while ((q+1)*(q+2)/2 <= r) q++;
+		return set(n - 2 - (int)q, n - 1 - (int)(r - q*(q+1)/2));
+	}
+	
+	/*
+	 * Internal methods used by the random access of the block move operators to index
+	 * the block moves i &lt; j &le; k of a permutation of length n such that k - i &le; window.
+	 * The block moves whose first index leaves room for the full window are in order by i,
+	 * and the remaining block moves are those of the last d indexes, where d is the
+	 * effective window.
+	 */
+	static long numBlockMoves(int n, int window) {
+		int d = Math.min(window, n-1);
+		if (d <= 0) return 0;
+		return (n-d)*binomial(d+1, 2) + binomial(d+1, 3);
+	}
+	
+	PermutationMove setBlockMove(long k, int n, int window) {
+		int d = Math.min(window, n-1);
+		long perIndex = binomial(d+1, 2);
+		long full = (n-d)*perIndex;
+		if (k < full) {
+			// the pairs u < v of 0, ..., d define the block move of i to i+1+u through i+v
+			int i = (int)(k / perIndex);
+			unrank(k % perIndex, 2, indexes);
+			return set(i, i + 1 + indexes[0], i + indexes[1]);
+		}
+		// the triples i < j < k+1 of n-d, ..., n
+		unrank(k - full, 3, indexes);
+		return set(n - d + indexes[0], n - d + indexes[1], n - d + indexes[2] - 1);
+	}
+	
+	/*
+	 * Internal methods used by the random access of the block interchange operator to index
+	 * the block interchanges h &le; i &lt; j &le; k of a permutation of length n, which
+	 * correspond to the combinations h &lt; i+1 &lt; j+1 &lt; k+2 of 0, ..., n+1.
+	 */
+	static long numBlockInterchanges(int n) {
+		return n >= 2 ? binomial(n+2, 4) : 0;
+	}
+	
+	PermutationMove setBlockInterchange(long k) {
+		unrank(k, 4, indexes);
+		indexes[1]--;
+		indexes[2]--;
+		indexes[3] -= 2;
+		return this;
+	}
+	
+	/*
+	 * Computes the combination c[0] &lt; c[1] &lt; ... &lt; c[s-1] of the nonnegative integers
+	 * with the given rank in colexicographic order, which is
+	 * r = C(c[0], 1) + C(c[1], 2) + ... + C(c[s-1], s).
+	 */
+	private static void unrank(long r, int s, int[] c) {
+		long factorial = 1;
+		for (int t = 2; t <= s; t++) factorial *= t;
+		for (int t = s; t >= 1; t--) {
+			// C(x, t) is approximately (x - (t-1)/2)^t / t!, so estimate the largest x
+			// such that C(x, t) <= r, and then correct the estimate
+			long x = (long)(Math.pow((double)r * factorial, 1.0 / t) + (t - 1) / 2.0);
+			if (x < t - 1) x = t - 1;
+			while (x >= t && binomial(x, t) > r) x--;
+			while (binomial(x+1, t) <= r) x++;
+			c[t-1] = (int)x;
+			r -= binomial(x, t);
+			factorial /= t;
+		}
+	}
+	
+	/*
+	 * The binomial coefficient C(x, t) for small t, which is 0 if x &lt; t.
+	 */
+	private static long binomial(long x, int t) {
+		if (x < t) return 0;
+		long b = 1;
+		for (int i = 1; i <= t; i++) {
+			b = b * (x - t + i) / i;
+		}
+		return b;
+	}
+	
+	/**
+	 * Gets the type of this move.
+	 * @return the type of this move
+	 */
+	public Type getType() {
+		return type;
+	}
+	
+	/**
+	 * Gets one of the indexes that define this move.
+	 * @param k Which index, where 0 &le; k &lt; getType().numIndexes().
+	 * @return the k-th index of the move
+	 * @throws ArrayIndexOutOfBoundsException if k is out of bounds
+	 */
+	public int get(int k) {
+		if (k >= type.numIndexes) throw new ArrayIndexOutOfBoundsException(k);
+		return indexes[k];
+	}
+	
+	@Override
+	public void apply(Permutation c) {
+		if (c.length() >= 2) {
+			switch (type) {
+				case SWAP: c.swap(indexes[0], indexes[1]); break;
+				case INSERTION: c.removeAndInsert(indexes[0], indexes[1]); break;
+				case REVERSAL: c.reverse(indexes[0], indexes[1]); break;
+				case BLOCK_MOVE: c.removeAndInsert(indexes[1], indexes[2]-indexes[1]+1, indexes[0]); break;
+				case BLOCK_INTERCHANGE: c.swapBlocks(indexes[0], indexes[1], indexes[2], indexes[3]); break;
+			}
+		}
+	}
+	
+	@Override
+	public void undo(Permutation c) {
+		if (c.length() >= 2) {
+			switch (type) {
+				case SWAP: c.swap(indexes[0], indexes[1]); break;
+				case INSERTION: c.removeAndInsert(indexes[1], indexes[0]); break;
+				case REVERSAL: c.reverse(indexes[0], indexes[1]); break;
+				case BLOCK_MOVE: c.removeAndInsert(indexes[0], indexes[2]-indexes[1]+1, indexes[1]); break;
+				case BLOCK_INTERCHANGE: 
+					c.swapBlocks(indexes[0], indexes[0]+indexes[3]-indexes[2], indexes[3]-indexes[1]+indexes[0], indexes[3]); 
+					break;
+			}
+		}
+	}
+	
+	/**
+	 * Applies this move to a permutation, and updates a {@link ZobristHash} hash of the 
+	 * permutation in time proportional to the number of elements that the move changes.
+	 * @param c The permutation.
+	 * @param hash The hash of c prior to the move (see {@link ZobristHash#hash(Permutation)}).
+	 * @return the hash of c after the move
+	 */
+	public long apply(Permutation c, long hash) {
+		if (c.length() < 2) return hash;
+		if (type == Type.SWAP) {
+			hash = ZobristHash.swap(hash, c, indexes[0], indexes[1]);
+			c.swap(indexes[0], indexes[1]);
+			return hash;
+		}
+		// the other types of move change only the elements from the least through the greatest index
+		int first = indexes[0];
+		int last = indexes[type.numIndexes - 1];
+		if (first > last) {
+			first = last;
+			last = indexes[0];
+		}
+		hash ^= ZobristHash.hash(c, first, last);
+		apply(c);
+		return hash ^ ZobristHash.hash(c, first, last);
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder(type.toString());
+		s.append("(");
+		for (int k = 0; k < type.numIndexes; k++) {
+			if (k > 0) s.append(", ");
+			s.append(indexes[k]);
+		}
+		s.append(")");
+		return s.toString();
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators.permutations;
+
+import org.cicirello.search.operators.AnchoredNeighborhood;
+import org.cicirello.search.representations.BitVector;
+import org.cicirello.permutations.Permutation;
+
+/**
+ * Internal (package-private) class implementing the anchored neighborhoods
+ * of the swap, reversal, insertion, and block move operators, where the anchors 
+ * are the indexes of the permutation.  The moves of the anchor at index i pair it with
+ * each other index j within the window limit, or only with the indexes of the elements in the
+ * candidate list of the element at index i if there are candidate lists.  For a swap or reversal,
+ * the move is SWAP(i, j) or REVERSAL(i, j); for an insertion, it is INSERTION(i, j); and
+ * for a block move, j &lt; i, and the moves are BLOCK_MOVE(j, i, k) for each k &ge; i within 
+ * the window limit.
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.6.2020 
+ */
+final class PermutationNeighborhood implements AnchoredNeighborhood<Permutation> {
+	
+	private final Permutation p;
+	private final PermutationMove.Type type;
+	private final int w;
+	private final int[][] candidates;
+	// inverse of the permutation, maintained only if there are candidate lists
+	private final int[] position;
+	private final BitVector dontLook;
+	private final PermutationMove move;
+	
+	// the selected anchor, or -1 if none
+	private int anchor;
+	// next index of the range of partners, or of the candidate list
+	private int k;
+	// last index of the range of partners
+	private int last;
+	// the current partner, and the end of the block for block moves
+	private int j;
+	private int end;
+	private boolean found;
+	private boolean moved;
+	
+	PermutationNeighborhood(Permutation p, PermutationMove.Type type, int window, int[][] candidates) {
+		int n = p.length();
+		if (candidates != null) {
+			if (candidates.length != n) {
+				throw new IllegalArgumentException("requires one candidate list per permutation element");
+			}
+			for (int[] list : candidates) {
+				for (int e : list) {
+					if (e < 0 || e >= n) throw new IllegalArgumentException("candidate lists must contain permutation elements");
+				}
+			}
+			position = new int[n];
+			for (int i = 0; i < n; i++) position[p.get(i)] = i;
+		} else {
+			position = null;
+		}
+		this.p = p;
+		this.type = type;
+		this.candidates = candidates;
+		w = Math.max(0, Math.min(window, n-1));
+		dontLook = new BitVector(n);
+		move = new PermutationMove(type);
+		anchor = -1;
+	}
+	
+	@Override
+	public int numAnchors() {
+		return p.length();
+	}
+	
+	@Override
+	public boolean isDontLook(int anchor) {
+		checkAnchor(anchor);
+		return dontLook.isOne(anchor);
+	}
+	
+	@Override
+	public void setDontLook(int anchor) {
+		checkAnchor(anchor);
+		dontLook.setBit(anchor, 1);
+	}
+	
+	@Override
+	public void select(int anchor) {
+		checkAnchor(anchor);
+		this.anchor = anchor;
+		if (candidates != null) {
+			k = 0;
+		} else {
+			k = Math.max(0, anchor - w);
+			last = type == PermutationMove.Type.BLOCK_MOVE ? anchor - 1 : Math.min(p.length() - 1, anchor + w);
+		}
+		j = -1;
+		moved = false;
+		found = advance();
+	}
+	
+	@Override
+	public boolean hasNext() {
+		return found;
+	}
+	
+	@Override
+	public PermutationMove nextMove() {
+		if (!found) throw new IllegalStateException("no moves left");
+		switch (type) {
+			case BLOCK_MOVE: move.set(j, anchor, end); break;
+			case REVERSAL: if (j < anchor) move.set(j, anchor); else move.set(anchor, j); break;
+			default: move.set(anchor, j); break;
+		}
+		moved = true;
+		found = advance();
+		return move;
+	}
+	
+	@Override
+	public void apply() {
+		if (!moved) throw new IllegalStateException("no move to apply");
+		move.apply(p);
+		accept();
+	}
+	
+	@Override
+	public void accept() {
+		if (!moved) throw new IllegalStateException("no move to accept");
+		int first = move.get(0);
+		int second = move.get(1);
+		if (type == PermutationMove.Type.SWAP) {
+			if (position != null) {
+				position[p.get(first)] = first;
+				position[p.get(second)] = second;
+			}
+			clear(first - 1, first + 1);
+			clear(second - 1, second + 1);
+		} else {
+			int lo = first;
+			int hi = type == PermutationMove.Type.BLOCK_MOVE ? move.get(2) : second;
+			if (lo > hi) {
+				lo = hi;
+				hi = first;
+			}
+			if (position != null) {
+				for (int i = lo; i <= hi; i++) position[p.get(i)] = i;
+			}
+			clear(lo - 1, hi + 1);
+		}
+		anchor = -1;
+		found = moved = false;
+	}
+	
+	/*
+	 * Advances to the next move of the selected anchor, if there is one.
+	 */
+	private boolean advance() {
+		if (type == PermutationMove.Type.BLOCK_MOVE && j >= 0 && end < Math.min(p.length() - 1, j + w)) {
+			end++;
+			return true;
+		}
+		j = nextPartner();
+		end = anchor;
+		return j >= 0;
+	}
+	
+	/*
+	 * Gets the next index paired with the selected anchor, or -1 if there are no more.
+	 */
+	private int nextPartner() {
+		if (candidates != null) {
+			int[] list = candidates[p.get(anchor)];
+			while (k < list.length) {
+				int x = position[list[k]];
+				k++;
+				if (x != anchor && Math.abs(x - anchor) <= w && (x < anchor || type != PermutationMove.Type.BLOCK_MOVE)) {
+					return x;
+				}
+			}
+		} else {
+			while (k <= last) {
+				int x = k;
+				k++;
+				if (x != anchor) return x;
+			}
+		}
+		return -1;
+	}
+	
+	private void clear(int from, int to) {
+		int n = p.length();
+		for (int i = Math.max(0, from); i <= to && i < n; i++) {
+			dontLook.setBit(i, 0);
+		}
+	}
+	
+	private void checkAnchor(int anchor) {
+		if (anchor < 0 || anchor >= p.length()) throw new IndexOutOfBoundsException("anchor: " + anchor);
+	}
+}
@@ -21,11 +21,17 @@
 package org.cicirello.search.operators.permutations;
 
 
-import org.cicirello.search.operators.UndoableMutationOperator;
-import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.MoveMutationOperator;
+import org.cicirello.search.operators.RandomAccessMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
+import org.cicirello.search.operators.AnchoredMutationOperator;
+import org.cicirello.search.operators.AnchoredNeighborhood;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>This class implements a reversal mutation on permutations, where one mutation
@@ -43,18 +49,39 @@ import org.cicirello.math.rand.RandomIndexer;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.4.2019
+ * @version 8.5.2020
  */
-public class ReversalMutation implements UndoableMutationOperator<Permutation>, IterableMutationOperator<Permutation> {
+public class ReversalMutation implements MoveMutationOperator<Permutation>, RandomAccessMutationOperator<Permutation>, AnchoredMutationOperator<Permutation> {
 	
 	// needed to implement undo
 	private final int[] indexes;
+	// describes the most recent mutation, and shares the indexes array
+	private final PermutationMove move;
+	// the most recent neighbor accessed by index
+	private PermutationMove indexed;
+	// restricts the moves of anchored neighborhoods, if not null
+	private int[][] candidates;
+	
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs an ReversalMutation mutation operator.
 	 */
-	public ReversalMutation() { 
-		indexes = new int[2]; 
+	public ReversalMutation() {
+		this(null);
+	}
+	
+	/**
+	 * Constructs an ReversalMutation mutation operator that uses a given source of random numbers.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 */
+	public ReversalMutation(RandomEngine engine) {
+		indexes = new int[2];
+		move = new PermutationMove(indexes, PermutationMove.Type.REVERSAL);
+		this.engine = engine;
 	}
 
 	@Override
@@ -70,9 +97,41 @@ public class ReversalMutation implements UndoableMutationOperator<Permutation>,
 		if (c.length() >= 2) c.reverse(indexes[0], indexes[1]);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#REVERSAL REVERSAL}.</p>
+	 */
+	@Override
+	public final PermutationMove nextMove(Permutation c) {
+		if (c.length() >= 2) generateIndexes(c.length(), indexes);
+		return move;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#REVERSAL REVERSAL}.  The runtime of this method is O(1).</p>
+	 */
+	@Override
+	public final PermutationMove getMove(Permutation c, long index) {
+		if (index < 0 || index >= neighborhoodSize(c)) {
+			throw new IndexOutOfBoundsException("index: " + index);
+		}
+		if (indexed == null) indexed = new PermutationMove(PermutationMove.Type.REVERSAL);
+		return indexed.setPair(index, c.length(), windowLimit());
+	}
+	
+	@Override
+	public final long neighborhoodSize(Permutation c) {
+		return PermutationMove.numPairs(c.length(), windowLimit());
+	}
+	
 	@Override
 	public ReversalMutation split() {
-		return new ReversalMutation();
+		ReversalMutation copy = new ReversalMutation(splitEngine());
+		copy.setCandidateLists(candidates);
+		return copy;
 	}
 	
 	/**
@@ -84,18 +143,86 @@ public class ReversalMutation implements UndoableMutationOperator<Permutation>,
 	 * And the worst case runtime of the 
 	 * {@link MutationIterator#rollback} method 
 	 * is O(n), where n is the length of the Permutation.</p>
+	 * <p>The {@link MoveMutationIterator#nextMove} method of that iterator is O(1) in the worst case.</p>
 	 */
 	@Override
-	public MutationIterator iterator(Permutation p) {
+	public MoveMutationIterator<Permutation> iterator(Permutation p) {
 		return new ReversalIterator(p);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>The anchors are the indexes of the permutation, and the moves of the anchor at index i
+	 * are the reversals of the subpermutations from index i to each of the other indexes (within
+	 * the window limit for the window limited subclass), unless there are candidate lists (see
+	 * {@link #setCandidateLists setCandidateLists}). Each reversal is a move of both of its end
+	 * points.  Applying a reversal clears the don't-look bits of the indexes of the reversed
+	 * subpermutation and of the indexes adjacent to it.  The {@link PermutationMove}s of the
+	 * neighborhood are of type {@link PermutationMove.Type#REVERSAL REVERSAL}.</p>
+	 * @throws IllegalArgumentException if the candidate lists are inconsistent with the length of c
+	 */
+	@Override
+	public final AnchoredNeighborhood<Permutation> neighborhood(Permutation c) {
+		return new PermutationNeighborhood(c, PermutationMove.Type.REVERSAL, windowLimit(), candidates);
+	}
+	
+	/**
+	 * Sets candidate neighbor lists, which restrict the moves of the {@link AnchoredNeighborhood}s
+	 * created by the {@link #neighborhood neighborhood} method.  With candidate lists, the moves
+	 * of the anchor at index i are the reversals of the subpermutations from index i to the
+	 * indexes of the elements in the candidate list of the element at index i, such as the
+	 * elements that are nearest to it for a problem like the traveling salesperson.  Candidate
+	 * lists do not affect the other methods of this mutation operator.
+	 * @param candidates An array with one candidate list for each permutation element, such that
+	 * candidates[e] contains the elements that are candidate partners of element e.  Pass null 
+	 * to remove the candidate lists, which is the default.  The lists are not copied, and they are
+	 * shared with the mutation operators returned by the {@link #split} method, so they must not be 
+	 * changed while in use.
+	 */
+	public final void setCandidateLists(int[][] candidates) {
+		this.candidates = candidates;
+	}
+	
+	/*
+	 * This package access method allows the window limited version
+	 * implemented as a subclass to share the candidate lists with its splits.
+	 */
+	final int[][] candidateLists() {
+		return candidates;
+	}
+	
+	/*
+	 * This package access method allows the window limited version
+	 * implemented as a subclass to limit the neighbors that are accessed 
+	 * by index, without modifying the getMove and neighborhoodSize methods.
+	 */
+	int windowLimit() {
+		return Integer.MAX_VALUE;
+	}
+	
 	/*
 	 * This package access method allows the window limited version
 	 * implemented as a subclass to change how indexes are generated
 	 * without modifying the mutate method.
 	 */
 	void generateIndexes(int n, int[] indexes) {
-		RandomIndexer.nextIntPair(n, indexes);
+		RandomIndexer.nextIntPair(n, indexes, random());
+	}
+	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.  This package access method is also used by
+	 * the window limited version implemented as a subclass.
+	 */
+	final Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
+	/*
+	 * Splits the engine, if there is one, for the split, including those of the window
+	 * limited version implemented as a subclass.
+	 */
+	final RandomEngine splitEngine() {
+		return engine != null ? engine.split() : null;
 	}
 }
\ No newline at end of file
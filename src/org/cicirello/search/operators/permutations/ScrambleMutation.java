@@ -24,6 +24,9 @@ package org.cicirello.search.operators.permutations;
 import org.cicirello.search.operators.MutationOperator;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>This class implements a scramble mutation on permutations, where one mutation
@@ -48,24 +51,38 @@ public class ScrambleMutation implements MutationOperator<Permutation> {
 
 	private final int[] indexes;
 	
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
+	
 	/**
 	 * Constructs a ScrambleMutation mutation operator.
 	 */
-	public ScrambleMutation() { 
-		indexes = new int[2]; 
+	public ScrambleMutation() {
+		this(null);
+	}
+	
+	/**
+	 * Constructs a ScrambleMutation mutation operator that uses a given source of random numbers.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 */
+	public ScrambleMutation(RandomEngine engine) {
+		indexes = new int[2];
+		this.engine = engine;
 	}
 	
 	@Override
 	public final void mutate(Permutation c) {
 		if (c.length() >= 2) {
 			generateIndexes(c.length(), indexes);
-			c.scramble(indexes[0], indexes[1]);
+			c.scramble(indexes[0], indexes[1], random());
 		}
 	}
 	
 	@Override
 	public ScrambleMutation split() {
-		return new ScrambleMutation();
+		return new ScrambleMutation(splitEngine());
 	}
 	
 	/*
@@ -74,7 +91,23 @@ public class ScrambleMutation implements MutationOperator<Permutation> {
 	 * without modifying the mutate method.
 	 */
 	void generateIndexes(int n, int[] indexes) {
-		RandomIndexer.nextIntPair(n, indexes);
+		RandomIndexer.nextIntPair(n, indexes, random());
+	}
+	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.  This package access method is also used by
+	 * the window limited version implemented as a subclass.
+	 */
+	final Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
 	}
 	
+	/*
+	 * Splits the engine, if there is one, for the split, including those of the window
+	 * limited version implemented as a subclass.
+	 */
+	final RandomEngine splitEngine() {
+		return engine != null ? engine.split() : null;
+	}
 }
\ No newline at end of file
@@ -20,7 +20,7 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -31,9 +31,9 @@ import org.cicirello.permutations.Permutation;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.7.2019 
+ * @version 7.14.2020 
  */
-final class SwapIterator implements MutationIterator {
+final class SwapIterator implements MoveMutationIterator<Permutation> {
 	
 	private boolean rolled;
 	private boolean hasMore;
@@ -42,13 +42,16 @@ final class SwapIterator implements MutationIterator {
 	private int j;
 	private int x;
 	private int y;
+	private boolean mutated;
+	private PermutationMove move;
 	
 	SwapIterator(Permutation p) {
 		this.p = p;
 		hasMore = p.length() >= 2;
 		// Default inits:
 		//    y = x = i = j = 0;
-		//    rolled = false;
+		//    rolled = mutated = false;
+		//    move = null;
 	}
 	
 	@Override
@@ -60,6 +63,8 @@ final class SwapIterator implements MutationIterator {
 	public void nextMutant() {
 		if (!hasMore) throw new IllegalStateException("no neighbors left");
 		if (rolled) throw new IllegalStateException("illegal to call nextMutant after calling rollback");
+		if (move != null) throw new IllegalStateException("illegal to call nextMutant after calling nextMove");
+		mutated = true;
 		if (i != j) {
 			p.swap(i,j);
 		}
@@ -72,6 +77,21 @@ final class SwapIterator implements MutationIterator {
 		if (i == p.length()-2) hasMore = false;
 	}
 	
+	@Override
+	public PermutationMove nextMove() {
+		if (!hasMore) throw new IllegalStateException("no neighbors left");
+		if (rolled) throw new IllegalStateException("illegal to call nextMove after calling rollback");
+		if (mutated) throw new IllegalStateException("illegal to call nextMove after calling nextMutant");
+		if (move == null) move = new PermutationMove(PermutationMove.Type.SWAP);
+		j++;
+		if (j >= p.length()) {
+			i++;
+			j = i + 1;
+		}
+		if (i == p.length()-2) hasMore = false;
+		return move.set(i,j);
+	}
+	
 	@Override
 	public void setSavepoint() {
 		x = i;
@@ -82,7 +102,9 @@ final class SwapIterator implements MutationIterator {
 	public void rollback() {
 		if (!rolled) {
 			rolled = true;
-			if (y == 0) {
+			if (move != null) {
+				if (y > 0) move.set(x,y).apply(p);
+			} else if (y == 0) {
 				if (j > 0) p.swap(i,j);
 			} else if (i != x || j != y) {
 				p.swap(i,j);
@@ -21,11 +21,17 @@
 package org.cicirello.search.operators.permutations;
 
 
-import org.cicirello.search.operators.UndoableMutationOperator;
-import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.MoveMutationOperator;
+import org.cicirello.search.operators.RandomAccessMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
+import org.cicirello.search.operators.AnchoredMutationOperator;
+import org.cicirello.search.operators.AnchoredNeighborhood;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>This class implements a swap mutation on permutations, where one mutation
@@ -41,18 +47,39 @@ import org.cicirello.math.rand.RandomIndexer;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.7.2019
+ * @version 8.5.2020
  */
-public class SwapMutation implements UndoableMutationOperator<Permutation>, IterableMutationOperator<Permutation> {
+public class SwapMutation implements MoveMutationOperator<Permutation>, RandomAccessMutationOperator<Permutation>, AnchoredMutationOperator<Permutation> {
 
 	// needed to implement undo
 	private final int[] indexes;
+	// describes the most recent mutation, and shares the indexes array
+	private final PermutationMove move;
+	// the most recent neighbor accessed by index
+	private PermutationMove indexed;
+	// restricts the moves of anchored neighborhoods, if not null
+	private int[][] candidates;
+	
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs an SwapMutation mutation operator.
 	 */
-	public SwapMutation() { 
-		indexes = new int[2]; 
+	public SwapMutation() {
+		this(null);
+	}
+	
+	/**
+	 * Constructs an SwapMutation mutation operator that uses a given source of random numbers.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 */
+	public SwapMutation(RandomEngine engine) {
+		indexes = new int[2];
+		move = new PermutationMove(indexes, PermutationMove.Type.SWAP);
+		this.engine = engine;
 	}
 	
 	@Override
@@ -68,9 +95,41 @@ public class SwapMutation implements UndoableMutationOperator<Permutation>, Iter
 		if (c.length() >= 2) c.swap(indexes[0], indexes[1]);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#SWAP SWAP}.</p>
+	 */
+	@Override
+	public final PermutationMove nextMove(Permutation c) {
+		if (c.length() >= 2) generateIndexes(c.length(), indexes);
+		return move;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>The {@link PermutationMove} that is returned is of type 
+	 * {@link PermutationMove.Type#SWAP SWAP}.  The runtime of this method is O(1).</p>
+	 */
+	@Override
+	public final PermutationMove getMove(Permutation c, long index) {
+		if (index < 0 || index >= neighborhoodSize(c)) {
+			throw new IndexOutOfBoundsException("index: " + index);
+		}
+		if (indexed == null) indexed = new PermutationMove(PermutationMove.Type.SWAP);
+		return indexed.setPair(index, c.length(), windowLimit());
+	}
+	
+	@Override
+	public final long neighborhoodSize(Permutation c) {
+		return PermutationMove.numPairs(c.length(), windowLimit());
+	}
+	
 	@Override
 	public SwapMutation split() {
-		return new SwapMutation();
+		SwapMutation copy = new SwapMutation(splitEngine());
+		copy.setCandidateLists(candidates);
+		return copy;
 	}
 	
 	/**
@@ -79,18 +138,85 @@ public class SwapMutation implements UndoableMutationOperator<Permutation>, Iter
 	 * {@link MutationIterator#nextMutant}, {@link MutationIterator#setSavepoint}, and
 	 * {@link MutationIterator#rollback} methods of the {@link MutationIterator} created by this method
 	 * is O(1).</p>
+	 * <p>The {@link MoveMutationIterator#nextMove} method of that iterator is O(1) in the worst case.</p>
 	 */
 	@Override
-	public MutationIterator iterator(Permutation p) {
+	public MoveMutationIterator<Permutation> iterator(Permutation p) {
 		return new SwapIterator(p);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>The anchors are the indexes of the permutation, and the moves of the anchor at index i
+	 * are the swaps of the element at index i with each of the other elements (within the window
+	 * limit for the window limited subclass), unless there are candidate lists
+	 * (see {@link #setCandidateLists setCandidateLists}). Each swap is a move of both of its indexes.
+	 * Applying a swap clears the don't-look bits of the two swapped indexes and of the indexes
+	 * adjacent to them.  The {@link PermutationMove}s of the neighborhood are of type
+	 * {@link PermutationMove.Type#SWAP SWAP}.</p>
+	 * @throws IllegalArgumentException if the candidate lists are inconsistent with the length of c
+	 */
+	@Override
+	public final AnchoredNeighborhood<Permutation> neighborhood(Permutation c) {
+		return new PermutationNeighborhood(c, PermutationMove.Type.SWAP, windowLimit(), candidates);
+	}
+	
+	/**
+	 * Sets candidate neighbor lists, which restrict the moves of the {@link AnchoredNeighborhood}s
+	 * created by the {@link #neighborhood neighborhood} method.  With candidate lists, the moves
+	 * of the anchor at index i are the swaps of the element at index i with the elements in its
+	 * candidate list, such as the elements that are nearest to it for a problem like the traveling
+	 * salesperson.  Candidate lists do not affect the other methods of this mutation operator.
+	 * @param candidates An array with one candidate list for each permutation element, such that
+	 * candidates[e] contains the elements that are candidate partners of element e.  Pass null 
+	 * to remove the candidate lists, which is the default.  The lists are not copied, and they are
+	 * shared with the mutation operators returned by the {@link #split} method, so they must not be 
+	 * changed while in use.
+	 */
+	public final void setCandidateLists(int[][] candidates) {
+		this.candidates = candidates;
+	}
+	
+	/*
+	 * This package access method allows the window limited version
+	 * implemented as a subclass to share the candidate lists with its splits.
+	 */
+	final int[][] candidateLists() {
+		return candidates;
+	}
+	
+	/*
+	 * This package access method allows the window limited version
+	 * implemented as a subclass to limit the neighbors that are accessed 
+	 * by index, without modifying the getMove and neighborhoodSize methods.
+	 */
+	int windowLimit() {
+		return Integer.MAX_VALUE;
+	}
+	
 	/*
 	 * This package access method allows the window limited version
 	 * implemented as a subclass to change how indexes are generated
 	 * without modifying the mutate method.
 	 */
 	void generateIndexes(int n, int[] indexes) {
-		RandomIndexer.nextIntPair(n, indexes);
+		RandomIndexer.nextIntPair(n, indexes, random());
+	}
+	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.  This package access method is also used by
+	 * the window limited version implemented as a subclass.
+	 */
+	final Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
+	/*
+	 * Splits the engine, if there is one, for the split, including those of the window
+	 * limited version implemented as a subclass.
+	 */
+	final RandomEngine splitEngine() {
+		return engine != null ? engine.split() : null;
 	}
 }
\ No newline at end of file
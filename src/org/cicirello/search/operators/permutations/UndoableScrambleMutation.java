@@ -23,6 +23,9 @@ package org.cicirello.search.operators.permutations;
 import org.cicirello.search.operators.UndoableMutationOperator;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>This class implements a scramble mutation on permutations, where one mutation
@@ -37,16 +40,19 @@ import org.cicirello.math.rand.RandomIndexer;
  * runtime occurs when the random indexes are
  * the two end points.  
  * On average, a scramble mutation moves approximately n/3 elements.</p>
- * <p>If you don't need the {@link #undo(Permutation) undo} method, then it is recommended
+ * <p>The {@link #undo(Permutation) undo} method is supported by recording only the
+ * prior state of the scrambled subpermutation, in an array that is reused
+ * across calls to {@link #mutate(Permutation) mutate}.
+ * If you don't need the {@link #undo(Permutation) undo} method, then it is recommended
  * that you instead use the {@link ScrambleMutation} class instead to avoid the
- * O(n) extra memory required to store the prior permutation state, as well as the time
- * associated with copying that state prior to mutation.</p>
+ * O(n) extra memory required to store that state, as well as the time
+ * associated with copying it prior to mutation.</p>
  *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.8.2020
+ * @version 7.30.2020
  */
 public class UndoableScrambleMutation extends Permutation.Mechanic implements UndoableMutationOperator<Permutation> {
 
@@ -54,20 +60,39 @@ public class UndoableScrambleMutation extends Permutation.Mechanic implements Un
 	private Permutation previous;
 	private final int[] indexes;
 	
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
+	
 	/**
 	 * Constructs an UndoableScrambleMutation mutation operator.
 	 */
-	public UndoableScrambleMutation() { 
+	public UndoableScrambleMutation() {
+		this(null);
+	}
+	
+	/**
+	 * Constructs an UndoableScrambleMutation mutation operator that uses a given source of random numbers.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 */
+	public UndoableScrambleMutation(RandomEngine engine) {
 		indexes = new int[2];
+		this.engine = engine;
 	}
 	
 	@Override
 	public final void mutate(Permutation c) {
 		if (c.length() >= 2) {
 			previous = c;
-			last = c.toArray();
 			generateIndexes(c.length(), indexes);
-			c.scramble(indexes[0], indexes[1]);
+			int i = indexes[0] < indexes[1] ? indexes[0] : indexes[1];
+			int count = (indexes[0] < indexes[1] ? indexes[1] : indexes[0]) - i + 1;
+			if (last == null || last.length < count) last = new int[count];
+			for (int k = 0; k < count; k++) {
+				last[k] = c.get(i + k);
+			}
+			c.scramble(indexes[0], indexes[1], random());
 		}
 	}
 	
@@ -84,15 +109,15 @@ public class UndoableScrambleMutation extends Permutation.Mechanic implements Un
 				i = indexes[1];
 				j = indexes[0];
 			}
-			for ( ; i <= j; i++) {
-				set(c, i, last[i]);
+			for (int k = 0; i <= j; i++, k++) {
+				set(c, i, last[k]);
 			}			
 		} 
 	}
 	
 	@Override
 	public UndoableScrambleMutation split() {
-		return new UndoableScrambleMutation();
+		return new UndoableScrambleMutation(splitEngine());
 	}
 	
 	/*
@@ -101,6 +126,23 @@ public class UndoableScrambleMutation extends Permutation.Mechanic implements Un
 	 * without modifying the mutate method.
 	 */
 	void generateIndexes(int n, int[] indexes) {
-		RandomIndexer.nextIntPair(n, indexes);
+		RandomIndexer.nextIntPair(n, indexes, random());
+	}
+	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.  This package access method is also used by
+	 * the window limited version implemented as a subclass.
+	 */
+	final Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
+	/*
+	 * Splits the engine, if there is one, for the split, including those of the window
+	 * limited version implemented as a subclass.
+	 */
+	final RandomEngine splitEngine() {
+		return engine != null ? engine.split() : null;
 	}
 }
\ No newline at end of file
@@ -20,7 +20,7 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -31,9 +31,9 @@ import org.cicirello.permutations.Permutation;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.9.2019 
+ * @version 7.14.2020 
  */
-final class WindowLimitedBlockMoveIterator implements MutationIterator {
+final class WindowLimitedBlockMoveIterator implements MoveMutationIterator<Permutation> {
 	
 	private boolean rolled;
 	private boolean hasMore;
@@ -47,6 +47,8 @@ final class WindowLimitedBlockMoveIterator implements MutationIterator {
 	private int z;
 	private final int MAX_S;
 	private int nextS;
+	private boolean mutated;
+	private PermutationMove move;
 	
 	WindowLimitedBlockMoveIterator(Permutation p, int w) {
 		this.p = p;
@@ -54,7 +56,8 @@ final class WindowLimitedBlockMoveIterator implements MutationIterator {
 		hasMore = p.length() >= 2;
 		// Default inits:
 		//    x = y = z = 0;
-		//    rolled = false;
+		//    rolled = mutated = false;
+		//    move = null;
 		nextS = s = 1;
 		MAX_S = w < p.length() ? (w+1) >> 1 : p.length() >> 1;
 	}
@@ -68,6 +71,8 @@ final class WindowLimitedBlockMoveIterator implements MutationIterator {
 	public void nextMutant() {
 		if (!hasMore) throw new IllegalStateException("no neighbors left");
 		if (rolled) throw new IllegalStateException("illegal to call nextMutant after calling rollback");
+		if (move != null) throw new IllegalStateException("illegal to call nextMutant after calling nextMove");
+		mutated = true;
 		if (nextS==1) {
 			nextInsertion();
 		} else {	
@@ -75,6 +80,20 @@ final class WindowLimitedBlockMoveIterator implements MutationIterator {
 		}
 	}
 	
+	@Override
+	public PermutationMove nextMove() {
+		if (!hasMore) throw new IllegalStateException("no neighbors left");
+		if (rolled) throw new IllegalStateException("illegal to call nextMove after calling rollback");
+		if (mutated) throw new IllegalStateException("illegal to call nextMove after calling nextMutant");
+		if (move == null) move = new PermutationMove(PermutationMove.Type.BLOCK_MOVE);
+		if (nextS==1) {
+			nextInsertionIndexes();
+		} else {	
+			nextBlockInsertionIndexes();
+		}
+		return setMove(i, j, s);
+	}
+	
 	@Override
 	public void setSavepoint() {
 		x = i;
@@ -86,7 +105,9 @@ final class WindowLimitedBlockMoveIterator implements MutationIterator {
 	public void rollback() {
 		if (!rolled) {
 			rolled = true;
-			if (z > 0) {
+			if (move != null) {
+				if (z > 0) setMove(x, y, z).apply(p);
+			} else if (z > 0) {
 				if (i != x || j != y || s != z) {
 					p.removeAndInsert(i, s, j);
 					p.removeAndInsert(y, z, x);
@@ -122,68 +143,102 @@ final class WindowLimitedBlockMoveIterator implements MutationIterator {
 	 */ 
 	
 	private void nextInsertion() {
+		int oldI = i;
+		int oldJ = j;
+		int step = nextInsertionIndexes();
+		if (step != STEP) p.removeAndInsert(oldI, oldJ);
+		if (step == WRAP) p.swap(1, 2);
+		else if (step == PREVIOUS_ROW) p.swap(i, i-1);
+		p.swap(i,j);
+	}
+	
+	private void nextBlockInsertion() {
+		int oldI = i;
+		int oldJ = j;
+		int oldS = s;
+		int step = nextBlockInsertionIndexes();
+		if (step == EARLIER) {
+			p.removeAndInsert(i, i+s);
+		} else if (step == LATER) {
+			p.removeAndInsert(oldI+s, oldI);
+		} else {
+			if (oldI != oldJ) p.removeAndInsert(oldI, oldS, oldJ);
+			p.removeAndInsert(j, s, i);
+		}
+	}
+	
+	/*
+	 * The next pair of helpers determine the order of the neighbors, updating only the indexes.
+	 * They are used directly by nextMove, which leaves p unchanged, and by nextInsertion and
+	 * nextBlockInsertion, which use the kind of step that they report to transform p from
+	 * the previous neighbor into the next.
+	 */
+	
+	// kinds of steps reported by the index helpers
+	private static final int STEP = 0;
+	private static final int NEXT_ROW = 1;
+	private static final int WRAP = 2;
+	private static final int PREVIOUS_ROW = 3;
+	private static final int EARLIER = 4;
+	private static final int LATER = 5;
+	private static final int JUMP = 6;
+	
+	private int nextInsertionIndexes() {
+		int step = STEP;
 		if (j >= i) {
 			j++;
 			if (j >= p.length() || j-i>w) {
-				p.removeAndInsert(i, j-1);
+				step = NEXT_ROW;
 				i++;
 				if (i >= p.length() - 1) {
+					step = WRAP;
 					i = 2;
 					j = 0;
-					p.swap(1, 2);
 				} else j = i + 1;
 			}
 		} else {
 			j--;
 			if (j < 0 || i-j>w) {
-				p.removeAndInsert(i, j+1);
+				step = PREVIOUS_ROW;
 				i++;
 				j = i - 2;
-				p.swap(i,i-1);
 			}
 		}
-		p.swap(i,j);
 		if (p.length() <= 2 || i==p.length()-1 && (j==0 || i-j==w) || w==1 && i==p.length()-2) {
 			if (MAX_S==1) hasMore = false;
 			else nextS = 2;
 		}
+		return step;
 	}
 	
-	private void nextBlockInsertion() {
+	private int nextBlockInsertionIndexes() {
+		int step = JUMP;
 		if (s != nextS) {
-			if (i!=j) p.removeAndInsert(i,s,j);
 			j = p.length() - nextS;
 			i = j - nextS;
 			s = nextS;
-			p.removeAndInsert(j, s, i);
 			if (i == 0) hasMore = false;
 		} else {
 			if (j > i) {
 				if (i > 0 && j+s-i<=w) {
+					step = EARLIER;
 					i--;
-					p.removeAndInsert(i, i+s);
 				} else if (j > s) {
-					p.removeAndInsert(i,s,j);
 					j--;
 					i = j - s;
-					p.removeAndInsert(j,s,i);
 					if (i == 0 && (p.length() <= s + s || s+s>w)) hasMore = false;
 				} else {
-					p.removeAndInsert(i,s,j);
 					j = 0;
 					i = s + 1;
-					p.removeAndInsert(j,s,i);
 					if (p.length() == s + s + 1) hasMore = false;
 				}
 			} else {
 				if (i < p.length() - s && i+s-j<=w) {
-					p.removeAndInsert(i+s, i);
+					step = LATER;
 					i++;
 				} else {
-					p.removeAndInsert(i,s,j);
 					j++;
 					i = j + s + 1;
-					p.removeAndInsert(j, s, i);
 					if (i == p.length()-s) {
 						if (s==MAX_S) hasMore = false;
 						else nextS++;
@@ -191,5 +246,14 @@ final class WindowLimitedBlockMoveIterator implements MutationIterator {
 				}
 			}
 		}
+		return step;
+	}
+	
+	/*
+	 * Sets the move to the block move that transforms p into the neighbor
+	 * reached by removing the block of size s at index j and reinserting it at index i.
+	 */
+	private PermutationMove setMove(int i, int j, int s) {
+		return j > i ? move.set(i, j, j+s-1) : move.set(j, j+s, i+s-1);
 	}
 }
\ No newline at end of file
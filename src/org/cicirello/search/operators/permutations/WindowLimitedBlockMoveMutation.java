@@ -22,7 +22,8 @@ package org.cicirello.search.operators.permutations;
 
 
 import org.cicirello.math.rand.RandomIndexer;
-import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.math.rand.RandomEngine;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -48,7 +49,7 @@ import org.cicirello.permutations.Permutation;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.9.2019
+ * @version 8.5.2020
  */
 public final class WindowLimitedBlockMoveMutation extends BlockMoveMutation {
 	
@@ -68,23 +69,42 @@ public final class WindowLimitedBlockMoveMutation extends BlockMoveMutation {
 	 * @param windowLimit The window limit, which must be positive.
 	 * @throws IllegalArgumentException if windowLimit &le; 0
 	 */
-	public WindowLimitedBlockMoveMutation(int windowLimit) { 
-		super();
+	public WindowLimitedBlockMoveMutation(int windowLimit) {
+		this(windowLimit, null);
+	}
+	
+	/**
+	 * Constructs a WindowLimitedBlockMoveMutation mutation operator that uses a given source of random numbers.
+	 * @param windowLimit The window limit, which must be positive.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if windowLimit &le; 0
+	 */
+	public WindowLimitedBlockMoveMutation(int windowLimit, RandomEngine engine) {
+		super(engine);
 		if (windowLimit <= 0) throw new IllegalArgumentException("window limit must be positive");
 		limit = windowLimit; 
 	}
 
 	@Override
 	public WindowLimitedBlockMoveMutation split() {
-		return new WindowLimitedBlockMoveMutation(limit);
+		WindowLimitedBlockMoveMutation copy = new WindowLimitedBlockMoveMutation(limit, splitEngine());
+		copy.setCandidateLists(candidateLists());
+		return copy;
 	}
 	
 	
 	@Override
-	public MutationIterator iterator(Permutation p) {
+	public MoveMutationIterator<Permutation> iterator(Permutation p) {
 		return new WindowLimitedBlockMoveIterator(p, limit);
 	}
 	
+	@Override
+	final int windowLimit() {
+		return limit;
+	}
+	
 	@Override
 	final void generateIndexes(int n, int[] indexes) {
 		// Note 1: The nextWindowedIntTriple method returns 3 all different indexes,
@@ -96,7 +116,7 @@ public final class WindowLimitedBlockMoveMutation extends BlockMoveMutation {
 		// Note 2: Without loss of generality, the indexes are generated to
 		// move the block earlier in the permutation.  We can do this because 
 		// a "block move" essentially swaps two adjacent "blocks."
-		RandomIndexer.nextWindowedIntTriple(n+1, limit+1, indexes, true);
+		RandomIndexer.nextWindowedIntTriple(n+1, limit+1, indexes, true, random());
 		if (indexes[2]==n || indexes[2]-indexes[0] > limit) indexes[2] = indexes[1];
 	}
 }
\ No newline at end of file
@@ -20,7 +20,7 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -31,9 +31,9 @@ import org.cicirello.permutations.Permutation;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.9.2019 
+ * @version 7.14.2020 
  */
-final class WindowLimitedInsertionIterator implements MutationIterator {
+final class WindowLimitedInsertionIterator implements MoveMutationIterator<Permutation> {
 	
 	private boolean rolled;
 	private boolean hasMore;
@@ -43,6 +43,8 @@ final class WindowLimitedInsertionIterator implements MutationIterator {
 	private int j;
 	private int x;
 	private int y;
+	private boolean mutated;
+	private PermutationMove move;
 	
 	WindowLimitedInsertionIterator(Permutation p, int w) {
 		this.p = p;
@@ -50,7 +52,8 @@ final class WindowLimitedInsertionIterator implements MutationIterator {
 		hasMore = p.length() >= 2;
 		// Default inits:
 		//    x = y = i = j = 0;
-		//    rolled = false;
+		//    rolled = mutated = false;
+		//    move = null;
 	}
 	
 	@Override
@@ -62,6 +65,8 @@ final class WindowLimitedInsertionIterator implements MutationIterator {
 	public void nextMutant() {
 		if (!hasMore) throw new IllegalStateException("no neighbors left");
 		if (rolled) throw new IllegalStateException("illegal to call nextMutant after calling rollback");
+		if (move != null) throw new IllegalStateException("illegal to call nextMutant after calling nextMove");
+		mutated = true;
 		if (j >= i) {
 			j++;
 			if (j >= p.length() || j-i>w) {
@@ -86,6 +91,32 @@ final class WindowLimitedInsertionIterator implements MutationIterator {
 		if (p.length() <= 2 || i==p.length()-1 && (j==0 || i-j==w) || w==1 && i==p.length()-2) hasMore = false;
 	}
 	
+	@Override
+	public PermutationMove nextMove() {
+		if (!hasMore) throw new IllegalStateException("no neighbors left");
+		if (rolled) throw new IllegalStateException("illegal to call nextMove after calling rollback");
+		if (mutated) throw new IllegalStateException("illegal to call nextMove after calling nextMutant");
+		if (move == null) move = new PermutationMove(PermutationMove.Type.INSERTION);
+		if (j >= i) {
+			j++;
+			if (j >= p.length() || j-i>w) {
+				i++;
+				if (i >= p.length() - 1) {
+					i = 2;
+					j = 0;
+				} else j = i + 1;
+			}
+		} else {
+			j--;
+			if (j < 0 || i-j>w) {
+				i++;
+				j = i - 2;
+			}
+		}
+		if (p.length() <= 2 || i==p.length()-1 && (j==0 || i-j==w) || w==1 && i==p.length()-2) hasMore = false;
+		return move.set(j,i);
+	}
+	
 	@Override
 	public void setSavepoint() {
 		x = i;
@@ -96,7 +127,9 @@ final class WindowLimitedInsertionIterator implements MutationIterator {
 	public void rollback() {
 		if (!rolled) {
 			rolled = true;
-			if (x == y) {
+			if (move != null) {
+				if (x != y) move.set(y,x).apply(p);
+			} else if (x == y) {
 				if (i!=j) p.removeAndInsert(i,j);
 			} else if (i != x || j != y) {
 				p.removeAndInsert(i,j);
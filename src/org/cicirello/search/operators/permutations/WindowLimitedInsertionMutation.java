@@ -22,7 +22,9 @@ package org.cicirello.search.operators.permutations;
 
 
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -47,7 +49,7 @@ import org.cicirello.permutations.Permutation;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.7.2019
+ * @version 8.5.2020
  */
 public final class WindowLimitedInsertionMutation extends InsertionMutation {
 	
@@ -67,15 +69,29 @@ public final class WindowLimitedInsertionMutation extends InsertionMutation {
 	 * @param windowLimit The window limit, which must be positive.
 	 * @throws IllegalArgumentException if windowLimit &le; 0
 	 */
-	public WindowLimitedInsertionMutation(int windowLimit) { 
-		super();
+	public WindowLimitedInsertionMutation(int windowLimit) {
+		this(windowLimit, null);
+	}
+	
+	/**
+	 * Constructs a WindowLimitedInsertionMutation mutation operator that uses a given source of random numbers.
+	 * @param windowLimit The window limit, which must be positive.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if windowLimit &le; 0
+	 */
+	public WindowLimitedInsertionMutation(int windowLimit, RandomEngine engine) {
+		super(engine);
 		if (windowLimit <= 0) throw new IllegalArgumentException("window limit must be positive");
 		limit = windowLimit; 
 	}
 
 	@Override
 	public WindowLimitedInsertionMutation split() {
-		return new WindowLimitedInsertionMutation(limit);
+		WindowLimitedInsertionMutation copy = new WindowLimitedInsertionMutation(limit, splitEngine());
+		copy.setCandidateLists(candidateLists());
+		return copy;
 	}
 	
 	/**
@@ -90,6 +106,7 @@ public final class WindowLimitedInsertionMutation extends InsertionMutation {
 	 * And the worst case runtime of the 
 	 * {@link MutationIterator#rollback} method 
 	 * is O(min(n,w)), where n is the length of the Permutation, and w is the window limit.</p>
+	 * <p>The {@link MoveMutationIterator#nextMove} method of that iterator is O(1) in the worst case.</p>
 	 *
 	 * @param p The candidate solution subject to the mutation.  Calling methods of the
 	 * {@link MutationIterator} that is returned changes the state of p.  See the documentation
@@ -98,12 +115,17 @@ public final class WindowLimitedInsertionMutation extends InsertionMutation {
 	 * @return A MutationIterator for iterating over the direct neighbors of p.
 	 */
 	@Override
-	public MutationIterator iterator(Permutation p) {
+	public MoveMutationIterator<Permutation> iterator(Permutation p) {
 		return new WindowLimitedInsertionIterator(p, limit);
 	}
 	
+	@Override
+	final int windowLimit() {
+		return limit;
+	}
+	
 	@Override
 	final void generateIndexes(int n, int[] indexes) {
-		RandomIndexer.nextWindowedIntPair(n, limit, indexes);
+		RandomIndexer.nextWindowedIntPair(n, limit, indexes, random());
 	}
 }
\ No newline at end of file
@@ -20,7 +20,7 @@
  
 package org.cicirello.search.operators.permutations;
 
-import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -31,9 +31,9 @@ import org.cicirello.permutations.Permutation;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.7.2019 
+ * @version 7.14.2020 
  */
-final class WindowLimitedReversalIterator implements MutationIterator {
+final class WindowLimitedReversalIterator implements MoveMutationIterator<Permutation> {
 	
 	private boolean rolled;
 	private boolean hasMore;
@@ -45,6 +45,8 @@ final class WindowLimitedReversalIterator implements MutationIterator {
 	private int v;
 	private int x;
 	private int y;
+	private boolean mutated;
+	private PermutationMove move;
 	
 	WindowLimitedReversalIterator(Permutation p, int w) {
 		this.p = p;
@@ -52,7 +54,8 @@ final class WindowLimitedReversalIterator implements MutationIterator {
 		hasMore = p.length() >= 2;
 		// Default inits:
 		//    y = x = u = v = i = j = 0;
-		//    rolled = false;
+		//    rolled = mutated = false;
+		//    move = null;
 	}
 	
 	@Override
@@ -64,6 +67,8 @@ final class WindowLimitedReversalIterator implements MutationIterator {
 	public void nextMutant() {
 		if (!hasMore) throw new IllegalStateException("no neighbors left");
 		if (rolled) throw new IllegalStateException("illegal to call nextMutant after calling rollback");
+		if (move != null) throw new IllegalStateException("illegal to call nextMutant after calling nextMove");
+		mutated = true;
 		if (i==j) {
 			 if (p.length() >= 3 && w >= 2) v = j = 2;
 			 else v = j = 1;
@@ -88,6 +93,35 @@ final class WindowLimitedReversalIterator implements MutationIterator {
 		if (u == p.length()-2) hasMore = false;
 	}
 	
+	@Override
+	public PermutationMove nextMove() {
+		if (!hasMore) throw new IllegalStateException("no neighbors left");
+		if (rolled) throw new IllegalStateException("illegal to call nextMove after calling rollback");
+		if (mutated) throw new IllegalStateException("illegal to call nextMove after calling nextMutant");
+		if (move == null) move = new PermutationMove(PermutationMove.Type.REVERSAL);
+		if (i==j) {
+			 if (p.length() >= 3 && w >= 2) v = j = 2;
+			 else v = j = 1;
+		} else {
+			if (u==0 || v==p.length()-1 || v-u>=w-1) {
+				j++;
+				if (j >= p.length()) {
+					i = 0;
+					j = 1;
+				} else {
+					i++;
+				}
+				u = i;
+				v = j;
+			} else {
+				u--;
+				v++;
+			}
+		}
+		if (u == p.length()-2) hasMore = false;
+		return move.set(u,v);
+	}
+	
 	@Override
 	public void setSavepoint() {
 		x = u;
@@ -98,7 +132,9 @@ final class WindowLimitedReversalIterator implements MutationIterator {
 	public void rollback() {
 		if (!rolled) {
 			rolled = true;
-			if (y == 0) {
+			if (move != null) {
+				if (y > 0) move.set(x,y).apply(p);
+			} else if (y == 0) {
 				if (v > 0) p.reverse(u,v);
 			} else if (u != x || v != y) {
 				p.reverse(u,v);
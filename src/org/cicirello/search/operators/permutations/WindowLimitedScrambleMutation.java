@@ -22,6 +22,7 @@ package org.cicirello.search.operators.permutations;
 
 
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>This class implements a window-limited version of the 
@@ -66,20 +67,32 @@ public final class WindowLimitedScrambleMutation extends ScrambleMutation {
 	 * @param windowLimit The window limit, which must be positive.
 	 * @throws IllegalArgumentException if windowLimit &le; 0
 	 */
-	public WindowLimitedScrambleMutation(int windowLimit) { 
-		super();
+	public WindowLimitedScrambleMutation(int windowLimit) {
+		this(windowLimit, null);
+	}
+	
+	/**
+	 * Constructs a WindowLimitedScrambleMutation mutation operator that uses a given source of random numbers.
+	 * @param windowLimit The window limit, which must be positive.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if windowLimit &le; 0
+	 */
+	public WindowLimitedScrambleMutation(int windowLimit, RandomEngine engine) {
+		super(engine);
 		if (windowLimit <= 0) throw new IllegalArgumentException("window limit must be positive");
 		limit = windowLimit; 
 	}
 	
 	@Override
 	public WindowLimitedScrambleMutation split() {
-		return new WindowLimitedScrambleMutation(limit);
+		return new WindowLimitedScrambleMutation(limit, splitEngine());
 	}
 	
 	@Override
 	final void generateIndexes(int n, int[] indexes) {
-		RandomIndexer.nextWindowedIntPair(n, limit, indexes);
+		RandomIndexer.nextWindowedIntPair(n, limit, indexes, random());
 	}
 
 }
\ No newline at end of file
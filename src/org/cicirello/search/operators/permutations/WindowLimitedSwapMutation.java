@@ -22,7 +22,8 @@ package org.cicirello.search.operators.permutations;
 
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
-import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.math.rand.RandomEngine;
+import org.cicirello.search.operators.MoveMutationIterator;
 
 /**
  * <p>This class implements a window-limited version of the 
@@ -45,7 +46,7 @@ import org.cicirello.search.operators.MutationIterator;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.7.2019
+ * @version 8.5.2020
  */
 public final class WindowLimitedSwapMutation extends SwapMutation {
 
@@ -65,24 +66,43 @@ public final class WindowLimitedSwapMutation extends SwapMutation {
 	 * @param windowLimit The window limit, which must be positive.
 	 * @throws IllegalArgumentException if windowLimit &le; 0
 	 */
-	public WindowLimitedSwapMutation(int windowLimit) { 
-		super();
+	public WindowLimitedSwapMutation(int windowLimit) {
+		this(windowLimit, null);
+	}
+	
+	/**
+	 * Constructs a WindowLimitedSwapMutation mutation operator that uses a given source of random numbers.
+	 * @param windowLimit The window limit, which must be positive.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if windowLimit &le; 0
+	 */
+	public WindowLimitedSwapMutation(int windowLimit, RandomEngine engine) {
+		super(engine);
 		if (windowLimit <= 0) throw new IllegalArgumentException("window limit must be positive");
 		limit = windowLimit; 
 	}
 	
 	@Override
 	public WindowLimitedSwapMutation split() {
-		return new WindowLimitedSwapMutation(limit);
+		WindowLimitedSwapMutation copy = new WindowLimitedSwapMutation(limit, splitEngine());
+		copy.setCandidateLists(candidateLists());
+		return copy;
 	}
 	
 	@Override
-	public MutationIterator iterator(Permutation p) {
+	public MoveMutationIterator<Permutation> iterator(Permutation p) {
 		return new WindowLimitedSwapIterator(p, limit);
 	}
 	
+	@Override
+	final int windowLimit() {
+		return limit;
+	}
+	
 	@Override
 	final void generateIndexes(int n, int[] indexes) {
-		RandomIndexer.nextWindowedIntPair(n, limit, indexes);
+		RandomIndexer.nextWindowedIntPair(n, limit, indexes, random());
 	}
 }
\ No newline at end of file
@@ -20,11 +20,15 @@
  
 package org.cicirello.search.operators.reals;
 
-import org.cicirello.math.rand.RandomVariates;
+import org.cicirello.math.rand.ZigguratCauchy;
 import org.cicirello.search.operators.MutationOperator;
 import org.cicirello.search.representations.RealValued;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomVariates;
+import org.cicirello.math.rand.RandomEngine;
 import org.cicirello.util.Copyable;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>This class implements Cauchy
@@ -52,6 +56,12 @@ import org.cicirello.util.Copyable;
  * <p>To construct a CauchyMutation, you must use one of the factory methods.  See
  * the various {@link #createCauchyMutation} methods.</p>
  *
+ * <p>By default, the random values are generated with ThreadLocalRandom.  The
+ * {@link #createCauchyMutation(double, RandomEngine)} factory method instead
+ * accepts a {@link RandomEngine}, which is split whenever the operator is split or
+ * copied, so that every thread's copy of the operator has its own independent
+ * and reproducible stream of random numbers.</p>
+ *
  * <p>Cauchy mutation was introduced in the following article:<br>
  * H.H. Szu and R.L. Hartley. Nonconvex optimization by fast simulated annealing. 
  * Proceedings of the IEEE, 75(11): 1538–1540, November 1987.</p>
@@ -62,11 +72,17 @@ import org.cicirello.util.Copyable;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.30.2020
  */
 public class CauchyMutation<T extends RealValued> implements MutationOperator<T>, RealValued, Copyable<CauchyMutation<T>> {
 	
 	private double scale;
+	private final RandomEngine engine;
+	// buffer of Cauchy perturbations, generated in bulk
+	private double[] noise;
+	// indexes changed by the most recent partial mutation, reused across calls
+	private int[] indexes;
+	private int numIndexes;
 	
 	/*
 	 * Internal constructor.  Constructs a Cauchy mutation operator.
@@ -74,7 +90,18 @@ public class CauchyMutation<T extends RealValued> implements MutationOperator<T>
 	 * @param scale The scale parameter of the Cauchy.
 	 */
 	CauchyMutation(double scale) { 
+		this(scale, null);
+	}
+	
+	/*
+	 * Internal constructor.  Constructs a Cauchy mutation operator.
+	 * Otherwise, must use the factory methods.
+	 * @param scale The scale parameter of the Cauchy.
+	 * @param engine The source of random numbers, or null for ThreadLocalRandom.
+	 */
+	CauchyMutation(double scale, RandomEngine engine) { 
 		this.scale = scale;
+		this.engine = engine;
 	}
 	
 	/*
@@ -82,6 +109,7 @@ public class CauchyMutation<T extends RealValued> implements MutationOperator<T>
 	 */
 	CauchyMutation(CauchyMutation<T> other) {
 		scale = other.scale;
+		engine = other.engine != null ? other.engine.split() : null;
 	}
 	
 	/**
@@ -103,6 +131,19 @@ public class CauchyMutation<T extends RealValued> implements MutationOperator<T>
 		return new CauchyMutation<T>(scale);
 	}
 	
+	/**
+	 * Creates a Cauchy mutation operator that uses a specified source of random numbers.
+	 * @param scale The scale parameter of the Cauchy.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split or copied.  If engine is null, ThreadLocalRandom is used.
+	 * @param <T> The specific RealValued type.
+	 * @return A Cauchy mutation operator.
+	 */
+	public static <T extends RealValued> CauchyMutation<T> createCauchyMutation(double scale, RandomEngine engine) {
+		return new CauchyMutation<T>(scale, engine);
+	}
+	
 	/**
 	 * Create a Cauchy mutation operator.  
 	 * @param scale The scale parameter of the Cauchy mutation.
@@ -136,8 +177,9 @@ public class CauchyMutation<T extends RealValued> implements MutationOperator<T>
 	@Override
 	public void mutate(T c) {
 		final int n = c.length();
+		final double[] m = nextCauchys(n);
 		for (int i = 0; i < n; i++) {
-			c.set(i, c.get(i) + RandomVariates.nextCauchy(scale));
+			c.set(i, c.get(i) + m[i]);
 		}
 	}
 	
@@ -221,28 +263,74 @@ public class CauchyMutation<T extends RealValued> implements MutationOperator<T>
 	}
 	
 	final void internalMutate(T c, double[] old) {
+		final double[] m = nextCauchys(old.length);
 		for (int i = 0; i < old.length; i++) {
-			c.set(i, old[i] + RandomVariates.nextCauchy(scale));
+			c.set(i, old[i] + m[i]);
 		}
 	}
 	
 	final void internalMutate(T c, double old) {
-		c.set(0, old + RandomVariates.nextCauchy(scale));
+		c.set(0, old + ZigguratCauchy.nextCauchy(scale, random()));
 	}
 	
-	final void internalPartialMutation(T c, int[] indexes) {
-		for (int j = 0; j < indexes.length; j++) {
+	/*
+	 * Chooses the indexes for a partial mutation: k of them if p is negative, and otherwise
+	 * each with probability p.  The indexes are in the first numIndexes elements of the
+	 * reusable indexes array, which serves as the undo journal of the undoable operators.
+	 */
+	final void sampleIndexes(int n, int k, double p) {
+		final Random r = random();
+		numIndexes = p < 0 ? k : RandomVariates.nextBinomial(n, p, r);
+		indexes = RandomIndexer.sample(n, numIndexes, indexes, r);
+	}
+	
+	/*
+	 * Gets the number of indexes changed by the most recent partial mutation.
+	 */
+	final int numIndexes() {
+		return numIndexes;
+	}
+	
+	/*
+	 * Gets the j-th index changed by the most recent partial mutation.
+	 */
+	final int getIndex(int j) {
+		return indexes[j];
+	}
+	
+	final void internalPartialMutation(T c) {
+		final double[] m = nextCauchys(numIndexes);
+		for (int j = 0; j < numIndexes; j++) {
 			int i = indexes[j];
-			c.set(i, c.get(i) + RandomVariates.nextCauchy(scale));
+			c.set(i, c.get(i) + m[j]);
 		}
 	}
 	
-	final void internalPartialMutation(T c, int[] indexes, double[] old) {
-		for (int j = 0; j < indexes.length; j++) {
-			c.set(indexes[j], old[j] + RandomVariates.nextCauchy(scale));
+	final void internalPartialMutation(T c, double[] old) {
+		final double[] m = nextCauchys(numIndexes);
+		for (int j = 0; j < numIndexes; j++) {
+			c.set(indexes[j], old[j] + m[j]);
 		}
 	}
 	
+	/*
+	 * Generates the first n elements of the noise buffer in one bulk call,
+	 * growing the buffer if necessary.
+	 */
+	private double[] nextCauchys(int n) {
+		if (noise == null || noise.length < n) noise = new double[n];
+		ZigguratCauchy.nextCauchy(scale, noise, 0, n, random());
+		return noise;
+	}
+	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.
+	 */
+	private Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
 	private static final class PartialCauchyMutation<T extends RealValued> extends CauchyMutation<T> {
 		
 		private final int k;
@@ -271,10 +359,8 @@ public class CauchyMutation<T extends RealValued> implements MutationOperator<T>
 			if (k >= c.length()) {
 				super.mutate(c);
 			} else {
-				int[] indexes = p < 0 
-					? RandomIndexer.sample(c.length(), k, (int[])null) 
-					: RandomIndexer.sample(c.length(), p);
-				internalPartialMutation(c, indexes);
+				sampleIndexes(c.length(), k, p);
+				internalPartialMutation(c);
 			}
 		}
 		
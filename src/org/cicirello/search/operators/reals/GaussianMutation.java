@@ -24,7 +24,11 @@ import org.cicirello.math.rand.ZigguratGaussian;
 import org.cicirello.search.operators.MutationOperator;
 import org.cicirello.search.representations.RealValued;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomVariates;
+import org.cicirello.math.rand.RandomEngine;
 import org.cicirello.util.Copyable;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 /**
@@ -49,6 +53,12 @@ import org.cicirello.util.Copyable;
  * <p>To construct a GaussianMutation, you must use one of the factory methods.  See
  * the various {@link #createGaussianMutation} methods.</p>
  *
+ * <p>By default, the random values are generated with ThreadLocalRandom.  The
+ * {@link #createGaussianMutation(double, RandomEngine)} factory method instead
+ * accepts a {@link RandomEngine}, which is split whenever the operator is split or
+ * copied, so that every thread's copy of the operator has its own independent
+ * and reproducible stream of random numbers.</p>
+ *
  * <p>Gaussian mutation was introduced in the following article:<br>
  * Hinterding, R. 1995. Gaussian mutation and self-adaption for numeric 
  * genetic algorithms. In IEEE CEC. IEEE Press. 384–389.</p>
@@ -59,11 +69,17 @@ import org.cicirello.util.Copyable;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.30.2020
  */
 public class GaussianMutation<T extends RealValued> implements MutationOperator<T>, RealValued, Copyable<GaussianMutation<T>> {
 	
 	private double sigma;
+	private final RandomEngine engine;
+	// buffer of Gaussian perturbations, generated in bulk
+	private double[] noise;
+	// indexes changed by the most recent partial mutation, reused across calls
+	private int[] indexes;
+	private int numIndexes;
 	
 	/*
 	 * Internal constructor.  Constructs a Gaussian mutation operator.
@@ -71,7 +87,18 @@ public class GaussianMutation<T extends RealValued> implements MutationOperator<
 	 * @param sigma The standard deviation of the Gaussian.
 	 */
 	GaussianMutation(double sigma) { 
+		this(sigma, null);
+	}
+	
+	/*
+	 * Internal constructor.  Constructs a Gaussian mutation operator.
+	 * Otherwise, must use the factory methods.
+	 * @param sigma The standard deviation of the Gaussian.
+	 * @param engine The source of random numbers, or null for ThreadLocalRandom.
+	 */
+	GaussianMutation(double sigma, RandomEngine engine) { 
 		this.sigma = sigma;
+		this.engine = engine;
 	}
 	
 	/*
@@ -79,6 +106,7 @@ public class GaussianMutation<T extends RealValued> implements MutationOperator<
 	 */
 	GaussianMutation(GaussianMutation<T> other) {
 		sigma = other.sigma;
+		engine = other.engine != null ? other.engine.split() : null;
 	}
 	
 	/**
@@ -100,6 +128,19 @@ public class GaussianMutation<T extends RealValued> implements MutationOperator<
 		return new GaussianMutation<T>(sigma);
 	}
 	
+	/**
+	 * Creates a Gaussian mutation operator that uses a specified source of random numbers.
+	 * @param sigma The standard deviation of the Gaussian.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split or copied.  If engine is null, ThreadLocalRandom is used.
+	 * @param <T> The specific RealValued type.
+	 * @return A Gaussian mutation operator.
+	 */
+	public static <T extends RealValued> GaussianMutation<T> createGaussianMutation(double sigma, RandomEngine engine) {
+		return new GaussianMutation<T>(sigma, engine);
+	}
+	
 	/**
 	 * Create a Gaussian mutation operator.  
 	 * @param sigma The standard deviation of the Gaussian mutation.
@@ -133,8 +174,9 @@ public class GaussianMutation<T extends RealValued> implements MutationOperator<
 	@Override
 	public void mutate(T c) {
 		final int n = c.length();
+		final double[] m = nextGaussians(n);
 		for (int i = 0; i < n; i++) {
-			c.set(i, c.get(i) + ZigguratGaussian.nextGaussian(sigma));
+			c.set(i, c.get(i) + m[i]);
 		}
 	}
 	
@@ -218,28 +260,74 @@ public class GaussianMutation<T extends RealValued> implements MutationOperator<
 	}
 	
 	final void internalMutate(T c, double[] old) {
+		final double[] m = nextGaussians(old.length);
 		for (int i = 0; i < old.length; i++) {
-			c.set(i, old[i] + ZigguratGaussian.nextGaussian(sigma));
+			c.set(i, old[i] + m[i]);
 		}
 	}
 	
 	final void internalMutate(T c, double old) {
-		c.set(0, old + ZigguratGaussian.nextGaussian(sigma));
+		c.set(0, old + ZigguratGaussian.nextGaussian(sigma, random()));
 	}
 	
-	final void internalPartialMutation(T c, int[] indexes) {
-		for (int j = 0; j < indexes.length; j++) {
+	/*
+	 * Chooses the indexes for a partial mutation: k of them if p is negative, and otherwise
+	 * each with probability p.  The indexes are in the first numIndexes elements of the
+	 * reusable indexes array, which serves as the undo journal of the undoable operators.
+	 */
+	final void sampleIndexes(int n, int k, double p) {
+		final Random r = random();
+		numIndexes = p < 0 ? k : RandomVariates.nextBinomial(n, p, r);
+		indexes = RandomIndexer.sample(n, numIndexes, indexes, r);
+	}
+	
+	/*
+	 * Gets the number of indexes changed by the most recent partial mutation.
+	 */
+	final int numIndexes() {
+		return numIndexes;
+	}
+	
+	/*
+	 * Gets the j-th index changed by the most recent partial mutation.
+	 */
+	final int getIndex(int j) {
+		return indexes[j];
+	}
+	
+	final void internalPartialMutation(T c) {
+		final double[] m = nextGaussians(numIndexes);
+		for (int j = 0; j < numIndexes; j++) {
 			int i = indexes[j];
-			c.set(i, c.get(i) + ZigguratGaussian.nextGaussian(sigma));
+			c.set(i, c.get(i) + m[j]);
 		}
 	}
 	
-	final void internalPartialMutation(T c, int[] indexes, double[] old) {
-		for (int j = 0; j < indexes.length; j++) {
-			c.set(indexes[j], old[j] + ZigguratGaussian.nextGaussian(sigma));
+	final void internalPartialMutation(T c, double[] old) {
+		final double[] m = nextGaussians(numIndexes);
+		for (int j = 0; j < numIndexes; j++) {
+			c.set(indexes[j], old[j] + m[j]);
 		}
 	}
 	
+	/*
+	 * Generates the first n elements of the noise buffer in one bulk call,
+	 * growing the buffer if necessary.
+	 */
+	private double[] nextGaussians(int n) {
+		if (noise == null || noise.length < n) noise = new double[n];
+		ZigguratGaussian.nextGaussian(sigma, noise, 0, n, random());
+		return noise;
+	}
+	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.
+	 */
+	private Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
 	private static final class PartialGaussianMutation<T extends RealValued> extends GaussianMutation<T> {
 		
 		private final int k;
@@ -268,10 +356,8 @@ public class GaussianMutation<T extends RealValued> implements MutationOperator<
 			if (k >= c.length()) {
 				super.mutate(c);
 			} else {
-				int[] indexes = p < 0 
-					? RandomIndexer.sample(c.length(), k, (int[])null) 
-					: RandomIndexer.sample(c.length(), p);
-				internalPartialMutation(c, indexes);
+				sampleIndexes(c.length(), k, p);
+				internalPartialMutation(c);
 			}
 		}
 		
@@ -38,7 +38,7 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.31.2020
  */
 public class RealValueInitializer implements Initializer<SingleReal> {
 	
@@ -165,6 +165,22 @@ public class RealValueInitializer implements Initializer<SingleReal> {
 			return new BoundedReal(this);
 		}
 		
+		/**
+		 * Copies this object into another object, reusing its memory, if the other
+		 * object has the same bounds as this one; and otherwise constructs a new copy.
+		 * @param target The object to hold the copy.
+		 * @return target if it was compatible, and otherwise a new copy of this object
+		 */
+		@Override
+		public SingleReal copyInto(SingleReal target) {
+			if (target instanceof BoundedReal) {
+				if (RealValueInitializer.this == ((BoundedReal)target).getOuterThis()) {
+					return super.copyInto(target);
+				}
+			}
+			return copy();
+		}
+		
 		private RealValueInitializer getOuterThis() { return RealValueInitializer.this; };
 		
 		/**
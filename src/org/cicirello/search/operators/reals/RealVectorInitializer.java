@@ -22,6 +22,9 @@ package org.cicirello.search.operators.reals;
 
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.representations.RealVector;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -32,12 +35,15 @@ import java.util.concurrent.ThreadLocalRandom;
  * In the bounded case, the objects created by this class enforce the bounds upon calls
  * to {@link RealVector#set} such that the {@link RealVector#set} method will set the value to
  * the min if a value is passed less than min (and similarly for max). 
+ * By default, the random values are generated with ThreadLocalRandom, but several
+ * of the constructors accept a {@link RandomEngine}, which is split when the 
+ * initializer is split, to enable reproducible multithreaded runs.
  *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.31.2020
  */
 public class RealVectorInitializer implements Initializer<RealVector> {
 	
@@ -46,6 +52,7 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 	private final double[] b;
 	private final double[] min;
 	private final double[] max;
+	private final RandomEngine engine;
 	
 	/**
 	 * Construct a RealVectorInitializer that generates
@@ -63,11 +70,34 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 	 * @throws NegativeArraySizeException if n &lt; 0
 	 */
 	public RealVectorInitializer(int n, double a, double b) {
+		this(n, a, b, (RandomEngine)null);
+	}
+	
+	/**
+	 * Construct a RealVectorInitializer that generates
+	 * random solutions such that the values of all n variables are chosen
+	 * uniformly in the interval [a, b), using a specified source of random numbers.  The 
+	 * {@link RealVector} objects returned by the
+	 * {@link #createCandidateSolution} method are otherwise unbounded
+	 * (i.e., future mutations may alter the values such that it leaves that
+	 * interval).  Use a different constructor if you need to enforce bounds.
+	 *
+	 * @param n The number of input variables for the function.
+	 * @param a The lower end of the interval (inclusive).
+	 * @param b The upper end of the interval (exclusive).
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when this initializer is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if a &ge; b
+	 * @throws NegativeArraySizeException if n &lt; 0
+	 */
+	public RealVectorInitializer(int n, double a, double b, RandomEngine engine) {
 		if (a >= b) throw new IllegalArgumentException("a must be less than b");
 		x = new double[n];
 		this.a = new double[] { a };
 		this.b = new double[] { b };
 		min = max = null;
+		this.engine = engine;
 	}
 	
 	/**
@@ -97,6 +127,7 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 		this.a = a.clone();
 		this.b = b.clone();
 		min = max = null;
+		engine = null;
 	}
 	
 	/**
@@ -119,6 +150,32 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 	 * @throws NegativeArraySizeException if n &lt; 0
 	 */
 	public RealVectorInitializer(int n, double a, double b, double min, double max) {
+		this(n, a, b, min, max, null);
+	}
+	
+	/**
+	 * Construct a RealVectorInitializer that generates
+	 * random solutions such that the values of all n variables are chosen
+	 * uniformly in the interval [a, b), subject to
+	 * bounds [min, max], using a specified source of random numbers.  If this constructor is used, then the 
+	 * {@link #createCandidateSolution} method will return 
+	 * an object of a subclass of {@link RealVector}, which will
+	 * enforce the constraint that the values of the function inputs must
+	 * remain in the interval [min, max] as mutation and other operators
+	 * are applied.
+	 *
+	 * @param n The number of input variables for the function.
+	 * @param a The lower end of the interval (inclusive).
+	 * @param b The upper end of the interval (exclusive).
+	 * @param min Lower bound on allowed values for the function inputs generated.
+	 * @param max Upper bound on allowed values for the function inputs generated.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when this initializer is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if a &ge; b or if min &gt; max
+	 * @throws NegativeArraySizeException if n &lt; 0
+	 */
+	public RealVectorInitializer(int n, double a, double b, double min, double max, RandomEngine engine) {
 		if (a >= b) throw new IllegalArgumentException("a must be less than b");
 		if (min > max) throw new IllegalArgumentException("min must be less than or equal to max");
 		x = new double[n];
@@ -126,6 +183,7 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 		this.b = new double[] { b > max ? max + Math.ulp(max) : b };
 		this.min = new double[] { min };
 		this.max = new double[] { max };
+		this.engine = engine;
 	}
 	
 	/**
@@ -165,6 +223,7 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 		}
 		this.min = new double[] { min };
 		this.max = new double[] { max };
+		engine = null;
 	}
 	
 	/**
@@ -192,6 +251,37 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 	 * exists an i, such that a[i] &ge; b[i] or min[i] &gt; max[i].
 	 */
 	public RealVectorInitializer(double[] a, double[] b, double[] min, double[] max) {
+		this(a, b, min, max, null);
+	}
+	
+	/**
+	 * Construct a RealVectorInitializer that generates
+	 * random solutions such that the values of variable i is chosen
+	 * uniformly in the interval [a[i], b[i]), subject to
+	 * bounds [min[i], max[i]], using a specified source of random numbers.  If this constructor is used, then the 
+	 * {@link #createCandidateSolution} method will return 
+	 * an object of a subclass of {@link RealVector}, which will
+	 * enforce the constraint that the values of the function inputs must
+	 * remain in the interval [min[i], max[i]] as mutation and other operators
+	 * are applied.
+	 *
+	 * @param a An array of the left points of the intervals, inclusive.  The length
+	 * of this array corresponds to the number of input variables for the function
+	 * you are optimizing.  Variable x[i]'s initial value will be at least a[i].
+	 * @param b An array of the right points of the intervals, exclusive.  The length
+	 * of this array corresponds to the number of input variables for the function
+	 * you are optimizing.  Variable x[i]'s initial value will be less than b[i].
+	 * @param min An array of lower bounds on allowed values for the function inputs generated,
+	 * such that x[i] will never be less than min[i].
+	 * @param max An array of upper bounds on allowed values for the function inputs generated,
+	 * such that x[i] will never be greater than max[i].
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when this initializer is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if the lengths of a and b are different; or if there
+	 * exists an i, such that a[i] &ge; b[i] or min[i] &gt; max[i].
+	 */
+	public RealVectorInitializer(double[] a, double[] b, double[] min, double[] max, RandomEngine engine) {
 		if (a.length != b.length || min.length != max.length || a.length != min.length) {
 			throw new IllegalArgumentException("lengths of a, b, min, and max must be identical");
 		}
@@ -212,18 +302,43 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 		}
 		this.min = min.clone();
 		this.max = max.clone();
+		this.engine = engine;
+	}
+	
+	/*
+	 * private for use by split method
+	 */
+	private RealVectorInitializer(RealVectorInitializer other) {
+		x = new double[other.x.length];
+		a = other.a;
+		b = other.b;
+		min = other.min;
+		max = other.max;
+		engine = other.engine.split();
 	}
 	
 	
 	@Override
 	public final RealVector createCandidateSolution() {
-		if (a.length > 1) {
-			for (int i = 0; i < x.length; i++) {
-				x[i] = ThreadLocalRandom.current().nextDouble(a[i],b[i]);
+		if (engine == null) {
+			if (a.length > 1) {
+				for (int i = 0; i < x.length; i++) {
+					x[i] = ThreadLocalRandom.current().nextDouble(a[i],b[i]);
+				}
+			} else {
+				for (int i = 0; i < x.length; i++) {
+					x[i] = ThreadLocalRandom.current().nextDouble(a[0],b[0]);
+				}
 			}
 		} else {
-			for (int i = 0; i < x.length; i++) {
-				x[i] = ThreadLocalRandom.current().nextDouble(a[0],b[0]);
+			if (a.length > 1) {
+				for (int i = 0; i < x.length; i++) {
+					x[i] = nextDouble(engine, a[i], b[i]);
+				}
+			} else {
+				for (int i = 0; i < x.length; i++) {
+					x[i] = nextDouble(engine, a[0], b[0]);
+				}
 			}
 		}
 		if (min != null) {
@@ -235,8 +350,16 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 	
 	@Override
 	public RealVectorInitializer split() {
-		//thread-safe so can simply return this.
-		return this;
+		//thread-safe without an engine so can simply return this.
+		return engine == null ? this : new RealVectorInitializer(this);
+	}
+	
+	/*
+	 * Uniform in [a, b), computed the same way as ThreadLocalRandom's bounded nextDouble.
+	 */
+	private static double nextDouble(Random r, double a, double b) {
+		double v = a + r.nextDouble() * (b - a);
+		return v < b ? v : Math.nextDown(b);
 	}
 	
 	/**
@@ -323,6 +446,23 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 			return new BoundedRealVector(this);
 		}
 		
+		/**
+		 * Copies this object into another object, reusing its memory, if the other
+		 * object has the same bounds as this one; and otherwise constructs a new copy.
+		 * @param target The object to hold the copy.
+		 * @return target if it was compatible, and otherwise a new copy of this object
+		 */
+		@Override
+		public RealVector copyInto(RealVector target) {
+			if (target instanceof BoundedRealVector) {
+				RealVectorInitializer init = ((BoundedRealVector)target).getOuterThis();
+				if (RealVectorInitializer.this == init || min == init.min && max == init.max) {
+					return super.copyInto(target);
+				}
+			}
+			return copy();
+		}
+		
 		private RealVectorInitializer getOuterThis() { return RealVectorInitializer.this; };
 		
 		
@@ -338,7 +478,10 @@ public class RealVectorInitializer implements Initializer<RealVector> {
 		public boolean equals(Object other) {
 			if (!super.equals(other)) return false;
 			BoundedRealVector b = (BoundedRealVector)other;
-			return RealVectorInitializer.this == b.getOuterThis();
+			RealVectorInitializer init = b.getOuterThis();
+			// an initializer split from another shares its bounds arrays
+			return RealVectorInitializer.this == init 
+				|| min == init.min && max == init.max;
 		}
 		
 		/**
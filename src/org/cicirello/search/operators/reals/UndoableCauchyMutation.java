@@ -22,7 +22,7 @@ package org.cicirello.search.operators.reals;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
 import org.cicirello.search.representations.RealValued;
-import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>This class implements Cauchy
@@ -60,7 +60,7 @@ import org.cicirello.math.rand.RandomIndexer;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.30.2020
  */
 public class UndoableCauchyMutation<T extends RealValued> extends CauchyMutation<T> implements UndoableMutationOperator<T> {
 	
@@ -76,6 +76,16 @@ public class UndoableCauchyMutation<T extends RealValued> extends CauchyMutation
 		super(scale);
 	}
 	
+	/*
+	 * Internal constructor.  Constructs a Cauchy mutation operator supporting the undo operation.
+	 * Otherwise, must use the factory methods.
+	 * @param scale The scale parameter of the Cauchy.
+	 * @param engine The source of random numbers, or null for ThreadLocalRandom.
+	 */
+	UndoableCauchyMutation(double scale, RandomEngine engine) { 
+		super(scale, engine);
+	}
+	
 	/*
 	 * internal copy constructor: not a true copy... doesn't copy state related to undo method
 	 */
@@ -103,6 +113,20 @@ public class UndoableCauchyMutation<T extends RealValued> extends CauchyMutation
 		return new UndoableCauchyMutation<T>(scale);
 	}
 	
+	/**
+	 * Creates a Cauchy mutation operator that supports the undo operation, 
+	 * and that uses a specified source of random numbers.
+	 * @param scale The scale parameter of the Cauchy.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split or copied.  If engine is null, ThreadLocalRandom is used.
+	 * @param <T> The specific RealValued type.
+	 * @return A Cauchy mutation operator.
+	 */
+	public static <T extends RealValued> UndoableCauchyMutation<T> createCauchyMutation(double scale, RandomEngine engine) {
+		return new UndoableCauchyMutation<T>(scale, engine);
+	}
+	
 	/**
 	 * Create a Cauchy mutation operator that supports the undo operation.  
 	 * @param scale The scale parameter of the Cauchy mutation.
@@ -171,7 +195,6 @@ public class UndoableCauchyMutation<T extends RealValued> extends CauchyMutation
 		
 		private final int k;
 		private final double p;
-		private int[] indexes;
 		
 		UndoablePartialCauchyMutation(double scale, int k) {
 			super(scale);
@@ -196,16 +219,15 @@ public class UndoableCauchyMutation<T extends RealValued> extends CauchyMutation
 			if (k >= c.length()) {
 				super.mutate(c);
 			} else {
-				indexes = p < 0 
-					? RandomIndexer.sample(c.length(), k, indexes) 
-					: RandomIndexer.sample(c.length(), p);
-				if (previous == null || previous.length < indexes.length) {
-					previous = new double[indexes.length];
+				sampleIndexes(c.length(), k, p);
+				// journal of only the old values at the changed indexes
+				if (previous == null || previous.length < numIndexes()) {
+					previous = new double[numIndexes()];
 				}
-				for (int i = 0; i < indexes.length; i++) {
-					previous[i] = c.get(indexes[i]);
+				for (int i = 0; i < numIndexes(); i++) {
+					previous[i] = c.get(getIndex(i));
 				}
-				internalPartialMutation(c, indexes, previous);
+				internalPartialMutation(c, previous);
 			}
 		}
 		
@@ -214,8 +236,8 @@ public class UndoableCauchyMutation<T extends RealValued> extends CauchyMutation
 			if (k >= c.length()) {
 				super.undo(c);
 			} else {
-				for (int i = 0; i < indexes.length; i++) {
-					c.set(indexes[i], previous[i]);
+				for (int i = 0; i < numIndexes(); i++) {
+					c.set(getIndex(i), previous[i]);
 				}
 			}
 		}
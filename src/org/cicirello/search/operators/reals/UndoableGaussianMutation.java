@@ -22,7 +22,7 @@ package org.cicirello.search.operators.reals;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
 import org.cicirello.search.representations.RealValued;
-import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>This class implements Gaussian
@@ -56,7 +56,7 @@ import org.cicirello.math.rand.RandomIndexer;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.30.2020
  */
 public class UndoableGaussianMutation<T extends RealValued> extends GaussianMutation<T> implements UndoableMutationOperator<T> {
 	
@@ -72,6 +72,16 @@ public class UndoableGaussianMutation<T extends RealValued> extends GaussianMuta
 		super(sigma);
 	}
 	
+	/*
+	 * Internal constructor.  Constructs a Gaussian mutation operator supporting the undo operation.
+	 * Otherwise, must use the factory methods.
+	 * @param sigma The standard deviation of the Gaussian.
+	 * @param engine The source of random numbers, or null for ThreadLocalRandom.
+	 */
+	UndoableGaussianMutation(double sigma, RandomEngine engine) { 
+		super(sigma, engine);
+	}
+	
 	/*
 	 * internal copy constructor: not a true copy... doesn't copy state related to undo method
 	 */
@@ -99,6 +109,20 @@ public class UndoableGaussianMutation<T extends RealValued> extends GaussianMuta
 		return new UndoableGaussianMutation<T>(sigma);
 	}
 	
+	/**
+	 * Creates a Gaussian mutation operator that supports the undo operation, 
+	 * and that uses a specified source of random numbers.
+	 * @param sigma The standard deviation of the Gaussian.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split or copied.  If engine is null, ThreadLocalRandom is used.
+	 * @param <T> The specific RealValued type.
+	 * @return A Gaussian mutation operator.
+	 */
+	public static <T extends RealValued> UndoableGaussianMutation<T> createGaussianMutation(double sigma, RandomEngine engine) {
+		return new UndoableGaussianMutation<T>(sigma, engine);
+	}
+	
 	/**
 	 * Create a Gaussian mutation operator that supports the undo operation.  
 	 * @param sigma The standard deviation of the Gaussian mutation.
@@ -167,7 +191,6 @@ public class UndoableGaussianMutation<T extends RealValued> extends GaussianMuta
 		
 		private final int k;
 		private final double p;
-		private int[] indexes;
 		
 		UndoablePartialGaussianMutation(double sigma, int k) {
 			super(sigma);
@@ -192,16 +215,15 @@ public class UndoableGaussianMutation<T extends RealValued> extends GaussianMuta
 			if (k >= c.length()) {
 				super.mutate(c);
 			} else {
-				indexes = p < 0 
-					? RandomIndexer.sample(c.length(), k, indexes) 
-					: RandomIndexer.sample(c.length(), p);
-				if (previous == null || previous.length < indexes.length) {
-					previous = new double[indexes.length];
+				sampleIndexes(c.length(), k, p);
+				// journal of only the old values at the changed indexes
+				if (previous == null || previous.length < numIndexes()) {
+					previous = new double[numIndexes()];
 				}
-				for (int i = 0; i < indexes.length; i++) {
-					previous[i] = c.get(indexes[i]);
+				for (int i = 0; i < numIndexes(); i++) {
+					previous[i] = c.get(getIndex(i));
 				}
-				internalPartialMutation(c, indexes, previous);
+				internalPartialMutation(c, previous);
 			}
 		}
 		
@@ -210,8 +232,8 @@ public class UndoableGaussianMutation<T extends RealValued> extends GaussianMuta
 			if (k >= c.length()) {
 				super.undo(c);
 			} else {
-				for (int i = 0; i < indexes.length; i++) {
-					c.set(indexes[i], previous[i]);
+				for (int i = 0; i < numIndexes(); i++) {
+					c.set(getIndex(i), previous[i]);
 				}
 			}
 		}
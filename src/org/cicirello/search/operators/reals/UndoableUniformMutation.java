@@ -22,7 +22,7 @@ package org.cicirello.search.operators.reals;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
 import org.cicirello.search.representations.RealValued;
-import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>This class implements a uniform
@@ -51,7 +51,7 @@ import org.cicirello.math.rand.RandomIndexer;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.30.2020
  */
 public class UndoableUniformMutation<T extends RealValued> extends UniformMutation<T> implements UndoableMutationOperator<T> {
 	
@@ -67,6 +67,16 @@ public class UndoableUniformMutation<T extends RealValued> extends UniformMutati
 		super(radius);
 	}
 	
+	/*
+	 * Internal constructor.  Constructs a Uniform mutation operator supporting the undo operation.
+	 * Otherwise, must use the factory methods.
+	 * @param radius The radius parameter of the Uniform.
+	 * @param engine The source of random numbers, or null for ThreadLocalRandom.
+	 */
+	UndoableUniformMutation(double radius, RandomEngine engine) { 
+		super(radius, engine);
+	}
+	
 	/*
 	 * internal copy constructor: not a true copy... doesn't copy state related to undo method
 	 */
@@ -94,6 +104,20 @@ public class UndoableUniformMutation<T extends RealValued> extends UniformMutati
 		return new UndoableUniformMutation<T>(radius);
 	}
 	
+	/**
+	 * Creates a Uniform mutation operator that supports the undo operation, 
+	 * and that uses a specified source of random numbers.
+	 * @param radius The radius parameter of the Uniform.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split or copied.  If engine is null, ThreadLocalRandom is used.
+	 * @param <T> The specific RealValued type.
+	 * @return A Uniform mutation operator.
+	 */
+	public static <T extends RealValued> UndoableUniformMutation<T> createUniformMutation(double radius, RandomEngine engine) {
+		return new UndoableUniformMutation<T>(radius, engine);
+	}
+	
 	/**
 	 * Create a Uniform mutation operator that supports the undo operation.  
 	 * @param radius The radius parameter of the Uniform mutation.
@@ -162,7 +186,6 @@ public class UndoableUniformMutation<T extends RealValued> extends UniformMutati
 		
 		private final int k;
 		private final double p;
-		private int[] indexes;
 		
 		UndoablePartialUniformMutation(double radius, int k) {
 			super(radius);
@@ -187,16 +210,15 @@ public class UndoableUniformMutation<T extends RealValued> extends UniformMutati
 			if (k >= c.length()) {
 				super.mutate(c);
 			} else {
-				indexes = p < 0 
-					? RandomIndexer.sample(c.length(), k, indexes) 
-					: RandomIndexer.sample(c.length(), p);
-				if (previous == null || previous.length < indexes.length) {
-					previous = new double[indexes.length];
+				sampleIndexes(c.length(), k, p);
+				// journal of only the old values at the changed indexes
+				if (previous == null || previous.length < numIndexes()) {
+					previous = new double[numIndexes()];
 				}
-				for (int i = 0; i < indexes.length; i++) {
-					previous[i] = c.get(indexes[i]);
+				for (int i = 0; i < numIndexes(); i++) {
+					previous[i] = c.get(getIndex(i));
 				}
-				internalPartialMutation(c, indexes, previous);
+				internalPartialMutation(c, previous);
 			}
 		}
 		
@@ -205,8 +227,8 @@ public class UndoableUniformMutation<T extends RealValued> extends UniformMutati
 			if (k >= c.length()) {
 				super.undo(c);
 			} else {
-				for (int i = 0; i < indexes.length; i++) {
-					c.set(indexes[i], previous[i]);
+				for (int i = 0; i < numIndexes(); i++) {
+					c.set(getIndex(i), previous[i]);
 				}
 			}
 		}
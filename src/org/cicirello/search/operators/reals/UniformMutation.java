@@ -23,6 +23,9 @@ package org.cicirello.search.operators.reals;
 import org.cicirello.search.operators.MutationOperator;
 import org.cicirello.search.representations.RealValued;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomVariates;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 import org.cicirello.util.Copyable;
 
@@ -48,17 +51,27 @@ import org.cicirello.util.Copyable;
  * <p>To construct a UniformMutation, you must use one of the factory methods.  See
  * the various {@link #createUniformMutation} methods.</p>
  *
+ * <p>By default, the random values are generated with ThreadLocalRandom.  The
+ * {@link #createUniformMutation(double, RandomEngine)} factory method instead
+ * accepts a {@link RandomEngine}, which is split whenever the operator is split or
+ * copied, so that every thread's copy of the operator has its own independent
+ * and reproducible stream of random numbers.</p>
+ *
  * @param <T> The specific RealValued type.
  *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.30.2020
  */
 public class UniformMutation<T extends RealValued> implements MutationOperator<T>, RealValued, Copyable<UniformMutation<T>> {
 	
 	private double radius;
+	private final RandomEngine engine;
+	// indexes changed by the most recent partial mutation, reused across calls
+	private int[] indexes;
+	private int numIndexes;
 	
 	/*
 	 * Internal constructor.  Constructs a Uniform mutation operator.
@@ -66,7 +79,18 @@ public class UniformMutation<T extends RealValued> implements MutationOperator<T
 	 * @param radius The radius parameter of the Uniform.
 	 */
 	UniformMutation(double radius) { 
+		this(radius, null);
+	}
+	
+	/*
+	 * Internal constructor.  Constructs a Uniform mutation operator.
+	 * Otherwise, must use the factory methods.
+	 * @param radius The radius parameter of the Uniform.
+	 * @param engine The source of random numbers, or null for ThreadLocalRandom.
+	 */
+	UniformMutation(double radius, RandomEngine engine) { 
 		this.radius = radius;
+		this.engine = engine;
 	}
 	
 	/*
@@ -74,6 +98,7 @@ public class UniformMutation<T extends RealValued> implements MutationOperator<T
 	 */
 	UniformMutation(UniformMutation<T> other) {
 		radius = other.radius;
+		engine = other.engine != null ? other.engine.split() : null;
 	}
 	
 	/**
@@ -95,6 +120,19 @@ public class UniformMutation<T extends RealValued> implements MutationOperator<T
 		return new UniformMutation<T>(radius);
 	}
 	
+	/**
+	 * Creates a Uniform mutation operator that uses a specified source of random numbers.
+	 * @param radius The radius parameter of the Uniform.
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the operator is split or copied.  If engine is null, ThreadLocalRandom is used.
+	 * @param <T> The specific RealValued type.
+	 * @return A Uniform mutation operator.
+	 */
+	public static <T extends RealValued> UniformMutation<T> createUniformMutation(double radius, RandomEngine engine) {
+		return new UniformMutation<T>(radius, engine);
+	}
+	
 	/**
 	 * Create a Uniform mutation operator.  
 	 * @param radius The radius parameter of the Uniform mutation.
@@ -128,8 +166,9 @@ public class UniformMutation<T extends RealValued> implements MutationOperator<T
 	@Override
 	public void mutate(T c) {
 		final int n = c.length();
+		final Random r = random();
 		for (int i = 0; i < n; i++) {
-			c.set(i, c.get(i) + 2 * radius * ThreadLocalRandom.current().nextDouble() - radius);
+			c.set(i, c.get(i) + 2 * radius * r.nextDouble() - radius);
 		}
 	}
 	
@@ -213,28 +252,64 @@ public class UniformMutation<T extends RealValued> implements MutationOperator<T
 	}
 	
 	final void internalMutate(T c, double[] old) {
+		final Random r = random();
 		for (int i = 0; i < old.length; i++) {
-			c.set(i, old[i] + 2 * radius * ThreadLocalRandom.current().nextDouble() - radius);
+			c.set(i, old[i] + 2 * radius * r.nextDouble() - radius);
 		}
 	}
 	
 	final void internalMutate(T c, double old) {
-		c.set(0, old + 2 * radius * ThreadLocalRandom.current().nextDouble() - radius);
+		c.set(0, old + 2 * radius * random().nextDouble() - radius);
 	}
 	
-	final void internalPartialMutation(T c, int[] indexes) {
-		for (int j = 0; j < indexes.length; j++) {
+	/*
+	 * Chooses the indexes for a partial mutation: k of them if p is negative, and otherwise
+	 * each with probability p.  The indexes are in the first numIndexes elements of the
+	 * reusable indexes array, which serves as the undo journal of the undoable operators.
+	 */
+	final void sampleIndexes(int n, int k, double p) {
+		final Random r = random();
+		numIndexes = p < 0 ? k : RandomVariates.nextBinomial(n, p, r);
+		indexes = RandomIndexer.sample(n, numIndexes, indexes, r);
+	}
+	
+	/*
+	 * Gets the number of indexes changed by the most recent partial mutation.
+	 */
+	final int numIndexes() {
+		return numIndexes;
+	}
+	
+	/*
+	 * Gets the j-th index changed by the most recent partial mutation.
+	 */
+	final int getIndex(int j) {
+		return indexes[j];
+	}
+	
+	final void internalPartialMutation(T c) {
+		final Random r = random();
+		for (int j = 0; j < numIndexes; j++) {
 			int i = indexes[j];
-			c.set(i, c.get(i) + 2 * radius * ThreadLocalRandom.current().nextDouble() - radius);
+			c.set(i, c.get(i) + 2 * radius * r.nextDouble() - radius);
 		}
 	}
 	
-	final void internalPartialMutation(T c, int[] indexes, double[] old) {
-		for (int j = 0; j < indexes.length; j++) {
-			c.set(indexes[j], old[j] + 2 * radius * ThreadLocalRandom.current().nextDouble() - radius);
+	final void internalPartialMutation(T c, double[] old) {
+		final Random r = random();
+		for (int j = 0; j < numIndexes; j++) {
+			c.set(indexes[j], old[j] + 2 * radius * r.nextDouble() - radius);
 		}
 	}
 	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.
+	 */
+	private Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
 	private static final class PartialUniformMutation<T extends RealValued> extends UniformMutation<T> {
 		
 		private final int k;
@@ -263,10 +338,8 @@ public class UniformMutation<T extends RealValued> implements MutationOperator<T
 			if (k >= c.length()) {
 				super.mutate(c);
 			} else {
-				int[] indexes = p < 0 
-					? RandomIndexer.sample(c.length(), k, (int[])null) 
-					: RandomIndexer.sample(c.length(), p);
-				internalPartialMutation(c, indexes);
+				sampleIndexes(c.length(), k, p);
+				internalPartialMutation(c);
 			}
 		}
 		
@@ -0,0 +1,153 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems;
+
+import org.cicirello.util.Copyable;
+
+/**
+ * <p>A CachedOptimizationProblem is a decorator of an {@link OptimizationProblem} that caches the costs
+ * of the solutions that it evaluates, such that a solution that is evaluated again while it
+ * is still in the cache is not re-evaluated by the underlying problem.  This is beneficial when
+ * evaluating the cost of a solution is expensive (e.g., a simulation), and a search re-evaluates
+ * many of the same solutions, such as simulated annealing at low temperature, or a hill
+ * climber that re-evaluates the same neighbors.</p>
+ *
+ * <p>The cache holds copies of at most (approximately) a specified number of solutions, 
+ * identified by their hashCode and equals methods, so the type of solution must implement 
+ * those methods consistently with its cost.  When full, it evicts solutions 
+ * with the CLOCK policy, an approximation of least recently used, such that a solution
+ * must be found in the cache again after it is added in order to survive the next sweep of
+ * the clock.  If the type of solution implements 
+ * {@link org.cicirello.util.CopyableInto CopyableInto}, the copy of
+ * an evicted solution is reused for the copy of the solution that replaces it.</p>
+ *
+ * <p>A CachedOptimizationProblem is thread-safe, so a single instance can be shared by all
+ * of the threads of a multithreaded search, such as by the instances split from a 
+ * search algorithm, which then share the cache.  The cache is divided into 
+ * independently locked segments, and no lock is held while the underlying problem 
+ * evaluates a solution.  Two threads that evaluate the same solution at 
+ * the same time may both evaluate it.  Only the {@link #cost cost} method is cached.  The 
+ * {@link #value value} method, as well as the {@link #minCost minCost} and {@link #isMinCost isMinCost}
+ * methods, delegate to the underlying problem.</p>
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.2.2020
+ */
+public final class CachedOptimizationProblem<T extends Copyable<T>> implements OptimizationProblem<T> {
+	
+	private final OptimizationProblem<T> problem;
+	private final EvaluationCache<T> cache;
+	
+	/**
+	 * Constructs a cache of the costs of the solutions of a problem.
+	 * @param problem The problem, whose cost method is cached.
+	 * @param capacity The maximum number of solutions in the cache.  The actual capacity 
+	 * may be slightly higher, to divide it evenly among the segments of the cache 
+	 * (see {@link #capacity}).
+	 * @throws IllegalArgumentException if capacity &lt; 1
+	 * @throws NullPointerException if problem is null
+	 */
+	public CachedOptimizationProblem(final OptimizationProblem<T> problem, int capacity) {
+		if (problem == null) throw new NullPointerException("problem must be non-null");
+		this.problem = problem;
+		cache = new EvaluationCache<T>(capacity) {
+			@Override
+			long evaluate(T candidate) {
+				return Double.doubleToRawLongBits(problem.cost(candidate));
+			}
+		};
+	}
+	
+	@Override
+	public double cost(T candidate) {
+		return Double.longBitsToDouble(cache.cost(candidate));
+	}
+	
+	@Override
+	public double minCost() { 
+		return problem.minCost(); 
+	}
+	
+	@Override
+	public boolean isMinCost(double cost) {
+		return problem.isMinCost(cost);
+	}
+	
+	@Override
+	public double value(T candidate) {
+		return problem.value(candidate);
+	}
+	
+	/**
+	 * Gets the number of calls to the {@link #cost cost} method that found the
+	 * solution in the cache.
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		return cache.getHits();
+	}
+	
+	/**
+	 * Gets the number of calls to the {@link #cost cost} method that did not find the
+	 * solution in the cache, and therefore evaluated it with the underlying problem.
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		return cache.getMisses();
+	}
+	
+	/**
+	 * Gets the number of solutions that have been evicted from the cache to make
+	 * room for other solutions.
+	 * @return the number of evictions
+	 */
+	public long getEvictions() {
+		return cache.getEvictions();
+	}
+	
+	/**
+	 * Gets the number of solutions currently in the cache.
+	 * @return the number of solutions in the cache
+	 */
+	public int size() {
+		return cache.size();
+	}
+	
+	/**
+	 * Gets the maximum number of solutions that the cache can hold.
+	 * @return the capacity of the cache
+	 */
+	public int capacity() {
+		return cache.capacity();
+	}
+	
+	/**
+	 * Removes all solutions from the cache, such as if the underlying problem 
+	 * changes.  The counts of hits, misses, and evictions are not reset.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems;
+
+import org.cicirello.util.Copyable;
+import org.cicirello.util.CopyableInto;
+import java.util.HashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Internal bounded, thread-safe cache of the costs of solutions, for the
+ * {@link CachedIntegerCostOptimizationProblem} and {@link CachedOptimizationProblem}
+ * classes.  Costs are stored as longs, and computed on a miss by the {@link #evaluate}
+ * method.  The cache is divided into segments by the hash codes of the solutions, each of 
+ * which is guarded by its own lock and evicts with the CLOCK policy (an approximation of
+ * least recently used).  The lock is not held while evaluating a solution.
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.2.2020
+ */
+abstract class EvaluationCache<T extends Copyable<T>> {
+	
+	private final Segment<T>[] segments;
+	private final int mask;
+	private final int capacity;
+	private final LongAdder hits;
+	private final LongAdder misses;
+	private final LongAdder evictions;
+	
+	/*
+	 * The number of segments is the largest power of 2 that is at most 4 times 
+	 * the number of processors, with at least 16 entries per segment.
+	 */
+	@SuppressWarnings("unchecked")
+	EvaluationCache(int capacity) {
+		if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+		int maxSegments = Math.min(capacity >> 4, 4 * Runtime.getRuntime().availableProcessors());
+		int numSegments = maxSegments > 1 ? Integer.highestOneBit(maxSegments) : 1;
+		segments = (Segment<T>[])new Segment[numSegments];
+		int segmentCapacity = (capacity + numSegments - 1) / numSegments;
+		for (int i = 0; i < numSegments; i++) {
+			segments[i] = new Segment<T>(segmentCapacity);
+		}
+		mask = numSegments - 1;
+		this.capacity = segmentCapacity * numSegments;
+		hits = new LongAdder();
+		misses = new LongAdder();
+		evictions = new LongAdder();
+	}
+	
+	/*
+	 * Computes the cost of a solution that is not in the cache.
+	 */
+	abstract long evaluate(T candidate);
+	
+	/*
+	 * Gets the cost of a solution, from the cache if present, and otherwise
+	 * by evaluating it and adding a copy of it to the cache.
+	 */
+	final long cost(T candidate) {
+		int h = candidate.hashCode();
+		// spread the high bits of the hash to the low bits that select the segment
+		Segment<T> s = segments[(h ^ (h >>> 16)) & mask];
+		synchronized (s) {
+			Entry<T> e = s.map.get(candidate);
+			if (e != null) {
+				e.referenced = true;
+				hits.increment();
+				return e.cost;
+			}
+		}
+		misses.increment();
+		long cost = evaluate(candidate);
+		synchronized (s) {
+			// another thread may have added it while this one evaluated it
+			if (!s.map.containsKey(candidate)) {
+				if (s.add(candidate, cost)) evictions.increment();
+			}
+		}
+		return cost;
+	}
+	
+	final long getHits() {
+		return hits.sum();
+	}
+	
+	final long getMisses() {
+		return misses.sum();
+	}
+	
+	final long getEvictions() {
+		return evictions.sum();
+	}
+	
+	final int capacity() {
+		return capacity;
+	}
+	
+	final int size() {
+		int size = 0;
+		for (Segment<T> s : segments) {
+			synchronized (s) {
+				size += s.map.size();
+			}
+		}
+		return size;
+	}
+	
+	final void clear() {
+		for (Segment<T> s : segments) {
+			synchronized (s) {
+				s.clear();
+			}
+		}
+	}
+	
+	private static final class Entry<T> {
+		private T solution;
+		private long cost;
+		private boolean referenced;
+	}
+	
+	/*
+	 * A segment of the cache, with CLOCK eviction.  All access must be synchronized 
+	 * on the segment.
+	 */
+	private static final class Segment<T extends Copyable<T>> {
+		
+		private final HashMap<T, Entry<T>> map;
+		private final Entry<T>[] clock;
+		private int hand;
+		private int size;
+		
+		@SuppressWarnings("unchecked")
+		Segment(int capacity) {
+			map = new HashMap<T, Entry<T>>((capacity << 2) / 3 + 1);
+			clock = (Entry<T>[])new Entry[capacity];
+		}
+		
+		/*
+		 * Adds a copy of a solution that is not in the segment, and returns true 
+		 * if it evicted another solution to do so.
+		 */
+		@SuppressWarnings("unchecked")
+		boolean add(T candidate, long cost) {
+			if (size < clock.length) {
+				Entry<T> e = new Entry<T>();
+				e.solution = candidate.copy();
+				e.cost = cost;
+				clock[size] = e;
+				size++;
+				map.put(e.solution, e);
+				return false;
+			}
+			// CLOCK: sweep the hand past recently used entries, giving each a second chance
+			while (clock[hand].referenced) {
+				clock[hand].referenced = false;
+				hand = hand + 1 < clock.length ? hand + 1 : 0;
+			}
+			Entry<T> e = clock[hand];
+			hand = hand + 1 < clock.length ? hand + 1 : 0;
+			map.remove(e.solution);
+			// reuse the evicted solution's memory for the copy if possible
+			e.solution = candidate instanceof CopyableInto 
+				? ((CopyableInto<T>)candidate).copyInto(e.solution) 
+				: candidate.copy();
+			e.cost = cost;
+			map.put(e.solution, e);
+			return true;
+		}
+		
+		void clear() {
+			map.clear();
+			for (int i = 0; i < size; i++) clock[i] = null;
+			size = 0;
+			hand = 0;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems;
+
+import org.cicirello.util.Copyable;
+import org.cicirello.search.operators.Move;
+
+/**
+ * <p>The IncrementalOptimizationProblem interface is for 
+ * optimization problems that are able to compute the change in cost 
+ * caused by a mutation more efficiently than recomputing the cost of 
+ * the entire mutated solution.  For example, if the cost function is a sum of
+ * terms that each depend upon a small number of components of the solution,
+ * then the change in cost caused by altering one component requires only recomputing
+ * the terms that depend upon that component.</p>
+ *
+ * <p>Metaheuristics that support delta evaluation, such as 
+ * {@link org.cicirello.search.sa.SimulatedAnnealing SimulatedAnnealing}, detect this
+ * interface at runtime.  When the problem implements it, and the mutation operator 
+ * implements {@link org.cicirello.search.operators.MoveMutationOperator MoveMutationOperator},
+ * the search computes the cost of each neighbor with the {@link #costDelta costDelta} method
+ * instead of the {@link #cost cost} method.</p>
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.13.2020
+ */
+public interface IncrementalOptimizationProblem<T extends Copyable<T>> extends OptimizationProblem<T> {
+	
+	/**
+	 * Computes the change in cost that would result from applying a {@link Move}
+	 * to a candidate solution.  That is, if c' is the result of applying move to candidate,
+	 * then this method computes cost(c') - cost(candidate).  Implementations must
+	 * not change the state of the candidate solution, and must
+	 * not keep a reference to the move, which may be reused by the operator that created it.
+	 * 
+	 * @param candidate The candidate solution, prior to applying the move.
+	 * @param move The move, which has not been applied to candidate.
+	 * @return The change in cost that results from applying move to candidate.
+	 * Negative values indicate that the move improves the candidate solution.
+	 */
+	double costDelta(T candidate, Move<T> move);
+}
@@ -40,11 +40,16 @@ import org.cicirello.search.representations.BitVector;
  * a cost function, the {@link #cost cost} method counts the number
  * of bits not equal to 1, where the minimum cost is thus 0.</p>
  *
+ * <p>Both methods take constant time for BitVectors that track their counts of 1 bits
+ * (see {@link BitVector#BitVector(int, boolean, boolean)} and 
+ * {@link org.cicirello.search.operators.bits.BitVectorInitializer#BitVectorInitializer(int, boolean)}),
+ * and otherwise take time linear in the length of the BitVector.</p>
+ *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.11.2020
+ * @version 7.28.2020
  */
 public final class OneMax implements IntegerCostOptimizationProblem<BitVector> {
 	
@@ -22,6 +22,8 @@ package org.cicirello.search.problems;
 
 import org.cicirello.util.Copyable;
 import org.cicirello.search.SolutionCostPair;
+import java.util.List;
+import java.util.ArrayList;
 
 /**
  * <p>The OptimizationProblem interface provides search algorithms with a way
@@ -57,7 +59,7 @@ import org.cicirello.search.SolutionCostPair;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.15.2020
+ * @version 8.3.2020
  */
 public interface OptimizationProblem<T extends Copyable<T>> extends Problem<T> {
 	
@@ -70,6 +72,27 @@ public interface OptimizationProblem<T extends Copyable<T>> extends Problem<T> {
 	 */
 	double cost(T candidate);
 	
+	/**
+	 * <p>Computes the costs of a batch of candidate solutions to the problem instance.
+	 * Override this method if the problem can evaluate several candidate solutions
+	 * more efficiently together than one at a time, in which case you should also
+	 * override {@link #preferredBatchSize preferredBatchSize}.
+	 * The default implementation calls {@link #cost(Copyable) cost(T)} 
+	 * for each candidate solution in order.</p>
+	 * 
+	 * @param candidates The candidate solutions to evaluate.
+	 * @param costs An array for the costs of the candidate solutions, such that costs[i] is set
+	 * to the cost of candidates.get(i).  Its length must be at least the number of candidates.
+	 * @throws ArrayIndexOutOfBoundsException if costs.length &lt; candidates.size()
+	 */
+	default void costs(List<T> candidates, double[] costs) {
+		int i = 0;
+		for (T candidate : candidates) {
+			costs[i] = cost(candidate);
+			i++;
+		}
+	}
+	
 	/**
 	 * A lower bound on the minimum theoretical cost across all possible solutions
 	 * to the problem instance, where lower cost implies better solution. 
@@ -108,4 +131,22 @@ public interface OptimizationProblem<T extends Copyable<T>> extends Problem<T> {
 	default SolutionCostPair<T> getSolutionCostPair(T candidate) {
 		return new SolutionCostPair<T>(candidate, cost(candidate));
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The default implementation delegates work to the {@link #costs costs} method.</p>
+	 */
+	@Override
+	default List<SolutionCostPair<T>> getSolutionCostPairs(List<T> candidates) {
+		double[] costs = new double[candidates.size()];
+		costs(candidates, costs);
+		ArrayList<SolutionCostPair<T>> pairs = new ArrayList<SolutionCostPair<T>>(costs.length);
+		int i = 0;
+		for (T candidate : candidates) {
+			pairs.add(new SolutionCostPair<T>(candidate, costs[i]));
+			i++;
+		}
+		return pairs;
+	}
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ package org.cicirello.search.problems;
 
 import org.cicirello.util.Copyable;
 import org.cicirello.search.SolutionCostPair;
+import java.util.List;
+import java.util.ArrayList;
 
 /**
  * Base interface for all interfaces defining types of problems supported
@@ -32,7 +34,7 @@ import org.cicirello.search.SolutionCostPair;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.15.2020
+ * @version 8.3.2020
  */
 public interface Problem<T extends Copyable<T>> {
 	
@@ -45,4 +47,41 @@ public interface Problem<T extends Copyable<T>> {
 	 * and the cost of that candidate solution.  Lower cost means better solution.
 	 */
 	SolutionCostPair<T> getSolutionCostPair(T candidate);
+	
+	/**
+	 * <p>Computes the costs of a batch of candidate solutions to the problem instance.
+	 * Searches that generate several candidate solutions before they need any of their
+	 * costs use this method to give the problem the opportunity to evaluate them together,
+	 * such as to amortize setup shared by the evaluations, or to evaluate them in parallel.</p>
+	 *
+	 * <p>The default implementation calls {@link #getSolutionCostPair getSolutionCostPair} 
+	 * for each candidate solution in order.</p>
+	 * 
+	 * @param candidates The candidate solutions to evaluate.
+	 * @return A list of SolutionCostPair objects, one for each of the candidate solutions, and 
+	 * in the same order as the candidates.
+	 */
+	default List<SolutionCostPair<T>> getSolutionCostPairs(List<T> candidates) {
+		ArrayList<SolutionCostPair<T>> pairs = new ArrayList<SolutionCostPair<T>>(candidates.size());
+		for (T candidate : candidates) {
+			pairs.add(getSolutionCostPair(candidate));
+		}
+		return pairs;
+	}
+	
+	/**
+	 * <p>Gets the number of candidate solutions that a search should evaluate together
+	 * in each call to the batch evaluation methods, when the search is able to choose.
+	 * Searches that must copy candidate solutions in order to evaluate them in batches,
+	 * such as searches that otherwise mutate and evaluate a single candidate solution in place, 
+	 * only do so if this is greater than 1.  The value must not change over the
+	 * lifetime of the problem instance.</p>
+	 *
+	 * <p>The default implementation returns 1, which is appropriate for a problem
+	 * that gains nothing from evaluating candidate solutions in batches.</p>
+	 *
+	 * @return the preferred number of candidate solutions per batch, which must be at least 1.  
+	 * Searches treat a value less than 1 as if it were 1.
+	 */
+	default int preferredBatchSize() { return 1; }
 }
\ No newline at end of file
@@ -21,8 +21,15 @@
 package org.cicirello.search.representations;
 
 import java.util.concurrent.ThreadLocalRandom;
-import org.cicirello.util.Copyable;
 import java.util.Arrays;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.cicirello.util.CopyableInto;
 
 /**
  * A BitVector is an indexable vector of bits.  It supports operations for manipulating the bits in
@@ -30,18 +37,42 @@ import java.util.Arrays;
  * bitwise operators (and, or, xor) between pairs of equal length BitVectors, etc.  It also supports
  * iterating over the bits, either one bit at a time, or groups of bits.  Indexes into a BitVector
  * begin at 0, and index 0 refers to the least significant bit (&quot;right-most&quot; bit).
+ * The bits are stored in 64-bit words, such that the bulk operations (e.g., counting
+ * the 1 bits, the bitwise operators, and the shifts) process 64 bits at a time.
+ * A BitVector can optionally track its count of 1 bits as it changes (see the 
+ * {@link #BitVector(int, boolean, boolean)} constructor), in which case {@link #countOnes}
+ * and {@link #countZeros} run in constant time, at the cost of a little extra work 
+ * in the methods that change bits.
+ *
+ * <p>The bits of a BitVector are normally stored in an array on the Java heap.  For
+ * very long BitVectors, the {@link #createOffHeap createOffHeap} and 
+ * {@link #createMemoryMapped createMemoryMapped} factory methods instead store
+ * the bits outside of the heap, either in native memory or in a memory-mapped file,
+ * such that they do not contribute to garbage collection pressure.  Such BitVectors
+ * support all of the same operations, and can be mutated by the operators of 
+ * the {@link org.cicirello.search.operators.bits} package.</p>
  *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.31.2020
  */
-public final class BitVector implements Copyable<BitVector> {
+public final class BitVector implements CopyableInto<BitVector> {
 	
-	private final int[] bits;
+	// exactly one of bits and words is non-null, depending upon whether the
+	// bits are stored on the heap or off the heap
+	private final long[] bits;
+	private final LongBuffer words;
+	private final int numWords;
 	private final int bitLength;
+	// number of 32-bit blocks, for the methods that operate on blocks of 32 bits
+	private final int numInts;
 	private final int lastIntMask;
+	private final long lastWordMask;
+	// if trackOnes, then ones is the current count of 1 bits
+	private final boolean trackOnes;
+	private int ones;
 	
 	/**
 	 * Initializes the bit vector to a vector of all 0 bits.
@@ -64,16 +95,95 @@ public final class BitVector implements Copyable<BitVector> {
 	 * @throws IllegalArgumentException if bitLength &lt; 0.
 	 */
 	public BitVector(int bitLength, boolean randomize) {
-		if (bitLength < 0) throw new IllegalArgumentException("bitLength must be non-negative");
-		bits = new int[(bitLength + 31) >> 5];
+		this(bitLength, randomize, false);
+	}
+	
+	/**
+	 * Initializes the bit vector, optionally tracking its count of 1 bits.
+	 *
+	 * @param bitLength The length of the bit vector in number of bits.
+	 * @param randomize if true, then the vector is initialized with random bit values;
+	 * and otherwise initializes it to a vector of all 0 bits.
+	 * @param trackOnes if true, then the BitVector maintains its count of 1 bits
+	 * incrementally as bits are changed, such that {@link #countOnes} and {@link #countZeros}
+	 * take constant time.  This is beneficial when there are many calls to those methods
+	 * between few bit changes, such as when computing the cost function of the 
+	 * {@link org.cicirello.search.problems.OneMax OneMax} problem after a mutation.  Copies
+	 * of the BitVector also track their counts.
+	 *
+	 * @throws IllegalArgumentException if bitLength &lt; 0.
+	 */
+	public BitVector(int bitLength, boolean randomize, boolean trackOnes) {
+		this(bitLength, new long[numWords(bitLength)], null, randomize, trackOnes);
+	}
+	
+	/**
+	 * Creates a BitVector whose bits are stored off of the Java heap, in 
+	 * native memory.  The bits are released when the BitVector is garbage collected.
+	 *
+	 * @param bitLength The length of the bit vector in number of bits.
+	 * @param randomize if true, then the vector is initialized with random bit values;
+	 * and otherwise initializes it to a vector of all 0 bits.
+	 * @param trackOnes if true, then the BitVector maintains its count of 1 bits
+	 * incrementally (see {@link #BitVector(int, boolean, boolean)}).
+	 * @return a BitVector whose bits are stored off of the heap
+	 *
+	 * @throws IllegalArgumentException if bitLength &lt; 0.
+	 */
+	public static BitVector createOffHeap(int bitLength, boolean randomize, boolean trackOnes) {
+		return new BitVector(bitLength, null, allocateDirect(numWords(bitLength)), randomize, trackOnes);
+	}
+	
+	/**
+	 * Creates a BitVector whose bits are stored in a memory-mapped file.  If the file
+	 * already exists, then the BitVector is initialized from its first 8*ceil(bitLength/64) bytes,
+	 * extending the file with 0 bits if it is shorter than that; and otherwise the file is
+	 * created and the BitVector is initialized to all 0 bits.  Changes to the bits of the
+	 * BitVector are written through to the file.  The bits are stored in
+	 * little-endian order of 64-bit words, such that the files are portable.
+	 * Note that copies of a memory-mapped BitVector (see {@link #copy}) are stored
+	 * in native memory rather than in a file.
+	 *
+	 * @param file The path to the file.
+	 * @param bitLength The length of the bit vector in number of bits.
+	 * @param trackOnes if true, then the BitVector maintains its count of 1 bits
+	 * incrementally (see {@link #BitVector(int, boolean, boolean)}).
+	 * @return a BitVector whose bits are stored in the file
+	 *
+	 * @throws IllegalArgumentException if bitLength &lt; 0.
+	 * @throws IOException if the file cannot be opened or mapped.
+	 */
+	public static BitVector createMemoryMapped(Path file, int bitLength, boolean trackOnes) throws IOException {
+		int n = numWords(bitLength);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			// the mapping remains valid after the channel is closed
+			LongBuffer words = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long)n << 3).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+			return new BitVector(bitLength, null, words, false, trackOnes);
+		}
+	}
+	
+	/*
+	 * Internal constructor, where exactly one of bits and words is non-null.
+	 */
+	private BitVector(int bitLength, long[] bits, LongBuffer words, boolean randomize, boolean trackOnes) {
+		this.bits = bits;
+		this.words = words;
+		numWords = (bitLength + 63) >> 6;
 		this.bitLength = bitLength;
-		lastIntMask = 0xffffffff >>> ((bits.length << 5) - bitLength);
-		if (randomize && bits.length > 0) {
-			for (int i = 0; i < bits.length; i++) {
-				bits[i] = ThreadLocalRandom.current().nextInt();
+		numInts = (bitLength + 31) >> 5;
+		lastIntMask = 0xffffffff >>> ((numInts << 5) - bitLength);
+		lastWordMask = 0xffffffffffffffffL >>> ((numWords << 6) - bitLength);
+		if (numWords > 0) {
+			if (randomize) {
+				for (int i = 0; i < numWords; i++) {
+					setWord(i, ThreadLocalRandom.current().nextLong());
+				}
 			}
-			bits[bits.length-1] &= lastIntMask;
+			// a memory-mapped file may contain bits beyond the length
+			setWord(numWords-1, word(numWords-1) & lastWordMask);
 		}
+		this.trackOnes = trackOnes;
+		if (trackOnes) ones = popcount();
 	}
 	
 	/**
@@ -89,19 +199,42 @@ public final class BitVector implements Copyable<BitVector> {
 	public BitVector(int bitLength, int[] bits) {
 		if (bitLength < 0) throw new IllegalArgumentException("bitLength must be non-negative");
 		if (((bitLength + 31) >> 5) != bits.length) throw new IllegalArgumentException("bits.length is inconsistent with bitLength");
-		this.bits = bits.clone();
+		numWords = (bitLength + 63) >> 6;
+		this.bits = new long[numWords];
+		words = null;
 		this.bitLength = bitLength;
-		lastIntMask = 0xffffffff >>> ((bits.length << 5) - bitLength);
-		this.bits[this.bits.length-1] &= lastIntMask;
+		numInts = bits.length;
+		lastIntMask = 0xffffffff >>> ((numInts << 5) - bitLength);
+		lastWordMask = 0xffffffffffffffffL >>> ((numWords << 6) - bitLength);
+		trackOnes = false;
+		for (int i = 0; i < numInts; i++) {
+			set32(i, bits[i]);
+		}
 	}
 	
 	/*
 	 * Internal copy constructor.
 	 */
 	private BitVector(BitVector other) {
-		bits = other.bits.clone();
+		if (other.bits != null) {
+			bits = other.bits.clone();
+			words = null;
+		} else {
+			bits = null;
+			words = allocateDirect(other.numWords);
+			// bulk copy of the native memory
+			LongBuffer source = other.words.duplicate();
+			source.clear();
+			words.put(source);
+			words.clear();
+		}
+		numWords = other.numWords;
 		bitLength = other.bitLength;
+		numInts = other.numInts;
 		lastIntMask = other.lastIntMask;
+		lastWordMask = other.lastWordMask;
+		trackOnes = other.trackOnes;
+		ones = other.ones;
 	}
 	
 	/**
@@ -111,6 +244,16 @@ public final class BitVector implements Copyable<BitVector> {
 	public int length() {
 		return bitLength;
 	}
+	
+	/**
+	 * Checks whether the bits of this BitVector are stored off of the Java heap,
+	 * such as a BitVector created by {@link #createOffHeap createOffHeap} or
+	 * {@link #createMemoryMapped createMemoryMapped}.
+	 * @return true if and only if the bits are stored off of the heap
+	 */
+	public boolean isOffHeap() {
+		return bits == null;
+	}
 
 	/**
 	 * Gets the value of the bit at a designated index.
@@ -125,8 +268,8 @@ public final class BitVector implements Copyable<BitVector> {
 		if (index < 0 || index >= bitLength) {
 			throw new IndexOutOfBoundsException("index is not in the bounds of the BitVector");
 		}
-		int i = index >> 5;
-		return (bits[i] >>> (index - (i << 5))) & 1;
+		// shift distances of longs use only the low 6 bits of index
+		return (int)(word(index >> 6) >>> index) & 1;
 	}
 	
 	/**
@@ -142,12 +285,13 @@ public final class BitVector implements Copyable<BitVector> {
 		if (index < 0 || index >= bitLength) {
 			throw new IndexOutOfBoundsException("index is not in the bounds of the BitVector");
 		}
-		int i = index >> 5;
-		int value = bitValue & 1;
-		if (value == 0) {
-			bits[i] &= ~(1 << (index - (i << 5)));
+		if (trackOnes) {
+			ones += (bitValue & 1) - ((int)(word(index >> 6) >>> index) & 1);
+		}
+		if ((bitValue & 1) == 0) {
+			setWord(index >> 6, word(index >> 6) & ~(1L << index));
 		} else {
-			bits[i] |= (1 << (index - (i << 5)));
+			setWord(index >> 6, word(index >> 6) | (1L << index));
 		}
 	}
 	
@@ -163,8 +307,11 @@ public final class BitVector implements Copyable<BitVector> {
 		if (index < 0 || index >= bitLength) {
 			throw new IndexOutOfBoundsException("index is not in the bounds of the BitVector");
 		}
-		int i = index >> 5;
-		bits[i] ^= (1 << (index - (i << 5)));
+		long w = word(index >> 6) ^ (1L << index);
+		setWord(index >> 6, w);
+		if (trackOnes) {
+			ones += ((w >>> index) & 1) != 0 ? 1 : -1;
+		}
 	}
 	
 	/**
@@ -207,10 +354,10 @@ public final class BitVector implements Copyable<BitVector> {
 	 * @throws IndexOutOfBoundsException if i is negative, or if 32*i &ge; length()
 	 */
 	public int get32(int i) {
-		if (i < 0 || i >= bits.length) {
+		if (i < 0 || i >= numInts) {
 			throw new IndexOutOfBoundsException("i is not in the bounds of the BitVector");
 		}
-		return bits[i];
+		return int32(i);
 	}
 	
 	/**
@@ -229,11 +376,77 @@ public final class BitVector implements Copyable<BitVector> {
 	 * @throws IndexOutOfBoundsException if i is negative, or if 32*i &ge; length()
 	 */
 	public void set32(int i, int block) {
-		if (i < 0 || i >= bits.length) {
+		if (i < 0 || i >= numInts) {
 			throw new IndexOutOfBoundsException("i is not in the bounds of the BitVector");
 		}
-		if (i == bits.length-1) block &= lastIntMask;
-		bits[i] = block;
+		if (i == numInts-1) block &= lastIntMask;
+		if (trackOnes) {
+			ones += Integer.bitCount(block) - Integer.bitCount(int32(i));
+		}
+		int j = i >> 1;
+		if ((i & 1) == 0) {
+			setWord(j, (word(j) & 0xffffffff00000000L) | (block & 0xffffffffL));
+		} else {
+			setWord(j, (word(j) & 0xffffffffL) | ((long)block << 32));
+		}
+	}
+	
+	/*
+	 * The i-th block of 32 bits, without bounds checking.
+	 */
+	private int int32(int i) {
+		return (int)(word(i >> 1) >>> ((i & 1) << 5));
+	}
+	
+	/*
+	 * The i-th 64-bit word, without bounds checking.  The check for
+	 * where the bits are stored is loop invariant, and is predictable.
+	 */
+	private long word(int i) {
+		return bits != null ? bits[i] : words.get(i);
+	}
+	
+	private void setWord(int i, long w) {
+		if (bits != null) bits[i] = w;
+		else words.put(i, w);
+	}
+	
+	/*
+	 * Copies count words beginning at index from to the words beginning at index to,
+	 * where the ranges may overlap.
+	 */
+	private void moveWords(int from, int to, int count) {
+		if (bits != null) {
+			System.arraycopy(bits, from, bits, to, count);
+		} else if (to > from) {
+			for (int i = count - 1; i >= 0; i--) {
+				words.put(to + i, words.get(from + i));
+			}
+		} else {
+			for (int i = 0; i < count; i++) {
+				words.put(to + i, words.get(from + i));
+			}
+		}
+	}
+	
+	private void clearWords(int from, int to) {
+		if (bits != null) {
+			Arrays.fill(bits, from, to, 0L);
+		} else {
+			for (int i = from; i < to; i++) {
+				words.put(i, 0L);
+			}
+		}
+	}
+	
+	private static int numWords(int bitLength) {
+		if (bitLength < 0) throw new IllegalArgumentException("bitLength must be non-negative");
+		return (bitLength + 63) >> 6;
+	}
+	
+	private static LongBuffer allocateDirect(int numWords) {
+		// direct buffers are zero-filled
+		return ByteBuffer.allocateDirect(numWords << 3).order(ByteOrder.nativeOrder()).asLongBuffer();
 	}
 	
 	/**
@@ -241,18 +454,25 @@ public final class BitVector implements Copyable<BitVector> {
 	 * @return the count of the number of bits equal to 1.
 	 */
 	public int countOnes() {
+		return trackOnes ? ones : popcount();
+	}
+	
+	/**
+	 * Checks whether this BitVector tracks its count of 1 bits incrementally, in 
+	 * which case {@link #countOnes} and {@link #countZeros} take constant time.
+	 * @return true if and only if this BitVector tracks its count of 1 bits
+	 */
+	public boolean isTrackingOnes() {
+		return trackOnes;
+	}
+	
+	private int popcount() {
 		int count = 0;
-		for (int i = 0; i < bits.length; i++) {
-			int b = bits[i];
-			//counting 1-bits of one int from Hacker's Delight
-			b -= ((b >>> 1) & 0x55555555);
-			b = (b & 0x33333333) + ((b >>> 2) & 0x33333333);
-			b = (b + (b >>> 4)) & 0x0f0f0f0f;
-			b += (b >>> 8);
-			b += (b >>> 16);
-			count += (b & 0x3f);
+		for (int i = 0; i < numWords; i++) {
+			// Long.bitCount is an intrinsic, compiled to a popcount instruction where supported
+			count += Long.bitCount(word(i));
 		}
-        return count;
+		return count;
 	}
 	
 	/**
@@ -273,9 +493,10 @@ public final class BitVector implements Copyable<BitVector> {
 	 */
 	public void and(BitVector other) {
 		if (bitLength != other.bitLength) throw new IllegalArgumentException("Both BitVectors must be of same length.");
-		for (int i = 0; i < bits.length; i++) {
-			bits[i] &= other.bits[i];
+		for (int i = 0; i < numWords; i++) {
+			setWord(i, word(i) & other.word(i));
 		}
+		if (trackOnes) ones = popcount();
 	}
 	
 	/**
@@ -288,9 +509,10 @@ public final class BitVector implements Copyable<BitVector> {
 	 */
 	public void or(BitVector other) {
 		if (bitLength != other.bitLength) throw new IllegalArgumentException("Both BitVectors must be of same length.");
-		for (int i = 0; i < bits.length; i++) {
-			bits[i] |= other.bits[i];
+		for (int i = 0; i < numWords; i++) {
+			setWord(i, word(i) | other.word(i));
 		}
+		if (trackOnes) ones = popcount();
 	}
 	
 	/**
@@ -303,9 +525,10 @@ public final class BitVector implements Copyable<BitVector> {
 	 */
 	public void xor(BitVector other) {
 		if (bitLength != other.bitLength) throw new IllegalArgumentException("Both BitVectors must be of same length.");
-		for (int i = 0; i < bits.length; i++) {
-			bits[i] ^= other.bits[i];
+		for (int i = 0; i < numWords; i++) {
+			setWord(i, word(i) ^ other.word(i));
 		}
+		if (trackOnes) ones = popcount();
 	}
 	
 	/**
@@ -313,11 +536,12 @@ public final class BitVector implements Copyable<BitVector> {
 	 * is updated with the result.
 	 */
 	public void not() {
-		if (bits.length > 0) {
-			for (int i = 0; i < bits.length; i++) {
-				bits[i] = ~bits[i];
+		if (numWords > 0) {
+			for (int i = 0; i < numWords; i++) {
+				setWord(i, ~word(i));
 			}
-			bits[bits.length-1] &= lastIntMask;
+			setWord(numWords-1, word(numWords-1) & lastWordMask);
+			if (trackOnes) ones = bitLength - ones;
 		}
 	}
 	
@@ -332,19 +556,20 @@ public final class BitVector implements Copyable<BitVector> {
 	public void shiftLeft(int numBits) {
 		if (bitLength > 0) {
 			if (numBits < bitLength) {
-				if (numBits >= 32) {
-					int numInts = numBits >> 5;
-					System.arraycopy(bits, 0, bits, numInts, bits.length - numInts);
-					Arrays.fill(bits, 0, numInts, 0);
-					bits[bits.length-1] &= lastIntMask;
-					numBits -= numInts << 5;
+				if (numBits >= 64) {
+					int shiftWords = numBits >> 6;
+					moveWords(0, shiftWords, numWords - shiftWords);
+					clearWords(0, shiftWords);
+					setWord(numWords-1, word(numWords-1) & lastWordMask);
+					numBits -= shiftWords << 6;
 				}
 				if (numBits > 0) {
-					leftUpTo31(numBits);
+					leftUpTo63(numBits);
 				}
 			} else {
-				Arrays.fill(bits, 0);
+				clearWords(0, numWords);
 			}
+			if (trackOnes) ones = popcount();
 		}
 	}
 	
@@ -359,39 +584,42 @@ public final class BitVector implements Copyable<BitVector> {
 	public void shiftRight(int numBits) {
 		if (bitLength > 0) {
 			if (numBits < bitLength) {
-				if (numBits >= 32) {
-					int numInts = numBits >> 5;
-					System.arraycopy(bits, numInts, bits, 0, bits.length - numInts);
-					Arrays.fill(bits, bits.length - numInts, bits.length, 0);
-					numBits -= numInts << 5;
+				if (numBits >= 64) {
+					int shiftWords = numBits >> 6;
+					moveWords(shiftWords, 0, numWords - shiftWords);
+					clearWords(numWords - shiftWords, numWords);
+					numBits -= shiftWords << 6;
 				}
 				if (numBits > 0) {
-					rightUpTo31(numBits);
+					rightUpTo63(numBits);
 				}
 			} else {
-				Arrays.fill(bits, 0);
+				clearWords(0, numWords);
 			}
+			if (trackOnes) ones = popcount();
 		}
 	}
 	
-	private void leftUpTo31(int numBits) {
-		for (int i = bits.length - 1; i > 0; i--) {
-			bits[i] = (bits[i] << numBits) | (bits[i-1] >>> (32-numBits));
+	private void leftUpTo63(int numBits) {
+		for (int i = numWords - 1; i > 0; i--) {
+			setWord(i, (word(i) << numBits) | (word(i-1) >>> (64-numBits)));
 		}
-		bits[0] <<= numBits;
-		bits[bits.length-1] &= lastIntMask;
+		setWord(0, word(0) << numBits);
+		setWord(numWords-1, word(numWords-1) & lastWordMask);
 	}
 	
-	private void rightUpTo31(int numBits) {
-		for (int i = 0; i < bits.length - 1; i++) {
-			bits[i] = (bits[i] >>> numBits) | (bits[i+1] << (32-numBits));
+	private void rightUpTo63(int numBits) {
+		for (int i = 0; i < numWords - 1; i++) {
+			setWord(i, (word(i) >>> numBits) | (word(i+1) << (64-numBits)));
 		}
-		bits[bits.length - 1] >>>= numBits;
+		setWord(numWords - 1, word(numWords - 1) >>> numBits);
 	}
 	
 	
 	/**
-	 * Creates an identical copy of this object.
+	 * Creates an identical copy of this object.  The copy of a BitVector whose
+	 * bits are stored off of the heap is also stored off of the heap, and is
+	 * created with a bulk copy of its memory.
 	 * @return an identical copy of this object
 	 */
 	@Override
@@ -399,6 +627,29 @@ public final class BitVector implements Copyable<BitVector> {
 		return new BitVector(this);
 	}
 	
+	/**
+	 * Copies this BitVector into another BitVector, reusing its memory.  The bits
+	 * are copied regardless of whether either BitVector stores its bits off of the heap.
+	 * @param target The BitVector to hold the copy.  If target is null, or is of a
+	 * different length than this BitVector, or differs from this BitVector in 
+	 * whether it tracks its count of 1 bits, then a new copy is constructed as if 
+	 * by {@link #copy}.
+	 * @return target if it was compatible, and otherwise a new copy of this BitVector
+	 */
+	@Override
+	public BitVector copyInto(BitVector target) {
+		if (target == null || target.bitLength != bitLength || target.trackOnes != trackOnes) return copy();
+		if (bits != null && target.bits != null) {
+			System.arraycopy(bits, 0, target.bits, 0, numWords);
+		} else {
+			for (int i = 0; i < numWords; i++) {
+				target.setWord(i, word(i));
+			}
+		}
+		target.ones = ones;
+		return target;
+	}
+	
 	/**
 	 * Indicates whether some other object is equal to this one.
 	 * The objects are equal if they are the same type of operator
@@ -410,7 +661,12 @@ public final class BitVector implements Copyable<BitVector> {
 	public boolean equals(Object other) {
 		if (other == null || !getClass().equals(other.getClass())) return false;
 		BitVector b = (BitVector)other;
-		return bitLength == b.bitLength && Arrays.equals(bits, b.bits); 
+		if (bitLength != b.bitLength) return false;
+		if (bits != null && b.bits != null) return Arrays.equals(bits, b.bits);
+		for (int i = 0; i < numWords; i++) {
+			if (word(i) != b.word(i)) return false;
+		}
+		return true;
 	}
 	
 	/**
@@ -422,8 +678,8 @@ public final class BitVector implements Copyable<BitVector> {
 	@Override
 	public int hashCode() {
 		int h = bitLength;
-		for (int i = 0; i < bits.length; i++) {
-			h = 31*h + bits[i];
+		for (int i = 0; i < numInts; i++) {
+			h = 31*h + int32(i);
 		}
 		return h;
 	}
@@ -434,8 +690,8 @@ public final class BitVector implements Copyable<BitVector> {
 		int blockSize = (bitLength & 0x1f);
 		if (blockSize==0) blockSize = 32;
 		String filler = "0000000000000000000000000000000";
-		for (int i = bits.length-1; i >= 0; i--) {
-			String str = Integer.toBinaryString(bits[i]);
+		for (int i = numInts-1; i >= 0; i--) {
+			String str = Integer.toBinaryString(int32(i));
 			int numZeros = blockSize - str.length();
 			if (numZeros > 0) {
 				sb.append(filler.substring(0,numZeros)); 
@@ -617,14 +873,14 @@ public final class BitVector implements Copyable<BitVector> {
 			}
 			int block;
 			if (remaining >= k) {
-				block = (bits[index] >>> (32 - remaining)) & mask;
+				block = (int32(index) >>> (32 - remaining)) & mask;
 				remaining -= k;
 				count += k;
 			} else {
-				block = (bits[index] >>> (32 - remaining));
+				block = (int32(index) >>> (32 - remaining));
 				index++;
-				if (index < bits.length) {
-					block |= (bits[index] << remaining) & mask;
+				if (index < numInts) {
+					block |= (int32(index) << remaining) & mask;
 					remaining += 32 - k; 
 					count += k;
 				} else {
@@ -659,14 +915,14 @@ public final class BitVector implements Copyable<BitVector> {
 			int block;
 			int mask = 0xffffffff >>> (32-k);
 			if (remaining >= k) {
-				block = (bits[index] >>> (32 - remaining)) & mask;
+				block = (int32(index) >>> (32 - remaining)) & mask;
 				remaining -= k;
 				count += k;
 			} else {
-				block = (bits[index] >>> (32 - remaining));
+				block = (int32(index) >>> (32 - remaining));
 				index++;
-				if (index < bits.length) {
-					block |= (bits[index] << remaining) & mask;
+				if (index < numInts) {
+					block |= (int32(index) << remaining) & mask;
 					remaining += 32 - k; 
 					count += k;
 				} else {
@@ -690,7 +946,7 @@ public final class BitVector implements Copyable<BitVector> {
 				index++;
 				remaining = 32; 
 			}
-			int bit = (bits[index] >>> (32 - remaining)) & 1;
+			int bit = (int32(index) >>> (32 - remaining)) & 1;
 			remaining--;
 			count++; 
 			return bit;
@@ -21,7 +21,7 @@
 package org.cicirello.search.representations;
 
 import java.util.Arrays;
-import org.cicirello.util.Copyable;
+import org.cicirello.util.CopyableInto;
 
 
 /**
@@ -31,9 +31,9 @@ import org.cicirello.util.Copyable;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.10.2020
+ * @version 7.31.2020
  */
-public class RealVector implements RealValued, Copyable<RealVector> {
+public class RealVector implements RealValued, CopyableInto<RealVector> {
 	
 	private final double[] x;
 	
@@ -94,6 +94,20 @@ public class RealVector implements RealValued, Copyable<RealVector> {
 		return new RealVector(this);
 	}
 	
+	/**
+	 * Copies this object into another object, reusing its memory.
+	 * @param target The object to hold the copy.  If target is null,
+	 * or is not of the same runtime type and length as this object, then a new copy is
+	 * constructed as if by {@link #copy}.
+	 * @return target if it was compatible, and otherwise a new copy of this object
+	 */
+	@Override
+	public RealVector copyInto(RealVector target) {
+		if (target == null || !getClass().equals(target.getClass()) || target.x.length != x.length) return copy();
+		System.arraycopy(x, 0, target.x, 0, x.length);
+		return target;
+	}
+	
 	/**
 	 * Indicates whether some other object is "equal to" this one.
 	 * To be equal, the other object must be of the same runtime type and contain the
@@ -20,7 +20,8 @@
  
 package org.cicirello.search.representations;
 
-import org.cicirello.util.Copyable;
+import org.cicirello.util.CopyableInto;
+
 
 
 /**
@@ -30,9 +31,9 @@ import org.cicirello.util.Copyable;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.5.2020
+ * @version 7.31.2020
  */
-public class SingleReal implements RealValued, Copyable<SingleReal> {
+public class SingleReal implements RealValued, CopyableInto<SingleReal> {
 	
 	private double x;
 	
@@ -129,6 +130,20 @@ public class SingleReal implements RealValued, Copyable<SingleReal> {
 		return new SingleReal(this);
 	}
 	
+	/**
+	 * Copies this object into another object, reusing its memory.
+	 * @param target The object to hold the copy.  If target is null,
+	 * or is not of the same runtime type as this object, then a new copy is
+	 * constructed as if by {@link #copy}.
+	 * @return target if it was compatible, and otherwise a new copy of this object
+	 */
+	@Override
+	public SingleReal copyInto(SingleReal target) {
+		if (target == null || !getClass().equals(target.getClass())) return copy();
+		target.x = x;
+		return target;
+	}
+	
 	/**
 	 * Indicates whether some other object is "equal to" this one.
 	 * To be equal, the other object must be of the same runtime type and contain the
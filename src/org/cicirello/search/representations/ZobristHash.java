@@ -0,0 +1,184 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.representations;
+
+import org.cicirello.permutations.Permutation;
+
+/**
+ * <p>Utility class for computing Zobrist-style 64-bit hashes of solutions, such as
+ * {@link Permutation} objects, {@link BitVector} objects, and {@link IntegerValued} objects 
+ * (e.g., {@link IntegerVector}).  The hash of a solution is the XOR of a 64-bit
+ * key for each (index, value) pair of the solution.  Therefore, unlike the hashCode
+ * methods of these classes, which compute over the entire solution, the hash can be 
+ * updated in time proportional to the number of elements changed by a mutation, such 
+ * as a swap, a reversal, a bit flip, or a change of an integer value.  This makes it
+ * practical to use the hash as the key of a cache of evaluated solutions, a tabu list, 
+ * or for duplicate detection, during a search that applies many small changes to 
+ * large solutions.</p>
+ *
+ * <p>The methods that update a hash must be called before the corresponding change
+ * is applied to the solution, since they use the values prior to the change.  For example:</p>
+ * <pre><code>
+ * long hash = ZobristHash.hash(p);
+ * ...
+ * hash = ZobristHash.swap(hash, p, i, j);
+ * p.swap(i, j);
+ * </code></pre>
+ *
+ * <p>For changes to a contiguous range of a permutation, such as a reversal or a block move,
+ * XOR the hash of the range (see {@link #hash(Permutation, int, int)}) both before and after
+ * the change.  The {@link org.cicirello.search.operators.permutations.PermutationMove PermutationMove}
+ * class does this for each type of move (see its 
+ * {@link org.cicirello.search.operators.permutations.PermutationMove#apply(Permutation, long) apply} method).</p>
+ *
+ * <p>The keys are computed by a fixed bijective mixing function of the index and value, rather than
+ * looked up in a table, so there is no limit on the length of a solution or the range of its
+ * values, and hashes are consistent across runs.</p>
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.1.2020
+ */
+public final class ZobristHash {
+	
+	/*
+	 * Utility class of static methods: no instances.
+	 */
+	private ZobristHash() {}
+	
+	/**
+	 * Gets the key of a value at an index.
+	 * @param index The index.
+	 * @param value The value.
+	 * @return the key of the value at the index, such that distinct (index, value) pairs
+	 * have distinct keys.
+	 */
+	public static long key(int index, int value) {
+		// the finalizer of SplitMix64, which is a bijection of 64-bit values
+		long z = (((long)index << 32) | (value & 0xffffffffL)) + 0x9e3779b97f4a7c15L;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+	 * Computes the hash of a permutation.
+	 * @param p The permutation.
+	 * @return the hash of p
+	 */
+	public static long hash(Permutation p) {
+		return hash(p, 0, p.length() - 1);
+	}
+	
+	/**
+	 * Computes the hash of a range of a permutation, which is the XOR of the keys of the 
+	 * elements from index first through index last, inclusive.
+	 * @param p The permutation.
+	 * @param first The first index of the range.
+	 * @param last The last index of the range.
+	 * @return the hash of the range
+	 * @throws ArrayIndexOutOfBoundsException if first &lt; 0 or last &ge; p.length(),
+	 * and first &le; last
+	 */
+	public static long hash(Permutation p, int first, int last) {
+		long h = 0;
+		for (int i = first; i <= last; i++) {
+			h ^= key(i, p.get(i));
+		}
+		return h;
+	}
+	
+	/**
+	 * Computes the hash of a BitVector, which is the XOR of the keys of its 1 bits.
+	 * The runtime is proportional to the length divided by 32, plus the number of 1 bits.
+	 * @param b The BitVector.
+	 * @return the hash of b
+	 */
+	public static long hash(BitVector b) {
+		long h = 0;
+		int numBlocks = (b.length() + 31) >> 5;
+		for (int i = 0; i < numBlocks; i++) {
+			int block = b.get32(i);
+			while (block != 0) {
+				h ^= key((i << 5) + Integer.numberOfTrailingZeros(block), 1);
+				block &= block - 1;
+			}
+		}
+		return h;
+	}
+	
+	/**
+	 * Computes the hash of an IntegerValued object, such as an {@link IntegerVector}.
+	 * @param v The IntegerValued object.
+	 * @return the hash of v
+	 */
+	public static long hash(IntegerValued v) {
+		long h = 0;
+		int n = v.length();
+		for (int i = 0; i < n; i++) {
+			h ^= key(i, v.get(i));
+		}
+		return h;
+	}
+	
+	/**
+	 * Updates the hash of a permutation for a swap of two elements.  Call this
+	 * method before swapping the elements.
+	 * @param hash The hash of p.
+	 * @param p The permutation.
+	 * @param i The index of one element.
+	 * @param j The index of the other element.
+	 * @return the hash of p after swapping the elements at indexes i and j
+	 * @throws ArrayIndexOutOfBoundsException if either index is out of bounds
+	 */
+	public static long swap(long hash, Permutation p, int i, int j) {
+		if (i == j) return hash;
+		int a = p.get(i);
+		int b = p.get(j);
+		return hash ^ key(i, a) ^ key(j, b) ^ key(i, b) ^ key(j, a);
+	}
+	
+	/**
+	 * Updates the hash of a BitVector for a flip of one bit.  The result
+	 * is the same whether this method is called before or after the flip.
+	 * @param hash The hash of the BitVector.
+	 * @param index The index of the bit.
+	 * @return the hash after flipping the bit
+	 */
+	public static long flip(long hash, int index) {
+		return hash ^ key(index, 1);
+	}
+	
+	/**
+	 * Updates the hash of an IntegerValued object, such as an {@link IntegerVector},
+	 * for a change of one value.
+	 * @param hash The hash of the IntegerValued object.
+	 * @param index The index of the value.
+	 * @param oldValue The value at the index prior to the change.
+	 * @param newValue The value at the index after the change.
+	 * @return the hash after the change
+	 */
+	public static long change(long hash, int index, int oldValue, int newValue) {
+		return oldValue == newValue ? hash : hash ^ key(index, oldValue) ^ key(index, newValue);
+	}
+}
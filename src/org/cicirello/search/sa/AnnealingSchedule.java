@@ -32,7 +32,7 @@ import org.cicirello.search.concurrent.Splittable;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.4.2019
+ * @version 7.22.2020
  */
 public interface AnnealingSchedule extends Splittable<AnnealingSchedule> {
 	
@@ -62,4 +62,20 @@ public interface AnnealingSchedule extends Splittable<AnnealingSchedule> {
 	 * @return true if simulated annealing should accept the neighbor, and false otherwise.
 	 */
 	boolean accept(double neighborCost, double currentCost);
+	
+	/**
+	 * Determine whether or not to accept a neighboring solution based on its
+	 * cost and the current cost, both passed as parameters, for problems with integer costs.  
+	 * Lower cost indicates better solution.  This method must also update the temperature 
+	 * and any other state data related to the annealing schedule.  Simulated annealing calls
+	 * this method rather than {@link #accept(double, double)} when the problem has integer costs.
+	 * The default implementation simply calls {@link #accept(double, double)}.  Annealing
+	 * schedules can override it to avoid floating-point work on the costs.
+	 * @param neighborCost The cost of the neighboring solution under consideration.
+	 * @param currentCost The cost of the current solution.
+	 * @return true if simulated annealing should accept the neighbor, and false otherwise.
+	 */
+	default boolean accept(int neighborCost, int currentCost) {
+		return accept((double)neighborCost, (double)currentCost);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.sa;
+
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>Internal class used by the annealing schedules to decide whether to accept a
+ * neighbor with higher cost than the current state, using the Boltzmann distribution.
+ * The classic test accepts a neighbor whose cost is higher by &Delta; &gt; 0 at 
+ * temperature t if u &lt; e<sup>-&Delta;/t</sup>, where u is a uniform random number.  
+ * This class instead uses the equivalent test &Delta; &lt; t * (-ln(u)), 
+ * which avoids the division, and draws the values of -ln(u) from a buffer that is refilled in blocks.  
+ * Since u &ge; 2<sup>-53</sup>, -ln(u) is at most 53 ln(2), so if &Delta; &ge; t * 53 ln(2) the neighbor
+ * is rejected without consuming a random number.  For integer costs, that cutoff is
+ * cached as an integer, and recomputed only when the temperature changes.</p>
+ *
+ * <p>The random numbers come from a {@link RandomEngine} if one is provided, and otherwise 
+ * from ThreadLocalRandom.  This class is not thread-safe.  Each annealing schedule must have its own,
+ * and must {@link #split} it when the annealing schedule is split.</p>
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.23.2020
+ */
+final class BoltzmannAcceptance {
+	
+	/*
+	 * The largest possible value of -ln(u), since 2^-53 is the smallest
+	 * value of 1 - ThreadLocalRandom.nextDouble().
+	 */
+	static final double CUTOFF = 53 * Math.log(2);
+	
+	private static final int BUFFER_SIZE = 128;
+	
+	private final RandomEngine engine;
+	private final double[] negLogU;
+	private int next;
+	
+	// integer cutoff for the temperature cutoffT
+	private double cutoffT;
+	private long cutoffDelta;
+	
+	/**
+	 * Constructs the acceptance test, using ThreadLocalRandom.
+	 */
+	BoltzmannAcceptance() {
+		this(null);
+	}
+	
+	/**
+	 * Constructs the acceptance test.
+	 * @param engine The source of random numbers, or null to use ThreadLocalRandom.
+	 */
+	BoltzmannAcceptance(RandomEngine engine) {
+		this.engine = engine;
+		negLogU = new double[BUFFER_SIZE];
+		next = BUFFER_SIZE;
+		cutoffT = -1;
+	}
+	
+	/**
+	 * Decides whether to accept a neighbor that is worse than the current state.
+	 * @param delta The neighbor's cost minus the cost of the current state, which should be positive.
+	 * @param t The temperature.
+	 * @return true with probability e<sup>-delta/t</sup>
+	 */
+	boolean acceptWorse(double delta, double t) {
+		if (delta >= t * CUTOFF) return false;
+		if (next == BUFFER_SIZE) refill();
+		return delta < t * negLogU[next++];
+	}
+	
+	/**
+	 * Decides whether to accept a neighbor that is worse than the current state,
+	 * for integer costs.
+	 * @param delta The neighbor's cost minus the cost of the current state, which should be positive.
+	 * @param t The temperature.
+	 * @return true with probability e<sup>-delta/t</sup>
+	 */
+	boolean acceptWorse(long delta, double t) {
+		if (t != cutoffT) {
+			cutoffT = t;
+			// delta >= t * CUTOFF if and only if delta >= ceil(t * CUTOFF)
+			cutoffDelta = (long)Math.ceil(t * CUTOFF);
+		}
+		if (delta >= cutoffDelta) return false;
+		if (next == BUFFER_SIZE) refill();
+		return delta < t * negLogU[next++];
+	}
+	
+	/**
+	 * Creates an acceptance test for a split annealing schedule, with
+	 * its own buffer, and with a split of this one's RandomEngine.
+	 * @return a new acceptance test
+	 */
+	BoltzmannAcceptance split() {
+		return new BoltzmannAcceptance(engine != null ? engine.split() : null);
+	}
+	
+	private void refill() {
+		Random r = engine != null ? engine : ThreadLocalRandom.current();
+		for (int i = 0; i < BUFFER_SIZE; i++) {
+			// 1 - u is in (0, 1], so its log is finite
+			negLogU[i] = -Math.log(1.0 - r.nextDouble());
+		}
+		next = 0;
+	}
+}
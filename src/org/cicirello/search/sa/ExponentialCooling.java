@@ -20,7 +20,7 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>This class implements the classic and most commonly encountered
@@ -50,11 +50,12 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 9.30.2019
+ * @version 7.23.2020
  */
 public final class ExponentialCooling implements AnnealingSchedule {
 	
 	private double t;
+	private final BoltzmannAcceptance acceptance;
 	private final double t0;
 	private final double alpha;
 	private final int steps;
@@ -73,11 +74,32 @@ public final class ExponentialCooling implements AnnealingSchedule {
 	 * @throws IllegalArgumentException if t0 &le; 0 or alpha &le; 0 or alpha &ge; 1.
 	 */
 	public ExponentialCooling(double t0, double alpha, int steps) {
+		this(t0, alpha, steps, null);
+	}
+	
+	/**
+	 * Constructs an exponential cooling schedule for simulated annealing.
+	 * @param t0 The initial temperature for the start of an annealing run.
+	 * The value of t0 must be positive.
+	 * @param alpha The cooling rate.  Each time
+	 * the temperature is cooled, it is cooled as follows: t = t * alpha.
+	 * The value of alpha must be greater than 0 and less than 1.
+	 * @param steps The number of iterations of simulated annealing between
+	 * cooling events.  Steps must be positive.  If 0 or a negative is passed
+	 * for steps, steps is set to 1.
+	 * @param engine The source of random numbers for deciding whether to accept neighbors,
+	 * such as a {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus},
+	 * which is split when this annealing schedule is split.
+	 * If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if t0 &le; 0 or alpha &le; 0 or alpha &ge; 1.
+	 */
+	public ExponentialCooling(double t0, double alpha, int steps, RandomEngine engine) {
 		if (t0 <= 0) throw new IllegalArgumentException("Initial temperature must be positive");
 		if (alpha <= 0 || alpha >= 1) throw new IllegalArgumentException("alpha must be in interval (0,1)");
 		t = this.t0 = t0;
 		this.alpha = alpha;
 		this.steps = steps <= 0 ? 1 : steps;
+		acceptance = new BoltzmannAcceptance(engine);
 	}
 	
 	/**
@@ -95,6 +117,7 @@ public final class ExponentialCooling implements AnnealingSchedule {
 		t = this.t0 = t0;
 		this.alpha = alpha;
 		this.steps = 1;
+		acceptance = new BoltzmannAcceptance();
 	}
 	
 	/*
@@ -104,6 +127,7 @@ public final class ExponentialCooling implements AnnealingSchedule {
 		t = t0 = other.t0;
 		alpha = other.alpha;
 		steps = other.steps;
+		acceptance = other.acceptance.split();
 	}
 	
 	@Override
@@ -115,12 +139,16 @@ public final class ExponentialCooling implements AnnealingSchedule {
 	@Override
 	public boolean accept(double neighborCost, double currentCost) {
 		boolean doAccept = neighborCost <= currentCost ||
-			ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
-		stepCounter++;
-		if (stepCounter == steps && t > 0.001) {
-			stepCounter = 0; 
-			t *= alpha;
-		}
+			acceptance.acceptWorse(neighborCost-currentCost, t);
+		cool();
+		return doAccept;
+	}
+	
+	@Override
+	public boolean accept(int neighborCost, int currentCost) {
+		boolean doAccept = neighborCost <= currentCost ||
+			acceptance.acceptWorse((long)neighborCost-currentCost, t);
+		cool();
 		return doAccept;
 	}
 	
@@ -129,6 +157,14 @@ public final class ExponentialCooling implements AnnealingSchedule {
 		return new ExponentialCooling(this);
 	}
 	
+	private void cool() {
+		stepCounter++;
+		if (stepCounter == steps && t > 0.001) {
+			stepCounter = 0; 
+			t *= alpha;
+		}
+	}
+	
 	/*
 	 * package-private for unit testing
 	 */
@@ -0,0 +1,108 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.sa;
+
+import org.cicirello.math.rand.RandomEngine;
+
+/**
+ * <p>This class implements a fixed temperature for simulated annealing, 
+ * i.e., an annealing schedule that doesn't cool.  At a fixed temperature t,
+ * a neighbor whose cost is higher than the current cost by &Delta; is accepted with
+ * probability e<sup>-&Delta;/t</sup>, and a neighbor whose cost is no higher than the
+ * current cost is always accepted.</p>
+ *
+ * <p>A fixed temperature is not usually a good choice for a single run of simulated 
+ * annealing.  Its main purpose is for the replicas of {@link ParallelTempering}, each of
+ * which samples at its own fixed temperature.</p>
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.23.2020
+ */
+public final class FixedTemperature implements AnnealingSchedule {
+	
+	private final double t;
+	private final BoltzmannAcceptance acceptance;
+	
+	/**
+	 * Constructs a fixed temperature annealing schedule.
+	 * @param t The temperature, which must be positive.
+	 * @throws IllegalArgumentException if t &le; 0.
+	 */
+	public FixedTemperature(double t) {
+		this(t, null);
+	}
+	
+	/**
+	 * Constructs a fixed temperature annealing schedule.
+	 * @param t The temperature, which must be positive.
+	 * @param engine The source of random numbers for deciding whether to accept neighbors,
+	 * such as a {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus},
+	 * which is split when this annealing schedule is split.
+	 * If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if t &le; 0.
+	 */
+	public FixedTemperature(double t, RandomEngine engine) {
+		if (t <= 0) throw new IllegalArgumentException("Temperature must be positive");
+		this.t = t;
+		acceptance = new BoltzmannAcceptance(engine);
+	}
+	
+	/*
+	 * private copy constructor for internal use only
+	 */
+	private FixedTemperature(FixedTemperature other) {
+		t = other.t;
+		acceptance = other.acceptance.split();
+	}
+	
+	@Override
+	public void init(int maxEvals) {
+		// the temperature never changes, so there is nothing to initialize
+	}
+	
+	@Override
+	public boolean accept(double neighborCost, double currentCost) {
+		return neighborCost <= currentCost ||
+			acceptance.acceptWorse(neighborCost-currentCost, t);
+	}
+	
+	@Override
+	public boolean accept(int neighborCost, int currentCost) {
+		return neighborCost <= currentCost ||
+			acceptance.acceptWorse((long)neighborCost-currentCost, t);
+	}
+	
+	@Override
+	public FixedTemperature split() {
+		return new FixedTemperature(this);
+	}
+	
+	/**
+	 * Gets the temperature.
+	 * @return the temperature
+	 */
+	public double getTemperature() {
+		return t;
+	}
+}
@@ -20,7 +20,7 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>This class implements the linear
@@ -49,11 +49,12 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 9.23.2019
+ * @version 7.23.2020
  */
 public final class LinearCooling implements AnnealingSchedule {
 	
 	private double t;
+	private final BoltzmannAcceptance acceptance;
 	private final double t0;
 	private final double deltaT;
 	private final int steps;
@@ -71,11 +72,31 @@ public final class LinearCooling implements AnnealingSchedule {
 	 * @throws IllegalArgumentException if t0 &le; 0 or deltaT &le; 0.
 	 */
 	public LinearCooling(double t0, double deltaT, int steps) {
+		this(t0, deltaT, steps, null);
+	}
+	
+	/**
+	 * Constructs a linear cooling schedule for simulated annealing.
+	 * @param t0 The initial temperature for the start of an annealing run.
+	 * The value of t0 must be positive.
+	 * @param deltaT The difference between the current temperature and the next temperature.
+	 * The value of deltaT must be positive.
+	 * @param steps The number of iterations of simulated annealing between
+	 * cooling events.  Steps must be positive.  If 0 or a negative is passed
+	 * for steps, steps is set to 1.
+	 * @param engine The source of random numbers for deciding whether to accept neighbors,
+	 * such as a {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus},
+	 * which is split when this annealing schedule is split.
+	 * If engine is null, ThreadLocalRandom is used.
+	 * @throws IllegalArgumentException if t0 &le; 0 or deltaT &le; 0.
+	 */
+	public LinearCooling(double t0, double deltaT, int steps, RandomEngine engine) {
 		if (t0 <= 0) throw new IllegalArgumentException("Initial temperature must be positive");
 		if (deltaT <= 0) throw new IllegalArgumentException("deltaT must be positive");
 		t = this.t0 = t0;
 		this.deltaT = deltaT;
 		this.steps = steps <= 0 ? 1 : steps;
+		acceptance = new BoltzmannAcceptance(engine);
 	}
 	
 	/**
@@ -92,6 +113,7 @@ public final class LinearCooling implements AnnealingSchedule {
 		t = this.t0 = t0;
 		this.deltaT = deltaT;
 		this.steps = 1;
+		acceptance = new BoltzmannAcceptance();
 	}
 	
 	/*
@@ -101,6 +123,7 @@ public final class LinearCooling implements AnnealingSchedule {
 		t = t0 = other.t0;
 		deltaT = other.deltaT;
 		steps = other.steps;
+		acceptance = other.acceptance.split();
 	}
 	
 	@Override
@@ -112,13 +135,16 @@ public final class LinearCooling implements AnnealingSchedule {
 	@Override
 	public boolean accept(double neighborCost, double currentCost) {
 		boolean doAccept = neighborCost <= currentCost ||
-			ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
-		stepCounter++;
-		if (stepCounter == steps && t > 0.001) {
-			stepCounter = 0;
-			t -= deltaT;
-			if (t < 0.001) t = 0.001;
-		}
+			acceptance.acceptWorse(neighborCost-currentCost, t);
+		cool();
+		return doAccept;
+	}
+	
+	@Override
+	public boolean accept(int neighborCost, int currentCost) {
+		boolean doAccept = neighborCost <= currentCost ||
+			acceptance.acceptWorse((long)neighborCost-currentCost, t);
+		cool();
 		return doAccept;
 	}
 	
@@ -127,6 +153,15 @@ public final class LinearCooling implements AnnealingSchedule {
 		return new LinearCooling(this);
 	}
 	
+	private void cool() {
+		stepCounter++;
+		if (stepCounter == steps && t > 0.001) {
+			stepCounter = 0;
+			t -= deltaT;
+			if (t < 0.001) t = 0.001;
+		}
+	}
+	
 	/*
 	 * package-private for unit testing
 	 */
@@ -20,7 +20,7 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>This class implements logarithmic cooling, a classic annealing
@@ -53,11 +53,12 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 10.2.2019
+ * @version 7.23.2020
  */
 public final class LogarithmicCooling implements AnnealingSchedule {
 	
 	private double t;
+	private final BoltzmannAcceptance acceptance;
 	private final double c;
 	private int stepCounter;
 	
@@ -66,8 +67,21 @@ public final class LogarithmicCooling implements AnnealingSchedule {
 	 * @param t0 The initial temperature
 	 */
 	public LogarithmicCooling(double t0) {
+		this(t0, null);
+	}
+	
+	/**
+	 * Constructs a logarithmic cooling schedule with a specified initial temperature.
+	 * @param t0 The initial temperature
+	 * @param engine The source of random numbers for deciding whether to accept neighbors,
+	 * such as a {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus},
+	 * which is split when this annealing schedule is split.
+	 * If engine is null, ThreadLocalRandom is used.
+	 */
+	public LogarithmicCooling(double t0, RandomEngine engine) {
 		if (t0 <= 0) throw new IllegalArgumentException("initial temperature must be positive");
 		t = this.c = t0;
+		acceptance = new BoltzmannAcceptance(engine);
 	}
 	
 	/*
@@ -75,6 +89,7 @@ public final class LogarithmicCooling implements AnnealingSchedule {
 	 */
 	private LogarithmicCooling(LogarithmicCooling other) {
 		t = c = other.c;
+		acceptance = other.acceptance.split();
 	}
 	
 	/**
@@ -91,9 +106,16 @@ public final class LogarithmicCooling implements AnnealingSchedule {
 	@Override
 	public boolean accept(double neighborCost, double currentCost) {
 		boolean doAccept = neighborCost <= currentCost ||
-			ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
-		stepCounter++;
-		t = c / StrictMath.log(StrictMath.E + stepCounter);
+			acceptance.acceptWorse(neighborCost-currentCost, t);
+		cool();
+		return doAccept;
+	}
+	
+	@Override
+	public boolean accept(int neighborCost, int currentCost) {
+		boolean doAccept = neighborCost <= currentCost ||
+			acceptance.acceptWorse((long)neighborCost-currentCost, t);
+		cool();
 		return doAccept;
 	}
 	
@@ -102,6 +124,11 @@ public final class LogarithmicCooling implements AnnealingSchedule {
 		return new LogarithmicCooling(this);
 	}
 	
+	private void cool() {
+		stepCounter++;
+		t = c / StrictMath.log(StrictMath.E + stepCounter);
+	}
+	
 	/*
 	 * package-private for unit testing
 	 */
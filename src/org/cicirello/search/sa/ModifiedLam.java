@@ -20,7 +20,7 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>This class implements the Modified Lam annealing schedule, which dynamically
@@ -61,11 +61,12 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 9.23.2019
+ * @version 7.23.2020
  */
 public final class ModifiedLam implements AnnealingSchedule {
 	
 	private double t;
+	private final BoltzmannAcceptance acceptance;
 	private double acceptRate;
 	private double targetRate;
 	private double phase1;
@@ -87,6 +88,28 @@ public final class ModifiedLam implements AnnealingSchedule {
 	 */
 	public ModifiedLam() {
 		lastMaxEvals = -1;
+		acceptance = new BoltzmannAcceptance();
+	}
+	
+	/**
+	 * Constructs a Modified Lam annealing schedule that uses a specified
+	 * source of random numbers.
+	 * @param engine The source of random numbers for deciding whether to accept neighbors,
+	 * such as a {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus},
+	 * which is split when this annealing schedule is split.
+	 * If engine is null, ThreadLocalRandom is used.
+	 */
+	public ModifiedLam(RandomEngine engine) {
+		lastMaxEvals = -1;
+		acceptance = new BoltzmannAcceptance(engine);
+	}
+	
+	/*
+	 * private copy constructor for internal use only
+	 */
+	private ModifiedLam(ModifiedLam other) {
+		lastMaxEvals = -1;
+		acceptance = other.acceptance.split();
 	}
 	
 	@Override
@@ -111,14 +134,22 @@ public final class ModifiedLam implements AnnealingSchedule {
 	@Override
 	public boolean accept(double neighborCost, double currentCost) {
 		boolean doAccept = neighborCost <= currentCost ||
-			ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
+			acceptance.acceptWorse(neighborCost-currentCost, t);
+		updateSchedule(doAccept);
+		return doAccept;
+	}
+	
+	@Override
+	public boolean accept(int neighborCost, int currentCost) {
+		boolean doAccept = neighborCost <= currentCost ||
+			acceptance.acceptWorse((long)neighborCost-currentCost, t);
 		updateSchedule(doAccept);
 		return doAccept;
 	}
 	
 	@Override
 	public ModifiedLam split() {
-		return new ModifiedLam();
+		return new ModifiedLam(this);
 	}
 	
 	private void updateSchedule(boolean doAccept) {
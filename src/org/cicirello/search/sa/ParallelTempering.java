@@ -0,0 +1,580 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.sa;
+
+import org.cicirello.search.ReoptimizableMetaheuristic;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.Initializer;
+import org.cicirello.search.problems.Problem;
+import org.cicirello.search.problems.OptimizationProblem;
+import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.util.Copyable;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * <p>This class implements parallel tempering, also known as replica exchange Monte Carlo.
+ * Parallel tempering runs several replicas of the simulated annealing search loop, each at its 
+ * own {@link FixedTemperature fixed temperature}, and with each replica in its own thread.  The 
+ * hot replicas explore the search space, while the cold replicas exploit it.  Every swapInterval
+ * evaluations, the replicas wait for each other at a barrier, where the current solutions of 
+ * adjacent replicas (in order of temperature) are exchanged with the Metropolis probability
+ * min(1, e<sup>(1/t<sub>i</sub> - 1/t<sub>j</sub>)(c<sub>i</sub> - c<sub>j</sub>)</sup>), where
+ * t<sub>i</sub> &lt; t<sub>j</sub> are the temperatures of the two replicas, and c<sub>i</sub> and
+ * c<sub>j</sub> are the costs of their current solutions.  So a good solution found by a hot replica
+ * tends to move to the colder replicas.  Swaps alternate between the pairs (0,1), (2,3), ... 
+ * at one barrier and the pairs (1,2), (3,4), ... at the next.
+ * Exchanging solutions swaps references, so solutions are never copied during an exchange.</p>
+ *
+ * <p>All of the replicas share the ProgressTracker of the parallel tempering search, which keeps
+ * the best solution found by any of them.  The search terminates at the next barrier if a replica finds 
+ * the theoretical best solution, or if the ProgressTracker's {@link ProgressTracker#stop stop} 
+ * method is called.  Note that each replica computes the cost of its current solution at the start of
+ * each swapInterval, so the swapInterval should be large relative to the cost of a single evaluation.</p>
+ *
+ * <p>The temperatures can be specified directly, or a geometric sequence of temperatures 
+ * can be generated with the {@link #geometricTemperatures geometricTemperatures} method.</p>
+ *
+ * <p>For reproducible runs, the constructors that take a {@link RandomEngine} use it for the 
+ * exchanges, and give each replica's annealing schedule its own split of it.  The mutation
+ * operator and initializer must then also be seeded.</p>
+ *
+ * @param <T> The type of object being optimized.
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 8.6.2020
+ */
+public final class ParallelTempering<T extends Copyable<T>> implements ReoptimizableMetaheuristic<T>, AutoCloseable {
+	
+	private final ArrayList<SimulatedAnnealing<T>> replicas;
+	private final double[] temperatures;
+	private final int swapInterval;
+	private final Initializer<T> initializer;
+	private ProgressTracker<T> tracker;
+	
+	// current solution of each replica, and its cost at the last barrier
+	private final ArrayList<T> current;
+	private final ArrayList<SolutionCostPair<T>> costs;
+	private SolutionCostPair<T> runBest;
+	// the source of random numbers for the exchanges, or null for ThreadLocalRandom
+	private final RandomEngine engine;
+	private long swapAttempts;
+	private long swaps;
+	
+	// created upon first use, unless an executor is set
+	private ExecutorService threadPool;
+	private boolean ownsThreadPool;
+	private boolean closed;
+	
+	/**
+	 * Constructs a parallel tempering search for a problem with real-valued costs.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator supporting the undo operation.  Each replica other than the
+	 * first uses a copy generated by the split method of mutation.
+	 * @param initializer The source of random initial states.
+	 * @param temperatures The temperatures of the replicas, one replica per temperature.  The
+	 * temperatures may be in any order, but must all be positive.
+	 * @param swapInterval The number of evaluations by each replica between exchanges.
+	 * @param tracker A ProgressTracker object, which is used to keep track of the best
+	 * solution found during the run, the time when it was found, and other related data.
+	 * @throws NullPointerException if any of the parameters are null.
+	 * @throws IllegalArgumentException if temperatures.length is less than 1, or if any of the
+	 * temperatures are not positive.
+	 * @throws IllegalArgumentException if swapInterval is less than 1.
+	 */
+	public ParallelTempering(OptimizationProblem<T> problem, UndoableMutationOperator<T> mutation, Initializer<T> initializer, double[] temperatures, int swapInterval, ProgressTracker<T> tracker) {
+		this(problem, mutation, initializer, temperatures, swapInterval, tracker, null);
+	}
+	
+	/**
+	 * Constructs a parallel tempering search for a problem with real-valued costs, 
+	 * which uses a given source of random numbers.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator supporting the undo operation.  Each replica other than the
+	 * first uses a copy generated by the split method of mutation.
+	 * @param initializer The source of random initial states.
+	 * @param temperatures The temperatures of the replicas, one replica per temperature.  The
+	 * temperatures may be in any order, but must all be positive.
+	 * @param swapInterval The number of evaluations by each replica between exchanges.
+	 * @param tracker A ProgressTracker object, which is used to keep track of the best
+	 * solution found during the run, the time when it was found, and other related data.
+	 * @param engine The source of random numbers for the exchanges, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * for the annealing schedule of each replica, and when this search is split.  
+	 * If engine is null, ThreadLocalRandom is used.
+	 * @throws NullPointerException if any of the parameters other than engine are null.
+	 * @throws IllegalArgumentException if temperatures.length is less than 1, or if any of the
+	 * temperatures are not positive.
+	 * @throws IllegalArgumentException if swapInterval is less than 1.
+	 */
+	public ParallelTempering(OptimizationProblem<T> problem, UndoableMutationOperator<T> mutation, Initializer<T> initializer, double[] temperatures, int swapInterval, ProgressTracker<T> tracker, RandomEngine engine) {
+		this(initializer, temperatures, swapInterval, tracker, engine);
+		for (int i = 0; i < this.temperatures.length; i++) {
+			replicas.add(SimulatedAnnealing.createInstance(problem, i == 0 ? mutation : mutation.split(), i == 0 ? initializer : initializer.split(), new FixedTemperature(this.temperatures[i], engine != null ? engine.split() : null), tracker));
+		}
+	}
+	
+	/**
+	 * Constructs a parallel tempering search for a problem with integer costs.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator supporting the undo operation.  Each replica other than the
+	 * first uses a copy generated by the split method of mutation.
+	 * @param initializer The source of random initial states.
+	 * @param temperatures The temperatures of the replicas, one replica per temperature.  The
+	 * temperatures may be in any order, but must all be positive.
+	 * @param swapInterval The number of evaluations by each replica between exchanges.
+	 * @param tracker A ProgressTracker object, which is used to keep track of the best
+	 * solution found during the run, the time when it was found, and other related data.
+	 * @throws NullPointerException if any of the parameters are null.
+	 * @throws IllegalArgumentException if temperatures.length is less than 1, or if any of the
+	 * temperatures are not positive.
+	 * @throws IllegalArgumentException if swapInterval is less than 1.
+	 */
+	public ParallelTempering(IntegerCostOptimizationProblem<T> problem, UndoableMutationOperator<T> mutation, Initializer<T> initializer, double[] temperatures, int swapInterval, ProgressTracker<T> tracker) {
+		this(problem, mutation, initializer, temperatures, swapInterval, tracker, null);
+	}
+	
+	/**
+	 * Constructs a parallel tempering search for a problem with integer costs, 
+	 * which uses a given source of random numbers.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator supporting the undo operation.  Each replica other than the
+	 * first uses a copy generated by the split method of mutation.
+	 * @param initializer The source of random initial states.
+	 * @param temperatures The temperatures of the replicas, one replica per temperature.  The
+	 * temperatures may be in any order, but must all be positive.
+	 * @param swapInterval The number of evaluations by each replica between exchanges.
+	 * @param tracker A ProgressTracker object, which is used to keep track of the best
+	 * solution found during the run, the time when it was found, and other related data.
+	 * @param engine The source of random numbers for the exchanges, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * for the annealing schedule of each replica, and when this search is split.  
+	 * If engine is null, ThreadLocalRandom is used.
+	 * @throws NullPointerException if any of the parameters other than engine are null.
+	 * @throws IllegalArgumentException if temperatures.length is less than 1, or if any of the
+	 * temperatures are not positive.
+	 * @throws IllegalArgumentException if swapInterval is less than 1.
+	 */
+	public ParallelTempering(IntegerCostOptimizationProblem<T> problem, UndoableMutationOperator<T> mutation, Initializer<T> initializer, double[] temperatures, int swapInterval, ProgressTracker<T> tracker, RandomEngine engine) {
+		this(initializer, temperatures, swapInterval, tracker, engine);
+		for (int i = 0; i < this.temperatures.length; i++) {
+			replicas.add(SimulatedAnnealing.createInstance(problem, i == 0 ? mutation : mutation.split(), i == 0 ? initializer : initializer.split(), new FixedTemperature(this.temperatures[i], engine != null ? engine.split() : null), tracker));
+		}
+	}
+	
+	/**
+	 * Constructs a parallel tempering search for a problem with real-valued costs.
+	 * A ProgressTracker is created for you.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator supporting the undo operation.  Each replica other than the
+	 * first uses a copy generated by the split method of mutation.
+	 * @param initializer The source of random initial states.
+	 * @param temperatures The temperatures of the replicas, one replica per temperature.  The
+	 * temperatures may be in any order, but must all be positive.
+	 * @param swapInterval The number of evaluations by each replica between exchanges.
+	 * @throws NullPointerException if any of the parameters are null.
+	 * @throws IllegalArgumentException if temperatures.length is less than 1, or if any of the
+	 * temperatures are not positive.
+	 * @throws IllegalArgumentException if swapInterval is less than 1.
+	 */
+	public ParallelTempering(OptimizationProblem<T> problem, UndoableMutationOperator<T> mutation, Initializer<T> initializer, double[] temperatures, int swapInterval) {
+		this(problem, mutation, initializer, temperatures, swapInterval, new ProgressTracker<T>());
+	}
+	
+	/**
+	 * Constructs a parallel tempering search for a problem with integer costs.
+	 * A ProgressTracker is created for you.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator supporting the undo operation.  Each replica other than the
+	 * first uses a copy generated by the split method of mutation.
+	 * @param initializer The source of random initial states.
+	 * @param temperatures The temperatures of the replicas, one replica per temperature.  The
+	 * temperatures may be in any order, but must all be positive.
+	 * @param swapInterval The number of evaluations by each replica between exchanges.
+	 * @throws NullPointerException if any of the parameters are null.
+	 * @throws IllegalArgumentException if temperatures.length is less than 1, or if any of the
+	 * temperatures are not positive.
+	 * @throws IllegalArgumentException if swapInterval is less than 1.
+	 */
+	public ParallelTempering(IntegerCostOptimizationProblem<T> problem, UndoableMutationOperator<T> mutation, Initializer<T> initializer, double[] temperatures, int swapInterval) {
+		this(problem, mutation, initializer, temperatures, swapInterval, new ProgressTracker<T>());
+	}
+	
+	/*
+	 * internal constructor, which validates and initializes everything but the replicas
+	 */
+	private ParallelTempering(Initializer<T> initializer, double[] temperatures, int swapInterval, ProgressTracker<T> tracker, RandomEngine engine) {
+		if (initializer == null || tracker == null) throw new NullPointerException();
+		if (temperatures.length < 1) throw new IllegalArgumentException("must be at least 1 temperature");
+		if (swapInterval < 1) throw new IllegalArgumentException("swapInterval must be at least 1");
+		this.temperatures = temperatures.clone();
+		Arrays.sort(this.temperatures);
+		if (this.temperatures[0] <= 0) throw new IllegalArgumentException("Temperatures must be positive");
+		this.initializer = initializer;
+		this.swapInterval = swapInterval;
+		this.tracker = tracker;
+		this.engine = engine;
+		replicas = new ArrayList<SimulatedAnnealing<T>>(this.temperatures.length);
+		current = new ArrayList<T>(this.temperatures.length);
+		costs = new ArrayList<SolutionCostPair<T>>(this.temperatures.length);
+	}
+	
+	/*
+	 * private for use by split method
+	 */
+	private ParallelTempering(ParallelTempering<T> other) {
+		temperatures = other.temperatures;
+		swapInterval = other.swapInterval;
+		initializer = other.initializer.split();
+		tracker = other.tracker;
+		engine = other.engine != null ? other.engine.split() : null;
+		replicas = new ArrayList<SimulatedAnnealing<T>>(temperatures.length);
+		for (SimulatedAnnealing<T> replica : other.replicas) {
+			replicas.add(replica.split());
+		}
+		current = new ArrayList<T>(temperatures.length);
+		costs = new ArrayList<SolutionCostPair<T>>(temperatures.length);
+	}
+	
+	/**
+	 * Generates a geometric sequence of temperatures for parallel tempering, 
+	 * i.e., such that the ratio of adjacent temperatures is constant.
+	 * @param tMin The lowest temperature, which must be positive.
+	 * @param tMax The highest temperature, which must be at least tMin.
+	 * @param numReplicas The number of temperatures, which must be positive.
+	 * @return an array of numReplicas temperatures in increasing order, beginning with tMin
+	 * and ending with tMax
+	 * @throws IllegalArgumentException if tMin &le; 0, or tMax &lt; tMin, or numReplicas &lt; 1.
+	 */
+	public static double[] geometricTemperatures(double tMin, double tMax, int numReplicas) {
+		if (tMin <= 0) throw new IllegalArgumentException("Temperatures must be positive");
+		if (tMax < tMin) throw new IllegalArgumentException("tMax must be at least tMin");
+		if (numReplicas < 1) throw new IllegalArgumentException("must be at least 1 temperature");
+		double[] t = new double[numReplicas];
+		t[0] = tMin;
+		if (numReplicas > 1) {
+			double ratio = Math.pow(tMax / tMin, 1.0 / (numReplicas - 1));
+			for (int i = 1; i < numReplicas - 1; i++) {
+				t[i] = t[i-1] * ratio;
+			}
+			t[numReplicas - 1] = tMax;
+		}
+		return t;
+	}
+	
+	/**
+	 * Executes a run of parallel tempering, with each replica beginning at its own 
+	 * randomly generated solution.
+	 * @param maxEvals The maximum number of evaluations by each replica.
+	 * @return The best solution (and its cost) among the replicas' current solutions at the barriers of
+	 * this run, which may or may not be the same as the solution contained
+	 * in the {@link ProgressTracker}, which contains the best of all runs.
+	 * Returns null if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	@Override
+	public SolutionCostPair<T> optimize(int maxEvals) {
+		if (closed) {
+			throw new IllegalStateException("This ParallelTempering was previously closed.");
+		}
+		if (tracker.didFindBest() || tracker.isStopped()) return null;
+		initReplicas();
+		return runReplicas(maxEvals);
+	}
+	
+	/**
+	 * Continues parallel tempering from the replicas' current solutions at the end of the
+	 * previous run.  If the ProgressTracker contains a solution better than the 
+	 * current solution of the coldest replica, then the coldest replica instead continues from
+	 * a copy of the solution in the ProgressTracker.  If no prior run had been performed, 
+	 * then this method is equivalent to {@link #optimize}.
+	 * @param maxEvals The maximum number of evaluations by each replica.
+	 * @return The best solution (and its cost) among the replicas' current solutions at the barriers of
+	 * this run, which may or may not be the same as the solution contained
+	 * in the {@link ProgressTracker}, which contains the best of all runs.
+	 * Returns null if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	@Override
+	public SolutionCostPair<T> reoptimize(int maxEvals) {
+		if (closed) {
+			throw new IllegalStateException("This ParallelTempering was previously closed.");
+		}
+		if (tracker.didFindBest() || tracker.isStopped()) return null;
+		if (current.size() == 0) {
+			initReplicas();
+		} else {
+			SolutionCostPair<T> best = tracker.getSolutionCostPair();
+			if (best.getSolution() != null && (costs.get(0) == null || best.compareTo(costs.get(0)) < 0)) {
+				current.set(0, best.getSolution().copy());
+			}
+		}
+		return runReplicas(maxEvals);
+	}
+	
+	/**
+	 * Gets the number of replicas.
+	 * @return the number of replicas
+	 */
+	public int getNumReplicas() {
+		return temperatures.length;
+	}
+	
+	/**
+	 * Gets the temperatures of the replicas.
+	 * @return an array of the temperatures of the replicas in increasing order
+	 */
+	public double[] getTemperatures() {
+		return temperatures.clone();
+	}
+	
+	/**
+	 * Gets the total number of attempted exchanges of solutions between adjacent replicas,
+	 * across all runs.
+	 * @return the total number of attempted exchanges
+	 */
+	public long getTotalSwapAttempts() {
+		return swapAttempts;
+	}
+	
+	/**
+	 * Gets the total number of accepted exchanges of solutions between adjacent replicas,
+	 * across all runs.
+	 * @return the total number of accepted exchanges
+	 */
+	public long getTotalSwaps() {
+		return swaps;
+	}
+	
+	/**
+	 * <p>Initiates an orderly shutdown of the thread pool used by this ParallelTempering.
+	 * The ParallelTempering utilizes a fixed thread pool so that multiple calls to
+	 * the {@link #optimize} and {@link #reoptimize} methods can reuse threads to minimize the expensive task of
+	 * thread creation.  When you no longer need the ParallelTempering, you should call
+	 * the close method to ensure that unneeded threads do not persist.
+	 * If an ExecutorService was provided via the {@link #setExecutor} method, 
+	 * then it is not shut down, since it may be shared.
+	 * Once close is called, all subsequent calls to {@link #optimize} and {@link #reoptimize} will throw an exception.</p>
+	 * <p>This method is invoked automatically on objects managed by the try-with-resources statement.</p>
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		if (ownsThreadPool) threadPool.shutdown();
+	}
+	
+	/**
+	 * <p>Sets the ExecutorService used to run the replicas, such as the shared
+	 * thread pool provided by {@link org.cicirello.search.concurrent.SearchExecutors#sharedPool}, 
+	 * or an ExecutorService that runs each replica in a virtual thread.  By default, the ParallelTempering
+	 * creates its own fixed thread pool, with one thread per replica, upon first use.  
+	 * An ExecutorService that is set with this method is not shut down by the
+	 * {@link #close} method, and it is also used by the objects returned by the {@link #split} method.</p>
+	 *
+	 * <p>The replicas wait for each other at each exchange, so the ExecutorService must be able to run
+	 * all of the replicas at the same time, i.e., it must either have at least as many threads as there are 
+	 * replicas, or be a ForkJoinPool (which adds threads to compensate for those that are waiting).</p>
+	 *
+	 * @param executor The ExecutorService to use, or null for the ParallelTempering to use its own thread pool.
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		if (closed) {
+			throw new IllegalStateException("This ParallelTempering was previously closed.");
+		}
+		if (ownsThreadPool) {
+			threadPool.shutdown();
+			ownsThreadPool = false;
+		}
+		threadPool = executor;
+	}
+	
+	@Override
+	public ParallelTempering<T> split() {
+		ParallelTempering<T> pt = new ParallelTempering<T>(this);
+		if (!ownsThreadPool) pt.threadPool = threadPool;
+		if (closed) pt.close();
+		return pt;
+	}
+	
+	@Override
+	public ProgressTracker<T> getProgressTracker() {
+		return tracker;
+	}
+	
+	@Override
+	public void setProgressTracker(ProgressTracker<T> tracker) {
+		if (tracker != null) {
+			this.tracker = tracker;
+			for (SimulatedAnnealing<T> replica : replicas) {
+				replica.setProgressTracker(tracker);
+			}
+		}
+	}
+	
+	@Override
+	public Problem<T> getProblem() {
+		return replicas.get(0).getProblem();
+	}
+	
+	/**
+	 * Gets the total number of evaluations of all of the replicas combined,
+	 * across all runs.
+	 * @return the total number of evaluations of all of the replicas
+	 */
+	@Override
+	public long getTotalRunLength() {
+		long total = 0;
+		for (SimulatedAnnealing<T> replica : replicas) {
+			total = total + replica.getTotalRunLength();
+		}
+		return total;
+	}
+	
+	/*
+	 * Gives each replica a new random solution.
+	 */
+	private void initReplicas() {
+		current.clear();
+		costs.clear();
+		for (int i = 0; i < replicas.size(); i++) {
+			current.add(initializer.createCandidateSolution());
+			costs.add(null);
+		}
+	}
+	
+	/*
+	 * Runs the replicas, which exchange solutions at each barrier.  The exchanges
+	 * are done by the phaser's onAdvance method, which is executed by the last replica to 
+	 * arrive at the barrier, while the others wait.
+	 */
+	private SolutionCostPair<T> runReplicas(int maxEvals) {
+		final int rounds = maxEvals <= swapInterval ? 1 : (maxEvals - 1) / swapInterval + 1;
+		runBest = null;
+		
+		final Phaser barrier = new Phaser(replicas.size()) {
+			@Override
+			protected boolean onAdvance(int phase, int registeredParties) {
+				recordBest();
+				if (phase + 1 >= rounds || tracker.isStopped() || tracker.didFindBest()) {
+					return true;
+				}
+				exchange(phase);
+				return false;
+			}
+		};
+		
+		class ReplicaRunner implements Runnable {
+			
+			int which;
+			
+			ReplicaRunner(int which) {
+				this.which = which;
+			}
+			
+			@Override
+			public void run() {
+				SimulatedAnnealing<T> replica = replicas.get(which);
+				try {
+					for (int r = 0; ; r++) {
+						int evals = (int)Math.min(swapInterval, Math.max(0L, maxEvals - (long)r * swapInterval));
+						costs.set(which, replica.optimizeSingleRun(evals, current.get(which)));
+						if (barrier.arriveAndAwaitAdvance() < 0) break;
+					}
+				} finally {
+					// if this replica failed, the others must not wait for it at the barrier
+					barrier.forceTermination();
+				}
+			}
+		}
+		
+		ArrayList<Future<?>> futures = new ArrayList<Future<?>>(); 
+		for (int i = 0; i < replicas.size(); i++) {
+			futures.add(threadPool().submit(new ReplicaRunner(i)));
+		}
+		for (Future<?> f : futures) {
+			try {
+				f.get();
+			} 
+			catch (InterruptedException ex) { }
+			catch (ExecutionException ex) { }
+		}
+		return runBest;
+	}
+	
+	/*
+	 * Keeps a copy of the best solution of the run, copying only upon improvement.
+	 */
+	private void recordBest() {
+		for (SolutionCostPair<T> pair : costs) {
+			if (pair != null && (runBest == null || pair.compareTo(runBest) < 0)) {
+				runBest = pair.containsIntCost() 
+					? new SolutionCostPair<T>(pair.getSolution().copy(), pair.getCost())
+					: new SolutionCostPair<T>(pair.getSolution().copy(), pair.getCostDouble());
+			}
+		}
+	}
+	
+	/*
+	 * Attempts to exchange the solutions of adjacent replicas, alternating
+	 * between the even and odd pairs at successive barriers.
+	 */
+	private void exchange(int phase) {
+		Random r = engine != null ? engine : ThreadLocalRandom.current();
+		for (int i = phase & 1; i + 1 < temperatures.length; i += 2) {
+			swapAttempts++;
+			double delta = (1.0 / temperatures[i] - 1.0 / temperatures[i+1]) 
+				* (costs.get(i).getCostDouble() - costs.get(i+1).getCostDouble());
+			if (delta >= 0 || r.nextDouble() < Math.exp(delta)) {
+				Collections.swap(current, i, i+1);
+				Collections.swap(costs, i, i+1);
+				swaps++;
+			}
+		}
+	}
+	
+	/*
+	 * Gets the ExecutorService, creating a thread pool if one hasn't been set.
+	 */
+	private ExecutorService threadPool() {
+		if (threadPool == null) {
+			threadPool = Executors.newFixedThreadPool(replicas.size());
+			ownsThreadPool = true;
+		}
+		return threadPool;
+	}
+}
@@ -20,7 +20,7 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * <p>This class implements a parameter-free version of the classic 
@@ -79,11 +79,12 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 9.30.2019
+ * @version 7.23.2020
  */
 public final class ParameterFreeExponentialCooling implements AnnealingSchedule {
 	
 	private double t;
+	private final BoltzmannAcceptance acceptance;
 	private double alpha;
 	private int steps;
 	private int stepCounter;
@@ -101,7 +102,28 @@ public final class ParameterFreeExponentialCooling implements AnnealingSchedule
 	 * temperature, alpha, and step size.
 	 */
 	public ParameterFreeExponentialCooling() {
-		// deliberately empty
+		acceptance = new BoltzmannAcceptance();
+	}
+	
+	/**
+	 * Constructs an exponential cooling schedule that 
+	 * uses first few samples to estimate cost difference between
+	 * random neighbors, and then uses that estimate to set the initial
+	 * temperature, temperature delta, and step size.
+	 * @param engine The source of random numbers for deciding whether to accept neighbors,
+	 * such as a {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus},
+	 * which is split when this annealing schedule is split.
+	 * If engine is null, ThreadLocalRandom is used.
+	 */
+	public ParameterFreeExponentialCooling(RandomEngine engine) {
+		acceptance = new BoltzmannAcceptance(engine);
+	}
+	
+	/*
+	 * private copy constructor for internal use only
+	 */
+	private ParameterFreeExponentialCooling(ParameterFreeExponentialCooling other) {
+		acceptance = other.acceptance.split();
 	}
 	
 	@Override
@@ -122,19 +144,36 @@ public final class ParameterFreeExponentialCooling implements AnnealingSchedule
 			return true;
 		} else {
 			boolean doAccept = neighborCost <= currentCost ||
-				ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
-			stepCounter++;
-			if (stepCounter == steps && t > 0.001) {
-				stepCounter = 0; 
-				t *= alpha;
-			}
+				acceptance.acceptWorse(neighborCost-currentCost, t);
+			cool();
+			return doAccept;
+		}
+	}
+	
+	@Override
+	public boolean accept(int neighborCost, int currentCost) {
+		if (numEstSamples < ESTIMATION_SAMPLE_SIZE) {
+			estimationStep(neighborCost, currentCost); 
+			return true;
+		} else {
+			boolean doAccept = neighborCost <= currentCost ||
+				acceptance.acceptWorse((long)neighborCost-currentCost, t);
+			cool();
 			return doAccept;
 		}
 	}
 	
 	@Override
 	public ParameterFreeExponentialCooling split() {
-		return new ParameterFreeExponentialCooling();
+		return new ParameterFreeExponentialCooling(this);
+	}
+	
+	private void cool() {
+		stepCounter++;
+		if (stepCounter == steps && t > 0.001) {
+			stepCounter = 0; 
+			t *= alpha;
+		}
 	}
 	
 	private void estimationStep(double neighborCost, double currentCost) {
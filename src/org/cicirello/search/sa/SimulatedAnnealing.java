@@ -23,11 +23,17 @@ package org.cicirello.search.sa;
 import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.IncrementalOptimizationProblem;
+import org.cicirello.search.problems.IncrementalIntegerCostOptimizationProblem;
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveMutationOperator;
+import org.cicirello.search.operators.Move;
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.util.Copyable;
 import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.ProgressBuffer;
 import org.cicirello.search.SingleSolutionMetaheuristic;
+import org.cicirello.search.ResumableMetaheuristic;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.SimpleLocalMetaheuristic;
 
@@ -80,6 +86,11 @@ import org.cicirello.search.SimpleLocalMetaheuristic;
  * {@link org.cicirello.search.hc.SteepestDescentHillClimber SteepestDescentHillClimber} 
  * and {@link org.cicirello.search.hc.FirstDescentHillClimber FirstDescentHillClimber} classes.</p>
  *
+ * <p>A run of simulated annealing can also be executed in segments, via the 
+ * {@link #reoptimize(int,int) reoptimize(maxEvals, segmentEvals)} and {@link #resume resume} methods, 
+ * which continue the annealing schedule from one segment to the next, such as by the islands 
+ * of an {@link org.cicirello.search.concurrent.IslandModel IslandModel}.</p>
+ *
  * <p>Instances of SimulatedAnnealing are created through static factory methods named
  * {@link #createInstance}, rather than constructors.</p>
  *
@@ -89,16 +100,22 @@ import org.cicirello.search.SimpleLocalMetaheuristic;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.15.2020
+ * @version 8.6.2020
  */
-public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolutionMetaheuristic<T> {
+public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolutionMetaheuristic<T>, ResumableMetaheuristic<T> {
 	
 	private final Initializer<T> initializer;
 	private final UndoableMutationOperator<T> mutation;
 	private final AnnealingSchedule anneal;
 	private int elapsedEvals;
 	private ProgressTracker<T> tracker;
+	private final ProgressBuffer<T> buffer;
 	private final SingleRun<T> sr;
+	
+	// the run that is executed in segments by the resume method: the end
+	// of its most recent segment, and the number of evaluations that remain
+	private SolutionCostPair<T> segmentEnd;
+	private int remainingEvals;
 		
 	/*
 	 * internal constructor
@@ -111,8 +128,9 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		this.mutation = mutation;
 		this.anneal = anneal;
 		this.tracker = tracker;
+		buffer = new ProgressBuffer<T>(tracker);
 		// default on purpose: elapsedEvals = 0;
-		sr = new IntCost(problem);
+		sr = initSingleRun(problem);
 	}
 	
 	/*
@@ -126,8 +144,9 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		this.mutation = mutation;
 		this.anneal = anneal;
 		this.tracker = tracker;
+		buffer = new ProgressBuffer<T>(tracker);
 		// default on purpose: elapsedEvals = 0;
-		sr = new DoubleCost(problem);
+		sr = initSingleRun(problem);
 	}
 	
 	/*
@@ -137,6 +156,9 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 	private SimulatedAnnealing(SimulatedAnnealing<T> other) {
 		// this one must be shared.
 		tracker = other.tracker;
+		
+		// each thread buffers its own improvements
+		buffer = new ProgressBuffer<T>(tracker);
 	
 		// split these: not threadsafe
 		initializer = other.initializer.split();
@@ -148,11 +170,33 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		Problem<T> p = other.sr.getProblem();
 		@SuppressWarnings("unchecked")
 		SingleRun<T> sr = p instanceof IntegerCostOptimizationProblem ? 
-			new IntCost((IntegerCostOptimizationProblem<T>)p) : 
-			new DoubleCost((OptimizationProblem<T>)p);
+			initSingleRun((IntegerCostOptimizationProblem<T>)p) : 
+			initSingleRun((OptimizationProblem<T>)p);
 		this.sr = sr;
 	}
 	
+	/*
+	 * Uses delta evaluation if both the problem and the mutation operator support it.
+	 * The mutation field must be initialized prior to calling this.
+	 */
+	private SingleRun<T> initSingleRun(IntegerCostOptimizationProblem<T> problem) {
+		if (problem instanceof IncrementalIntegerCostOptimizationProblem && mutation instanceof MoveMutationOperator) {
+			return new IntCostDelta((IncrementalIntegerCostOptimizationProblem<T>)problem, (MoveMutationOperator<T>)mutation);
+		}
+		return new IntCost(problem);
+	}
+	
+	/*
+	 * Uses delta evaluation if both the problem and the mutation operator support it.
+	 * The mutation field must be initialized prior to calling this.
+	 */
+	private SingleRun<T> initSingleRun(OptimizationProblem<T> problem) {
+		if (problem instanceof IncrementalOptimizationProblem && mutation instanceof MoveMutationOperator) {
+			return new DoubleCostDelta((IncrementalOptimizationProblem<T>)problem, (MoveMutationOperator<T>)mutation);
+		}
+		return new DoubleCost(problem);
+	}
+	
 	/**
 	 * Creates a SimulatedAnnealing search instance for real-valued optimization problems.
 	 * @param problem An instance of an optimization problem to solve.
@@ -518,6 +562,63 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		return optimizeSingleRun(maxEvals, start.copy());
 	}
 	
+	/**
+	 * Begins a reannealing run starting from the previous best found solution contained
+	 * in the tracker object (or from a randomly generated solution if no prior
+	 * run had been performed), and initializes the annealing schedule for a run of maxEvals
+	 * evaluations, but executes only the first segmentEvals of them.  The rest of the run
+	 * is executed by the {@link #resume resume} method, which continues the annealing 
+	 * schedule from where the previous segment ended.  If this simulated annealer was configured 
+	 * with a hill climber, then the hill climber is applied at the end of the last segment of the run.
+	 * @param maxEvals The maximum number of simulated annealing evaluations (i.e., iterations)
+	 * of the entire run.
+	 * @param segmentEvals The maximum number of simulated annealing evaluations
+	 * to execute during the first segment of the run.
+	 * @return the current solution at the end of the segment and its cost, which may or may not be the best
+	 * of run solution, and which may or may not be the same as the solution contained
+	 * in this simulated annealer's {@link ProgressTracker}, which contains the best of all runs.
+	 * Returns null if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 */
+	@Override
+	public final SolutionCostPair<T> reoptimize(int maxEvals, int segmentEvals) {
+		ProgressTracker<T> tracker = getProgressTracker();
+		if (tracker.didFindBest() || tracker.isStopped()) return null;
+		T start = tracker.getSolution();
+		if (start == null) start = initializer.createCandidateSolution();
+		else start = start.copy();
+		return beginSegmentedRun(maxEvals, segmentEvals, start);
+	}
+	
+	/**
+	 * Executes the next segment of the run most recently begun by the 
+	 * {@link #reoptimize(int,int) reoptimize(maxEvals, segmentEvals)} method, continuing
+	 * the annealing schedule (i.e., the temperature is not reinitialized).  The segment
+	 * continues from the current solution at the end of the previous segment, or from a copy
+	 * of the injected solution if there is one.  If there is no run to continue, then this method
+	 * begins a new run of segmentEvals evaluations, at the injected solution if there is one,
+	 * and otherwise at the previous best found solution.
+	 * @param segmentEvals The maximum number of simulated annealing evaluations (i.e., iterations)
+	 * to execute during this segment.
+	 * @param injected A solution to continue the run from, or null to continue from 
+	 * the end of the previous segment.
+	 * @return the current solution at the end of the segment and its cost, which may or may not be the best
+	 * of run solution, and which may or may not be the same as the solution contained
+	 * in this simulated annealer's {@link ProgressTracker}, which contains the best of all runs.
+	 * Returns null if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 */
+	@Override
+	public final SolutionCostPair<T> resume(int segmentEvals, T injected) {
+		ProgressTracker<T> tracker = getProgressTracker();
+		if (tracker.didFindBest() || tracker.isStopped()) return null;
+		if (remainingEvals <= 0) {
+			if (injected == null) return reoptimize(segmentEvals, segmentEvals);
+			return beginSegmentedRun(segmentEvals, segmentEvals, injected.copy());
+		}
+		return runSegment(segmentEvals, injected != null ? injected.copy() : segmentEnd.getSolution().copy());
+	}
+	
 	@Override
 	public final Problem<T> getProblem() {
 		return sr.getProblem();
@@ -530,7 +631,10 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 	
 	@Override
 	public final void setProgressTracker(ProgressTracker<T> tracker) {
-		if (tracker != null) this.tracker = tracker;
+		if (tracker != null) {
+			this.tracker = tracker;
+			buffer.setProgressTracker(tracker);
+		}
 	}
 
 	@Override
@@ -558,7 +662,39 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 	}
 	
 	SolutionCostPair<T> optimizeSingleRun(int maxEvals, T current) {
-		return sr.optimizeSingleRun(maxEvals, current);
+		anneal.init(maxEvals);
+		return endRun(sr.optimizeSingleRun(maxEvals, current));
+	}
+	
+	/*
+	 * Post-processes the current solution at the end of a run, 
+	 * which the subclass with hill climbing overrides.
+	 */
+	SolutionCostPair<T> endRun(SolutionCostPair<T> result) {
+		return result;
+	}
+	
+	private SolutionCostPair<T> beginSegmentedRun(int maxEvals, int segmentEvals, T start) {
+		anneal.init(maxEvals);
+		remainingEvals = maxEvals;
+		return runSegment(segmentEvals, start);
+	}
+	
+	/*
+	 * The previous segment's end is kept for the next segment, which continues from a copy of it,
+	 * so that the solution returned to the caller is not changed by later segments.
+	 */
+	private SolutionCostPair<T> runSegment(int segmentEvals, T current) {
+		int evals = Math.min(segmentEvals, remainingEvals);
+		remainingEvals -= evals;
+		segmentEnd = sr.optimizeSingleRun(evals, current);
+		if (tracker.didFindBest() || tracker.isStopped()) {
+			// the run ended early, so there is nothing to continue
+			remainingEvals = 0;
+		} else if (remainingEvals == 0) {
+			segmentEnd = endRun(segmentEnd);
+		}
+		return segmentEnd;
 	}
 	
 	private interface SingleRun<T extends Copyable<T>> {
@@ -585,36 +721,35 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 			int currentCost = pOptInt.cost(current);
 			
 			// initialize best cost, etc
-			int bestCost = tracker.getCost();
+			int bestCost = buffer.getCost();
 			if (currentCost < bestCost) {
-				bestCost = tracker.update(currentCost, current);
+				bestCost = buffer.update(currentCost, current);
 				if (bestCost == pOptInt.minCost()) {
 					// found theoretical best so no point in proceeding
-					tracker.setFoundBest();
+					buffer.setFoundBest();
 					return new SolutionCostPair<T>(current, currentCost);
 				}
 			}
 			
-			// initialize the annealing schedule
-			anneal.init(maxEvals);
-			
 			// main simulated annealing loop
 			for (int i = 1; i <= maxEvals; i++) {
 				if (tracker.isStopped()) {
 					// some other thread signaled to stop
 					elapsedEvals += (i-1);
+					buffer.flush();
 					return new SolutionCostPair<T>(current, currentCost);
 				}
 				mutation.mutate(current);
 				int neighborCost = pOptInt.cost(current);
+				buffer.checkpoint();
 				if (anneal.accept(neighborCost, currentCost)) {
 					// accepting the neighbor
 					currentCost = neighborCost;
 					if (currentCost < bestCost) {
-						bestCost = tracker.update(currentCost, current);
+						bestCost = buffer.update(currentCost, current);
 						if (bestCost == pOptInt.minCost()) {
 							// found theoretical best so no point in proceeding
-							tracker.setFoundBest();
+							buffer.setFoundBest();
 							elapsedEvals += i;
 							return new SolutionCostPair<T>(current, currentCost);
 						}
@@ -625,6 +760,7 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 				}
 			}
 			elapsedEvals += maxEvals;
+			buffer.flush();
 			return new SolutionCostPair<T>(current, currentCost);
 		}
 	}
@@ -648,36 +784,35 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 			double currentCost = pOpt.cost(current);
 			
 			// initialize best cost, etc
-			double bestCost = tracker.getCostDouble();
+			double bestCost = buffer.getCostDouble();
 			if (currentCost < bestCost) {
-				bestCost = tracker.update(currentCost, current);
+				bestCost = buffer.update(currentCost, current);
 				if (bestCost == pOpt.minCost()) {
 					// found theoretical best so no point in proceeding
-					tracker.setFoundBest();
+					buffer.setFoundBest();
 					return new SolutionCostPair<T>(current, currentCost);
 				}
 			}
 			
-			// initialize the annealing schedule
-			anneal.init(maxEvals);
-			
 			// main simulated annealing loop
 			for (int i = 1; i <= maxEvals; i++) {
 				if (tracker.isStopped()) {
 					// some other thread signaled to stop
 					elapsedEvals += (i-1);
+					buffer.flush();
 					return new SolutionCostPair<T>(current, currentCost);
 				}
 				mutation.mutate(current);
 				double neighborCost = pOpt.cost(current);
+				buffer.checkpoint();
 				if (anneal.accept(neighborCost, currentCost)) {
 					// accepting the neighbor
 					currentCost = neighborCost;
 					if (currentCost < bestCost) {
-						bestCost = tracker.update(currentCost, current);
+						bestCost = buffer.update(currentCost, current);
 						if (bestCost == pOpt.minCost()) {
 							// found theoretical best so no point in proceeding
-							tracker.setFoundBest();
+							buffer.setFoundBest();
 							elapsedEvals += i;
 							return new SolutionCostPair<T>(current, currentCost);
 						}
@@ -688,10 +823,148 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 				}
 			}
 			elapsedEvals += maxEvals;
+			buffer.flush();
 			return new SolutionCostPair<T>(current, currentCost);
 		}
 	}
 	
+	private final class IntCostDelta implements SingleRun<T> {
+		
+		private final IncrementalIntegerCostOptimizationProblem<T> pOptInt;
+		private final MoveMutationOperator<T> moves;
+		
+		private IntCostDelta(IncrementalIntegerCostOptimizationProblem<T> problem, MoveMutationOperator<T> moves) {
+			pOptInt = problem;
+			this.moves = moves;
+		}
+		
+		@Override
+		public IncrementalIntegerCostOptimizationProblem<T> getProblem() {
+			return pOptInt;
+		}
+		
+		@Override
+		public SolutionCostPair<T> optimizeSingleRun(int maxEvals, T current) {
+			// compute cost of start
+			int currentCost = pOptInt.cost(current);
+			
+			// initialize best cost, etc
+			int bestCost = buffer.getCost();
+			if (currentCost < bestCost) {
+				bestCost = buffer.update(currentCost, current);
+				if (bestCost == pOptInt.minCost()) {
+					// found theoretical best so no point in proceeding
+					buffer.setFoundBest();
+					return new SolutionCostPair<T>(current, currentCost);
+				}
+			}
+			
+			// main simulated annealing loop
+			for (int i = 1; i <= maxEvals; i++) {
+				if (tracker.isStopped()) {
+					// some other thread signaled to stop
+					elapsedEvals += (i-1);
+					buffer.flush();
+					return new SolutionCostPair<T>(current, currentCost);
+				}
+				Move<T> move = moves.nextMove(current);
+				int neighborCost = currentCost + pOptInt.costDelta(current, move);
+				buffer.checkpoint();
+				if (anneal.accept(neighborCost, currentCost)) {
+					// accepting the neighbor
+					move.apply(current);
+					currentCost = neighborCost;
+					if (currentCost < bestCost) {
+						bestCost = buffer.update(currentCost, current);
+						if (bestCost == pOptInt.minCost()) {
+							// found theoretical best so no point in proceeding
+							buffer.setFoundBest();
+							elapsedEvals += i;
+							return new SolutionCostPair<T>(current, currentCost);
+						}
+					}
+				}
+				// a rejected neighbor was never applied, so there is nothing to undo
+			}
+			elapsedEvals += maxEvals;
+			buffer.flush();
+			return new SolutionCostPair<T>(current, currentCost);
+		}
+	}
+	
+	private final class DoubleCostDelta implements SingleRun<T> {
+		
+		private final IncrementalOptimizationProblem<T> pOpt;
+		private final MoveMutationOperator<T> moves;
+		
+		// number of evaluations between recomputations of the full cost, which
+		// keeps floating-point error from accumulating in the sum of the deltas
+		private static final int RESYNC_INTERVAL = 1024;
+		
+		private DoubleCostDelta(IncrementalOptimizationProblem<T> problem, MoveMutationOperator<T> moves) {
+			pOpt = problem;
+			this.moves = moves;
+		}
+		
+		@Override
+		public IncrementalOptimizationProblem<T> getProblem() {
+			return pOpt;
+		}
+		
+		@Override
+		public SolutionCostPair<T> optimizeSingleRun(int maxEvals, T current) {
+			// compute cost of start
+			double currentCost = pOpt.cost(current);
+			
+			// initialize best cost, etc
+			double bestCost = buffer.getCostDouble();
+			if (currentCost < bestCost) {
+				bestCost = buffer.update(currentCost, current);
+				if (bestCost == pOpt.minCost()) {
+					// found theoretical best so no point in proceeding
+					buffer.setFoundBest();
+					return new SolutionCostPair<T>(current, currentCost);
+				}
+			}
+			
+			// main simulated annealing loop
+			for (int i = 1; i <= maxEvals; i++) {
+				if (tracker.isStopped()) {
+					// some other thread signaled to stop
+					elapsedEvals += (i-1);
+					buffer.flush();
+					return new SolutionCostPair<T>(current, pOpt.cost(current));
+				}
+				Move<T> move = moves.nextMove(current);
+				double neighborCost = currentCost + pOpt.costDelta(current, move);
+				buffer.checkpoint();
+				if (anneal.accept(neighborCost, currentCost)) {
+					// accepting the neighbor
+					move.apply(current);
+					currentCost = neighborCost;
+					if (currentCost < bestCost) {
+						// the tracker gets the exact cost rather than the sum of the deltas
+						currentCost = pOpt.cost(current);
+					}
+					if (currentCost < bestCost) {
+						bestCost = buffer.update(currentCost, current);
+						if (bestCost == pOpt.minCost()) {
+							// found theoretical best so no point in proceeding
+							buffer.setFoundBest();
+							elapsedEvals += i;
+							return new SolutionCostPair<T>(current, currentCost);
+						}
+					}
+				}
+				// a rejected neighbor was never applied, so there is nothing to undo
+				if (i % RESYNC_INTERVAL == 0) currentCost = pOpt.cost(current);
+			}
+			elapsedEvals += maxEvals;
+			buffer.flush();
+			return new SolutionCostPair<T>(current, pOpt.cost(current));
+		}
+	}
+	
 	/*
 	 * Internal private subclass with hill climbing.
 	 */
@@ -736,8 +1009,7 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		}
 		
 		@Override
-		SolutionCostPair<T> optimizeSingleRun(int maxEvals, T current) {
-			SolutionCostPair<T> result = super.optimizeSingleRun(maxEvals, current);
+		SolutionCostPair<T> endRun(SolutionCostPair<T> result) {
 			if (getProgressTracker().didFindBest() || getProgressTracker().isStopped()) {
 				return result;
 			} else {
@@ -27,7 +27,12 @@ import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.ProgressBuffer;
+import java.util.ArrayList;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>The AcceptanceBandSampling class implements a form of stochastic sampling 
@@ -105,18 +110,26 @@ import org.cicirello.math.rand.RandomIndexer;
  * implements the stochastic sampling version, and does not involve any
  * backtracking.</p>
  *
+ * <p>By default, the random decisions are made with ThreadLocalRandom.  The
+ * {@link #AcceptanceBandSampling(ConstructiveHeuristic, double, ProgressTracker, RandomEngine)} constructor instead
+ * uses a {@link RandomEngine}, which is split whenever the search is split, so that
+ * runs with a seeded engine are reproducible.</p>
+ *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 7.10.2020
+ * @version 8.3.2020
  */
 public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permutation>, Metaheuristic<Permutation> {
 	
 	private final Sampler sampler;
 	private final double acceptancePercentage;
 	private ProgressTracker<Permutation> tracker;
+	private final ProgressBuffer<Permutation> buffer;
 	private int numGenerated;
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs an AcceptanceBandSampling search object.  
@@ -178,6 +191,25 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 	 * @throws IllegalArgumentException if beta is less than 0.0 or greater than 1.0.
 	 */
 	public AcceptanceBandSampling(ConstructiveHeuristic heuristic, double beta, ProgressTracker<Permutation> tracker) {
+		this(heuristic, beta, tracker, null);
+	}
+	
+	/**
+	 * Constructs an AcceptanceBandSampling search object that uses a given source of random numbers.
+	 * @param heuristic The constructive heuristic.
+	 * @param beta The acceptance band parameter. When making a decision, if h is the max
+	 * of the heuristic evaluations of all of the options, then the search will consider all
+	 * options whose heuristic evaluation is at least h(1.0 - beta) as equivalent and choose
+	 * uniformly at random from among those equivalent options.  The value of beta must satisfy:
+	 * 0.0 &le; beta &le; 1.0.
+	 * @param tracker A ProgressTracker
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the search is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws NullPointerException if heuristic or tracker is null
+	 * @throws IllegalArgumentException if beta is less than 0.0 or greater than 1.0.
+	 */
+	public AcceptanceBandSampling(ConstructiveHeuristic heuristic, double beta, ProgressTracker<Permutation> tracker, RandomEngine engine) {
 		if (heuristic == null || tracker == null) {
 			throw new NullPointerException();
 		}
@@ -185,7 +217,9 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 			throw new IllegalArgumentException("beta must be in the interval: [0.0, 1.0].");
 		}
 		this.tracker = tracker;
+		buffer = new ProgressBuffer<Permutation>(tracker);
 		acceptancePercentage = 1.0 - beta;
+		this.engine = engine;
 		if (heuristic.getProblem() instanceof IntegerCostOptimizationProblem) {
 			sampler = new IntCost(heuristic);
 		} else {
@@ -199,7 +233,10 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 	 */
 	private AcceptanceBandSampling(AcceptanceBandSampling other) {
 		tracker = other.tracker;
+		// each thread buffers its own improvements
+		buffer = new ProgressBuffer<Permutation>(tracker);
 		acceptancePercentage = other.acceptancePercentage;
+		engine = other.engine != null ? other.engine.split() : null;
 		if (other.sampler instanceof IntCost) {
 			sampler = new IntCost((IntCost)other.sampler);
 		} else {
@@ -212,13 +249,20 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 	public SolutionCostPair<Permutation> optimize() {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		numGenerated++;
-		return sampler.optimize();
+		SolutionCostPair<Permutation> result = sampler.getProblem().getSolutionCostPair(sampler.construct());
+		sampler.update(result);
+		buffer.flush();
+		return result;
 	}
 	
 	/**
 	 * <p>Generates multiple samples using Acceptance Band Sampling.  
 	 * Returns the best solution of the set of samples.</p>
 	 *
+	 * <p>The samples are evaluated in batches via the problem's batch evaluation
+	 * method, with the size of the batches determined by the problem's 
+	 * {@link Problem#preferredBatchSize preferredBatchSize} method.</p>
+	 *
 	 * @param numSamples The number of samples to perform.
 	 * @return The best solution of this set of samples, which may or may not be the 
 	 * same as the solution contained
@@ -232,11 +276,25 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 	public SolutionCostPair<Permutation> optimize(int numSamples) {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		SolutionCostPair<Permutation> best = null;
-		for (int i = 0; i < numSamples && !tracker.didFindBest() && !tracker.isStopped(); i++) {
-			SolutionCostPair<Permutation> current = sampler.optimize();
-			numGenerated++;
-			if (best == null || current.compareTo(best) < 0) best = current;
+		Problem<Permutation> problem = sampler.getProblem();
+		int batchSize = Math.max(1, problem.preferredBatchSize());
+		ArrayList<Permutation> batch = new ArrayList<Permutation>(Math.min(batchSize, numSamples));
+		int remaining = numSamples;
+		while (remaining > 0 && !tracker.didFindBest() && !tracker.isStopped()) {
+			int n = Math.min(batchSize, remaining);
+			remaining -= n;
+			batch.clear();
+			for (int i = 0; i < n; i++) {
+				batch.add(sampler.construct());
+			}
+			for (SolutionCostPair<Permutation> current : problem.getSolutionCostPairs(batch)) {
+				sampler.update(current);
+				if (best == null || current.compareTo(best) < 0) best = current;
+			}
+			numGenerated += n;
+			buffer.checkpoint(n);
 		}
+		buffer.flush();
 		return best;
 	}
 	
@@ -247,7 +305,10 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 	
 	@Override
 	public void setProgressTracker(ProgressTracker<Permutation> tracker) {
-		if (tracker != null) this.tracker = tracker;
+		if (tracker != null) {
+			this.tracker = tracker;
+			buffer.setProgressTracker(tracker);
+		}
 	}
 	
 	@Override
@@ -277,11 +338,20 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 				n++;
 			}
 		}
-		return equivalents[RandomIndexer.nextInt(n)];
+		return equivalents[RandomIndexer.nextInt(n, random())];
+	}
+	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.
+	 */
+	private Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
 	}
 	
 	private interface Sampler {
-		SolutionCostPair<Permutation> optimize();
+		Permutation construct();
+		void update(SolutionCostPair<Permutation> solution);
 		Problem<Permutation> getProblem();
 	}
 	
@@ -304,7 +374,7 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 		}
 		
 		@Override
-		public SolutionCostPair<Permutation> optimize() {
+		public Permutation construct() {
 			IncrementalEvaluation incEval = heuristic.createIncrementalEvaluation();
 			int n = heuristic.completePermutationLength();
 			PartialPermutation p = new PartialPermutation(n);
@@ -326,13 +396,15 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 					p.extend(which);
 				}
 			}
-			Permutation complete = p.toComplete();
-			SolutionCostPair<Permutation> solution = heuristic.getProblem().getSolutionCostPair(complete);
+			return p.toComplete();
+		}
+		
+		@Override
+		public void update(SolutionCostPair<Permutation> solution) {
 			int cost = solution.getCost();
-			if (cost < tracker.getCost()) {
-				tracker.update(cost, complete);
+			if (cost < buffer.getCost()) {
+				buffer.update(cost, solution.getSolution());
 			}
-			return solution;
 		}
 		
 		@Override
@@ -360,7 +432,7 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 		}
 		
 		@Override
-		public SolutionCostPair<Permutation> optimize() {
+		public Permutation construct() {
 			IncrementalEvaluation incEval = heuristic.createIncrementalEvaluation();
 			int n = heuristic.completePermutationLength();
 			PartialPermutation p = new PartialPermutation(n);
@@ -382,13 +454,15 @@ public final class AcceptanceBandSampling implements SimpleMetaheuristic<Permuta
 					p.extend(which);
 				}
 			}
-			Permutation complete = p.toComplete();
-			SolutionCostPair<Permutation> solution = heuristic.getProblem().getSolutionCostPair(complete);
+			return p.toComplete();
+		}
+		
+		@Override
+		public void update(SolutionCostPair<Permutation> solution) {
 			double cost = solution.getCostDouble();
-			if (cost < tracker.getCostDouble()) {
-				tracker.update(cost, complete);
+			if (cost < buffer.getCostDouble()) {
+				buffer.update(cost, solution.getSolution());
 			}
-			return solution;
 		}
 		
 		@Override
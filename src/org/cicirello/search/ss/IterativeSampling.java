@@ -22,6 +22,7 @@ package org.cicirello.search.ss;
 
 import org.cicirello.util.Copyable;
 import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.ProgressBuffer;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.OptimizationProblem;
@@ -29,6 +30,7 @@ import org.cicirello.search.problems.IntegerCostOptimizationProblem;
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.Metaheuristic;
 import org.cicirello.search.SimpleMetaheuristic;
+import java.util.ArrayList;
 
 /**
  * <p>Iterative sampling is the simplest possible form of a stochastic sampling search.
@@ -49,7 +51,7 @@ import org.cicirello.search.SimpleMetaheuristic;
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 6.15.2020
+ * @version 8.3.2020
  */
 public final class IterativeSampling<T extends Copyable<T>> implements Metaheuristic<T>, SimpleMetaheuristic<T> {
 	
@@ -57,8 +59,9 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 	private final IntegerCostOptimizationProblem<T> pOptInt;
 	private final Initializer<T> initializer;
 	private ProgressTracker<T> tracker;
+	private final ProgressBuffer<T> buffer;
 	private long totalNumSamples;
-	private final OneSample<T> sampler;
+	private final Sampler<T> sampler;
 	
 	/**
 	 * Constructs an iterative sampling search for a real-valued optimization problem.
@@ -76,6 +79,7 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 		pOptInt = null;
 		this.initializer = initializer;
 		this.tracker = tracker;
+		buffer = new ProgressBuffer<T>(tracker);
 		// Deliberately using default: totalNumSamples = 0;
 		sampler = initSamplerDouble();
 	}
@@ -96,6 +100,7 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 		pOpt = null;
 		this.initializer = initializer;
 		this.tracker = tracker;
+		buffer = new ProgressBuffer<T>(tracker);
 		// Deliberately using default: totalNumSamples = 0;
 		sampler = initSamplerInt();
 	}
@@ -134,6 +139,9 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 		// this one must be shared so just copy reference.
 		tracker = other.tracker;
 		
+		// each thread buffers its own improvements
+		buffer = new ProgressBuffer<T>(tracker);
+		
 		// split: might not be threadsafe
 		initializer = other.initializer.split();
 
@@ -147,13 +155,19 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 	@Override
 	public SolutionCostPair<T> optimize() {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
-		return sampler.oneSample();
+		SolutionCostPair<T> result = sampler.sample(1);
+		buffer.flush();
+		return result;
 	}
 	
 	/**
 	 * <p>Generates multiple samples using Iterative Sampling.
 	 * Returns the best solution of the set of samples.</p>
 	 *
+	 * <p>The samples are evaluated in batches via the problem's batch evaluation
+	 * method, with the size of the batches determined by the problem's 
+	 * {@link Problem#preferredBatchSize preferredBatchSize} method.</p>
+	 *
 	 * @param numSamples The number of samples of Iterative Sampling to perform.
 	 * @return The best solution of this set of samples, which may or may not be the 
 	 * same as the solution contained
@@ -167,10 +181,16 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 	public SolutionCostPair<T> optimize(int numSamples) {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		SolutionCostPair<T> best = null;
-		for (int i = 0; i < numSamples && !tracker.didFindBest() && !tracker.isStopped(); i++) {
-			SolutionCostPair<T> current = sampler.oneSample();
+		int batchSize = Math.max(1, getProblem().preferredBatchSize());
+		int remaining = numSamples;
+		while (remaining > 0 && !tracker.didFindBest() && !tracker.isStopped()) {
+			int n = Math.min(batchSize, remaining);
+			remaining -= n;
+			SolutionCostPair<T> current = sampler.sample(n);
+			buffer.checkpoint(n);
 			if (best == null || current.compareTo(best) < 0) best = current;
 		}
+		buffer.flush();
 		return best;
 	}
 	
@@ -194,7 +214,10 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 	
 	@Override
 	public void setProgressTracker(ProgressTracker<T> tracker) {
-		if (tracker != null) this.tracker = tracker;
+		if (tracker != null) {
+			this.tracker = tracker;
+			buffer.setProgressTracker(tracker);
+		}
 	}
 	
 	@Override
@@ -207,21 +230,36 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 		return new IterativeSampling<T>(this);
 	}
 	
-	private interface OneSample<T extends Copyable<T>> {
-		SolutionCostPair<T> oneSample();
+	/*
+	 * Generates and evaluates a batch of n samples, and returns the first of the
+	 * lowest cost samples in the batch.
+	 */
+	private interface Sampler<T extends Copyable<T>> {
+		SolutionCostPair<T> sample(int n);
 	}
 	
-	private OneSample<T> initSamplerDouble() {
-		return new OneSample<T>() {
-			public SolutionCostPair<T> oneSample() {
-				T s = initializer.createCandidateSolution();
-				totalNumSamples++;
-				double cost = pOpt.cost(s);
+	private Sampler<T> initSamplerDouble() {
+		return new Sampler<T>() {
+			private final ArrayList<T> batch = new ArrayList<T>();
+			private final double[] costs = new double[Math.max(1, pOpt.preferredBatchSize())];
+			public SolutionCostPair<T> sample(int n) {
+				batch.clear();
+				for (int i = 0; i < n; i++) {
+					batch.add(initializer.createCandidateSolution());
+				}
+				totalNumSamples += n;
+				pOpt.costs(batch, costs);
+				int b = 0;
+				for (int i = 1; i < n; i++) {
+					if (costs[i] < costs[b]) b = i;
+				}
+				T s = batch.get(b);
+				double cost = costs[b];
 				// update tracker
-				if (cost < tracker.getCostDouble()) {
-					tracker.update(cost, s);
+				if (cost < buffer.getCostDouble()) {
+					buffer.update(cost, s);
 					if (cost == pOpt.minCost()) {
-						tracker.setFoundBest();
+						buffer.setFoundBest();
 					}
 				}
 				return new SolutionCostPair<T>(s, cost);
@@ -229,17 +267,28 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 		};
 	}
 	
-	private OneSample<T> initSamplerInt() {
-		return new OneSample<T>() {
-			public SolutionCostPair<T> oneSample() {
-				T s = initializer.createCandidateSolution();
-				totalNumSamples++;
-				int cost = pOptInt.cost(s);
+	private Sampler<T> initSamplerInt() {
+		return new Sampler<T>() {
+			private final ArrayList<T> batch = new ArrayList<T>();
+			private final int[] costs = new int[Math.max(1, pOptInt.preferredBatchSize())];
+			public SolutionCostPair<T> sample(int n) {
+				batch.clear();
+				for (int i = 0; i < n; i++) {
+					batch.add(initializer.createCandidateSolution());
+				}
+				totalNumSamples += n;
+				pOptInt.costs(batch, costs);
+				int b = 0;
+				for (int i = 1; i < n; i++) {
+					if (costs[i] < costs[b]) b = i;
+				}
+				T s = batch.get(b);
+				int cost = costs[b];
 				// update tracker
-				if (cost < tracker.getCost()) {
-					tracker.update(cost, s);
+				if (cost < buffer.getCost()) {
+					buffer.update(cost, s);
 					if (cost == pOptInt.minCost()) {
-						tracker.setFoundBest();
+						buffer.setFoundBest();
 					}
 				}
 				return new SolutionCostPair<T>(s, cost);
@@ -247,4 +296,4 @@ public final class IterativeSampling<T extends Copyable<T>> implements Metaheuri
 		};
 	}
 	
-}
\ No newline at end of file
+}
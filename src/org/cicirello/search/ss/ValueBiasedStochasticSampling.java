@@ -27,7 +27,11 @@ import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.ProgressBuffer;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.ArrayList;
 
 /**
  * <p>Value Biased Stochastic Sampling (VBSS) is a form of stochastic sampling 
@@ -136,18 +140,26 @@ import java.util.concurrent.ThreadLocalRandom;
  * Journal of Heuristics, 11(1):5-34, January 2005.</li>
  * </ul>
  *
+ * <p>By default, the random decisions are made with ThreadLocalRandom.  The
+ * {@link #ValueBiasedStochasticSampling(ConstructiveHeuristic, BiasFunction, ProgressTracker, RandomEngine)} constructor instead
+ * uses a {@link RandomEngine}, which is split whenever the search is split, so that
+ * runs with a seeded engine are reproducible.</p>
+ *
  * @since 1.0
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
- * @version 7.9.2020
+ * @version 8.3.2020
  */
 public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<Permutation>, Metaheuristic<Permutation> {
 	
 	private final VBSSSampler sampler;
 	private ProgressTracker<Permutation> tracker;
+	private final ProgressBuffer<Permutation> buffer;
 	private int numGenerated;
 	private final BiasFunction bias;
+	// the source of random numbers, or null for ThreadLocalRandom
+	private final RandomEngine engine;
 	
 	/**
 	 * Constructs a ValueBiasedStochasticSampling search object.  A ProgressTracker 
@@ -222,11 +234,27 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 	 * @throws NullPointerException if heuristic or tracker is null
 	 */
 	public ValueBiasedStochasticSampling(ConstructiveHeuristic heuristic, BiasFunction bias, ProgressTracker<Permutation> tracker) {
+		this(heuristic, bias, tracker, null);
+	}
+	
+	/**
+	 * Constructs a ValueBiasedStochasticSampling search object that uses a given source of random numbers.
+	 * @param heuristic The constructive heuristic.
+	 * @param bias The bias function.  If null, then the default bias is used.
+	 * @param tracker A ProgressTracker
+	 * @param engine The source of random numbers, such as a 
+	 * {@link org.cicirello.math.rand.Xoshiro256PlusPlus Xoshiro256PlusPlus}, which is split
+	 * when the search is split.  If engine is null, ThreadLocalRandom is used.
+	 * @throws NullPointerException if heuristic or tracker is null
+	 */
+	public ValueBiasedStochasticSampling(ConstructiveHeuristic heuristic, BiasFunction bias, ProgressTracker<Permutation> tracker, RandomEngine engine) {
 		if (heuristic == null || tracker == null) {
 			throw new NullPointerException();
 		}
 		this.tracker = tracker;
+		buffer = new ProgressBuffer<Permutation>(tracker);
 		this.bias = bias;
+		this.engine = engine;
 		// default: numGenerated = 0;
 		if (heuristic.getProblem() instanceof IntegerCostOptimizationProblem) {
 			sampler = new IntCost(heuristic);
@@ -240,7 +268,10 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 	 */
 	private ValueBiasedStochasticSampling(ValueBiasedStochasticSampling other) {
 		tracker = other.tracker;
+		// each thread buffers its own improvements
+		buffer = new ProgressBuffer<Permutation>(tracker);
 		bias = other.bias;
+		engine = other.engine != null ? other.engine.split() : null;
 		if (other.sampler instanceof IntCost) {
 			sampler = new IntCost((IntCost)other.sampler);
 		} else {
@@ -253,7 +284,10 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 	public SolutionCostPair<Permutation> optimize() {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		numGenerated++;
-		return sampler.optimize();
+		SolutionCostPair<Permutation> result = sampler.getProblem().getSolutionCostPair(sampler.construct());
+		sampler.update(result);
+		buffer.flush();
+		return result;
 	}
 	
 	/**
@@ -273,11 +307,25 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 	public SolutionCostPair<Permutation> optimize(int numSamples) {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		SolutionCostPair<Permutation> best = null;
-		for (int i = 0; i < numSamples && !tracker.didFindBest() && !tracker.isStopped(); i++) {
-			SolutionCostPair<Permutation> current = sampler.optimize();
-			numGenerated++;
-			if (best == null || current.compareTo(best) < 0) best = current;
+		Problem<Permutation> problem = sampler.getProblem();
+		int batchSize = Math.max(1, problem.preferredBatchSize());
+		ArrayList<Permutation> batch = new ArrayList<Permutation>(Math.min(batchSize, numSamples));
+		int remaining = numSamples;
+		while (remaining > 0 && !tracker.didFindBest() && !tracker.isStopped()) {
+			int n = Math.min(batchSize, remaining);
+			remaining -= n;
+			batch.clear();
+			for (int i = 0; i < n; i++) {
+				batch.add(sampler.construct());
+			}
+			for (SolutionCostPair<Permutation> current : problem.getSolutionCostPairs(batch)) {
+				sampler.update(current);
+				if (best == null || current.compareTo(best) < 0) best = current;
+			}
+			numGenerated += n;
+			buffer.checkpoint(n);
 		}
+		buffer.flush();
 		return best;
 	}
 	
@@ -288,7 +336,10 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 	
 	@Override
 	public void setProgressTracker(ProgressTracker<Permutation> tracker) {
-		if (tracker != null) this.tracker = tracker;
+		if (tracker != null) {
+			this.tracker = tracker;
+			buffer.setProgressTracker(tracker);
+		}
 	}
 	
 	@Override
@@ -370,8 +421,17 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 		else return select(values, mid+1, last, u);
 	}
 	
+	/*
+	 * The source of random numbers: the engine if there is one, and otherwise
+	 * the calling thread's ThreadLocalRandom.
+	 */
+	private Random random() {
+		return engine != null ? engine : ThreadLocalRandom.current();
+	}
+	
 	private interface VBSSSampler {
-		SolutionCostPair<Permutation> optimize();
+		Permutation construct();
+		void update(SolutionCostPair<Permutation> solution);
 		Problem<Permutation> getProblem();
 	}
 	
@@ -394,12 +454,12 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 		}
 		
 		@Override
-		public SolutionCostPair<Permutation> optimize() {
+		public Permutation construct() {
 			IncrementalEvaluation incEval = heuristic.createIncrementalEvaluation();
 			int n = heuristic.completePermutationLength();
 			PartialPermutation p = new PartialPermutation(n);
 			double[] b = new double[n];
-			ThreadLocalRandom r = ThreadLocalRandom.current();
+			Random r = random();
 			while (!p.isComplete()) {
 				int k = p.numExtensions();
 				if (k==1) {
@@ -415,13 +475,15 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 					p.extend(which);
 				}
 			}
-			Permutation complete = p.toComplete();
-			SolutionCostPair<Permutation> solution = heuristic.getProblem().getSolutionCostPair(complete);
+			return p.toComplete();
+		}
+		
+		@Override
+		public void update(SolutionCostPair<Permutation> solution) {
 			int cost = solution.getCost();
-			if (cost < tracker.getCost()) {
-				tracker.update(cost, complete);
+			if (cost < buffer.getCost()) {
+				buffer.update(cost, solution.getSolution());
 			}
-			return solution;
 		}
 		
 		@Override
@@ -449,12 +511,12 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 		}
 		
 		@Override
-		public SolutionCostPair<Permutation> optimize() {
+		public Permutation construct() {
 			IncrementalEvaluation incEval = heuristic.createIncrementalEvaluation();
 			int n = heuristic.completePermutationLength();
 			PartialPermutation p = new PartialPermutation(n);
 			double[] b = new double[n];
-			ThreadLocalRandom r = ThreadLocalRandom.current();
+			Random r = random();
 			while (!p.isComplete()) {
 				int k = p.numExtensions();
 				if (k==1) {
@@ -470,13 +532,15 @@ public final class ValueBiasedStochasticSampling implements SimpleMetaheuristic<
 					p.extend(which);
 				}
 			}
-			Permutation complete = p.toComplete();
-			SolutionCostPair<Permutation> solution = heuristic.getProblem().getSolutionCostPair(complete);
+			return p.toComplete();
+		}
+		
+		@Override
+		public void update(SolutionCostPair<Permutation> solution) {
 			double cost = solution.getCostDouble();
-			if (cost < tracker.getCostDouble()) {
-				tracker.update(cost, complete);
+			if (cost < buffer.getCostDouble()) {
+				buffer.update(cost, solution.getSolution());
 			}
-			return solution;
 		}
 		
 		@Override
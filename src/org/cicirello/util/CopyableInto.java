@@ -0,0 +1,49 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.util;
+
+/**
+ * Interface for objects that can be copied into an existing object of the
+ * same type, reusing its memory, rather than only into a newly allocated object.
+ * This enables a search that repeatedly saves copies of solutions, such as the
+ * {@link org.cicirello.search.ProgressTracker ProgressTracker}, to reuse the 
+ * memory of copies that it no longer needs.
+ *
+ * @param <T> The type of object.
+ *
+ * @since 1.0
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ * @version 7.31.2020
+ */
+public interface CopyableInto<T extends Copyable<T>> extends Copyable<T> {
+	
+	/**
+	 * Copies this object into another object, such that the other object becomes
+	 * an identical copy of this object.  If target is null, or is not compatible with 
+	 * this object (e.g., it is of a different runtime type or length), then
+	 * a new copy is constructed as if by {@link #copy}.
+	 * @param target The object to hold the copy.
+	 * @return target if it was compatible, and otherwise a new copy of this object
+	 */
+	T copyInto(T target);
+}
@@ -0,0 +1,233 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.math.rand;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * JUnit 4 test cases for the RandomEngine classes, and assertions
+ * shared by the tests of the classes that accept an optional RandomEngine.
+ */
+public class RandomEngineTests {
+	
+	private static final long SEED = 42;
+	private static final int SAMPLES = 20;
+	
+	/**
+	 * Asserts that two objects created with identically seeded engines produce identical
+	 * samples, as do their splits, and that the samples of a split differ from those of 
+	 * the object that it was split from, and from those of an object created with the same seed.
+	 * @param create creates an object that uses a given engine
+	 * @param split splits an object
+	 * @param sample gets the next sample of an object's random behavior, such as a mutated copy of a fixed vector
+	 */
+	public static <S, R> void assertSeeded(Function<RandomEngine, S> create, UnaryOperator<S> split, Function<S, R> sample) {
+		S first = create.apply(new Xoshiro256PlusPlus(SEED));
+		S second = create.apply(new Xoshiro256PlusPlus(SEED));
+		for (int i = 0; i < SAMPLES; i++) {
+			assertEquals(sample.apply(first), sample.apply(second));
+		}
+		S firstSplit = split.apply(first);
+		S secondSplit = split.apply(second);
+		for (int i = 0; i < SAMPLES; i++) {
+			assertEquals(sample.apply(firstSplit), sample.apply(secondSplit));
+		}
+		S parent = create.apply(new Xoshiro256PlusPlus(SEED));
+		S child = split.apply(parent);
+		S fresh = create.apply(new Xoshiro256PlusPlus(SEED));
+		boolean differsFromParent = false;
+		boolean differsFromSeed = false;
+		for (int i = 0; i < SAMPLES; i++) {
+			R c = sample.apply(child);
+			if (!c.equals(sample.apply(parent))) differsFromParent = true;
+			if (!c.equals(sample.apply(fresh))) differsFromSeed = true;
+		}
+		assertTrue("split repeats the samples of its parent", differsFromParent);
+		assertTrue("split repeats the samples of the seed", differsFromSeed);
+	}
+	
+	@Test
+	public void testAssertSeeded() {
+		assertSeeded(e -> e, RandomEngine::split, r -> r.nextLong());
+		// a split that restarts from the seed is not independent
+		try {
+			assertSeeded(e -> e, r -> new Xoshiro256PlusPlus(SEED), r -> r.nextLong());
+			fail("Failed to detect a split that repeats the seed");
+		} catch (AssertionError ex) {
+			// expected
+		}
+		// nor is a split that shares its parent's state
+		try {
+			assertSeeded(e -> new SplitMix64(SEED), r -> new SplitMix64(SEED), r -> r.nextLong());
+			fail("Failed to detect a split that repeats its parent");
+		} catch (AssertionError ex) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void testSplitMix64MatchesSplittableRandom() {
+		long[] seeds = { 0L, 1L, 42L, -7L, Long.MAX_VALUE };
+		for (long seed : seeds) {
+			SplitMix64 r = new SplitMix64(seed);
+			SplittableRandom expected = new SplittableRandom(seed);
+			for (int i = 0; i < 100; i++) {
+				assertEquals(expected.nextLong(), r.nextLong());
+			}
+		}
+	}
+	
+	@Test
+	public void testSplitMix64Split() {
+		SplitMix64 r = new SplitMix64(42);
+		SplittableRandom expected = new SplittableRandom(42);
+		for (int j = 0; j < 5; j++) {
+			SplitMix64 s = r.split();
+			SplittableRandom e = expected.split();
+			for (int i = 0; i < 20; i++) {
+				assertEquals(e.nextLong(), s.nextLong());
+			}
+			assertEquals(expected.nextLong(), r.nextLong());
+		}
+	}
+	
+	@Test
+	public void testXoshiro256PlusPlusOutputs() {
+		long[] seeds = { 0L, 1L, 42L, -7L };
+		for (long seed : seeds) {
+			// xoshiro256++ seeded by 4 outputs of SplitMix64
+			SplittableRandom sm = new SplittableRandom(seed);
+			long[] s = { sm.nextLong(), sm.nextLong(), sm.nextLong(), sm.nextLong() };
+			Xoshiro256PlusPlus r = new Xoshiro256PlusPlus(seed);
+			for (int i = 0; i < 10; i++) {
+				long expected = Long.rotateLeft(s[0] + s[3], 23) + s[0];
+				long t = s[1] << 17;
+				s[2] ^= s[0];
+				s[3] ^= s[1];
+				s[1] ^= s[2];
+				s[0] ^= s[3];
+				s[2] ^= t;
+				s[3] = Long.rotateLeft(s[3], 45);
+				assertEquals(expected, r.nextLong());
+			}
+		}
+	}
+	
+	@Test
+	public void testSetSeed() {
+		RandomEngine[] engines = { new SplitMix64(), new Xoshiro256PlusPlus() };
+		for (RandomEngine r : engines) {
+			r.setSeed(123);
+			long[] first = new long[10];
+			for (int i = 0; i < first.length; i++) first[i] = r.nextLong();
+			r.setSeed(123);
+			for (int i = 0; i < first.length; i++) assertEquals(first[i], r.nextLong());
+		}
+	}
+	
+	@Test
+	public void testSplitReproducible() {
+		RandomEngine[] a = { new SplitMix64(5), new Xoshiro256PlusPlus(5) };
+		RandomEngine[] b = { new SplitMix64(5), new Xoshiro256PlusPlus(5) };
+		for (int k = 0; k < a.length; k++) {
+			RandomEngine sa = a[k].split();
+			RandomEngine sb = b[k].split();
+			assertEquals(a[k].getClass(), sa.getClass());
+			int same = 0;
+			for (int i = 0; i < 100; i++) {
+				long x = sa.nextLong();
+				assertEquals(x, sb.nextLong());
+				long y = a[k].nextLong();
+				assertEquals(y, b[k].nextLong());
+				if (x == y) same++;
+			}
+			assertTrue(same < 5);
+		}
+	}
+	
+	@Test
+	public void testJump() {
+		Xoshiro256PlusPlus a = new Xoshiro256PlusPlus(99);
+		Xoshiro256PlusPlus b = new Xoshiro256PlusPlus(99);
+		Xoshiro256PlusPlus c = new Xoshiro256PlusPlus(99);
+		a.jump();
+		b.jump();
+		int same = 0;
+		for (int i = 0; i < 100; i++) {
+			long x = a.nextLong();
+			assertEquals(x, b.nextLong());
+			if (x == c.nextLong()) same++;
+		}
+		assertTrue(same < 5);
+	}
+	
+	@Test
+	public void testBoundedInt() {
+		RandomEngine[] engines = { new SplitMix64(1), new Xoshiro256PlusPlus(1) };
+		int[] bounds = { 1, 2, 3, 7, 100, Integer.MAX_VALUE };
+		for (RandomEngine r : engines) {
+			for (int bound : bounds) {
+				for (int i = 0; i < 1000; i++) {
+					int x = r.nextInt(bound);
+					assertTrue(x >= 0 && x < bound);
+				}
+			}
+			int[] counts = new int[4];
+			for (int i = 0; i < 4000; i++) {
+				counts[r.nextInt(4)]++;
+			}
+			for (int c : counts) {
+				assertTrue(c > 800 && c < 1200);
+			}
+			try {
+				r.nextInt(0);
+				fail("Failed to throw exception for non-positive bound");
+			} catch (IllegalArgumentException ex) {
+				// expected
+			}
+		}
+	}
+	
+	@Test
+	public void testDoubleAndFloat() {
+		RandomEngine[] engines = { new SplitMix64(1), new Xoshiro256PlusPlus(1) };
+		for (RandomEngine r : engines) {
+			double sum = 0;
+			for (int i = 0; i < 10000; i++) {
+				double x = r.nextDouble();
+				assertTrue(x >= 0 && x < 1);
+				sum += x;
+				float f = r.nextFloat();
+				assertTrue(f >= 0 && f < 1);
+			}
+			assertEquals(0.5, sum / 10000, 0.02);
+			int trues = 0;
+			for (int i = 0; i < 10000; i++) {
+				if (r.nextBoolean()) trues++;
+			}
+			assertTrue(trues > 4700 && trues < 5300);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.math.rand;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * JUnit 4 test cases for the methods of the ZigguratCauchy class.
+ */
+public class ZigguratCauchyTests {
+	
+	// Test cases use chi square goodness of fit.  This constant 
+	// can be used to adjust the number of samples used for this test.
+	private static final int EXPECTED_SAMPLES_PER_BUCKET = 50;
+	
+	@Test
+	public void testRandom() {
+		Random r = new Random(42);
+		int[] buckets = new int[20];
+		final int N = buckets.length * EXPECTED_SAMPLES_PER_BUCKET;
+		for (int i = 0; i < N; i++) {
+			buckets[whichBucket(ZigguratCauchy.nextCauchy(r))]++;
+		}
+		assertTrue(chiSquare(buckets) <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+	}
+	
+	@Test
+	public void testSplittableRandom() {
+		SplittableRandom r = new SplittableRandom(42);
+		int[] buckets = new int[20];
+		final int N = buckets.length * EXPECTED_SAMPLES_PER_BUCKET;
+		for (int i = 0; i < N; i++) {
+			buckets[whichBucket(ZigguratCauchy.nextCauchy(r))]++;
+		}
+		assertTrue(chiSquare(buckets) <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+	}
+	
+	@Test
+	public void testBulkRandom() {
+		Random r = new Random(42);
+		int[] buckets = new int[20];
+		double[] values = new double[buckets.length * EXPECTED_SAMPLES_PER_BUCKET];
+		ZigguratCauchy.nextCauchy(1.0, values, 0, values.length, r);
+		for (double x : values) {
+			buckets[whichBucket(x)]++;
+		}
+		assertTrue(chiSquare(buckets) <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+	}
+	
+	@Test
+	public void testBulkSplittableRandom() {
+		SplittableRandom r = new SplittableRandom(42);
+		int[] buckets = new int[20];
+		double[] values = new double[buckets.length * EXPECTED_SAMPLES_PER_BUCKET];
+		ZigguratCauchy.nextCauchy(1.0, values, 0, values.length, r);
+		for (double x : values) {
+			buckets[whichBucket(x)]++;
+		}
+		assertTrue(chiSquare(buckets) <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+	}
+	
+	@Test
+	public void testScaleAndSlice() {
+		double[] values = new double[10];
+		java.util.Arrays.fill(values, Double.NaN);
+		ZigguratCauchy.nextCauchy(5.0, values, 2, 8, new Random(3));
+		ZigguratCauchy.nextCauchy(5.0, values, 2, 8, new SplittableRandom(3));
+		ZigguratCauchy.nextCauchy(5.0, values, 2, 8);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i >= 2 && i < 8, !Double.isNaN(values[i]));
+			if (i >= 2 && i < 8) assertTrue(!Double.isInfinite(values[i]));
+		}
+		// median of absolute value of a Cauchy is its scale
+		SplittableRandom r = new SplittableRandom(5);
+		final int N = 20001;
+		double[] a = new double[N];
+		for (int i = 0; i < N; i++) {
+			a[i] = Math.abs(ZigguratCauchy.nextCauchy(5.0, r));
+		}
+		java.util.Arrays.sort(a);
+		assertEquals(5.0, a[N/2], 0.25);
+		boolean positive = false;
+		boolean negative = false;
+		for (int i = 0; i < 100; i++) {
+			double x = ZigguratCauchy.nextCauchy();
+			if (x < 0) negative = true;
+			else if (x > 0) positive = true;
+			x = ZigguratCauchy.nextCauchy(2.0);
+			assertFalse(Double.isInfinite(x) || Double.isNaN(x));
+		}
+		assertTrue(positive && negative);
+	}
+	
+	private double chiSquare(int[] buckets) {
+		int x = 0;
+		for (int e : buckets) {
+			x = x + e*e;
+		}
+		return 1.0 * x / EXPECTED_SAMPLES_PER_BUCKET - buckets.length * EXPECTED_SAMPLES_PER_BUCKET;
+	}
+	
+	// equiprobable buckets
+	private int whichBucket(double x) {
+		for (int k = 1; k < 20; k++) {
+			if (x <= Math.tan(Math.PI * (k / 20.0 - 0.5))) return k - 1;
+		}
+		return 19;
+	}
+}
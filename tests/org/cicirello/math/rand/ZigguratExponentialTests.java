@@ -0,0 +1,123 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.math.rand;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * JUnit 4 test cases for the methods of the ZigguratExponential class.
+ */
+public class ZigguratExponentialTests {
+	
+	// Test cases use chi square goodness of fit.  This constant 
+	// can be used to adjust the number of samples used for this test.
+	private static final int EXPECTED_SAMPLES_PER_BUCKET = 50;
+	
+	@Test
+	public void testRandom() {
+		Random r = new Random(42);
+		int[] buckets = new int[20];
+		final int N = buckets.length * EXPECTED_SAMPLES_PER_BUCKET;
+		for (int i = 0; i < N; i++) {
+			buckets[whichBucket(ZigguratExponential.nextExponential(r))]++;
+		}
+		assertTrue(chiSquare(buckets) <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+	}
+	
+	@Test
+	public void testSplittableRandom() {
+		SplittableRandom r = new SplittableRandom(42);
+		int[] buckets = new int[20];
+		final int N = buckets.length * EXPECTED_SAMPLES_PER_BUCKET;
+		for (int i = 0; i < N; i++) {
+			buckets[whichBucket(ZigguratExponential.nextExponential(r))]++;
+		}
+		assertTrue(chiSquare(buckets) <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+	}
+	
+	@Test
+	public void testBulkRandom() {
+		Random r = new Random(42);
+		int[] buckets = new int[20];
+		double[] values = new double[buckets.length * EXPECTED_SAMPLES_PER_BUCKET];
+		ZigguratExponential.nextExponential(values, 0, values.length, r);
+		for (double x : values) {
+			buckets[whichBucket(x)]++;
+		}
+		assertTrue(chiSquare(buckets) <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+	}
+	
+	@Test
+	public void testBulkSplittableRandom() {
+		SplittableRandom r = new SplittableRandom(42);
+		int[] buckets = new int[20];
+		double[] values = new double[buckets.length * EXPECTED_SAMPLES_PER_BUCKET];
+		ZigguratExponential.nextExponential(values, 0, values.length, r);
+		for (double x : values) {
+			buckets[whichBucket(x)]++;
+		}
+		assertTrue(chiSquare(buckets) <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+	}
+	
+	@Test
+	public void testMoments() {
+		SplittableRandom r = new SplittableRandom(11);
+		double[] values = new double[200000];
+		ZigguratExponential.nextExponential(values, 0, values.length, r);
+		double sum = 0;
+		double sumSquares = 0;
+		int beyond = 0;
+		for (double x : values) {
+			assertTrue(x >= 0);
+			sum += x;
+			sumSquares += x * x;
+			// beyond the right-most step of the Ziggurat
+			if (x > 7.69711747013104972) beyond++;
+		}
+		assertEquals(1.0, sum / values.length, 0.01);
+		assertEquals(2.0, sumSquares / values.length, 0.05);
+		// expected number beyond is about 91
+		assertTrue(beyond > 45 && beyond < 150);
+		double[] some = new double[100];
+		ZigguratExponential.nextExponential(some);
+		for (double x : some) assertTrue(x >= 0);
+		assertTrue(ZigguratExponential.nextExponential() >= 0);
+	}
+	
+	private double chiSquare(int[] buckets) {
+		int x = 0;
+		for (int e : buckets) {
+			x = x + e*e;
+		}
+		return 1.0 * x / EXPECTED_SAMPLES_PER_BUCKET - buckets.length * EXPECTED_SAMPLES_PER_BUCKET;
+	}
+	
+	// equiprobable buckets
+	private int whichBucket(double x) {
+		for (int k = 1; k < 20; k++) {
+			if (x <= -Math.log(1.0 - k / 20.0)) return k - 1;
+		}
+		return 19;
+	}
+}
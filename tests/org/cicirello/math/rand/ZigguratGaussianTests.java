@@ -167,6 +167,89 @@ public class ZigguratGaussianTests {
 	}
 	
 	
+	@Test
+	public void testBulkRandom() {
+		for (double sigma : new double[] {1, 10}) {
+			Random r = new Random(42);
+			int[] buckets = new int[20];
+			double[] values = new double[buckets.length * EXPECTED_SAMPLES_PER_BUCKET];
+			ZigguratGaussian.nextGaussian(sigma, values, 0, values.length, r);
+			for (double x : values) {
+				buckets[whichBucket(x, sigma)]++;
+			}
+			double chi = chiSquare(buckets);
+			assertTrue(chi <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+			if (VERBOSE_OUTPUT) {
+				System.out.printf("Bulk Random, sigma=%2.0f, chi=%5.4f\n", sigma, chi);
+			}
+		}
+	}
+	
+	@Test
+	public void testBulkSplittableRandom() {
+		for (double sigma : new double[] {1, 10}) {
+			SplittableRandom r = new SplittableRandom(42);
+			int[] buckets = new int[20];
+			double[] values = new double[buckets.length * EXPECTED_SAMPLES_PER_BUCKET];
+			ZigguratGaussian.nextGaussian(sigma, values, 0, values.length, r);
+			for (double x : values) {
+				buckets[whichBucket(x, sigma)]++;
+			}
+			double chi = chiSquare(buckets);
+			assertTrue(chi <= 30.144); // 19 degrees of freedom, 95% percentage point of chi square distribution: 30.144
+			if (VERBOSE_OUTPUT) {
+				System.out.printf("Bulk SplittableRandom, sigma=%2.0f, chi=%5.4f\n", sigma, chi);
+			}
+		}
+	}
+	
+	@Test
+	public void testBulkSlice() {
+		for (int n = 0; n <= 7; n++) {
+			double[] values = new double[n + 4];
+			Arrays.fill(values, 100.0);
+			ZigguratGaussian.nextGaussian(1.0, values, 2, 2 + n, new SplittableRandom(n));
+			ZigguratGaussian.nextGaussian(1.0, values, 2, 2 + n, new Random(n));
+			ZigguratGaussian.nextGaussian(1.0, values, 2, 2 + n);
+			assertEquals(100.0, values[0], 0.0);
+			assertEquals(100.0, values[1], 0.0);
+			assertEquals(100.0, values[n + 2], 0.0);
+			assertEquals(100.0, values[n + 3], 0.0);
+			for (int i = 2; i < n + 2; i++) {
+				assertTrue(values[i] != 100.0);
+			}
+		}
+		boolean positive = false;
+		boolean negative = false;
+		double[] values = new double[1000];
+		ZigguratGaussian.nextGaussian(10.0, values);
+		for (double x : values) {
+			if (x < 0) negative = true;
+			else if (x > 0) positive = true;
+		}
+		assertTrue(positive && negative);
+	}
+	
+	@Test
+	public void testBulkTail() {
+		// with enough samples, the slow paths of the algorithm, including the tail,
+		// must be taken, and samples beyond the right-most step should appear
+		double[] values = new double[200000];
+		ZigguratGaussian.nextGaussian(1.0, values, 0, values.length, new SplittableRandom(7));
+		int beyond = 0;
+		double sum = 0;
+		double sumSquares = 0;
+		for (double x : values) {
+			if (Math.abs(x) > 3.44428647676) beyond++;
+			sum += x;
+			sumSquares += x * x;
+		}
+		// expected number beyond 3.444 is about 115
+		assertTrue(beyond > 60 && beyond < 180);
+		assertEquals(0.0, sum / values.length, 0.01);
+		assertEquals(1.0, sumSquares / values.length, 0.02);
+	}
+	
 	private double chiSquare(int[] buckets) {
 		int x = 0;
 		for (int e : buckets) {
@@ -0,0 +1,253 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import org.cicirello.util.Copyable;
+import org.cicirello.util.CopyableInto;
+
+/**
+ * JUnit 4 test cases for the ProgressBuffer.
+ */
+public class ProgressBufferTests {
+	
+	private static final double EPSILON = 1e-10;
+	
+	@Test
+	public void testImmediate() {
+		ProgressTracker<TestCopyable> tracker = new ProgressTracker<TestCopyable>();
+		ProgressBuffer<TestCopyable> buffer = new ProgressBuffer<TestCopyable>(tracker);
+		assertTrue(tracker == buffer.getProgressTracker());
+		assertEquals(100, buffer.update(100, new TestCopyable(100)));
+		assertEquals(100, tracker.getCost());
+		assertEquals(new TestCopyable(100), tracker.getSolution());
+		assertEquals(100, buffer.getCost());
+		assertEquals(50.5, buffer.update(50.5, new TestCopyable(50)), EPSILON);
+		assertEquals(50.5, tracker.getCostDouble(), EPSILON);
+		assertEquals(new TestCopyable(50), tracker.getSolution());
+		tracker.setPublicationCadence(1, 0);
+		assertEquals(40, buffer.update(40, new TestCopyable(40)));
+		assertEquals(40, tracker.getCost());
+		assertEquals(new TestCopyable(40), tracker.getSolution());
+	}
+	
+	@Test
+	public void testCadenceEvaluationsInt() {
+		ProgressTracker<TestCopyable> tracker = new ProgressTracker<TestCopyable>();
+		tracker.setPublicationCadence(5, 0);
+		assertEquals(5, tracker.getPublicationEvaluations());
+		assertEquals(0L, tracker.getPublicationNanos());
+		ProgressBuffer<TestCopyable> buffer = new ProgressBuffer<TestCopyable>(tracker);
+		TestCopyable s = new TestCopyable(100);
+		assertEquals(100, buffer.update(100, s));
+		// buffered copy is independent of the caller's object
+		s.a = 7;
+		assertNull(tracker.getSolution());
+		assertEquals(100, buffer.getCost());
+		assertEquals(100.0, buffer.getCostDouble(), EPSILON);
+		// worse solutions aren't buffered
+		assertEquals(100, buffer.update(200, new TestCopyable(200)));
+		assertEquals(90, buffer.update(90, new TestCopyable(90)));
+		for (int i = 0; i < 4; i++) {
+			buffer.checkpoint();
+			assertNull(tracker.getSolution());
+		}
+		buffer.checkpoint();
+		assertEquals(90, tracker.getCost());
+		assertEquals(new TestCopyable(90), tracker.getSolution());
+		// nothing pending, so checkpoint does nothing
+		buffer.checkpoint();
+		assertEquals(90, tracker.getCost());
+		assertEquals(80, buffer.update(80, new TestCopyable(80)));
+		buffer.checkpoint(4);
+		assertEquals(90, tracker.getCost());
+		buffer.checkpoint(1);
+		assertEquals(80, tracker.getCost());
+		assertEquals(new TestCopyable(80), tracker.getSolution());
+		assertTrue(tracker.containsIntCost());
+	}
+	
+	@Test
+	public void testCadenceEvaluationsDouble() {
+		ProgressTracker<TestCopyable> tracker = new ProgressTracker<TestCopyable>();
+		tracker.setPublicationCadence(3, 0);
+		ProgressBuffer<TestCopyable> buffer = new ProgressBuffer<TestCopyable>(tracker);
+		assertEquals(10.5, buffer.update(10.5, new TestCopyable(10)), EPSILON);
+		assertEquals(10.5, buffer.update(11.5, new TestCopyable(11)), EPSILON);
+		assertEquals(10.5, buffer.getCostDouble(), EPSILON);
+		assertEquals(Double.POSITIVE_INFINITY, tracker.getCostDouble(), EPSILON);
+		buffer.checkpoint(2);
+		assertNull(tracker.getSolution());
+		buffer.checkpoint();
+		assertEquals(10.5, tracker.getCostDouble(), EPSILON);
+		assertEquals(new TestCopyable(10), tracker.getSolution());
+		assertFalse(tracker.containsIntCost());
+	}
+	
+	@Test
+	public void testCadenceNanos() {
+		ProgressTracker<TestCopyable> tracker = new ProgressTracker<TestCopyable>();
+		tracker.setPublicationCadence(0, 1000000L);
+		ProgressBuffer<TestCopyable> buffer = new ProgressBuffer<TestCopyable>(tracker);
+		assertEquals(10, buffer.update(10, new TestCopyable(10)));
+		assertNull(tracker.getSolution());
+		long start = System.nanoTime();
+		while (System.nanoTime() - start < 2000000L);
+		buffer.checkpoint();
+		assertEquals(10, tracker.getCost());
+		assertEquals(new TestCopyable(10), tracker.getSolution());
+	}
+	
+	@Test
+	public void testFlush() {
+		ProgressTracker<TestCopyable> tracker = new ProgressTracker<TestCopyable>();
+		tracker.setPublicationCadence(1000, 0);
+		ProgressBuffer<TestCopyable> buffer = new ProgressBuffer<TestCopyable>(tracker);
+		buffer.flush();
+		assertNull(tracker.getSolution());
+		buffer.update(10, new TestCopyable(10));
+		assertNull(tracker.getSolution());
+		buffer.flush();
+		assertEquals(10, tracker.getCost());
+		assertEquals(new TestCopyable(10), tracker.getSolution());
+		// a buffered solution that is worse than the tracker's doesn't replace it
+		tracker.update(5, new TestCopyable(5));
+		assertEquals(5, buffer.getCost());
+		buffer.update(8, new TestCopyable(8));
+		buffer.flush();
+		assertEquals(5, tracker.getCost());
+		assertEquals(new TestCopyable(5), tracker.getSolution());
+	}
+	
+	@Test
+	public void testSetFoundBest() {
+		ProgressTracker<TestCopyable> tracker = new ProgressTracker<TestCopyable>();
+		tracker.setPublicationCadence(1000, 0);
+		ProgressBuffer<TestCopyable> buffer = new ProgressBuffer<TestCopyable>(tracker);
+		buffer.update(0, new TestCopyable(0));
+		assertFalse(tracker.didFindBest());
+		buffer.setFoundBest();
+		assertTrue(tracker.didFindBest());
+		assertEquals(0, tracker.getCost());
+		assertEquals(new TestCopyable(0), tracker.getSolution());
+	}
+	
+	@Test
+	public void testSetProgressTracker() {
+		ProgressTracker<TestCopyable> tracker1 = new ProgressTracker<TestCopyable>();
+		tracker1.setPublicationCadence(1000, 0);
+		ProgressTracker<TestCopyable> tracker2 = new ProgressTracker<TestCopyable>();
+		ProgressBuffer<TestCopyable> buffer = new ProgressBuffer<TestCopyable>(tracker1);
+		buffer.update(10, new TestCopyable(10));
+		buffer.setProgressTracker(null);
+		assertTrue(tracker1 == buffer.getProgressTracker());
+		assertNull(tracker1.getSolution());
+		buffer.setProgressTracker(tracker2);
+		assertTrue(tracker2 == buffer.getProgressTracker());
+		assertEquals(10, tracker1.getCost());
+		assertEquals(new TestCopyable(10), tracker1.getSolution());
+		assertNull(tracker2.getSolution());
+		buffer.update(20, new TestCopyable(20));
+		assertEquals(20, tracker2.getCost());
+	}
+	
+	@Test
+	public void testNullTracker() {
+		try {
+			new ProgressBuffer<TestCopyable>(null);
+			fail("Expected NullPointerException");
+		} catch (NullPointerException e) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void testReusesUnpublishedCopy() {
+		ProgressTracker<TestCopyableInto> tracker = new ProgressTracker<TestCopyableInto>();
+		tracker.setPublicationCadence(5, 0);
+		ProgressBuffer<TestCopyableInto> buffer = new ProgressBuffer<TestCopyableInto>(tracker);
+		assertEquals(100, buffer.update(100, new TestCopyableInto(100)));
+		assertEquals(90, buffer.update(90, new TestCopyableInto(90)));
+		assertEquals(80.5, buffer.update(80.5, new TestCopyableInto(80)), EPSILON);
+		// only the first buffered solution is newly allocated
+		assertEquals(1, TestCopyableInto.copies);
+		assertEquals(2, TestCopyableInto.copiesInto);
+		buffer.flush();
+		assertEquals(new TestCopyableInto(80), tracker.getSolution());
+		// the published copy belongs to the tracker, so isn't reused
+		assertEquals(70, buffer.update(70, new TestCopyableInto(70)));
+		assertEquals(2, TestCopyableInto.copies);
+		assertEquals(2, TestCopyableInto.copiesInto);
+		assertEquals(60, buffer.update(60, new TestCopyableInto(60)));
+		assertEquals(3, TestCopyableInto.copiesInto);
+		assertEquals(new TestCopyableInto(80), tracker.getSolution());
+		buffer.flush();
+		assertEquals(60, tracker.getCost());
+		assertEquals(new TestCopyableInto(60), tracker.getSolution());
+	}
+	
+	private static class TestCopyable implements Copyable<TestCopyable> {
+		
+		int a;
+		
+		public TestCopyable(int a) { this.a = a; }
+		
+		@Override
+		public TestCopyable copy() {
+			return new TestCopyable(a);
+		}
+		
+		@Override
+		public boolean equals(Object other) {
+			return other != null && ((TestCopyable)other).a == a;
+		}
+	}
+	
+	private static class TestCopyableInto implements CopyableInto<TestCopyableInto> {
+		
+		static int copies;
+		static int copiesInto;
+		
+		int a;
+		
+		public TestCopyableInto(int a) { this.a = a; }
+		
+		@Override
+		public TestCopyableInto copy() {
+			copies++;
+			return new TestCopyableInto(a);
+		}
+		
+		@Override
+		public TestCopyableInto copyInto(TestCopyableInto target) {
+			if (target == null) return copy();
+			copiesInto++;
+			target.a = a;
+			return target;
+		}
+		
+		@Override
+		public boolean equals(Object other) {
+			return other != null && ((TestCopyableInto)other).a == a;
+		}
+	}
+}
\ No newline at end of file
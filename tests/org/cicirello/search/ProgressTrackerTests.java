@@ -23,6 +23,7 @@ package org.cicirello.search;
 import org.junit.*;
 import static org.junit.Assert.*;
 import org.cicirello.util.Copyable;
+import org.cicirello.util.CopyableInto;
 
 /**
  * JUnit 4 test cases for the ProgressTracker.
@@ -31,9 +32,149 @@ public class ProgressTrackerTests {
 	
 	private static final double EPSILON = 1e-10;
 	
+	@Test
+	public void testChangeListener() {
+		verifyChangeListener(false);
+		verifyChangeListener(true);
+	}
+	
 	@Test
 	public void testTracking() {
-		ProgressTracker<TestCopyable> t = new ProgressTracker<TestCopyable>();
+		verifyTracking(false);
+	}
+	
+	@Test
+	public void testTrackingLockFree() {
+		verifyTracking(true);
+	}
+	
+	@Test
+	public void testFlags() {
+		verifyFlags(false);
+	}
+	
+	@Test
+	public void testFlagsLockFree() {
+		verifyFlags(true);
+	}
+	
+	@Test
+	public void testConcurrentUpdates() {
+		verifyConcurrentUpdates(false);
+	}
+	
+	@Test
+	public void testConcurrentUpdatesLockFree() {
+		verifyConcurrentUpdates(true);
+	}
+	
+	@Test
+	public void testReusesUnobservedCopies() {
+		for (int mode = 0; mode < 2; mode++) {
+			ProgressTracker<ReusableCopyable> t = new ProgressTracker<ReusableCopyable>(mode == 1);
+			ReusableCopyable.copies = 0;
+			for (int cost = 100; cost > 0; cost--) {
+				if ((cost & 1) == 0) t.update(cost, new ReusableCopyable(cost));
+				else t.update((double)cost, new ReusableCopyable(cost));
+			}
+			// only the first two improvements need new copies
+			assertEquals(2, ReusableCopyable.copies);
+			ReusableCopyable observed = t.getSolution();
+			assertEquals(1, observed.a);
+			t.update(0, new ReusableCopyable(0));
+			t.update(-1, new ReusableCopyable(-1));
+			t.update(-2, new ReusableCopyable(-2));
+			// an observed solution is never reused
+			assertEquals(1, observed.a);
+			assertEquals(-2, t.getSolution().a);
+			assertEquals(-2, t.getCost());
+			assertEquals(3, ReusableCopyable.copies);
+		}
+	}
+	
+	@Test
+	public void testConcurrentReuse() {
+		for (int mode = 0; mode < 2; mode++) {
+			final int NUM_THREADS = 8;
+			final int NUM_UPDATES = 2000;
+			final ProgressTracker<ReusableCopyable> t = new ProgressTracker<ReusableCopyable>(mode == 1);
+			@SuppressWarnings("unchecked")
+			final java.util.ArrayList<SolutionCostPair<ReusableCopyable>>[] observed = new java.util.ArrayList[NUM_THREADS];
+			Thread[] threads = new Thread[NUM_THREADS];
+			for (int k = 0; k < NUM_THREADS; k++) {
+				final int offset = k;
+				observed[k] = new java.util.ArrayList<SolutionCostPair<ReusableCopyable>>();
+				threads[k] = new Thread(() -> {
+					for (int i = NUM_UPDATES; i >= 0; i--) {
+						int cost = NUM_THREADS * i + offset;
+						t.update(cost, new ReusableCopyable(cost));
+						if (i % 50 == offset) observed[offset].add(t.getSolutionCostPair());
+					}
+				});
+			}
+			for (Thread thread : threads) thread.start();
+			for (Thread thread : threads) {
+				try {
+					thread.join();
+				} catch (InterruptedException ex) {
+					fail("interrupted");
+				}
+			}
+			for (java.util.ArrayList<SolutionCostPair<ReusableCopyable>> list : observed) {
+				for (SolutionCostPair<ReusableCopyable> pair : list) {
+					assertEquals(pair.getCost(), pair.getSolution().a);
+				}
+			}
+			assertEquals(0, t.getSolution().a);
+		}
+	}
+	
+	private ProgressTracker<TestCopyable> newTracker(boolean lockFree) {
+		return lockFree ? new ProgressTracker<TestCopyable>(true) : new ProgressTracker<TestCopyable>();
+	}
+	
+	private void verifyConcurrentUpdates(boolean lockFree) {
+		final int NUM_THREADS = 8;
+		final int NUM_UPDATES = 2000;
+		for (int trial = 0; trial < 2; trial++) {
+			final boolean useInt = trial == 0;
+			final ProgressTracker<TestCopyable> t = newTracker(lockFree);
+			// assertions don't fail a test from within other threads, so record violations
+			final boolean[] inconsistent = new boolean[NUM_THREADS];
+			Thread[] threads = new Thread[NUM_THREADS];
+			for (int k = 0; k < NUM_THREADS; k++) {
+				final int offset = k;
+				threads[k] = new Thread(() -> {
+					for (int i = NUM_UPDATES; i >= 0; i--) {
+						int cost = NUM_THREADS * i + offset;
+						double returned = useInt ? t.update(cost, new TestCopyable(cost)) : t.update((double)cost, new TestCopyable(cost));
+						SolutionCostPair<TestCopyable> pair = t.getSolutionCostPair();
+						if (returned > cost || pair.getCostDouble() != pair.getSolution().a) {
+							inconsistent[offset] = true;
+						}
+					}
+				});
+			}
+			for (Thread thread : threads) thread.start();
+			for (Thread thread : threads) {
+				try {
+					thread.join();
+				} catch (InterruptedException ex) {
+					fail("interrupted");
+				}
+			}
+			for (boolean b : inconsistent) assertFalse(b);
+			SolutionCostPair<TestCopyable> pair = t.getSolutionCostPair();
+			assertEquals(0, pair.getSolution().a);
+			assertEquals(0.0, pair.getCostDouble(), EPSILON);
+			assertEquals(0.0, t.getCostDouble(), EPSILON);
+			assertEquals(useInt, t.containsIntCost());
+			if (useInt) assertEquals(0, t.getCost());
+		}
+	}
+	
+	private void verifyTracking(boolean lockFree) {
+		ProgressTracker<TestCopyable> t = newTracker(lockFree);
 		assertNull("Initially should contain no solution", t.getSolution());
 		SolutionCostPair<TestCopyable> pair = t.getSolutionCostPair();
 		assertNull("Initially should contain no solution", pair.getSolution());
@@ -62,7 +203,7 @@ public class ProgressTrackerTests {
 			assertTrue("time should be nondecreasing", nextElapsed >= previousElapsed);
 			previousElapsed = nextElapsed;
 		}
-		t = new ProgressTracker<TestCopyable>();
+		t = newTracker(lockFree);
 		assertNull("Initially should contain no solution", t.getSolution());
 		pair = t.getSolutionCostPair();
 		assertNull("Initially should contain no solution", pair.getSolution());
@@ -88,10 +229,9 @@ public class ProgressTrackerTests {
 		}
 	}
 	
-	@Test
-	public void testFlags() {
+	private void verifyFlags(boolean lockFree) {
 		// test found best flag
-		ProgressTracker<TestCopyable> t = new ProgressTracker<TestCopyable>();
+		ProgressTracker<TestCopyable> t = newTracker(lockFree);
 		for (int i = 5; i >= 0; i--) {
 			assertFalse(t.didFindBest());
 			t.update(i, new TestCopyable(i));
@@ -104,7 +244,7 @@ public class ProgressTrackerTests {
 		assertTrue(t.didFindBest());
 		
 		// test stop flag
-		t = new ProgressTracker<TestCopyable>();
+		t = newTracker(lockFree);
 		for (int i = 5; i >= 0; i--) {
 			assertFalse(t.isStopped());
 			t.update(i, new TestCopyable(i));
@@ -117,7 +257,7 @@ public class ProgressTrackerTests {
 		assertTrue(t.isStopped());
 		
 		// test containsIntCost flag
-		t = new ProgressTracker<TestCopyable>();
+		t = newTracker(lockFree);
 		assertFalse(t.containsIntCost());
 		for (int i = 0; i < 10; i++) {
 			if (i % 2 == 0) {
@@ -131,6 +271,58 @@ public class ProgressTrackerTests {
 	}
 	
 	
+	private void verifyChangeListener(boolean lockFree) {
+		ProgressTracker<TestCopyable> tracker = new ProgressTracker<TestCopyable>(lockFree);
+		assertNull(tracker.getChangeListener());
+		final int[] count = {0};
+		Runnable listener = new Runnable() {
+			@Override
+			public void run() {
+				count[0]++;
+			}
+		};
+		tracker.setChangeListener(listener);
+		assertTrue(listener == tracker.getChangeListener());
+		tracker.update(10, new TestCopyable(10));
+		assertEquals(1, count[0]);
+		tracker.update(10, new TestCopyable(11));
+		tracker.update(12, new TestCopyable(12));
+		assertEquals(1, count[0]);
+		tracker.update(5, new TestCopyable(5));
+		assertEquals(2, count[0]);
+		tracker.update(4.5, new TestCopyable(4));
+		assertEquals(3, count[0]);
+		tracker.update(4.5, new TestCopyable(3));
+		assertEquals(3, count[0]);
+		tracker.setFoundBest();
+		assertEquals(4, count[0]);
+		tracker.setChangeListener(null);
+		assertNull(tracker.getChangeListener());
+		tracker.update(1.5, new TestCopyable(1));
+		assertEquals(4, count[0]);
+	}
+	
+	private static class ReusableCopyable implements CopyableInto<ReusableCopyable> {
+		
+		static int copies;
+		int a;
+		
+		public ReusableCopyable(int a) { this.a = a; }
+		
+		@Override
+		public ReusableCopyable copy() {
+			copies++;
+			return new ReusableCopyable(a);
+		}
+		
+		@Override
+		public ReusableCopyable copyInto(ReusableCopyable target) {
+			if (target == null) return copy();
+			target.a = a;
+			return target;
+		}
+	}
+	
 	private static class TestCopyable implements Copyable<TestCopyable> {
 		
 		int a;
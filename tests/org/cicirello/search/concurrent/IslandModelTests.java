@@ -0,0 +1,384 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.concurrent;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import org.cicirello.search.ReoptimizableMetaheuristic;
+import org.cicirello.search.ResumableMetaheuristic;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.OneMax;
+import org.cicirello.search.representations.BitVector;
+import org.cicirello.search.operators.bits.BitFlipMutation;
+import org.cicirello.search.operators.bits.BitVectorInitializer;
+import org.cicirello.search.sa.SimulatedAnnealing;
+import org.cicirello.util.Copyable;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JUnit 4 tests for IslandModel.
+ */
+public class IslandModelTests {
+	
+	@Test
+	public void testRingMigration() {
+		ArrayList<TestIsland> searches = createIslands(3, 10);
+		IslandModel<TestObject> im = new IslandModel<TestObject>(searches, 5, 1, IslandModel.Topology.RING);
+		// islands run one at a time in order, so the results are deterministic
+		ExecutorService single = Executors.newSingleThreadExecutor();
+		im.setExecutor(single);
+		assertEquals(3, im.getNumIslands());
+		assertTrue(searches.get(0).getProblem() == im.getProblem());
+		ProgressTracker<TestObject> tracker = im.getProgressTracker();
+		// each island has its own tracker
+		for (int i = 0; i < 3; i++) {
+			assertTrue(tracker != im.getIslandProgressTracker(i));
+		}
+		SolutionCostPair<TestObject> best = im.optimize(4);
+		assertEquals(10, best.getCost());
+		assertEquals(10, tracker.getCost());
+		assertEquals(12, im.getTotalMigrations());
+		assertEquals(60, im.getTotalRunLength());
+		// island 1 received the elite from island 0, and then passed it on to island 2
+		for (int i = 0; i < 3; i++) {
+			assertEquals(10, im.getIslandProgressTracker(i).getCost());
+		}
+		// the islands run copies of the searches, which keep the shared tracker
+		for (TestIsland island : searches) {
+			assertTrue(tracker == island.getProgressTracker());
+			assertEquals(0, island.getTotalRunLength());
+		}
+		im.close();
+		single.shutdown();
+	}
+	
+	@Test
+	public void testStarMigration() {
+		ArrayList<TestIsland> searches = createIslands(4, 100);
+		IslandModel<TestObject> im = new IslandModel<TestObject>(searches, 5, 2, IslandModel.Topology.STAR);
+		ExecutorService single = Executors.newSingleThreadExecutor();
+		im.setExecutor(single);
+		im.optimize(4);
+		// hub sends to 3 and each of 3 others send to hub, twice
+		assertEquals(12, im.getTotalMigrations());
+		assertEquals(100, im.getProgressTracker().getCost());
+		for (int i = 0; i < 4; i++) {
+			assertEquals(100, im.getIslandProgressTracker(i).getCost());
+		}
+		im.close();
+		single.shutdown();
+	}
+	
+	@Test
+	public void testRandomMigration() {
+		ArrayList<TestIsland> searches = createIslands(4, 100);
+		IslandModel<TestObject> im = new IslandModel<TestObject>(searches, 5, 1, IslandModel.Topology.RANDOM);
+		im.optimize(3);
+		assertEquals(12, im.getTotalMigrations());
+		assertEquals(100, im.getProgressTracker().getCost());
+		im.close();
+	}
+	
+	@Test
+	public void testRandomMigrationWithEngine() {
+		int[][] costs = new int[2][];
+		for (int k = 0; k < 2; k++) {
+			ArrayList<TestIsland> searches = createIslands(5, 100);
+			IslandModel<TestObject> im = new IslandModel<TestObject>(searches, 5, 1, IslandModel.Topology.RANDOM, new Xoshiro256PlusPlus(42));
+			// islands run one at a time in order, so with seeded engines the results are reproducible
+			ExecutorService single = Executors.newSingleThreadExecutor();
+			im.setExecutor(single);
+			im.optimize(1);
+			assertEquals(5, im.getTotalMigrations());
+			costs[k] = new int[5];
+			for (int i = 0; i < 5; i++) {
+				costs[k][i] = im.getIslandProgressTracker(i).getCost();
+			}
+			IslandModel<TestObject> split = im.split();
+			split.optimize(2);
+			assertEquals(10, split.getTotalMigrations());
+			im.close();
+			split.close();
+			single.shutdown();
+		}
+		assertArrayEquals(costs[0], costs[1]);
+	}
+	
+	@Test
+	public void testResumableIslands() {
+		// the islands run their epochs in lockstep, so that island 0 receives 
+		// the elite of island 1 after its first epoch
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ProgressTracker<TestObject> tracker = new ProgressTracker<TestObject>();
+		TestProblem problem = new TestProblem();
+		ArrayList<TestResumableIsland> searches = new ArrayList<TestResumableIsland>();
+		searches.add(new TestResumableIsland(1, 10, tracker, problem, barrier));
+		searches.add(new TestResumableIsland(0, 10, tracker, problem, barrier));
+		IslandModel<TestObject> im = new IslandModel<TestObject>(searches, 5, 1, IslandModel.Topology.RING);
+		assertEquals(10, im.optimize(4).getCost());
+		assertEquals(40, im.getTotalRunLength());
+		for (TestResumableIsland island : searches) {
+			// each island runs once, which continues across the epochs
+			assertEquals(1, island.counts[0]);
+			assertEquals(3, island.counts[1]);
+			assertEquals(20, island.counts[2]);
+		}
+		// only the accepted migrant is injected into the run of island 0
+		assertEquals(1, searches.get(0).injected.size());
+		assertEquals(10, searches.get(0).injected.get(0).value);
+		assertEquals(0, searches.get(1).injected.size());
+		im.close();
+	}
+	
+	@Test
+	public void testSingleIsland() {
+		TestIsland island = new TestIsland(0, 10, new ProgressTracker<TestObject>());
+		ProgressTracker<TestObject> tracker = island.getProgressTracker();
+		IslandModel<TestObject> im = new IslandModel<TestObject>(island, 1, 5);
+		assertTrue(tracker == im.getProgressTracker());
+		assertEquals(10, im.optimize(3).getCost());
+		assertTrue(tracker == island.getProgressTracker());
+		assertTrue(tracker != im.getIslandProgressTracker(0));
+		assertEquals(0, im.getTotalMigrations());
+		im.close();
+		try {
+			im.optimize(1);
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void testStopAndFoundBest() {
+		ArrayList<TestIsland> searches = createIslands(3, 10);
+		IslandModel<TestObject> im = new IslandModel<TestObject>(searches, 5, 1, IslandModel.Topology.RING);
+		im.getProgressTracker().stop();
+		assertNull(im.optimize(4));
+		assertEquals(0, im.getTotalRunLength());
+		im.getProgressTracker().start();
+		im.getProgressTracker().setFoundBest();
+		assertNull(im.optimize(4));
+		assertEquals(0, im.getTotalRunLength());
+		im.close();
+	}
+	
+	@Test
+	public void testSimulatedAnnealing() {
+		OneMax problem = new OneMax();
+		SimulatedAnnealing<BitVector> sa = SimulatedAnnealing.createInstance(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32));
+		ProgressTracker<BitVector> tracker = sa.getProgressTracker();
+		IslandModel<BitVector> im = new IslandModel<BitVector>(sa, 3, 200, 1, IslandModel.Topology.RING);
+		IslandModel<BitVector> split = im.split();
+		im.setExecutor(SearchExecutors.sharedPool());
+		SolutionCostPair<BitVector> best = im.optimize(1000);
+		assertTrue(tracker.didFindBest());
+		assertEquals(0, tracker.getCost());
+		assertEquals(0, best.getCost());
+		assertEquals(0, problem.cost(tracker.getSolution()));
+		assertTrue(tracker == split.getProgressTracker());
+		assertTrue(tracker == sa.getProgressTracker());
+		assertNull(split.optimize(10));
+		im.close();
+		split.close();
+		assertFalse(SearchExecutors.sharedPool().isShutdown());
+	}
+	
+	@Test
+	public void testExceptions() {
+		TestIsland island = new TestIsland(0, 10, new ProgressTracker<TestObject>());
+		try {
+			new IslandModel<TestObject>(island, 0, 5);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) { }
+		try {
+			new IslandModel<TestObject>(island, 2, 0);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) { }
+		try {
+			new IslandModel<TestObject>(island, 2, 5, 0, IslandModel.Topology.RING);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) { }
+		try {
+			new IslandModel<TestObject>(island, 2, 5, 1, null);
+			fail("Expected NullPointerException");
+		} catch (NullPointerException e) { }
+		try {
+			new IslandModel<TestObject>(new ArrayList<TestIsland>(), 5, 1, IslandModel.Topology.RING);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) { }
+		ArrayList<TestIsland> searches = createIslands(2, 10);
+		searches.add(new TestIsland(2, 10, new ProgressTracker<TestObject>()));
+		try {
+			new IslandModel<TestObject>(searches, 5, 1, IslandModel.Topology.RING);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) { }
+		searches = createIslands(2, 10);
+		TestIsland other = new TestIsland(2, 10, searches.get(0).getProgressTracker());
+		other.problem = new TestProblem();
+		searches.add(other);
+		try {
+			new IslandModel<TestObject>(searches, 5, 1, IslandModel.Topology.RING);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) { }
+	}
+	
+	/*
+	 * Island 0 finds a solution with cost eliteCost in its first epoch, and the
+	 * others find solutions with higher costs.  No island improves its solution
+	 * on its own after its first epoch.
+	 */
+	private ArrayList<TestIsland> createIslands(int n, int eliteCost) {
+		ProgressTracker<TestObject> tracker = new ProgressTracker<TestObject>();
+		TestProblem problem = new TestProblem();
+		ArrayList<TestIsland> searches = new ArrayList<TestIsland>();
+		for (int i = 0; i < n; i++) {
+			TestIsland island = new TestIsland(i, eliteCost, tracker);
+			island.problem = problem;
+			searches.add(island);
+		}
+		return searches;
+	}
+	
+	private static class TestIsland implements ReoptimizableMetaheuristic<TestObject> {
+		
+		private ProgressTracker<TestObject> tracker;
+		private final int id;
+		private final int eliteCost;
+		private TestProblem problem;
+		private long totalRunLength;
+		
+		public TestIsland(int id, int eliteCost, ProgressTracker<TestObject> tracker) {
+			this.id = id;
+			this.eliteCost = eliteCost;
+			this.tracker = tracker;
+			problem = new TestProblem();
+		}
+		
+		@Override
+		public SolutionCostPair<TestObject> reoptimize(int runLength) {
+			totalRunLength += runLength;
+			// always "finds" the same solution, which the tracker keeps unless
+			// a better migrant was received
+			TestObject found = new TestObject(eliteCost + 100 * id);
+			tracker.update(found.value, found);
+			TestObject start = tracker.getSolution();
+			return new SolutionCostPair<TestObject>(start.copy(), start.value);
+		}
+		
+		@Override
+		public SolutionCostPair<TestObject> optimize(int runLength) {
+			return reoptimize(runLength);
+		}
+		
+		@Override
+		public TestIsland split() {
+			TestIsland s = new TestIsland(id, eliteCost, tracker);
+			s.problem = problem;
+			return s;
+		}
+		
+		@Override
+		public ProgressTracker<TestObject> getProgressTracker() { return tracker; }
+		
+		@Override
+		public void setProgressTracker(ProgressTracker<TestObject> tracker) {
+			if (tracker != null) this.tracker = tracker;
+		}
+		
+		@Override
+		public TestProblem getProblem() { return problem; }
+		
+		@Override
+		public long getTotalRunLength() { return totalRunLength; }
+	}
+	
+	private static class TestResumableIsland extends TestIsland implements ResumableMetaheuristic<TestObject> {
+		
+		private final CyclicBarrier barrier;
+		// shared with the island's splits: the number of runs begun, the number of 
+		// segments resumed, and the length of the last run begun
+		private final int[] counts;
+		private final ArrayList<TestObject> injected;
+		
+		public TestResumableIsland(int id, int eliteCost, ProgressTracker<TestObject> tracker, TestProblem problem, CyclicBarrier barrier) {
+			this(id, eliteCost, tracker, problem, barrier, new int[3], new ArrayList<TestObject>());
+		}
+		
+		private TestResumableIsland(int id, int eliteCost, ProgressTracker<TestObject> tracker, TestProblem problem, CyclicBarrier barrier, int[] counts, ArrayList<TestObject> injected) {
+			super(id, eliteCost, tracker);
+			TestIsland self = this;
+			self.problem = problem;
+			this.barrier = barrier;
+			this.counts = counts;
+			this.injected = injected;
+		}
+		
+		@Override
+		public SolutionCostPair<TestObject> reoptimize(int runLength, int segmentLength) {
+			counts[0]++;
+			counts[2] = runLength;
+			awaitOtherIsland();
+			return reoptimize(segmentLength);
+		}
+		
+		@Override
+		public SolutionCostPair<TestObject> resume(int segmentLength, TestObject injected) {
+			counts[1]++;
+			if (injected != null) this.injected.add(injected);
+			awaitOtherIsland();
+			return reoptimize(segmentLength);
+		}
+		
+		@Override
+		public TestResumableIsland split() {
+			TestIsland self = this;
+			return new TestResumableIsland(self.id, self.eliteCost, getProgressTracker(), getProblem(), barrier, counts, injected);
+		}
+		
+		private void awaitOtherIsland() {
+			try {
+				barrier.await(10, TimeUnit.SECONDS);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+	
+	private static class TestObject implements Copyable<TestObject> {
+		private final int value;
+		public TestObject(int value) { this.value = value; }
+		public TestObject copy() { return new TestObject(value); }
+	}
+	
+	private static class TestProblem implements IntegerCostOptimizationProblem<TestObject> {
+		public int cost(TestObject o) { return o.value; }
+		public int minCost() { return 0; }
+		public int value(TestObject o) { return o.value; }
+	}
+}
@@ -392,6 +392,44 @@ public class ParallelMultistarterTestsTwoThreads {
 	
 	
 	
+	@Test
+	public void testExecutor() {
+		for (int re = 1; re <= 5; re++) {
+			TestRestartedMetaheuristic heur = new TestRestartedMetaheuristic();
+			ParallelMultistarter<TestObject> restarter = new ParallelMultistarter<TestObject>(heur, 100, 2);
+			restarter.setExecutor(SearchExecutors.sharedPool());
+			verifyConstantLength(restarter, heur, 100, re);
+			restarter.close();
+			assertFalse(SearchExecutors.sharedPool().isShutdown());
+		}
+		// an executor with fewer threads than parallel searches
+		java.util.concurrent.ExecutorService single = java.util.concurrent.Executors.newSingleThreadExecutor();
+		TestRestartedMetaheuristic heur = new TestRestartedMetaheuristic();
+		ParallelMultistarter<TestObject> restarter = new ParallelMultistarter<TestObject>(heur, 100, 2);
+		restarter.setExecutor(single);
+		ParallelMultistarter<TestObject> split = restarter.split();
+		verifyConstantLength(restarter, heur, 100, 3);
+		restarter.close();
+		assertFalse(single.isShutdown());
+		assertNotNull(split.optimize(2));
+		split.close();
+		assertFalse(single.isShutdown());
+		single.shutdown();
+		try {
+			restarter.setExecutor(null);
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		// reverting to an owned thread pool
+		heur = new TestRestartedMetaheuristic();
+		restarter = new ParallelMultistarter<TestObject>(heur, 100, 2);
+		restarter.setExecutor(SearchExecutors.sharedPool());
+		restarter.setExecutor(null);
+		verifyConstantLength(restarter, heur, 100, 2);
+		restarter.close();
+	}
+	
 	private void verifyConstantLength(ParallelMultistarter<TestObject> restarter, TestRestartedMetaheuristic heur, int r, int re) {
 		ProgressTracker<TestObject> tracker = restarter.getProgressTracker();
 		assertNotNull(tracker);
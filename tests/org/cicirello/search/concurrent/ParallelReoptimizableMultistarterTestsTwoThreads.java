@@ -740,6 +740,24 @@ public class ParallelReoptimizableMultistarterTestsTwoThreads {
 	
 	
 	
+	@Test
+	public void testExecutor() {
+		for (int re = 1; re <= 5; re++) {
+			TestRestartedMetaheuristic heur = new TestRestartedMetaheuristic();
+			ParallelReoptimizableMultistarter<TestObject> restarter = new ParallelReoptimizableMultistarter<TestObject>(heur, 100, 2);
+			restarter.setExecutor(SearchExecutors.sharedPool());
+			verifyConstantLength(restarter, heur, 100, re);
+			restarter.close();
+			assertFalse(SearchExecutors.sharedPool().isShutdown());
+			heur = new TestRestartedMetaheuristic();
+			restarter = new ParallelReoptimizableMultistarter<TestObject>(heur, 100, 2);
+			restarter.setExecutor(SearchExecutors.sharedPool());
+			verifyConstantLengthRe(restarter, heur, 100, re);
+			restarter.close();
+			assertFalse(SearchExecutors.sharedPool().isShutdown());
+		}
+	}
+	
 	private void verifyConstantLength(ParallelReoptimizableMultistarter<TestObject> restarter, TestRestartedMetaheuristic heur, int r, int re) {
 		ProgressTracker<TestObject> tracker = restarter.getProgressTracker();
 		assertNotNull(tracker);
@@ -0,0 +1,79 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.concurrent;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * JUnit 4 tests for SearchExecutors.
+ */
+public class SearchExecutorsTests {
+	
+	@Test
+	public void testSharedPool() throws Exception {
+		ExecutorService pool = SearchExecutors.sharedPool();
+		assertTrue(pool == SearchExecutors.sharedPool());
+		Future<Integer> f = pool.submit(new Callable<Integer>() {
+			@Override
+			public Integer call() {
+				return 42;
+			}
+		});
+		assertEquals(42, f.get().intValue());
+		// shared, so shutdown has no effect
+		pool.shutdown();
+		assertTrue(pool.shutdownNow().isEmpty());
+		assertFalse(pool.isShutdown());
+		f = pool.submit(new Callable<Integer>() {
+			@Override
+			public Integer call() {
+				return 7;
+			}
+		});
+		assertEquals(7, f.get().intValue());
+	}
+	
+	@Test
+	public void testVirtualThreads() throws Exception {
+		if (SearchExecutors.virtualThreadsSupported()) {
+			ExecutorService e = SearchExecutors.newVirtualThreadExecutor();
+			Future<Integer> f = e.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() {
+					return 42;
+				}
+			});
+			assertEquals(42, f.get().intValue());
+			e.shutdown();
+		} else {
+			try {
+				SearchExecutors.newVirtualThreadExecutor();
+				fail("Expected UnsupportedOperationException");
+			} catch (UnsupportedOperationException ex) {
+				// expected
+			}
+		}
+	}
+}
@@ -24,12 +24,22 @@ import org.junit.*;
 import static org.junit.Assert.*;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.IncrementalOptimizationProblem;
+import org.cicirello.search.problems.IncrementalIntegerCostOptimizationProblem;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.Move;
+import org.cicirello.search.operators.RandomAccessMutationOperator;
+import org.cicirello.search.operators.AnchoredMutationOperator;
+import org.cicirello.search.operators.permutations.*;
+import org.cicirello.permutations.Permutation;
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.util.Copyable;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
 import org.cicirello.search.SolutionCostPair;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * JUnit tests for the hill climbers.
@@ -376,6 +386,656 @@ public class HillClimberTests {
 	}
 	
 	
+	// delta evaluation
+	
+	@Test
+	public void testSteepestDelta() {
+		for (IterableMutationOperator<Permutation> m : permutationOperators()) {
+			for (int trial = 0; trial < 5; trial++) {
+				Permutation start = new Permutation(8);
+				// int costs
+				PermOptInt full = new PermOptInt();
+				PermOptIntDelta delta = new PermOptIntDelta();
+				SteepestDescentHillClimber<Permutation> hcFull = new SteepestDescentHillClimber<Permutation>(full, m, new PermutationInitializer(8));
+				SteepestDescentHillClimber<Permutation> hcDelta = new SteepestDescentHillClimber<Permutation>(delta, m, new PermutationInitializer(8));
+				SolutionCostPair<Permutation> expected = hcFull.optimize(start);
+				SolutionCostPair<Permutation> actual = hcDelta.optimize(start);
+				assertEquals(expected.getSolution(), actual.getSolution());
+				assertEquals(expected.getCost(), actual.getCost());
+				assertEquals(hcFull.getTotalRunLength(), hcDelta.getTotalRunLength());
+				assertEquals("only the start should be fully evaluated", 1, delta.costCalls);
+				assertTrue(delta.deltaCalls > 0);
+				assertEquals(expected.getCost(), hcDelta.getProgressTracker().getCost());
+				// double costs
+				PermOpt fullD = new PermOpt();
+				PermOptDelta deltaD = new PermOptDelta();
+				SteepestDescentHillClimber<Permutation> hcFullD = new SteepestDescentHillClimber<Permutation>(fullD, m, new PermutationInitializer(8));
+				SteepestDescentHillClimber<Permutation> hcDeltaD = new SteepestDescentHillClimber<Permutation>(deltaD, m, new PermutationInitializer(8));
+				expected = hcFullD.optimize(start);
+				actual = hcDeltaD.optimize(start);
+				assertEquals(expected.getSolution(), actual.getSolution());
+				assertEquals(expected.getCostDouble(), actual.getCostDouble(), EPSILON);
+				assertEquals(hcFullD.getTotalRunLength(), hcDeltaD.getTotalRunLength());
+				assertEquals("only the start should be fully evaluated", 1, deltaD.costCalls);
+				assertTrue(deltaD.deltaCalls > 0);
+			}
+		}
+	}
+	
+	@Test
+	public void testFirstDelta() {
+		for (IterableMutationOperator<Permutation> m : permutationOperators()) {
+			for (int trial = 0; trial < 5; trial++) {
+				Permutation start = new Permutation(8);
+				// int costs
+				PermOptInt full = new PermOptInt();
+				PermOptIntDelta delta = new PermOptIntDelta();
+				FirstDescentHillClimber<Permutation> hcFull = new FirstDescentHillClimber<Permutation>(full, m, new PermutationInitializer(8));
+				FirstDescentHillClimber<Permutation> hcDelta = new FirstDescentHillClimber<Permutation>(delta, m, new PermutationInitializer(8));
+				SolutionCostPair<Permutation> expected = hcFull.optimize(start);
+				SolutionCostPair<Permutation> actual = hcDelta.optimize(start);
+				assertEquals(expected.getSolution(), actual.getSolution());
+				assertEquals(expected.getCost(), actual.getCost());
+				assertEquals(hcFull.getTotalRunLength(), hcDelta.getTotalRunLength());
+				assertEquals("only the start should be fully evaluated", 1, delta.costCalls);
+				assertTrue(delta.deltaCalls > 0);
+				assertEquals(expected.getCost(), hcDelta.getProgressTracker().getCost());
+				// double costs
+				PermOpt fullD = new PermOpt();
+				PermOptDelta deltaD = new PermOptDelta();
+				FirstDescentHillClimber<Permutation> hcFullD = new FirstDescentHillClimber<Permutation>(fullD, m, new PermutationInitializer(8));
+				FirstDescentHillClimber<Permutation> hcDeltaD = new FirstDescentHillClimber<Permutation>(deltaD, m, new PermutationInitializer(8));
+				expected = hcFullD.optimize(start);
+				actual = hcDeltaD.optimize(start);
+				assertEquals(expected.getSolution(), actual.getSolution());
+				assertEquals(expected.getCostDouble(), actual.getCostDouble(), EPSILON);
+				assertEquals(hcFullD.getTotalRunLength(), hcDeltaD.getTotalRunLength());
+				assertEquals("only the start should be fully evaluated", 1, deltaD.costCalls);
+				assertTrue(deltaD.deltaCalls > 0);
+			}
+		}
+	}
+	
+	@Test
+	public void testDeltaWithoutMoveIterators() {
+		// incremental problem, but iterator doesn't support moves, so full evaluation
+		Permutation start = new Permutation(8);
+		PermOptIntDelta delta = new PermOptIntDelta();
+		SteepestDescentHillClimber<Permutation> steepest = new SteepestDescentHillClimber<Permutation>(delta, new NoMoves(new SwapMutation()), new PermutationInitializer(8));
+		SolutionCostPair<Permutation> s = steepest.optimize(start);
+		assertEquals(0, delta.deltaCalls);
+		assertEquals(steepest.getTotalRunLength() + 1, delta.costCalls);
+		assertEquals(delta.value(s.getSolution()), s.getCost());
+		PermOptDelta deltaD = new PermOptDelta();
+		FirstDescentHillClimber<Permutation> first = new FirstDescentHillClimber<Permutation>(deltaD, new NoMoves(new SwapMutation()), new PermutationInitializer(8));
+		s = first.optimize(start);
+		assertEquals(0, deltaD.deltaCalls);
+		assertEquals(first.getTotalRunLength() + 1, deltaD.costCalls);
+		assertEquals(deltaD.value(s.getSolution()), s.getCostDouble(), EPSILON);
+	}
+	
+	@Test
+	public void testSteepestBatch() {
+		for (IterableMutationOperator<Permutation> m : permutationOperators()) {
+			for (int trial = 0; trial < 5; trial++) {
+				Permutation start = new Permutation(8);
+				// int costs
+				PermOptInt full = new PermOptInt();
+				PermOptIntBatch batch = new PermOptIntBatch();
+				SteepestDescentHillClimber<Permutation> hcFull = new SteepestDescentHillClimber<Permutation>(full, m, new PermutationInitializer(8));
+				SteepestDescentHillClimber<Permutation> hcBatch = new SteepestDescentHillClimber<Permutation>(batch, m, new PermutationInitializer(8));
+				SolutionCostPair<Permutation> expected = hcFull.optimize(start);
+				SolutionCostPair<Permutation> actual = hcBatch.optimize(start);
+				assertEquals(expected.getSolution(), actual.getSolution());
+				assertEquals(expected.getCost(), actual.getCost());
+				assertEquals(batch.value(actual.getSolution()), actual.getCost());
+				assertEquals(hcFull.getTotalRunLength(), hcBatch.getTotalRunLength());
+				assertEquals(full.costCalls, batch.costCalls);
+				assertEquals(hcBatch.getTotalRunLength(), batch.batched);
+				assertTrue(batch.batches > 0);
+				assertEquals(expected.getCost(), hcBatch.getProgressTracker().getCost());
+				// double costs
+				PermOpt fullD = new PermOpt();
+				PermOptBatch batchD = new PermOptBatch();
+				SteepestDescentHillClimber<Permutation> hcFullD = new SteepestDescentHillClimber<Permutation>(fullD, m, new PermutationInitializer(8));
+				SteepestDescentHillClimber<Permutation> hcBatchD = new SteepestDescentHillClimber<Permutation>(batchD, m, new PermutationInitializer(8));
+				expected = hcFullD.optimize(start);
+				actual = hcBatchD.optimize(start);
+				assertEquals(expected.getSolution(), actual.getSolution());
+				assertEquals(expected.getCostDouble(), actual.getCostDouble(), EPSILON);
+				assertEquals(batchD.value(actual.getSolution()), actual.getCostDouble(), EPSILON);
+				assertEquals(hcFullD.getTotalRunLength(), hcBatchD.getTotalRunLength());
+				assertEquals(fullD.costCalls, batchD.costCalls);
+				assertEquals(hcBatchD.getTotalRunLength(), batchD.batched);
+			}
+		}
+	}
+	
+	@Test
+	public void testSteepestParallel() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			for (IterableMutationOperator<Permutation> m : permutationOperators()) {
+				for (int trial = 0; trial < 3; trial++) {
+					Permutation start = new Permutation(9);
+					verifyParallel(new PermOptInt(), m, start, pool);
+					verifyParallel(new PermOptIntDelta(), m, start, pool);
+					verifyParallel(new PermOpt(), m, start, pool);
+					verifyParallel(new PermOptDelta(), m, start, pool);
+				}
+			}
+			// operators with moves but without random access are evaluated by interleaving
+			for (int trial = 0; trial < 3; trial++) {
+				Permutation start = new Permutation(9);
+				verifyParallel(new PermOptInt(), new MovesOnly(new BlockInterchangeMutation()), start, pool);
+				verifyParallel(new PermOpt(), new MovesOnly(new BlockMoveMutation()), start, pool);
+				verifyParallel(new PermOptDelta(), new MovesOnly(new BlockInterchangeMutation()), start, pool);
+			}
+			// iterators without move support are evaluated serially
+			Permutation start = new Permutation(9);
+			verifyParallel(new PermOptInt(), new NoMoves(new SwapMutation()), start, pool);
+			verifyParallel(new PermOpt(), new NoMoves(new SwapMutation()), start, pool);
+			// split shares the pool, and evaluates in the order of the indexes
+			SteepestDescentHillClimber<Permutation> serial = new SteepestDescentHillClimber<Permutation>(new PermOptInt(), new BlockInterchangeMutation(), new PermutationInitializer(9));
+			SteepestDescentHillClimber<Permutation> parallel = new SteepestDescentHillClimber<Permutation>(new PermOptInt(), new BlockInterchangeMutation(), new PermutationInitializer(9));
+			parallel.setNeighborhoodPool(pool);
+			Permutation indexed = indexedSteepestDescent(new BlockInterchangeMutation(), start, new long[1]);
+			SolutionCostPair<Permutation> actual = parallel.split().optimize(start);
+			assertEquals(indexed, actual.getSolution());
+			assertEquals(permCost(indexed), actual.getCost());
+			// and can be cleared
+			SolutionCostPair<Permutation> expected = serial.optimize(start);
+			parallel = new SteepestDescentHillClimber<Permutation>(new PermOptInt(), new BlockInterchangeMutation(), new PermutationInitializer(9));
+			parallel.setNeighborhoodPool(pool);
+			parallel.setNeighborhoodPool(null);
+			actual = parallel.optimize(start);
+			assertEquals(expected.getSolution(), actual.getSolution());
+			assertEquals(expected.getCost(), actual.getCost());
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	private void verifyParallel(IntegerCostOptimizationProblem<Permutation> problem, IterableMutationOperator<Permutation> m, Permutation start, ForkJoinPool pool) {
+		SteepestDescentHillClimber<Permutation> serial = new SteepestDescentHillClimber<Permutation>(problem, m, new PermutationInitializer(start.length()));
+		SteepestDescentHillClimber<Permutation> parallel = new SteepestDescentHillClimber<Permutation>(problem, m, new PermutationInitializer(start.length()));
+		parallel.setNeighborhoodPool(pool);
+		SolutionCostPair<Permutation> actual = parallel.optimize(start);
+		if (m instanceof RandomAccessMutationOperator) {
+			// identical to serial evaluation in the order of the indexes
+			long[] evaluated = new long[1];
+			Permutation expected = indexedSteepestDescent((RandomAccessMutationOperator<Permutation>)m, start, evaluated);
+			assertEquals(expected, actual.getSolution());
+			assertEquals(permCost(expected), actual.getCost());
+			assertEquals(evaluated[0], parallel.getTotalRunLength());
+			assertEquals(actual.getCost(), parallel.getProgressTracker().getCost());
+			return;
+		}
+		SolutionCostPair<Permutation> expected = serial.optimize(start);
+		assertEquals(expected.getSolution(), actual.getSolution());
+		assertEquals(expected.getCost(), actual.getCost());
+		assertEquals(serial.getTotalRunLength(), parallel.getTotalRunLength());
+		assertEquals(expected.getCost(), parallel.getProgressTracker().getCost());
+	}
+	
+	private void verifyParallel(OptimizationProblem<Permutation> problem, IterableMutationOperator<Permutation> m, Permutation start, ForkJoinPool pool) {
+		SteepestDescentHillClimber<Permutation> serial = new SteepestDescentHillClimber<Permutation>(problem, m, new PermutationInitializer(start.length()));
+		SteepestDescentHillClimber<Permutation> parallel = new SteepestDescentHillClimber<Permutation>(problem, m, new PermutationInitializer(start.length()));
+		parallel.setNeighborhoodPool(pool);
+		SolutionCostPair<Permutation> actual = parallel.optimize(start);
+		if (m instanceof RandomAccessMutationOperator) {
+			// identical to serial evaluation in the order of the indexes
+			long[] evaluated = new long[1];
+			Permutation expected = indexedSteepestDescent((RandomAccessMutationOperator<Permutation>)m, start, evaluated);
+			assertEquals(expected, actual.getSolution());
+			assertEquals(permCost(expected) / 4.0, actual.getCostDouble(), EPSILON);
+			assertEquals(evaluated[0], parallel.getTotalRunLength());
+			assertEquals(actual.getCostDouble(), parallel.getProgressTracker().getCostDouble(), EPSILON);
+			return;
+		}
+		SolutionCostPair<Permutation> expected = serial.optimize(start);
+		assertEquals(expected.getSolution(), actual.getSolution());
+		assertEquals(expected.getCostDouble(), actual.getCostDouble(), EPSILON);
+		assertEquals(serial.getTotalRunLength(), parallel.getTotalRunLength());
+		assertEquals(expected.getCostDouble(), parallel.getProgressTracker().getCostDouble(), EPSILON);
+	}
+	
+	/*
+	 * Steepest descent that scans each neighborhood in the order of the indexes of the operator,
+	 * keeping the lowest index among ties, and counting the neighbors evaluated in evaluated[0].
+	 */
+	private static Permutation indexedSteepestDescent(RandomAccessMutationOperator<Permutation> m, Permutation start, long[] evaluated) {
+		Permutation current = new Permutation(start);
+		int currentCost = permCost(current);
+		long bestIndex;
+		do {
+			bestIndex = -1;
+			int bestCost = currentCost;
+			long size = m.neighborhoodSize(current);
+			for (long index = 0; index < size; index++) {
+				Permutation neighbor = new Permutation(current);
+				m.getMove(current, index).apply(neighbor);
+				int cost = permCost(neighbor);
+				if (cost < bestCost) {
+					bestCost = cost;
+					bestIndex = index;
+				}
+			}
+			evaluated[0] += size;
+			if (bestIndex >= 0) {
+				m.getMove(current, bestIndex).apply(current);
+				currentCost = bestCost;
+			}
+		} while (bestIndex >= 0);
+		return current;
+	}
+	
+	@Test
+	public void testFirstNeighborOrders() {
+		IterableMutationOperator<Permutation>[] ops = permutationOperators();
+		for (FirstDescentHillClimber.NeighborOrder order : FirstDescentHillClimber.NeighborOrder.values()) {
+			for (IterableMutationOperator<Permutation> m : ops) {
+				for (int trial = 0; trial < 3; trial++) {
+					Permutation start = new Permutation(8);
+					// int costs
+					PermOptInt[] intProblems = { new PermOptInt(), new PermOptIntDelta() };
+					for (PermOptInt problem : intProblems) {
+						FirstDescentHillClimber<Permutation> hc = new FirstDescentHillClimber<Permutation>(problem, m, new PermutationInitializer(8));
+						hc.setNeighborOrder(order);
+						assertEquals(order, hc.getNeighborOrder());
+						assertEquals(order, hc.split().getNeighborOrder());
+						SolutionCostPair<Permutation> s = hc.optimize(start);
+						assertEquals(problem.value(s.getSolution()), s.getCost());
+						assertEquals(s.getCost(), hc.getProgressTracker().getCost());
+						assertTrue(s.getCost() <= problem.value(start));
+						verifyLocalOptimum(m, s.getSolution());
+					}
+					// double costs
+					PermOpt[] problems = { new PermOpt(), new PermOptDelta() };
+					for (PermOpt problem : problems) {
+						FirstDescentHillClimber<Permutation> hc = new FirstDescentHillClimber<Permutation>(problem, m, new PermutationInitializer(8));
+						hc.setNeighborOrder(order);
+						SolutionCostPair<Permutation> s = hc.optimize(start);
+						assertEquals(problem.value(s.getSolution()), s.getCostDouble(), EPSILON);
+						assertEquals(s.getCostDouble(), hc.getProgressTracker().getCostDouble(), EPSILON);
+						assertTrue(s.getCostDouble() <= problem.value(start));
+						verifyLocalOptimum(m, s.getSolution());
+					}
+				}
+			}
+		}
+		// circular scan is deterministic, and falls back to the fixed order without random access
+		Permutation start = new Permutation(8);
+		for (IterableMutationOperator<Permutation> m : ops) {
+			FirstDescentHillClimber<Permutation> fixed = new FirstDescentHillClimber<Permutation>(new PermOptIntDelta(), m, new PermutationInitializer(8));
+			FirstDescentHillClimber<Permutation> circular = new FirstDescentHillClimber<Permutation>(new PermOptIntDelta(), m, new PermutationInitializer(8));
+			FirstDescentHillClimber<Permutation> circular2 = new FirstDescentHillClimber<Permutation>(new PermOptIntDelta(), m, new PermutationInitializer(8));
+			circular.setNeighborOrder(FirstDescentHillClimber.NeighborOrder.CIRCULAR);
+			circular2.setNeighborOrder(FirstDescentHillClimber.NeighborOrder.CIRCULAR);
+			SolutionCostPair<Permutation> s1 = circular.optimize(start);
+			SolutionCostPair<Permutation> s2 = circular2.optimize(start);
+			assertEquals(s1.getSolution(), s2.getSolution());
+			assertEquals(circular.getTotalRunLength(), circular2.getTotalRunLength());
+			if (!(m instanceof RandomAccessMutationOperator)) {
+				SolutionCostPair<Permutation> expected = fixed.optimize(start);
+				assertEquals(expected.getSolution(), s1.getSolution());
+				assertEquals(fixed.getTotalRunLength(), circular.getTotalRunLength());
+			}
+		}
+		try {
+			new FirstDescentHillClimber<Permutation>(new PermOptInt(), new SwapMutation(), new PermutationInitializer(8)).setNeighborOrder(null);
+			fail("null order should throw exception");
+		} catch (NullPointerException ex) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void testFirstCircularInPlace() {
+		// full evaluation of neighbors in place follows the same climb as delta evaluation
+		for (IterableMutationOperator<Permutation> m : permutationOperators()) {
+			if (!(m instanceof RandomAccessMutationOperator)) continue;
+			for (int trial = 0; trial < 3; trial++) {
+				Permutation start = new Permutation(8);
+				PermOptInt full = new PermOptInt();
+				FirstDescentHillClimber<Permutation> hcFull = new FirstDescentHillClimber<Permutation>(full, m, new PermutationInitializer(8));
+				FirstDescentHillClimber<Permutation> hcDelta = new FirstDescentHillClimber<Permutation>(new PermOptIntDelta(), m, new PermutationInitializer(8));
+				hcFull.setNeighborOrder(FirstDescentHillClimber.NeighborOrder.CIRCULAR);
+				hcDelta.setNeighborOrder(FirstDescentHillClimber.NeighborOrder.CIRCULAR);
+				SolutionCostPair<Permutation> expected = hcDelta.optimize(start);
+				SolutionCostPair<Permutation> actual = hcFull.optimize(start);
+				assertEquals(expected.getSolution(), actual.getSolution());
+				assertEquals(expected.getCost(), actual.getCost());
+				assertEquals(hcDelta.getTotalRunLength(), hcFull.getTotalRunLength());
+				assertEquals(hcFull.getTotalRunLength() + 1, full.costCalls);
+				PermOpt fullD = new PermOpt();
+				FirstDescentHillClimber<Permutation> hcFullD = new FirstDescentHillClimber<Permutation>(fullD, m, new PermutationInitializer(8));
+				FirstDescentHillClimber<Permutation> hcDeltaD = new FirstDescentHillClimber<Permutation>(new PermOptDelta(), m, new PermutationInitializer(8));
+				hcFullD.setNeighborOrder(FirstDescentHillClimber.NeighborOrder.CIRCULAR);
+				hcDeltaD.setNeighborOrder(FirstDescentHillClimber.NeighborOrder.CIRCULAR);
+				expected = hcDeltaD.optimize(start);
+				actual = hcFullD.optimize(start);
+				assertEquals(expected.getSolution(), actual.getSolution());
+				assertEquals(expected.getCostDouble(), actual.getCostDouble(), EPSILON);
+				assertEquals(hcDeltaD.getTotalRunLength(), hcFullD.getTotalRunLength());
+				assertEquals(hcFullD.getTotalRunLength() + 1, fullD.costCalls);
+			}
+		}
+	}
+	
+	@Test
+	public void testFirstDontLookBits() {
+		int[][] candidates = new int[8][];
+		for (int e = 0; e < 8; e++) {
+			candidates[e] = new int[] { (e+7) % 8, (e+1) % 8, (e+2) % 8 };
+		}
+		for (int withLists = 0; withLists < 2; withLists++) {
+			for (IterableMutationOperator<Permutation> m : permutationOperators()) {
+				if (withLists == 1) {
+					if (!(m instanceof AnchoredMutationOperator)) continue;
+					setCandidateLists(m, candidates);
+				}
+				for (int trial = 0; trial < 3; trial++) {
+					Permutation start = new Permutation(8);
+					// int costs
+					PermOptInt[] intProblems = { new PermOptInt(), new PermOptIntDelta() };
+					for (PermOptInt problem : intProblems) {
+						FirstDescentHillClimber<Permutation> hc = new FirstDescentHillClimber<Permutation>(problem, m, new PermutationInitializer(8));
+						assertFalse(hc.getDontLookBits());
+						hc.setDontLookBits(true);
+						assertTrue(hc.getDontLookBits());
+						assertTrue(hc.split().getDontLookBits());
+						SolutionCostPair<Permutation> s = hc.optimize(start);
+						assertEquals(problem.value(s.getSolution()), s.getCost());
+						assertEquals(s.getCost(), hc.getProgressTracker().getCost());
+						assertTrue(s.getCost() <= problem.value(start));
+						// the delta of a swap depends only on the swapped elements, so don't-look bits 
+						// can't miss an improving swap
+						if (withLists == 0 && m instanceof SwapMutation) verifyLocalOptimum(m, s.getSolution());
+					}
+					// double costs
+					PermOpt[] problems = { new PermOpt(), new PermOptDelta() };
+					for (PermOpt problem : problems) {
+						FirstDescentHillClimber<Permutation> hc = new FirstDescentHillClimber<Permutation>(problem, m, new PermutationInitializer(8));
+						hc.setDontLookBits(true);
+						SolutionCostPair<Permutation> s = hc.optimize(start);
+						assertEquals(problem.value(s.getSolution()), s.getCostDouble(), EPSILON);
+						assertEquals(s.getCostDouble(), hc.getProgressTracker().getCostDouble(), EPSILON);
+						assertTrue(s.getCostDouble() <= problem.value(start));
+						if (withLists == 0 && m instanceof SwapMutation) verifyLocalOptimum(m, s.getSolution());
+					}
+				}
+			}
+		}
+		// full and delta evaluation are equivalent, and operators that aren't anchored use the fixed order
+		for (IterableMutationOperator<Permutation> m : permutationOperators()) {
+			Permutation start = new Permutation(8);
+			FirstDescentHillClimber<Permutation> fixed = new FirstDescentHillClimber<Permutation>(new PermOptIntDelta(), m, new PermutationInitializer(8));
+			PermOptInt full = new PermOptInt();
+			FirstDescentHillClimber<Permutation> hcFull = new FirstDescentHillClimber<Permutation>(full, m, new PermutationInitializer(8));
+			FirstDescentHillClimber<Permutation> hcDelta = new FirstDescentHillClimber<Permutation>(new PermOptIntDelta(), m, new PermutationInitializer(8));
+			hcFull.setDontLookBits(true);
+			hcDelta.setDontLookBits(true);
+			SolutionCostPair<Permutation> s1 = hcFull.optimize(start);
+			SolutionCostPair<Permutation> s2 = hcDelta.optimize(start);
+			assertEquals(s1.getSolution(), s2.getSolution());
+			assertEquals(hcFull.getTotalRunLength(), hcDelta.getTotalRunLength());
+			assertEquals(hcFull.getTotalRunLength() + 1, full.costCalls);
+			if (m instanceof AnchoredMutationOperator) {
+				// including with candidate lists, whose positions are kept by neighbors evaluated in place
+				IterableMutationOperator<Permutation> withLists = m.split();
+				setCandidateLists(withLists, candidates);
+				hcFull = new FirstDescentHillClimber<Permutation>(new PermOptInt(), withLists, new PermutationInitializer(8));
+				hcDelta = new FirstDescentHillClimber<Permutation>(new PermOptIntDelta(), withLists, new PermutationInitializer(8));
+				hcFull.setDontLookBits(true);
+				hcDelta.setDontLookBits(true);
+				s1 = hcFull.optimize(start);
+				s2 = hcDelta.optimize(start);
+				assertEquals(s1.getSolution(), s2.getSolution());
+				assertEquals(hcFull.getTotalRunLength(), hcDelta.getTotalRunLength());
+			} else {
+				SolutionCostPair<Permutation> expected = fixed.optimize(start);
+				assertEquals(expected.getSolution(), s1.getSolution());
+				assertEquals(fixed.getTotalRunLength(), hcFull.getTotalRunLength());
+			}
+		}
+	}
+	
+	@Test
+	public void testRandomIndexOrder() {
+		RandomIndexOrder[] orders = { new RandomIndexOrder(null), new RandomIndexOrder(new Xoshiro256PlusPlus(42)) };
+		for (RandomIndexOrder order : orders) {
+			for (int n = 1; n <= 300; n++) {
+				order.reset(n);
+				boolean[] visited = new boolean[n];
+				for (int t = 0; t < n; t++) {
+					long index = order.get(t);
+					assertTrue(index >= 0 && index < n);
+					assertFalse("index repeated", visited[(int)index]);
+					visited[(int)index] = true;
+				}
+			}
+		}
+		// orders with identically seeded engines are identical, and differ from
+		// those of a split of the engine
+		Xoshiro256PlusPlus parent = new Xoshiro256PlusPlus(42);
+		RandomIndexOrder o1 = new RandomIndexOrder(new Xoshiro256PlusPlus(42));
+		RandomIndexOrder o2 = new RandomIndexOrder(parent);
+		RandomIndexOrder o3 = new RandomIndexOrder(new Xoshiro256PlusPlus(42).split());
+		o1.reset(1000);
+		o2.reset(1000);
+		o3.reset(1000);
+		boolean differs = false;
+		for (int t = 0; t < 1000; t++) {
+			assertEquals(o1.get(t), o2.get(t));
+			if (o1.get(t) != o3.get(t)) differs = true;
+		}
+		assertTrue(differs);
+	}
+	
+	@Test
+	public void testFirstRandomOrderWithEngine() {
+		Permutation start = new Permutation(12);
+		FirstDescentHillClimber<Permutation> hc1 = new FirstDescentHillClimber<Permutation>(new PermOptIntNoMin(), new SwapMutation(), new PermutationInitializer(12), new ProgressTracker<Permutation>(), new Xoshiro256PlusPlus(42));
+		FirstDescentHillClimber<Permutation> hc2 = new FirstDescentHillClimber<Permutation>(new PermOptIntNoMin(), new SwapMutation(), new PermutationInitializer(12), new ProgressTracker<Permutation>(), new Xoshiro256PlusPlus(42));
+		hc1.setNeighborOrder(FirstDescentHillClimber.NeighborOrder.RANDOM);
+		hc2.setNeighborOrder(FirstDescentHillClimber.NeighborOrder.RANDOM);
+		FirstDescentHillClimber<Permutation> split1 = hc1.split();
+		FirstDescentHillClimber<Permutation> split2 = hc2.split();
+		for (int i = 0; i < 3; i++) {
+			assertEquals(hc1.optimize(start).getSolution(), hc2.optimize(start).getSolution());
+			assertEquals(hc1.getTotalRunLength(), hc2.getTotalRunLength());
+			assertEquals(split1.optimize(start).getSolution(), split2.optimize(start).getSolution());
+			assertEquals(split1.getTotalRunLength(), split2.getTotalRunLength());
+		}
+		FirstDescentHillClimber<Permutation> hc = new FirstDescentHillClimber<Permutation>(new PermOpt(), new SwapMutation(), new PermutationInitializer(12), new ProgressTracker<Permutation>(), null);
+		hc.setNeighborOrder(FirstDescentHillClimber.NeighborOrder.RANDOM);
+		SolutionCostPair<Permutation> s = hc.optimize(start);
+		assertEquals(new PermOpt().value(s.getSolution()), s.getCostDouble(), EPSILON);
+	}
+	
+	private void verifyLocalOptimum(IterableMutationOperator<Permutation> m, Permutation p) {
+		int cost = permCost(p);
+		MutationIterator iter = m.iterator(p);
+		while (iter.hasNext()) {
+			iter.nextMutant();
+			assertTrue("should be a local optimum", permCost(p) >= cost);
+		}
+		iter.rollback();
+	}
+	
+	private static IterableMutationOperator<Permutation>[] permutationOperators() {
+		@SuppressWarnings("unchecked")
+		IterableMutationOperator<Permutation>[] ops = (IterableMutationOperator<Permutation>[])new IterableMutationOperator[] {
+			new SwapMutation(), new AdjacentSwapMutation(), new InsertionMutation(), new ReversalMutation(), 
+			new BlockMoveMutation(), new BlockInterchangeMutation(), new WindowLimitedSwapMutation(3),
+			new WindowLimitedInsertionMutation(3), new WindowLimitedReversalMutation(3), new WindowLimitedBlockMoveMutation(3)
+		};
+		return ops;
+	}
+	
+	private static void setCandidateLists(IterableMutationOperator<Permutation> m, int[][] candidates) {
+		if (m instanceof SwapMutation) ((SwapMutation)m).setCandidateLists(candidates);
+		else if (m instanceof ReversalMutation) ((ReversalMutation)m).setCandidateLists(candidates);
+		else if (m instanceof InsertionMutation) ((InsertionMutation)m).setCandidateLists(candidates);
+		else if (m instanceof BlockMoveMutation) ((BlockMoveMutation)m).setCandidateLists(candidates);
+	}
+	
+	private static int permCost(Permutation p) {
+		int cost = 0;
+		for (int i = 0; i < p.length(); i++) {
+			cost += (i+1) * Math.abs(p.get(i) - i);
+		}
+		return cost;
+	}
+	
+	private static class PermOptInt implements IntegerCostOptimizationProblem<Permutation> {
+		int costCalls;
+		
+		@Override public int cost(Permutation c) {
+			costCalls++;
+			return permCost(c);
+		}
+		
+		@Override public int value(Permutation c) {
+			return permCost(c);
+		}
+		
+		@Override public int minCost() {
+			return 0;
+		}
+	}
+	
+	private static class PermOptIntDelta extends PermOptInt implements IncrementalIntegerCostOptimizationProblem<Permutation> {
+		int deltaCalls;
+		
+		@Override public int costDelta(Permutation c, Move<Permutation> move) {
+			deltaCalls++;
+			Permutation neighbor = c.copy();
+			move.apply(neighbor);
+			return permCost(neighbor) - permCost(c);
+		}
+	}
+	
+	private static class PermOptIntNoMin extends PermOptInt {
+		@Override public int minCost() {
+			return -1;
+		}
+	}
+	
+	private static class PermOptIntBatch extends PermOptInt {
+		int batches;
+		int batched;
+		
+		@Override public int preferredBatchSize() {
+			return 5;
+		}
+		
+		@Override public void costs(List<Permutation> candidates, int[] costs) {
+			assertTrue(candidates.size() <= 5);
+			batches++;
+			batched += candidates.size();
+			super.costs(candidates, costs);
+		}
+	}
+	
+	private static class PermOpt implements OptimizationProblem<Permutation> {
+		int costCalls;
+		
+		@Override public double cost(Permutation c) {
+			costCalls++;
+			return permCost(c) / 4.0;
+		}
+		
+		@Override public double value(Permutation c) {
+			return permCost(c) / 4.0;
+		}
+		
+		@Override public double minCost() {
+			return 0;
+		}
+	}
+	
+	private static class PermOptDelta extends PermOpt implements IncrementalOptimizationProblem<Permutation> {
+		int deltaCalls;
+		
+		@Override public double costDelta(Permutation c, Move<Permutation> move) {
+			deltaCalls++;
+			Permutation neighbor = c.copy();
+			move.apply(neighbor);
+			return (permCost(neighbor) - permCost(c)) / 4.0;
+		}
+	}
+	
+	private static class PermOptBatch extends PermOpt {
+		int batches;
+		int batched;
+		
+		@Override public int preferredBatchSize() {
+			return 5;
+		}
+		
+		@Override public void costs(List<Permutation> candidates, double[] costs) {
+			assertTrue(candidates.size() <= 5);
+			batches++;
+			batched += candidates.size();
+			super.costs(candidates, costs);
+		}
+	}
+	
+	/*
+	 * Hides the random access of an operator, leaving its moves.
+	 */
+	private static class MovesOnly implements IterableMutationOperator<Permutation> {
+		private final IterableMutationOperator<Permutation> m;
+		
+		MovesOnly(IterableMutationOperator<Permutation> m) {
+			this.m = m;
+		}
+		
+		@Override public void mutate(Permutation c) {
+			m.mutate(c);
+		}
+		
+		@Override public MovesOnly split() {
+			return new MovesOnly(m.split());
+		}
+		
+		@Override public MutationIterator iterator(Permutation c) {
+			return m.iterator(c);
+		}
+	}
+	
+	/*
+	 * Hides the move support of an operator's iterators.
+	 */
+	private static class NoMoves implements IterableMutationOperator<Permutation> {
+		private final IterableMutationOperator<Permutation> m;
+		
+		NoMoves(IterableMutationOperator<Permutation> m) {
+			this.m = m;
+		}
+		
+		@Override public void mutate(Permutation c) {
+			m.mutate(c);
+		}
+		
+		@Override public NoMoves split() {
+			return new NoMoves(m.split());
+		}
+		
+		@Override public MutationIterator iterator(Permutation c) {
+			final MutationIterator iter = m.iterator(c);
+			return new MutationIterator() {
+				@Override public boolean hasNext() { return iter.hasNext(); }
+				@Override public void nextMutant() { iter.nextMutant(); }
+				@Override public void setSavepoint() { iter.setSavepoint(); }
+				@Override public void rollback() { iter.rollback(); }
+			};
+		}
+	}
+	
+	
 	private static class TestOpt implements OptimizationProblem<TestObject> {
 		
 		@Override public double cost(TestObject c) {
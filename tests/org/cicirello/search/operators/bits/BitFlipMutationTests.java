@@ -22,6 +22,7 @@ package org.cicirello.search.operators.bits;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.BitVector;
 
 
@@ -86,6 +87,69 @@ public class BitFlipMutationTests {
 		assertTrue("for m=0.75, average bits out of 100 was "+average, average >= 65 && average <= 85);
 	}
 	
+	@Test
+	public void testMutateExpectedLowRate() {
+		// low mutation rates generate geometric gaps between flipped bits
+		BitFlipMutation mutation = new BitFlipMutation(0.02);
+		int[] counts = new int[100];
+		int sum = 0;
+		final int TRIALS = 2000;
+		for (int trial = 0; trial < TRIALS; trial++) {
+			BitVector v1 = new BitVector(100);
+			mutation.mutate(v1);
+			sum += v1.countOnes();
+			for (int i = 0; i < 100; i++) {
+				if (v1.getBit(i) == 1) counts[i]++;
+			}
+		}
+		double average = 1.0 * sum / TRIALS;
+		assertTrue("for m=0.02, average bits out of 100 was "+average, average >= 1.6 && average <= 2.4);
+		// every position, including the first and last, is flipped with probability m
+		for (int i = 0; i < 100; i++) {
+			assertTrue("position " + i + " flipped " + counts[i] + " times", counts[i] >= 15 && counts[i] <= 70);
+		}
+		BitVector empty = new BitVector(0);
+		mutation.mutate(empty);
+		mutation.undo(empty);
+		assertEquals(0, empty.length());
+	}
+	
+	@Test
+	public void testUndoLowRate() {
+		BitFlipMutation mutation = new BitFlipMutation(0.05);
+		for (int i = 0; i < 100; i++) {
+			BitVector v1 = new BitVector(1000, true);
+			BitVector v2 = v1.copy();
+			mutation.mutate(v2);
+			mutation.undo(v2);
+			assertEquals(v1, v2);
+		}
+		// undo before any mutation changes nothing
+		mutation = new BitFlipMutation(0.05);
+		BitVector v1 = new BitVector(1000, true);
+		BitVector v2 = v1.copy();
+		mutation.undo(v2);
+		assertEquals(v1, v2);
+	}
+	
+	@Test
+	public void testMutateUndoOffHeap() {
+		double[] rates = {0.01, 0.3};
+		for (double m : rates) {
+			BitFlipMutation mutation = new BitFlipMutation(m);
+			for (int i = 0; i < 20; i++) {
+				BitVector v1 = BitVector.createOffHeap(1000, true, true);
+				BitVector v2 = v1.copy();
+				mutation.mutate(v2);
+				assertTrue(v2.isOffHeap());
+				assertNotEquals(v1, v2);
+				mutation.undo(v2);
+				assertEquals(v1, v2);
+				assertEquals(v1.countOnes(), v2.countOnes());
+			}
+		}
+	}
+	
 	@Test
 	public void testUndo() {
 		BitFlipMutation mutation = new BitFlipMutation(0.1);
@@ -156,4 +220,14 @@ public class BitFlipMutationTests {
 			assertEquals(v1, v3);
 		}
 	}
+	
+	@Test
+	public void testBitFlipMutationWithEngine() {
+		final BitVector v = new BitVector(100);
+		assertSeeded(e -> new BitFlipMutation(0.25, e), m -> m.split(), m -> {
+			BitVector mutated = v.copy();
+			m.mutate(mutated);
+			return mutated;
+		});
+	}
 }
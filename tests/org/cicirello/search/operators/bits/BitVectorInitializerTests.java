@@ -22,7 +22,9 @@ package org.cicirello.search.operators.bits;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.BitVector;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
 
 
 /**
@@ -55,4 +57,33 @@ public class BitVectorInitializerTests {
 		}
 	}
 	
+	@Test
+	public void testTrackOnes() {
+		BitVectorInitializer init = new BitVectorInitializer(100, true);
+		BitVector v = init.createCandidateSolution();
+		assertTrue(v.isTrackingOnes());
+		assertEquals(100, v.length());
+		int ones = v.countOnes();
+		v.flip(0);
+		assertEquals(v.getBit(0) == 1 ? ones + 1 : ones - 1, v.countOnes());
+		assertFalse(new BitVectorInitializer(100).createCandidateSolution().isTrackingOnes());
+		assertFalse(new BitVectorInitializer(100, false).createCandidateSolution().isTrackingOnes());
+	}
+	
+	@Test
+	public void testBitVectorInitializerWithEngine() {
+		for (int n = 1; n <= 65; n++) {
+			final int length = n;
+			assertSeeded(e -> new BitVectorInitializer(length, length % 2 == 0, e), f -> f.split(), f -> {
+				BitVector v = f.createCandidateSolution();
+				assertEquals(length, v.length());
+				assertEquals(length % 2 == 0, v.isTrackingOnes());
+				return v;
+			});
+		}
+		// bits of the generated vectors vary
+		BitVectorInitializer f = new BitVectorInitializer(64, false, new Xoshiro256PlusPlus(1));
+		BitVector v = f.createCandidateSolution();
+		assertTrue(v.countOnes() > 0 && v.countOnes() < 64);
+	}
 }
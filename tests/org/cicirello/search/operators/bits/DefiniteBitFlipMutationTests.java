@@ -22,6 +22,7 @@ package org.cicirello.search.operators.bits;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.BitVector;
 import java.util.HashSet;
 import org.cicirello.search.operators.MutationIterator;
@@ -63,6 +64,21 @@ public class DefiniteBitFlipMutationTests {
 		}
 	}
 	
+	@Test
+	public void testMutateUndoOffHeap() {
+		for (int b = 1; b < 10; b++) {
+			DefiniteBitFlipMutation mutation = new DefiniteBitFlipMutation(b);
+			BitVector v1 = BitVector.createOffHeap(100, true, false);
+			BitVector v2 = v1.copy();
+			mutation.mutate(v2);
+			v1.xor(v2);
+			assertTrue(v1.countOnes() >= 1 && v1.countOnes() <= b);
+			v1.xor(v2);
+			mutation.undo(v2);
+			assertEquals(v1, v2);
+		}
+	}
+	
 	@Test
 	public void testUndo() {
 		for (int b = 1; b < 10; b++) {
@@ -217,4 +233,15 @@ public class DefiniteBitFlipMutationTests {
 			}
 		}
 	}
+	
+	@Test
+	public void testDefiniteBitFlipMutationWithEngine() {
+		final BitVector v = new BitVector(100);
+		assertSeeded(e -> new DefiniteBitFlipMutation(5, e), m -> m.split(), m -> {
+			BitVector mutated = v.copy();
+			m.mutate(mutated);
+			assertTrue(mutated.countOnes() >= 1 && mutated.countOnes() <= 5);
+			return mutated;
+		});
+	}
 }
@@ -22,8 +22,10 @@ package org.cicirello.search.operators.integers;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.SingleInteger;
 import org.cicirello.search.representations.IntegerVector;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
 
 /**
  * JUnit 4 test cases for the classes that implement Initializer for the
@@ -388,4 +390,41 @@ public class IntegerValuedInitializerTests {
 		}
 	}
 	
+	@Test
+	public void testIntegerVectorInitializerWithEngine() {
+		assertSeeded(e -> new IntegerVectorInitializer(5, 2, 6, e), f -> f.split(), f -> {
+			IntegerVector g = f.createCandidateSolution();
+			for (int j = 0; j < 5; j++) {
+				assertTrue(g.get(j) >= 2 && g.get(j) < 6);
+			}
+			return g;
+		});
+		
+		final int[] left = {1, 2, 3};
+		final int[] right = {3, 5, 7};
+		final int[] mins = {0, 1, 2};
+		final int[] maxs = {2, 4, 5};
+		// vectors from different initializers have different bounds, so are compared by their values
+		assertSeeded(e -> new IntegerVectorInitializer(left, right, mins, maxs, e), f -> f.split(), f -> {
+			IntegerVector g = f.createCandidateSolution();
+			for (int j = 0; j < 3; j++) {
+				assertTrue(g.get(j) >= left[j] && g.get(j) <= maxs[j]);
+			}
+			return new IntegerVector(g.toArray(null));
+		});
+		IntegerVectorInitializer f1 = new IntegerVectorInitializer(left, right, mins, maxs, new Xoshiro256PlusPlus(3));
+		IntegerVectorInitializer s1 = f1.split();
+		for (int i = 0; i < NUM_SAMPLES; i++) {
+			IntegerVector g = f1.createCandidateSolution();
+			// vectors from split initializers share bounds, so can be equal
+			IntegerVector h = s1.createCandidateSolution();
+			IntegerVector hCopy = h.copy();
+			assertEquals(h, hCopy);
+			for (int j = 0; j < 3; j++) hCopy.set(j, g.get(j));
+			assertEquals(g, hCopy);
+			hCopy.set(0, maxs[0] + 1);
+			assertEquals(maxs[0], hCopy.get(0));
+		}
+	}
+	
 }
\ No newline at end of file
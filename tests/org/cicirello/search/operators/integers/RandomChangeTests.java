@@ -22,6 +22,7 @@ package org.cicirello.search.operators.integers;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.SingleInteger;
 import org.cicirello.search.representations.IntegerVector;
 import org.cicirello.search.representations.IntegerValued;
@@ -152,4 +153,22 @@ public class RandomChangeTests {
 			assertEquals(v1, v3);
 		}
 	}
+	
+	@Test
+	public void testRandomValueChangeWithEngine() {
+		final IntegerVector v = new IntegerVector(10);
+		assertSeeded(e -> new RandomValueChangeMutation<IntegerValued>(0, 100, 0.5, 2, e), m -> m.split(), m -> {
+			IntegerVector mutated = v.copy();
+			m.mutate(mutated);
+			return mutated;
+		});
+		assertSeeded(e -> new UndoableRandomValueChangeMutation<IntegerValued>(0, 100, 0.5, 2, e), m -> m.split(), m -> {
+			IntegerVector mutated = v.copy();
+			m.mutate(mutated);
+			IntegerVector result = mutated.copy();
+			m.undo(mutated);
+			assertEquals(v, mutated);
+			return result;
+		});
+	}
 }
\ No newline at end of file
@@ -22,9 +22,11 @@ package org.cicirello.search.operators.integers;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.SingleInteger;
 import org.cicirello.search.representations.IntegerVector;
 import org.cicirello.search.representations.IntegerValued;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
 
 /**
  * JUnit 4 test cases for the classes that implement different variations of
@@ -399,4 +401,26 @@ public class UniformMutationTests {
 			}
 		}
 	}
+	
+	@Test
+	public void testUniformMutationWithEngine() {
+		assertEquals(UniformMutation.createUniformMutation(3, null), UniformMutation.createUniformMutation(3, new Xoshiro256PlusPlus(42)));
+		final IntegerVector v = new IntegerVector(new int[] {2, 4, 8, 16, 32, 64, 128, 256});
+		assertSeeded(e -> UniformMutation.<IntegerValued>createUniformMutation(3, e), m -> m.split(), m -> {
+			IntegerVector mutated = v.copy();
+			m.mutate(mutated);
+			for (int j = 0; j < v.length(); j++) {
+				assertTrue(Math.abs(v.get(j) - mutated.get(j)) <= 3);
+			}
+			return mutated;
+		});
+		assertSeeded(e -> UndoableUniformMutation.<IntegerValued>createUniformMutation(1, e), m -> m.split(), m -> {
+			IntegerVector mutated = v.copy();
+			m.mutate(mutated);
+			IntegerVector result = mutated.copy();
+			m.undo(mutated);
+			assertEquals(v, mutated);
+			return result;
+		});
+	}
 }
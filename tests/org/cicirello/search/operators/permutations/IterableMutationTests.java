@@ -25,6 +25,11 @@ import static org.junit.Assert.*;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveMutationIterator;
+import org.cicirello.search.operators.Move;
+import org.cicirello.search.operators.RandomAccessMutationOperator;
+import org.cicirello.search.operators.AnchoredMutationOperator;
+import org.cicirello.search.operators.AnchoredNeighborhood;
 import java.util.HashSet;
 
 /**
@@ -169,6 +174,35 @@ public class IterableMutationTests {
 		}
 	}
 	
+	@Test
+	public void testMoveIteratorModes() {
+		Permutation p = new Permutation(5);
+		MoveMutationIterator<Permutation> iter = new SwapMutation().iterator(p);
+		iter.nextMutant();
+		try {
+			iter.nextMove();
+			fail("expected IllegalStateException");
+		} catch (IllegalStateException ex) { }
+		p = new Permutation(5);
+		iter = new SwapMutation().iterator(p);
+		iter.nextMove();
+		try {
+			iter.nextMutant();
+			fail("expected IllegalStateException");
+		} catch (IllegalStateException ex) { }
+		iter.rollback();
+		try {
+			iter.nextMove();
+			fail("expected IllegalStateException");
+		} catch (IllegalStateException ex) { }
+		iter = new BlockInterchangeMutation().iterator(p);
+		while (iter.hasNext()) iter.nextMove();
+		try {
+			iter.nextMove();
+			fail("expected IllegalStateException");
+		} catch (IllegalStateException ex) { }
+	}
+	
 	@Test
 	public void testWindowedSwapIterator() {
 		for (int n = 0; n <= 6; n++) {
@@ -272,6 +306,123 @@ public class IterableMutationTests {
 	
 	
 	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testBlockRandomAccessLarge() {
+		// the indexing of block moves and block interchanges estimates roots, so 
+		// verify that it covers the moves of the iterators for longer permutations
+		RandomAccessMutationOperator<Permutation>[] ops = randomAccessOperators(
+			new BlockMoveMutation(), new BlockInterchangeMutation(), new WindowLimitedBlockMoveMutation(1),
+			new WindowLimitedBlockMoveMutation(7), new WindowLimitedBlockMoveMutation(39), new WindowLimitedBlockMoveMutation(40)
+		);
+		Permutation p = new Permutation(41);
+		for (RandomAccessMutationOperator<Permutation> m : ops) {
+			HashSet<String> expected = new HashSet<String>();
+			MoveMutationIterator<Permutation> iter = (MoveMutationIterator<Permutation>)m.iterator(p);
+			while (iter.hasNext()) {
+				expected.add(iter.nextMove().toString());
+			}
+			assertEquals(expected.size(), m.neighborhoodSize(p));
+			HashSet<String> moves = new HashSet<String>();
+			for (long i = 0; i < m.neighborhoodSize(p); i++) {
+				moves.add(m.getMove(p, i).toString());
+			}
+			assertEquals(expected, moves);
+		}
+	}
+	
+	@Test
+	public void testAnchoredCandidateLists() {
+		int n = 10;
+		int[][] candidates = new int[n][];
+		for (int e = 0; e < n; e++) {
+			candidates[e] = new int[] { (e+1) % n, (e+3) % n, (e+n-2) % n };
+		}
+		SwapMutation[] swaps = { new SwapMutation(), new WindowLimitedSwapMutation(4) };
+		ReversalMutation[] reversals = { new ReversalMutation(), new WindowLimitedReversalMutation(4) };
+		InsertionMutation[] insertions = { new InsertionMutation(), new WindowLimitedInsertionMutation(4) };
+		BlockMoveMutation[] blockMoves = { new BlockMoveMutation(), new WindowLimitedBlockMoveMutation(4) };
+		for (int k = 0; k < 2; k++) {
+			int w = k == 0 ? n : 4;
+			swaps[k].setCandidateLists(candidates);
+			reversals[k].setCandidateLists(candidates);
+			insertions[k].setCandidateLists(candidates);
+			blockMoves[k].setCandidateLists(candidates);
+			AnchoredMutationOperator<Permutation>[] ops = anchoredOperators(swaps[k], reversals[k], insertions[k], blockMoves[k]);
+			for (AnchoredMutationOperator<Permutation> m : ops) {
+				for (AnchoredMutationOperator<Permutation> op : anchoredOperators(m, m.split())) {
+					Permutation p = new Permutation(n);
+					AnchoredNeighborhood<Permutation> hood = op.neighborhood(p);
+					// applies several moves to verify that the partners follow the elements
+					for (int round = 0; round < 5; round++) {
+						Permutation original = p.copy();
+						int count = 0;
+						for (int a = 0; a < n; a++) {
+							hood.select(a);
+							while (hood.hasNext()) {
+								PermutationMove move = (PermutationMove)hood.nextMove();
+								int anchor = move.getType() == PermutationMove.Type.BLOCK_MOVE ? move.get(1) : a;
+								int partner = move.getType() == PermutationMove.Type.BLOCK_MOVE ? move.get(0) 
+									: (move.get(0) == a ? move.get(1) : move.get(0));
+								assertEquals(a, anchor);
+								assertTrue(isCandidate(candidates[p.get(anchor)], p.get(partner)));
+								int last = move.get(move.getType().numIndexes() - 1);
+								assertTrue(Math.abs(last - move.get(0)) <= w);
+								count++;
+							}
+						}
+						assertEquals("verify p unchanged", original, p);
+						assertTrue(count > 0);
+						// moves the element at a random anchor with one of its moves
+						for (int a = round; ; a = (a + 1) % n) {
+							hood.select(a);
+							if (hood.hasNext()) {
+								hood.nextMove();
+								hood.apply();
+								break;
+							}
+						}
+					}
+				}
+			}
+		}
+		try {
+			SwapMutation m = new SwapMutation();
+			m.setCandidateLists(new int[n-1][]);
+			m.neighborhood(new Permutation(n));
+			fail("too few candidate lists should throw exception");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			SwapMutation m = new SwapMutation();
+			int[][] bad = candidates.clone();
+			bad[2] = new int[] { n };
+			m.setCandidateLists(bad);
+			m.neighborhood(new Permutation(n));
+			fail("candidate that isn't an element should throw exception");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+	
+	private static boolean isCandidate(int[] list, int e) {
+		for (int x : list) {
+			if (x == e) return true;
+		}
+		return false;
+	}
+	
+	@SafeVarargs
+	private static RandomAccessMutationOperator<Permutation>[] randomAccessOperators(RandomAccessMutationOperator<Permutation>... ops) {
+		return ops;
+	}
+	
+	@SafeVarargs
+	private static AnchoredMutationOperator<Permutation>[] anchoredOperators(AnchoredMutationOperator<Permutation>... ops) {
+		return ops;
+	}
+	
 	private void validate(IterableMutationOperator<Permutation> mutation, Permutation original, HashSet<Permutation> expectedNeighbors) {
 		Permutation p = original.copy();
 		MutationIterator iter = mutation.iterator(p);
@@ -302,5 +453,171 @@ public class IterableMutationTests {
 			iter.rollback();
 			assertEquals("verify rolled back to last savepoint, original="+original+" i="+i, saved, p);
 		}
+		validateMoves(mutation, original, count);
+		if (mutation instanceof RandomAccessMutationOperator) {
+			validateRandomAccess((RandomAccessMutationOperator<Permutation>)mutation, original, expectedNeighbors);
+		}
+		if (mutation instanceof AnchoredMutationOperator) {
+			validateAnchored((AnchoredMutationOperator<Permutation>)mutation, original, expectedNeighbors);
+		}
+	}
+	
+	private void validateRandomAccess(RandomAccessMutationOperator<Permutation> mutation, Permutation original, HashSet<Permutation> expectedNeighbors) {
+		// (7) Verify that random access covers the same neighbors, once each, without changing p
+		Permutation p = original.copy();
+		assertEquals("verify neighborhood size", expectedNeighbors.size(), mutation.neighborhoodSize(p));
+		HashSet<Permutation> neighbors = new HashSet<Permutation>();
+		for (long i = 0; i < mutation.neighborhoodSize(p); i++) {
+			Permutation neighbor = p.copy();
+			mutation.getMove(p, i).apply(neighbor);
+			neighbors.add(neighbor);
+			assertEquals("verify p unchanged", original, p);
+		}
+		assertEquals("verify random access neighbors, original="+original, expectedNeighbors, neighbors);
+		try {
+			mutation.getMove(p, -1);
+			fail("negative index should throw exception");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+		try {
+			mutation.getMove(p, mutation.neighborhoodSize(p));
+			fail("index too high should throw exception");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+	}
+	
+	private void validateAnchored(AnchoredMutationOperator<Permutation> mutation, Permutation original, HashSet<Permutation> expectedNeighbors) {
+		// (8) Verify that the moves of the anchors cover the same neighbors, without changing p
+		Permutation p = original.copy();
+		AnchoredNeighborhood<Permutation> hood = mutation.neighborhood(p);
+		assertEquals(p.length(), hood.numAnchors());
+		HashSet<Permutation> neighbors = new HashSet<Permutation>();
+		for (int a = 0; a < hood.numAnchors(); a++) {
+			assertFalse(hood.isDontLook(a));
+			hood.select(a);
+			while (hood.hasNext()) {
+				Permutation neighbor = p.copy();
+				hood.nextMove().apply(neighbor);
+				neighbors.add(neighbor);
+				assertEquals("verify p unchanged", original, p);
+			}
+			try {
+				hood.nextMove();
+				fail("nextMove without moves left should throw exception");
+			} catch (IllegalStateException ex) {
+				// expected
+			}
+		}
+		assertEquals("verify anchored neighbors, original="+original, expectedNeighbors, neighbors);
+		// (9) Verify that apply applies the move, and clears the don't-look bits of the changed indexes
+		for (int a = 0; a < hood.numAnchors(); a++) {
+			hood.select(a);
+			if (!hood.hasNext()) continue;
+			for (int i = 0; i < hood.numAnchors(); i++) hood.setDontLook(i);
+			Permutation before = p.copy();
+			Permutation expected = p.copy();
+			hood.nextMove().apply(expected);
+			hood.apply();
+			assertEquals(expected, p);
+			for (int i = 0; i < p.length(); i++) {
+				if (p.get(i) != before.get(i)) assertFalse(hood.isDontLook(i));
+			}
+			try {
+				hood.apply();
+				fail("apply without a move should throw exception");
+			} catch (IllegalStateException ex) {
+				// expected
+			}
+		}
+		// (10) Verify that accept clears the same don't-look bits as apply, without changing p
+		AnchoredNeighborhood<Permutation> applied = mutation.neighborhood(p.copy());
+		for (int a = 0; a < hood.numAnchors(); a++) {
+			hood.select(a);
+			applied.select(a);
+			if (!hood.hasNext()) continue;
+			for (int i = 0; i < hood.numAnchors(); i++) {
+				hood.setDontLook(i);
+				applied.setDontLook(i);
+			}
+			hood.nextMove().apply(p);
+			applied.nextMove();
+			Permutation after = p.copy();
+			hood.accept();
+			applied.apply();
+			assertEquals("verify p unchanged by accept", after, p);
+			for (int i = 0; i < p.length(); i++) {
+				assertEquals(applied.isDontLook(i), hood.isDontLook(i));
+			}
+			try {
+				hood.accept();
+				fail("accept without a move should throw exception");
+			} catch (IllegalStateException ex) {
+				// expected
+			}
+		}
+		try {
+			hood.select(-1);
+			fail("negative anchor should throw exception");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+		try {
+			hood.select(hood.numAnchors());
+			fail("anchor too high should throw exception");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+	}
+	
+	private void validateMoves(IterableMutationOperator<Permutation> mutation, Permutation original, int count) {
+		// (4) Verify that move mode iterates over the same neighbors in the same order as mutant mode, without changing p
+		Permutation p = original.copy();
+		Permutation mutant = original.copy();
+		MoveMutationIterator<Permutation> moves = moveIterator(mutation, p);
+		MutationIterator mutants = mutation.iterator(mutant);
+		int moveCount = 0;
+		while (moves.hasNext()) {
+			assertTrue(mutants.hasNext());
+			Move<Permutation> m = moves.nextMove();
+			mutants.nextMutant();
+			Permutation neighbor = p.copy();
+			m.apply(neighbor);
+			assertEquals("verify move is same as mutant, move="+m, mutant, neighbor);
+			assertEquals("verify p unchanged", original, p);
+			((PermutationMove)m).undo(neighbor);
+			assertEquals("verify undo reverts move, move="+m, original, neighbor);
+			moveCount++;
+		}
+		assertFalse(mutants.hasNext());
+		assertEquals("verify number of moves", count, moveCount);
+		// (5) Verify that rollback leaves p unchanged if no savepoint
+		moves.rollback();
+		assertEquals("verify unchanged without savepoint", original, p);
+		// (6) Verify that rollback applies the move of the last savepoint
+		for (int i = 0; i < count; i++) {
+			p = original.copy();
+			moves = moveIterator(mutation, p);
+			Permutation saved = null;
+			int j = 0;
+			while (moves.hasNext()) {
+				Move<Permutation> m = moves.nextMove();
+				if (j==i) {
+					moves.setSavepoint();
+					saved = p.copy();
+					m.apply(saved);
+				}
+				j++;
+			}
+			assertEquals("verify p unchanged prior to rollback", original, p);
+			moves.rollback();
+			assertEquals("verify rollback applied move of last savepoint, original="+original+" i="+i, saved, p);
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private MoveMutationIterator<Permutation> moveIterator(IterableMutationOperator<Permutation> mutation, Permutation p) {
+		return (MoveMutationIterator<Permutation>)mutation.iterator(p);
 	}
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ package org.cicirello.search.operators.permutations;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -62,4 +63,13 @@ public class PermutationInitializerTests {
 			assertTrue("Testing for valid permutation", a[i]);
 		}
 	}
+	
+	@Test
+	public void testInitializerWithEngine() {
+		assertSeeded(e -> new PermutationInitializer(10, e), f -> f.split(), f -> {
+			Permutation p = f.createCandidateSolution();
+			assertEquals(10, p.length());
+			return p;
+		});
+	}
 }
\ No newline at end of file
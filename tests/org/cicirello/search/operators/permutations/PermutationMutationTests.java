@@ -22,9 +22,13 @@ package org.cicirello.search.operators.permutations;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.search.operators.MutationOperator;
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveMutationOperator;
+import org.cicirello.search.operators.Move;
+import org.cicirello.math.rand.RandomEngine;
 
 /**
  * JUnit 4 test cases for mutation operators on permutations.
@@ -38,6 +42,7 @@ public class PermutationMutationTests {
 	public void testAdjacentSwap() {
 		AdjacentSwapMutation m = new AdjacentSwapMutation();
 		undoTester(m);
+		moveTester(m, PermutationMove.Type.SWAP);
 		mutateTester(m);
 		splitTester(m);
 		// Verify mutations are adjacent swaps
@@ -76,6 +81,7 @@ public class PermutationMutationTests {
 	public void testBlockInterchange() {
 		BlockInterchangeMutation m = new BlockInterchangeMutation();
 		undoTester(m);
+		moveTester(m, PermutationMove.Type.BLOCK_INTERCHANGE);
 		mutateTester(m);
 		splitTester(m);
 		// Verify mutations are block interchanges
@@ -121,6 +127,7 @@ public class PermutationMutationTests {
 	public void testInsertion() {
 		InsertionMutation m = new InsertionMutation();
 		undoTester(m);
+		moveTester(m, PermutationMove.Type.INSERTION);
 		mutateTester(m);
 		splitTester(m);
 		// Check distribution of random indexes
@@ -163,6 +170,7 @@ public class PermutationMutationTests {
 	public void testReversal() {
 		ReversalMutation m = new ReversalMutation();
 		undoTester(m);
+		moveTester(m, PermutationMove.Type.REVERSAL);
 		mutateTester(m);
 		splitTester(m);
 		// Check distribution of random indexes
@@ -199,6 +207,7 @@ public class PermutationMutationTests {
 	public void testSwap() {
 		SwapMutation m = new SwapMutation();
 		undoTester(m);
+		moveTester(m, PermutationMove.Type.SWAP);
 		mutateTester(m);
 		splitTester(m);
 		// Check distribution of random indexes
@@ -235,6 +244,7 @@ public class PermutationMutationTests {
 	public void testBlockMove() {
 		BlockMoveMutation m = new BlockMoveMutation();
 		undoTester(m);
+		moveTester(m, PermutationMove.Type.BLOCK_MOVE);
 		mutateTester(m);
 		splitTester(m);
 		// Check distribution of random indexes
@@ -297,6 +307,16 @@ public class PermutationMutationTests {
 		undoTester(m);
 		mutateTester(m);
 		splitTester(m);
+		// undo reuses the journal of the scrambled elements across permutation lengths
+		for (int n = 10; n >= 2; n--) {
+			for (int i = 0; i < 10; i++) {
+				Permutation p = new Permutation(n);
+				Permutation p2 = new Permutation(p);
+				m.mutate(p);
+				m.undo(p);
+				assertEquals(p2, p);
+			}
+		}
 		// Check distribution of random indexes
 		for (int n = 2; n <= 6; n++) {
 			boolean[][] indexPairs = new boolean[n][n];
@@ -315,6 +335,7 @@ public class PermutationMutationTests {
 		for (int window = 1; window <= 6; window++) {
 			WindowLimitedInsertionMutation m = new WindowLimitedInsertionMutation(window);
 			undoTester(m);
+			moveTester(m, PermutationMove.Type.INSERTION);
 			mutateTester(m);
 			splitTester(m);
 			// Check distribution of random indexes
@@ -360,6 +381,7 @@ public class PermutationMutationTests {
 		for (int window = 1; window <= 6; window++) {
 			WindowLimitedReversalMutation m = new WindowLimitedReversalMutation(window);
 			undoTester(m);
+			moveTester(m, PermutationMove.Type.REVERSAL);
 			mutateTester(m);
 			splitTester(m);
 			// Check distribution of random indexes
@@ -399,6 +421,7 @@ public class PermutationMutationTests {
 		for (int window = 1; window <= 6; window++) {
 			WindowLimitedSwapMutation m = new WindowLimitedSwapMutation(window);
 			undoTester(m);
+			moveTester(m, PermutationMove.Type.SWAP);
 			mutateTester(m);
 			splitTester(m);
 			// Check distribution of random indexes
@@ -438,6 +461,7 @@ public class PermutationMutationTests {
 		for (int window = 1; window <= 6; window++) {
 			WindowLimitedBlockMoveMutation m = new WindowLimitedBlockMoveMutation(window);
 			undoTester(m);
+			moveTester(m, PermutationMove.Type.BLOCK_MOVE);
 			mutateTester(m);
 			splitTester(m);
 			// Check distribution of random indexes
@@ -546,6 +570,61 @@ public class PermutationMutationTests {
 	}
 	
 	
+	@Test
+	public void testPermutationMove() {
+		Permutation p = new Permutation(new int[] {0, 1, 2, 3, 4, 5, 6, 7});
+		Permutation q = new Permutation(p);
+		new PermutationMove(PermutationMove.Type.SWAP, 5, 2).apply(q);
+		assertEquals(new Permutation(new int[] {0, 1, 5, 3, 4, 2, 6, 7}), q);
+		q = new Permutation(p);
+		new PermutationMove(PermutationMove.Type.INSERTION, 5, 2).apply(q);
+		assertEquals(new Permutation(new int[] {0, 1, 5, 2, 3, 4, 6, 7}), q);
+		q = new Permutation(p);
+		new PermutationMove(PermutationMove.Type.REVERSAL, 2, 5).apply(q);
+		assertEquals(new Permutation(new int[] {0, 1, 5, 4, 3, 2, 6, 7}), q);
+		q = new Permutation(p);
+		new PermutationMove(PermutationMove.Type.BLOCK_MOVE, 1, 4, 6).apply(q);
+		assertEquals(new Permutation(new int[] {0, 4, 5, 6, 1, 2, 3, 7}), q);
+		q = new Permutation(p);
+		new PermutationMove(PermutationMove.Type.BLOCK_INTERCHANGE, 1, 2, 5, 7).apply(q);
+		assertEquals(new Permutation(new int[] {0, 5, 6, 7, 3, 4, 1, 2}), q);
+		PermutationMove move = new PermutationMove(PermutationMove.Type.BLOCK_MOVE, 1, 4, 6);
+		assertEquals(PermutationMove.Type.BLOCK_MOVE, move.getType());
+		assertEquals(1, move.get(0));
+		assertEquals(4, move.get(1));
+		assertEquals(6, move.get(2));
+		assertEquals("BLOCK_MOVE(1, 4, 6)", move.toString());
+		try {
+			move.get(3);
+			fail("expected ArrayIndexOutOfBoundsException");
+		} catch (ArrayIndexOutOfBoundsException ex) { }
+		try {
+			new PermutationMove(PermutationMove.Type.SWAP, 1, 2, 3);
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException ex) { }
+	}
+	
+	private void moveTester(MoveMutationOperator<Permutation> m, PermutationMove.Type type) {
+		for (int i = 0; i <= 6; i++) {
+			Permutation p = new Permutation(i);
+			for (int t = 0; t < NUM_RAND_TESTS; t++) {
+				Permutation mutant = new Permutation(p);
+				Move<Permutation> move = m.nextMove(mutant);
+				assertEquals("nextMove should not change the permutation", p, mutant);
+				assertEquals("verify type of move", type, ((PermutationMove)move).getType());
+				move.apply(mutant);
+				validate(mutant);
+				if (i < 2) {
+					assertEquals("if length is less than 2, no change should be made", p, mutant);
+				} else {
+					assertNotEquals("confirm that applying the move changed the permutation", p, mutant);
+				}
+				m.undo(mutant);
+				assertEquals("applying the move followed by undo should revert to original", p, mutant);
+			}
+		}
+	}
+	
 	private void undoTester(UndoableMutationOperator<Permutation> m) {
 		// iterate over different length permutations beginning with 0 length
 		for (int i = 0; i <= 6; i++) {
@@ -674,4 +753,38 @@ public class PermutationMutationTests {
 			}
 		}
 	}
+	
+	@Test
+	public void testMutationWithEngine() {
+		final Permutation p = new Permutation(20, 0);
+		int count = createWithEngine(null).length;
+		for (int k = 0; k < count; k++) {
+			final int which = k;
+			assertSeeded(e -> createWithEngine(e)[which], m -> m.split(), m -> {
+				Permutation mutated = p.copy();
+				m.mutate(mutated);
+				return mutated;
+			});
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private MutationOperator<Permutation>[] createWithEngine(RandomEngine engine) {
+		return (MutationOperator<Permutation>[])new MutationOperator[] {
+			new SwapMutation(engine),
+			new InsertionMutation(engine),
+			new ReversalMutation(engine),
+			new BlockMoveMutation(engine),
+			new BlockInterchangeMutation(engine),
+			new AdjacentSwapMutation(engine),
+			new ScrambleMutation(engine),
+			new UndoableScrambleMutation(engine),
+			new WindowLimitedSwapMutation(5, engine),
+			new WindowLimitedInsertionMutation(5, engine),
+			new WindowLimitedReversalMutation(5, engine),
+			new WindowLimitedBlockMoveMutation(5, engine),
+			new WindowLimitedScrambleMutation(5, engine),
+			new WindowLimitedUndoableScrambleMutation(5, engine)
+		};
+	}
 }
\ No newline at end of file
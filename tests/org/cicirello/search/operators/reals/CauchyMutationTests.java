@@ -22,9 +22,11 @@ package org.cicirello.search.operators.reals;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.SingleReal;
 import org.cicirello.search.representations.RealVector;
 import org.cicirello.search.representations.RealValued;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
 
 /**
  * JUnit 4 test cases for the classes that implement different variations of
@@ -382,4 +384,23 @@ public class CauchyMutationTests {
 			assertEquals(v1, v3);
 		}
 	}
+	
+	@Test
+	public void testCauchyMutationWithEngine() {
+		assertEquals(CauchyMutation.createCauchyMutation(2.0, null), CauchyMutation.createCauchyMutation(2.0, new Xoshiro256PlusPlus(42)));
+		final RealVector v = new RealVector(new double[] {2, 4, 8, 16, 32, 64, 128, 256});
+		assertSeeded(e -> CauchyMutation.<RealValued>createCauchyMutation(2.0, e), m -> m.split(), m -> {
+			RealVector mutated = v.copy();
+			m.mutate(mutated);
+			return mutated;
+		});
+		assertSeeded(e -> UndoableCauchyMutation.<RealValued>createCauchyMutation(1.0, e), m -> m.split(), m -> {
+			RealVector mutated = v.copy();
+			m.mutate(mutated);
+			RealVector result = mutated.copy();
+			m.undo(mutated);
+			assertEquals(v, mutated);
+			return result;
+		});
+	}
 }
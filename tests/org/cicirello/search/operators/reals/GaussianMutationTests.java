@@ -22,9 +22,11 @@ package org.cicirello.search.operators.reals;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.SingleReal;
 import org.cicirello.search.representations.RealVector;
 import org.cicirello.search.representations.RealValued;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
 
 /**
  * JUnit 4 test cases for the classes that implement different variations of
@@ -322,6 +324,29 @@ public class GaussianMutationTests {
 	}
 	
 	
+	@Test
+	public void testPartialUndoChangedOnly() {
+		UndoableGaussianMutation<RealValued> byK = UndoableGaussianMutation.createGaussianMutation(1.0, 3);
+		UndoableGaussianMutation<RealValued> byP = UndoableGaussianMutation.createGaussianMutation(1.0, 0.1);
+		for (int n = 4; n <= 100; n += 8) {
+			RealVector f = new RealVector(n);
+			RealVector f2 = f.copy();
+			for (int i = 0; i < 20; i++) {
+				byK.mutate(f);
+				int changed = 0;
+				for (int j = 0; j < n; j++) {
+					if (f.get(j) != f2.get(j)) changed++;
+				}
+				assertTrue(changed <= 3);
+				byK.undo(f);
+				assertEquals(f2, f);
+				byP.mutate(f);
+				byP.undo(f);
+				assertEquals(f2, f);
+			}
+		}
+	}
+	
 	private void verifyUndo(UndoableGaussianMutation<RealValued> m) {
 		boolean changed = false;
 		for (int i = 0; i < MAX_TRIALS; i++) {
@@ -382,4 +407,23 @@ public class GaussianMutationTests {
 			assertEquals(v1, v3);
 		}
 	}
+	
+	@Test
+	public void testGaussianMutationWithEngine() {
+		assertEquals(GaussianMutation.createGaussianMutation(2.0, null), GaussianMutation.createGaussianMutation(2.0, new Xoshiro256PlusPlus(42)));
+		final RealVector v = new RealVector(new double[] {2, 4, 8, 16, 32, 64, 128, 256});
+		assertSeeded(e -> GaussianMutation.<RealValued>createGaussianMutation(2.0, e), m -> m.split(), m -> {
+			RealVector mutated = v.copy();
+			m.mutate(mutated);
+			return mutated;
+		});
+		assertSeeded(e -> UndoableGaussianMutation.<RealValued>createGaussianMutation(1.0, e), m -> m.split(), m -> {
+			RealVector mutated = v.copy();
+			m.mutate(mutated);
+			RealVector result = mutated.copy();
+			m.undo(mutated);
+			assertEquals(v, mutated);
+			return result;
+		});
+	}
 }
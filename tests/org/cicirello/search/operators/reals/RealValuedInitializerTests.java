@@ -22,9 +22,11 @@ package org.cicirello.search.operators.reals;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.SingleReal;
 import org.cicirello.search.representations.RealVector;
 import org.cicirello.search.representations.RealValued;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
 
 /**
  * JUnit 4 test cases for the classes that implement Initializer for the
@@ -388,5 +390,48 @@ public class RealValuedInitializerTests {
 		}
 	}
 	
-	
-}
\ No newline at end of file
+	@Test
+	public void testRealVectorInitializerWithEngine() {
+		assertSeeded(e -> new RealVectorInitializer(5, 2.0, 6.0, e), f -> f.split(), f -> {
+			RealVector g = f.createCandidateSolution();
+			for (int j = 0; j < 5; j++) {
+				assertTrue(g.get(j) >= 2.0 && g.get(j) < 6.0);
+			}
+			return g;
+		});
+		
+		final double[] left = {1, 2, 3};
+		final double[] right = {2, 4, 6};
+		final double[] mins = {0, 1, 2};
+		final double[] maxs = {3, 3, 5};
+		// vectors from different initializers have different bounds, so are compared by their values
+		assertSeeded(e -> new RealVectorInitializer(left, right, mins, maxs, e), f -> f.split(), f -> {
+			RealVector g = f.createCandidateSolution();
+			for (int j = 0; j < 3; j++) {
+				assertTrue(g.get(j) >= left[j] && g.get(j) <= maxs[j]);
+			}
+			return new RealVector(g.toArray(null));
+		});
+		RealVectorInitializer f1 = new RealVectorInitializer(left, right, mins, maxs, new Xoshiro256PlusPlus(3));
+		RealVectorInitializer s1 = f1.split();
+		for (int i = 0; i < NUM_SAMPLES; i++) {
+			RealVector g = f1.createCandidateSolution();
+			// vectors from split initializers share bounds, so can be equal
+			RealVector h = s1.createCandidateSolution();
+			RealVector hCopy = h.copy();
+			assertEquals(h, hCopy);
+			for (int j = 0; j < 3; j++) hCopy.set(j, g.get(j));
+			assertEquals(g, hCopy);
+			hCopy.set(0, maxs[0] + 1);
+			assertEquals(maxs[0], hCopy.get(0), EPSILON);
+		}
+		
+		f1 = new RealVectorInitializer(4, 0.0, 1.0, -1.0, 0.5, new Xoshiro256PlusPlus(3));
+		for (int i = 0; i < NUM_SAMPLES; i++) {
+			RealVector g = f1.createCandidateSolution();
+			for (int j = 0; j < 4; j++) {
+				assertTrue(g.get(j) >= 0.0 && g.get(j) <= 0.5);
+			}
+		}
+	}
+}
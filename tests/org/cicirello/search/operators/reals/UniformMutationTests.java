@@ -22,9 +22,11 @@ package org.cicirello.search.operators.reals;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.search.representations.SingleReal;
 import org.cicirello.search.representations.RealVector;
 import org.cicirello.search.representations.RealValued;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
 
 /**
  * JUnit 4 test cases for the classes that implement different variations of
@@ -401,4 +403,26 @@ public class UniformMutationTests {
 			assertEquals(v1, v3);
 		}
 	}
+	
+	@Test
+	public void testUniformMutationWithEngine() {
+		assertEquals(UniformMutation.createUniformMutation(2.0, null), UniformMutation.createUniformMutation(2.0, new Xoshiro256PlusPlus(42)));
+		final RealVector v = new RealVector(new double[] {2, 4, 8, 16, 32, 64, 128, 256});
+		assertSeeded(e -> UniformMutation.<RealValued>createUniformMutation(2.0, e), m -> m.split(), m -> {
+			RealVector mutated = v.copy();
+			m.mutate(mutated);
+			for (int j = 0; j < v.length(); j++) {
+				assertEquals(v.get(j), mutated.get(j), 2.0);
+			}
+			return mutated;
+		});
+		assertSeeded(e -> UndoableUniformMutation.<RealValued>createUniformMutation(1.0, e), m -> m.split(), m -> {
+			RealVector mutated = v.copy();
+			m.mutate(mutated);
+			RealVector result = mutated.copy();
+			m.undo(mutated);
+			assertEquals(v, mutated);
+			return result;
+		});
+	}
 }
@@ -0,0 +1,201 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import org.cicirello.search.representations.BitVector;
+import org.cicirello.search.representations.SingleReal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit 4 test cases for the CachedIntegerCostOptimizationProblem and 
+ * CachedOptimizationProblem classes.
+ */
+public class CachedProblemTests {
+	
+	@Test
+	public void testIntegerCostHitsMisses() {
+		CountingOneMax counting = new CountingOneMax();
+		CachedIntegerCostOptimizationProblem<BitVector> problem = new CachedIntegerCostOptimizationProblem<BitVector>(counting, 10);
+		assertEquals(10, problem.capacity());
+		assertEquals(0, problem.minCost());
+		assertTrue(problem.isMinCost(0));
+		BitVector b = new BitVector(40, true);
+		int expected = 40 - b.countOnes();
+		assertEquals(expected, problem.cost(b));
+		assertEquals(expected, problem.cost(b));
+		assertEquals(expected, problem.cost(b.copy()));
+		assertEquals(1, counting.evaluations.get());
+		assertEquals(2, problem.getHits());
+		assertEquals(1, problem.getMisses());
+		assertEquals(0, problem.getEvictions());
+		assertEquals(1, problem.size());
+		assertEquals(40 - expected, problem.value(b));
+		assertEquals(expected, problem.getSolutionCostPair(b).getCost());
+		// mutating the solution must not change the cached copy
+		b.flip(0);
+		int expected2 = 40 - b.countOnes();
+		assertEquals(expected2, problem.cost(b));
+		assertEquals(2, counting.evaluations.get());
+		b.flip(0);
+		assertEquals(expected, problem.cost(b));
+		assertEquals(2, counting.evaluations.get());
+		problem.clear();
+		assertEquals(0, problem.size());
+		assertEquals(expected, problem.cost(b));
+		assertEquals(3, counting.evaluations.get());
+	}
+	
+	@Test
+	public void testClockEviction() {
+		CountingOneMax counting = new CountingOneMax();
+		CachedIntegerCostOptimizationProblem<BitVector> problem = new CachedIntegerCostOptimizationProblem<BitVector>(counting, 4);
+		BitVector[] v = new BitVector[6];
+		for (int i = 0; i < v.length; i++) {
+			v[i] = new BitVector(8);
+			v[i].set32(0, i);
+		}
+		for (int i = 0; i < 4; i++) problem.cost(v[i]);
+		assertEquals(4, problem.size());
+		// v[0] and v[2] are referenced, so v[1] is evicted first, then v[3]
+		problem.cost(v[0]);
+		problem.cost(v[2]);
+		problem.cost(v[4]);
+		assertEquals(1, problem.getEvictions());
+		assertEquals(4, problem.size());
+		int before = counting.evaluations.get();
+		problem.cost(v[0]);
+		problem.cost(v[2]);
+		problem.cost(v[4]);
+		assertEquals(before, counting.evaluations.get());
+		problem.cost(v[1]);
+		assertEquals(before + 1, counting.evaluations.get());
+		assertEquals(2, problem.getEvictions());
+		assertEquals(4, problem.size());
+		for (int i = 0; i < 100; i++) problem.cost(v[i % v.length]);
+		assertEquals(4, problem.size());
+		assertEquals(problem.getMisses(), counting.evaluations.get());
+		assertEquals(problem.getMisses() - 4, problem.getEvictions());
+	}
+	
+	@Test
+	public void testDoubleCosts() {
+		final AtomicInteger evaluations = new AtomicInteger();
+		OptimizationProblem<SingleReal> p = new OptimizationProblem<SingleReal>() {
+			@Override
+			public double cost(SingleReal c) {
+				evaluations.incrementAndGet();
+				return c.get() == 0 ? -0.0 : (c.get() == 1 ? Double.NaN : c.get() * c.get());
+			}
+			@Override
+			public double value(SingleReal c) {
+				return -cost(c);
+			}
+			@Override
+			public double minCost() {
+				return 0.0;
+			}
+		};
+		CachedOptimizationProblem<SingleReal> problem = new CachedOptimizationProblem<SingleReal>(p, 100);
+		assertEquals(0.0, problem.minCost(), 0.0);
+		assertTrue(problem.isMinCost(0.0));
+		for (int trial = 0; trial < 2; trial++) {
+			for (int i = 0; i < 50; i++) {
+				double c = problem.cost(new SingleReal(i));
+				if (i == 0) assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(c));
+				else if (i == 1) assertTrue(Double.isNaN(c));
+				else assertEquals(i * i, c, 0.0);
+			}
+		}
+		assertEquals(50, evaluations.get());
+		assertEquals(50, problem.getHits());
+		assertEquals(50, problem.getMisses());
+		assertEquals(-4.0, problem.value(new SingleReal(2)), 0.0);
+	}
+	
+	@Test
+	public void testSharedConcurrently() {
+		final CountingOneMax counting = new CountingOneMax();
+		final CachedIntegerCostOptimizationProblem<BitVector> problem = new CachedIntegerCostOptimizationProblem<BitVector>(counting, 256);
+		final int NUM_THREADS = 8;
+		final boolean[] wrong = new boolean[NUM_THREADS];
+		Thread[] threads = new Thread[NUM_THREADS];
+		for (int k = 0; k < NUM_THREADS; k++) {
+			final int id = k;
+			threads[k] = new Thread(() -> {
+				java.util.Random r = new java.util.Random(id);
+				BitVector b = new BitVector(9);
+				for (int i = 0; i < 5000; i++) {
+					b.set32(0, r.nextInt(512));
+					if (problem.cost(b) != 9 - b.countOnes()) wrong[id] = true;
+				}
+			});
+		}
+		for (Thread t : threads) t.start();
+		for (Thread t : threads) {
+			try {
+				t.join();
+			} catch (InterruptedException ex) {
+				fail("interrupted");
+			}
+		}
+		for (boolean w : wrong) assertFalse(w);
+		assertEquals(NUM_THREADS * 5000, problem.getHits() + problem.getMisses());
+		assertEquals(counting.evaluations.get(), problem.getMisses());
+		assertTrue(problem.size() <= problem.capacity());
+		assertTrue(problem.getHits() > 0);
+	}
+	
+	@Test
+	public void testExceptions() {
+		try {
+			new CachedIntegerCostOptimizationProblem<BitVector>(new OneMax(), 0);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException ex) { }
+		try {
+			new CachedOptimizationProblem<SingleReal>(null, 10);
+			fail("Expected NullPointerException");
+		} catch (NullPointerException ex) { }
+	}
+	
+	private static final class CountingOneMax implements IntegerCostOptimizationProblem<BitVector> {
+		
+		private final OneMax oneMax = new OneMax();
+		private final AtomicInteger evaluations = new AtomicInteger();
+		
+		@Override
+		public int cost(BitVector c) {
+			evaluations.incrementAndGet();
+			return oneMax.cost(c);
+		}
+		
+		@Override
+		public int value(BitVector c) {
+			return oneMax.value(c);
+		}
+		
+		@Override
+		public int minCost() {
+			return oneMax.minCost();
+		}
+	}
+}
@@ -739,4 +739,212 @@ public class BitVectorTests {
 		}
 	}
 	
+	@Test
+	public void testWordBoundariesRandom() {
+		for (int n = 1; n <= 200; n++) {
+			BitVector original = new BitVector(n, true);
+			int ones = 0;
+			for (int i = 0; i < n; i++) {
+				ones += original.getBit(i);
+			}
+			assertEquals(ones, original.countOnes());
+			assertEquals(n - ones, original.countZeros());
+			// blocks of 32 bits agree with the individual bits
+			int numInts = (n + 31) >> 5;
+			int[] blocks = new int[numInts];
+			for (int k = 0; k < numInts; k++) {
+				blocks[k] = original.get32(k);
+				for (int j = 0; j < 32 && 32*k + j < n; j++) {
+					assertEquals(original.getBit(32*k + j), (blocks[k] >>> j) & 1);
+				}
+			}
+			BitVector fromInts = new BitVector(n, blocks);
+			assertEquals(original, fromInts);
+			assertEquals(original.hashCode(), fromInts.hashCode());
+			assertEquals(original.toString(), fromInts.toString());
+			BitVector fromSet32 = new BitVector(n);
+			for (int k = numInts - 1; k >= 0; k--) {
+				fromSet32.set32(k, 0xffffffff);
+				fromSet32.set32(k, blocks[k]);
+			}
+			assertEquals(original, fromSet32);
+			BitVector iterated = new BitVector(n);
+			BitVector.BitIterator iter = original.bitIterator(7);
+			for (int i = 0; iter.hasNext(); i += 7) {
+				int block = iter.nextBitBlock();
+				for (int j = 0; j < 7 && i + j < n; j++) {
+					iterated.setBit(i + j, block >>> j);
+				}
+			}
+			assertEquals(original, iterated);
+			for (int shift = 0; shift <= n; shift += 13) {
+				BitVector left = original.copy();
+				left.shiftLeft(shift);
+				BitVector right = original.copy();
+				right.shiftRight(shift);
+				for (int i = 0; i < n; i++) {
+					assertEquals(i < shift ? 0 : original.getBit(i - shift), left.getBit(i));
+					assertEquals(i + shift < n ? original.getBit(i + shift) : 0, right.getBit(i));
+				}
+			}
+			BitVector not = original.copy();
+			not.not();
+			assertEquals(n - ones, not.countOnes());
+		}
+	}
+	
+	@Test
+	public void testTrackOnes() {
+		java.util.Random r = new java.util.Random(42);
+		for (int n = 0; n <= 130; n++) {
+			BitVector b = new BitVector(n, true, true);
+			assertTrue(b.isTrackingOnes());
+			assertFalse(new BitVector(n, true).isTrackingOnes());
+			assertEquals(untrackedCount(b), b.countOnes());
+			if (n == 0) continue;
+			BitVector other = new BitVector(n, true);
+			for (int step = 0; step < 200; step++) {
+				switch (r.nextInt(10)) {
+					case 0: b.flip(r.nextInt(n)); break;
+					case 1: b.setBit(r.nextInt(n), r.nextInt(2)); break;
+					case 2: b.set32(r.nextInt((n + 31) >> 5), r.nextInt()); break;
+					case 3: b.and(other); break;
+					case 4: b.or(other); break;
+					case 5: b.xor(other); break;
+					case 6: b.not(); break;
+					case 7: b.shiftLeft(r.nextInt(n + 1)); break;
+					case 8: b.shiftRight(r.nextInt(n + 1)); break;
+					case 9: b = b.copy(); assertTrue(b.isTrackingOnes()); break;
+				}
+				int expected = untrackedCount(b);
+				assertEquals(expected, b.countOnes());
+				assertEquals(n - expected, b.countZeros());
+			}
+			BitVector same = new BitVector(n);
+			for (int i = 0; i < n; i++) same.setBit(i, b.getBit(i));
+			assertEquals(same, b);
+			assertEquals(same.hashCode(), b.hashCode());
+		}
+	}
+	
+	@Test
+	public void testCopyInto() {
+		for (int n = 0; n <= 130; n += 13) {
+			BitVector b = new BitVector(n, true, true);
+			BitVector target = new BitVector(n, true, true);
+			assertTrue(target == b.copyInto(target));
+			assertEquals(b, target);
+			assertEquals(b.countOnes(), target.countOnes());
+			BitVector offHeap = BitVector.createOffHeap(n, false, true);
+			assertTrue(offHeap == b.copyInto(offHeap));
+			assertEquals(b, offHeap);
+			assertEquals(b.countOnes(), offHeap.countOnes());
+			BitVector fromOffHeap = new BitVector(n, false, true);
+			assertTrue(fromOffHeap == offHeap.copyInto(fromOffHeap));
+			assertEquals(b, fromOffHeap);
+			BitVector untracked = new BitVector(n);
+			BitVector c = b.copyInto(untracked);
+			assertTrue(c != untracked);
+			assertTrue(c.isTrackingOnes());
+			assertEquals(b, c);
+			c = b.copyInto(new BitVector(n + 1, false, true));
+			assertEquals(b, c);
+			assertEquals(b, b.copyInto(null));
+		}
+	}
+	
+	@Test
+	public void testOffHeap() {
+		java.util.Random r = new java.util.Random(42);
+		for (int n = 0; n <= 200; n += 1 + (n >> 4)) {
+			BitVector b = BitVector.createOffHeap(n, false, true);
+			assertTrue(b.isOffHeap());
+			assertFalse(new BitVector(n).isOffHeap());
+			assertEquals(n, b.length());
+			assertEquals(0, b.countOnes());
+			BitVector heap = new BitVector(n);
+			assertEquals(heap, b);
+			assertEquals(b, heap);
+			assertEquals(heap.hashCode(), b.hashCode());
+			BitVector random = BitVector.createOffHeap(n, true, false);
+			assertEquals(untrackedCount(random), random.countOnes());
+			if (n == 0) continue;
+			BitVector other = new BitVector(n, true);
+			for (int step = 0; step < 200; step++) {
+				int i = r.nextInt(n);
+				int v = r.nextInt(2);
+				int block = r.nextInt();
+				int shift = r.nextInt(n + 1);
+				switch (r.nextInt(11)) {
+					case 0: b.flip(i); heap.flip(i); break;
+					case 1: b.setBit(i, v); heap.setBit(i, v); break;
+					case 2: b.set32(i >> 5, block); heap.set32(i >> 5, block); break;
+					case 3: b.and(other); heap.and(other); break;
+					case 4: b.or(other); heap.or(other); break;
+					case 5: b.xor(other); heap.xor(other); break;
+					case 6: b.not(); heap.not(); break;
+					case 7: b.shiftLeft(shift); heap.shiftLeft(shift); break;
+					case 8: b.shiftRight(shift); heap.shiftRight(shift); break;
+					case 9: heap.xor(b); heap.xor(b); break;
+					case 10: 
+						BitVector c = b.copy(); 
+						assertTrue(c.isOffHeap());
+						assertEquals(b, c);
+						c.flip(i);
+						assertNotEquals(b, c);
+						b = c;
+						heap.flip(i);
+						break;
+				}
+				assertEquals(heap, b);
+				assertEquals(heap.toString(), b.toString());
+				assertEquals(heap.hashCode(), b.hashCode());
+				assertEquals(heap.countOnes(), b.countOnes());
+				assertEquals(heap.get32(i >> 5), b.get32(i >> 5));
+			}
+		}
+		try {
+			BitVector.createOffHeap(-1, false, false);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException ex) { }
+	}
+	
+	@Test
+	public void testMemoryMapped() throws java.io.IOException {
+		java.nio.file.Path file = java.nio.file.Files.createTempFile("bitvector", ".bits");
+		try {
+			BitVector b = BitVector.createMemoryMapped(file, 150, true);
+			assertTrue(b.isOffHeap());
+			assertEquals(150, b.length());
+			assertEquals(0, b.countOnes());
+			BitVector expected = new BitVector(150, true);
+			for (int i = 0; i < 150; i++) b.setBit(i, expected.getBit(i));
+			assertEquals(expected, b);
+			assertEquals(expected.countOnes(), b.countOnes());
+			BitVector c = b.copy();
+			assertTrue(c.isOffHeap());
+			c.not();
+			// the bits persist in the file, and copies are independent of it
+			BitVector reopened = BitVector.createMemoryMapped(file, 150, false);
+			assertEquals(expected, reopened);
+			assertEquals(expected.countOnes(), reopened.countOnes());
+			// bits in the file beyond the length are ignored
+			BitVector shorter = BitVector.createMemoryMapped(file, 70, true);
+			assertEquals(70, shorter.length());
+			for (int i = 0; i < 70; i++) assertEquals(expected.getBit(i), shorter.getBit(i));
+			shorter.not();
+			for (int i = 0; i < 70; i++) assertEquals(1 - expected.getBit(i), shorter.getBit(i));
+			assertEquals(70 - shorter.countZeros(), shorter.countOnes());
+		} finally {
+			java.nio.file.Files.deleteIfExists(file);
+		}
+	}
+	
+	private int untrackedCount(BitVector b) {
+		int count = 0;
+		for (int i = 0; i < b.length(); i++) {
+			count += b.getBit(i);
+		}
+		return count;
+	}
 }
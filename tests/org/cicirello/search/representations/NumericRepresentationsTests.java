@@ -198,4 +198,36 @@ public class NumericRepresentationsTests {
 			assertEquals("hashCodes of equal objects should be equal", f2.hashCode(), copy2.hashCode());
 		}
 	}
-}
\ No newline at end of file
+	
+	@Test
+	public void testCopyInto() {
+		SingleReal r = new SingleReal(3.5);
+		SingleReal r2 = new SingleReal();
+		assertTrue(r2 == r.copyInto(r2));
+		assertEquals(r, r2);
+		SingleReal r3 = r.copyInto(null);
+		assertTrue(r3 != r);
+		assertEquals(r, r3);
+		SingleInteger n = new SingleInteger(7);
+		SingleInteger n2 = new SingleInteger();
+		assertTrue(n2 == n.copyInto(n2));
+		assertEquals(n, n2);
+		assertEquals(n, n.copyInto(null));
+		RealVector v = new RealVector(new double[] {1.5, 2.5, 3.5});
+		RealVector v2 = new RealVector(3);
+		assertTrue(v2 == v.copyInto(v2));
+		assertEquals(v, v2);
+		v2.set(0, 9.0);
+		assertEquals(1.5, v.get(0), 0.0);
+		RealVector v4 = new RealVector(4);
+		RealVector v5 = v.copyInto(v4);
+		assertTrue(v5 != v4);
+		assertEquals(v, v5);
+		IntegerVector iv = new IntegerVector(new int[] {1, 2, 3});
+		IntegerVector iv2 = new IntegerVector(3);
+		assertTrue(iv2 == iv.copyInto(iv2));
+		assertEquals(iv, iv2);
+		IntegerVector iv5 = iv.copyInto(new IntegerVector(2));
+		assertEquals(iv, iv5);
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.representations;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.Random;
+import java.util.HashSet;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.operators.permutations.PermutationMove;
+
+/**
+ * JUnit 4 test cases for the ZobristHash class.
+ */
+public class ZobristHashTests {
+	
+	@Test
+	public void testKeysDistinct() {
+		HashSet<Long> keys = new HashSet<Long>();
+		for (int i = 0; i < 50; i++) {
+			for (int v = -50; v < 50; v++) {
+				assertTrue(keys.add(ZobristHash.key(i, v)));
+			}
+		}
+		assertEquals(ZobristHash.key(3, 7), ZobristHash.key(3, 7));
+	}
+	
+	@Test
+	public void testPermutation() {
+		Random r = new Random(42);
+		for (int n = 1; n <= 20; n++) {
+			Permutation p = new Permutation(n, r);
+			long h = ZobristHash.hash(p);
+			assertEquals(h, ZobristHash.hash(new Permutation(p)));
+			for (int step = 0; step < 100; step++) {
+				int i = r.nextInt(n);
+				int j = r.nextInt(n);
+				h = ZobristHash.swap(h, p, i, j);
+				p.swap(i, j);
+				assertEquals(ZobristHash.hash(p), h);
+			}
+			Permutation original = new Permutation(p);
+			long originalHash = h;
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					h = ZobristHash.swap(h, p, i, j);
+					p.swap(i, j);
+					assertNotEquals(originalHash, h);
+					h = ZobristHash.swap(h, p, i, j);
+					p.swap(i, j);
+				}
+			}
+			assertEquals(original, p);
+			assertEquals(originalHash, h);
+		}
+	}
+	
+	@Test
+	public void testPermutationMoves() {
+		Random r = new Random(42);
+		for (int n = 1; n <= 20; n++) {
+			Permutation p = new Permutation(n, r);
+			long h = ZobristHash.hash(p);
+			for (int step = 0; step < 200; step++) {
+				PermutationMove move = null;
+				int a = r.nextInt(n);
+				int b = r.nextInt(n);
+				int lo = a < b ? a : b;
+				int hi = a < b ? b : a;
+				switch (r.nextInt(5)) {
+					case 0: move = new PermutationMove(PermutationMove.Type.SWAP, a, b); break;
+					case 1: move = new PermutationMove(PermutationMove.Type.INSERTION, a, b); break;
+					case 2: move = new PermutationMove(PermutationMove.Type.REVERSAL, a, b); break;
+					case 3: 
+						if (lo == hi) continue;
+						move = new PermutationMove(PermutationMove.Type.BLOCK_MOVE, lo, lo + 1 + r.nextInt(hi - lo), hi); 
+						break;
+					case 4: 
+						if (hi - lo < 1) continue;
+						int c = lo + r.nextInt(hi - lo);
+						move = new PermutationMove(PermutationMove.Type.BLOCK_INTERCHANGE, lo, c, c + 1, hi); 
+						break;
+				}
+				Permutation expected = new Permutation(p);
+				move.apply(expected);
+				h = move.apply(p, h);
+				assertEquals(expected, p);
+				assertEquals(ZobristHash.hash(p), h);
+			}
+		}
+	}
+	
+	@Test
+	public void testBitVector() {
+		Random r = new Random(42);
+		for (int n = 0; n <= 100; n += 7) {
+			BitVector b = new BitVector(n, true);
+			long h = ZobristHash.hash(b);
+			long expected = 0;
+			for (int i = 0; i < n; i++) {
+				if (b.isOne(i)) expected ^= ZobristHash.key(i, 1);
+			}
+			assertEquals(expected, h);
+			if (n == 0) {
+				assertEquals(0L, h);
+				continue;
+			}
+			for (int step = 0; step < 100; step++) {
+				int i = r.nextInt(n);
+				h = ZobristHash.flip(h, i);
+				b.flip(i);
+				assertEquals(ZobristHash.hash(b), h);
+			}
+		}
+	}
+	
+	@Test
+	public void testIntegerVector() {
+		Random r = new Random(42);
+		for (int n = 0; n <= 20; n++) {
+			IntegerVector v = new IntegerVector(n);
+			long h = ZobristHash.hash(v);
+			if (n == 0) {
+				assertEquals(0L, h);
+				continue;
+			}
+			for (int step = 0; step < 100; step++) {
+				int i = r.nextInt(n);
+				int value = r.nextInt(10) - 5;
+				h = ZobristHash.change(h, i, v.get(i), value);
+				v.set(i, value);
+				assertEquals(ZobristHash.hash(v), h);
+			}
+			assertEquals(ZobristHash.hash(new SingleInteger(3)), ZobristHash.key(0, 3));
+		}
+	}
+}
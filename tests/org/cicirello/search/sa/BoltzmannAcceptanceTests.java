@@ -0,0 +1,83 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.sa;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * JUnit 4 test cases for the acceptance test used by the annealing schedules.
+ */
+public class BoltzmannAcceptanceTests {
+	
+	@Test
+	public void testCutoff() {
+		BoltzmannAcceptance a = new BoltzmannAcceptance();
+		for (int i = 0; i < 1000; i++) {
+			assertFalse(a.acceptWorse(BoltzmannAcceptance.CUTOFF, 1.0));
+			assertFalse(a.acceptWorse(37.0, 1.0));
+			assertFalse(a.acceptWorse(Double.POSITIVE_INFINITY, 100.0));
+			assertFalse(a.acceptWorse(1.0, 0.0));
+		}
+	}
+	
+	@Test
+	public void testAcceptanceProbability() {
+		BoltzmannAcceptance a = new BoltzmannAcceptance();
+		final int N = 20000;
+		// (delta, t) pairs along with the probability e^(-delta/t)
+		double[][] cases = { {Math.log(2), 1.0}, {2.0, 10.0}, {3.0, 1.5}, {0.001, 1.0} };
+		for (double[] c : cases) {
+			double expected = Math.exp(-c[0]/c[1]);
+			int count = 0;
+			for (int i = 0; i < N; i++) {
+				if (a.acceptWorse(c[0], c[1])) count++;
+			}
+			// standard deviation of the proportion is at most 0.0036 for this N
+			assertEquals(expected, count / (double)N, 0.02);
+		}
+	}
+	
+	@Test
+	public void testCutoffInt() {
+		BoltzmannAcceptance a = new BoltzmannAcceptance();
+		for (int i = 0; i < 1000; i++) {
+			assertFalse(a.acceptWorse(37L, 1.0));
+			assertFalse(a.acceptWorse(370L, 10.0));
+			assertFalse(a.acceptWorse((long)Integer.MAX_VALUE - Integer.MIN_VALUE, 1000.0));
+			assertFalse(a.acceptWorse(1L, 0.0));
+		}
+	}
+	
+	@Test
+	public void testAcceptanceProbabilityInt() {
+		BoltzmannAcceptance a = new BoltzmannAcceptance();
+		final int N = 20000;
+		// alternates temperatures to verify that the cached cutoff is recomputed
+		double[] t = {1.0, 2.0};
+		int[] count = new int[2];
+		for (int i = 0; i < N; i++) {
+			if (a.acceptWorse(1L, t[i & 1])) count[i & 1]++;
+		}
+		assertEquals(Math.exp(-1.0), count[0] / (N / 2.0), 0.02);
+		assertEquals(Math.exp(-0.5), count[1] / (N / 2.0), 0.02);
+	}
+}
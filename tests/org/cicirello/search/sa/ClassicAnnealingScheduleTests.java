@@ -22,7 +22,12 @@ package org.cicirello.search.sa;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.math.rand.RandomEngine;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.function.Function;
 
 /**
  * JUnit 4 test cases for the annealing schedules.
@@ -168,4 +173,108 @@ public class ClassicAnnealingScheduleTests {
 		}
 	}
 	
-}
\ No newline at end of file
+	@Test
+	public void testFixedTemperature() {
+		FixedTemperature c = new FixedTemperature(4.0);
+		c.init(100);
+		for (int i = 0; i < 10; i++) {
+			assertEquals("temperature should never change", 4.0, c.getTemperature(), EPSILON);
+			assertTrue("should always accept lower or same cost neighbors", c.accept(i, 9));
+		}
+		for (int i = 0; i < 10; i++) {
+			assertFalse("should reject if neighbor cost is significantly above current cost", c.accept(Double.POSITIVE_INFINITY, 9));
+		}
+		final int RUN_LENGTH = 1000;
+		c.init(RUN_LENGTH);
+		int count = 0;
+		for (int i = 0; i < RUN_LENGTH; i++) {
+			if (c.accept(11 + RandomIndexer.nextInt(5), 10)) count++;
+		}
+		assertTrue("Verify accepts some higher cost neighbors", count > 0);
+		assertTrue("Verify rejects some higher cost neighbors", count < RUN_LENGTH);
+		assertEquals(4.0, c.getTemperature(), EPSILON);
+		FixedTemperature s = c.split();
+		assertTrue(c != s);
+		assertEquals(4.0, s.getTemperature(), EPSILON);
+		try {
+			new FixedTemperature(0.0);
+			fail("should throw exception for non-positive temperature");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void testDefaultIntegerAccept() {
+		final double[] args = new double[2];
+		AnnealingSchedule a = new AnnealingSchedule() {
+			@Override
+			public void init(int maxEvals) { }
+			@Override
+			public boolean accept(double neighborCost, double currentCost) {
+				args[0] = neighborCost;
+				args[1] = currentCost;
+				return true;
+			}
+			@Override
+			public AnnealingSchedule split() { return this; }
+		};
+		assertTrue(a.accept(7, 3));
+		assertEquals(7.0, args[0], EPSILON);
+		assertEquals(3.0, args[1], EPSILON);
+	}
+	
+	@Test
+	public void testIntegerAndDoubleAcceptAgree() {
+		AnnealingSchedule[] schedules = { 
+			new ExponentialCooling(100.0, 0.999), new LinearCooling(100.0, 0.01), 
+			new LogarithmicCooling(100.0), new ModifiedLam(), new FixedTemperature(100.0),
+			new ParameterFreeExponentialCooling(), new ParameterFreeLinearCooling()
+		};
+		final int RUN_LENGTH = 1000;
+		for (AnnealingSchedule c : schedules) {
+			// each iteration below calls accept 5 times
+			c.init(5 * RUN_LENGTH + 10);
+			// the parameter-free schedules accept everything while estimating the initial temperature
+			for (int i = 0; i < 10; i++) c.accept(11, 10);
+			int countInt = 0;
+			int countDouble = 0;
+			for (int i = 0; i < RUN_LENGTH; i++) {
+				assertTrue(c.accept(9, 10));
+				assertTrue(c.accept(9.0, 10.0));
+				if (c.accept(10001 + RandomIndexer.nextInt(5), 10000)) countInt++;
+				if (c.accept(10001.0 + RandomIndexer.nextInt(5), 10000.0)) countDouble++;
+				assertFalse(c.accept(Integer.MAX_VALUE, Integer.MIN_VALUE));
+			}
+			assertTrue("Verify accepts some higher cost neighbors", countInt > 0);
+			assertTrue("Verify rejects some higher cost neighbors", countInt < RUN_LENGTH);
+			assertTrue("Verify accepts some higher cost neighbors", countDouble > 0);
+			assertTrue("Verify rejects some higher cost neighbors", countDouble < RUN_LENGTH);
+		}
+	}
+	
+	@Test
+	public void testSchedulesWithEngineReproducible() {
+		ArrayList<Function<RandomEngine, AnnealingSchedule>> schedules = new ArrayList<Function<RandomEngine, AnnealingSchedule>>();
+		schedules.add(e -> new ExponentialCooling(100.0, 0.999, 1, e));
+		schedules.add(e -> new LinearCooling(100.0, 0.01, 1, e));
+		schedules.add(e -> new LogarithmicCooling(100.0, e));
+		schedules.add(e -> new ModifiedLam(e));
+		schedules.add(e -> new FixedTemperature(100.0, e));
+		schedules.add(e -> new ParameterFreeExponentialCooling(e));
+		schedules.add(e -> new ParameterFreeLinearCooling(e));
+		final int RUN_LENGTH = 1000;
+		for (Function<RandomEngine, AnnealingSchedule> create : schedules) {
+			assertSeeded(create, c -> c.split(), c -> {
+				// the acceptance decisions of a run
+				BitSet accepted = new BitSet(RUN_LENGTH);
+				c.init(RUN_LENGTH);
+				for (int i = 0; i < RUN_LENGTH; i++) {
+					if (c.accept(100.1 + 0.1 * (i % 7), 100.0)) accepted.set(i);
+				}
+				assertTrue(accepted.cardinality() > 0);
+				return accepted;
+			});
+		}
+	}
+}
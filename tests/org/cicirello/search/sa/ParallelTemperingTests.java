@@ -0,0 +1,287 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2020  Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.sa;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.concurrent.SearchExecutors;
+import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.OneMax;
+import org.cicirello.search.representations.BitVector;
+import org.cicirello.search.operators.bits.BitFlipMutation;
+import org.cicirello.search.operators.bits.BitVectorInitializer;
+import org.cicirello.math.rand.Xoshiro256PlusPlus;
+
+/**
+ * JUnit 4 test cases for parallel tempering.
+ */
+public class ParallelTemperingTests {
+	
+	private final static double EPSILON = 1e-10;
+	
+	@Test
+	public void testGeometricTemperatures() {
+		double[] t = ParallelTempering.geometricTemperatures(1.0, 8.0, 4);
+		double[] expected = {1.0, 2.0, 4.0, 8.0};
+		assertArrayEquals(expected, t, EPSILON);
+		t = ParallelTempering.geometricTemperatures(3.0, 5.0, 1);
+		assertEquals(1, t.length);
+		assertEquals(3.0, t[0], EPSILON);
+		t = ParallelTempering.geometricTemperatures(3.0, 3.0, 3);
+		assertArrayEquals(new double[] {3.0, 3.0, 3.0}, t, EPSILON);
+	}
+	
+	@Test
+	public void testConstructors() {
+		OneMax problem = new OneMax();
+		ProgressTracker<BitVector> tracker = new ProgressTracker<BitVector>();
+		double[] temps = {4.0, 1.0, 2.0};
+		ParallelTempering<BitVector> pt = new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), temps, 10, tracker);
+		assertEquals(3, pt.getNumReplicas());
+		assertArrayEquals(new double[] {1.0, 2.0, 4.0}, pt.getTemperatures(), EPSILON);
+		assertArrayEquals("should not change caller's array", new double[] {4.0, 1.0, 2.0}, temps, EPSILON);
+		assertTrue(tracker == pt.getProgressTracker());
+		assertTrue(problem == pt.getProblem());
+		assertEquals(0, pt.getTotalRunLength());
+		assertEquals(0, pt.getTotalSwapAttempts());
+		assertEquals(0, pt.getTotalSwaps());
+		pt.close();
+		pt = new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), temps, 10);
+		assertNotNull(pt.getProgressTracker());
+		ProgressTracker<BitVector> tracker2 = new ProgressTracker<BitVector>();
+		pt.setProgressTracker(tracker2);
+		assertTrue(tracker2 == pt.getProgressTracker());
+		pt.setProgressTracker(null);
+		assertTrue(tracker2 == pt.getProgressTracker());
+		pt.close();
+	}
+	
+	@Test
+	public void testRunLengthAndSwaps() {
+		NoKnownMin problem = new NoKnownMin();
+		ParallelTempering<BitVector> pt = new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), ParallelTempering.geometricTemperatures(0.5, 4.0, 4), 10);
+		SolutionCostPair<BitVector> best = pt.optimize(100);
+		assertEquals(400, pt.getTotalRunLength());
+		// 10 rounds, so 9 exchanges: 5 with pairs (0,1) and (2,3), and 4 with pair (1,2)
+		assertEquals(14, pt.getTotalSwapAttempts());
+		assertTrue(pt.getTotalSwaps() <= pt.getTotalSwapAttempts());
+		assertEquals(problem.cost(best.getSolution()), best.getCost());
+		assertTrue(pt.getProgressTracker().getCost() <= best.getCost());
+		// last round shorter than the swap interval
+		best = pt.reoptimize(95);
+		assertEquals(780, pt.getTotalRunLength());
+		assertEquals(28, pt.getTotalSwapAttempts());
+		assertEquals(problem.cost(best.getSolution()), best.getCost());
+		best = pt.optimize(5);
+		assertEquals(800, pt.getTotalRunLength());
+		assertEquals(28, pt.getTotalSwapAttempts());
+		assertEquals(problem.cost(best.getSolution()), best.getCost());
+		pt.close();
+	}
+	
+	@Test
+	public void testSeededRunsAreReproducible() {
+		ParallelTempering<BitVector> pt1 = createSeeded(42);
+		ParallelTempering<BitVector> pt2 = createSeeded(42);
+		ParallelTempering<BitVector> split1 = pt1.split();
+		ParallelTempering<BitVector> split2 = pt2.split();
+		for (int run = 0; run < 3; run++) {
+			SolutionCostPair<BitVector> best1 = pt1.optimize(200);
+			SolutionCostPair<BitVector> best2 = pt2.optimize(200);
+			assertEquals(best1.getSolution(), best2.getSolution());
+			assertEquals(best1.getCost(), best2.getCost());
+			assertEquals(pt1.getTotalSwaps(), pt2.getTotalSwaps());
+			assertTrue(pt1.getTotalSwaps() > 0);
+		}
+		SolutionCostPair<BitVector> best1 = split1.optimize(200);
+		SolutionCostPair<BitVector> best2 = split2.optimize(200);
+		assertEquals(best1.getSolution(), best2.getSolution());
+		assertEquals(split1.getTotalSwaps(), split2.getTotalSwaps());
+		pt1.close();
+		pt2.close();
+		split1.close();
+		split2.close();
+	}
+	
+	private ParallelTempering<BitVector> createSeeded(long seed) {
+		return new ParallelTempering<BitVector>(
+			new NoKnownMin(), 
+			new BitFlipMutation(0.05, new Xoshiro256PlusPlus(seed)), 
+			new BitVectorInitializer(32, false, new Xoshiro256PlusPlus(seed + 1)), 
+			ParallelTempering.geometricTemperatures(0.5, 4.0, 4), 
+			10, 
+			new ProgressTracker<BitVector>(), 
+			new Xoshiro256PlusPlus(seed + 2)
+		);
+	}
+	
+	@Test
+	public void testSingleReplica() {
+		NoKnownMin problem = new NoKnownMin();
+		ParallelTempering<BitVector> pt = new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), new double[] {1.0}, 7);
+		SolutionCostPair<BitVector> best = pt.optimize(50);
+		assertEquals(50, pt.getTotalRunLength());
+		assertEquals(0, pt.getTotalSwapAttempts());
+		assertEquals(problem.cost(best.getSolution()), best.getCost());
+		pt.close();
+	}
+	
+	@Test
+	public void testFindsBest() {
+		OneMax problem = new OneMax();
+		ParallelTempering<BitVector> pt = new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), ParallelTempering.geometricTemperatures(0.5, 4.0, 4), 50);
+		ParallelTempering<BitVector> split = pt.split();
+		pt.setExecutor(SearchExecutors.sharedPool());
+		SolutionCostPair<BitVector> best = pt.optimize(100000);
+		ProgressTracker<BitVector> tracker = pt.getProgressTracker();
+		assertTrue(tracker.didFindBest());
+		assertEquals(0, tracker.getCost());
+		assertEquals(0, best.getCost());
+		assertEquals(0, problem.cost(tracker.getSolution()));
+		assertTrue(pt.getTotalRunLength() < 400000);
+		long runLength = pt.getTotalRunLength();
+		assertNull(pt.optimize(100));
+		assertNull(pt.reoptimize(100));
+		assertEquals(runLength, pt.getTotalRunLength());
+		assertTrue(tracker == split.getProgressTracker());
+		assertNull(split.optimize(100));
+		pt.close();
+		split.close();
+		assertFalse(SearchExecutors.sharedPool().isShutdown());
+	}
+	
+	@Test
+	public void testStopped() {
+		NoKnownMin problem = new NoKnownMin();
+		ParallelTempering<BitVector> pt = new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), new double[] {1.0, 2.0}, 10);
+		pt.getProgressTracker().stop();
+		assertNull(pt.optimize(100));
+		assertNull(pt.reoptimize(100));
+		assertEquals(0, pt.getTotalRunLength());
+		pt.close();
+	}
+	
+	@Test
+	public void testClose() {
+		NoKnownMin problem = new NoKnownMin();
+		ParallelTempering<BitVector> pt = new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), new double[] {1.0, 2.0}, 10);
+		pt.optimize(20);
+		pt.close();
+		try {
+			pt.optimize(10);
+			fail("should throw exception if closed");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+		try {
+			pt.reoptimize(10);
+			fail("should throw exception if closed");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+		try {
+			pt.setExecutor(SearchExecutors.sharedPool());
+			fail("should throw exception if closed");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+		ParallelTempering<BitVector> split = pt.split();
+		try {
+			split.optimize(10);
+			fail("split of closed should be closed");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void testExceptions() {
+		OneMax problem = new OneMax();
+		try {
+			new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), new double[0], 10);
+			fail("should throw exception for no temperatures");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), new double[] {1.0, 0.0}, 10);
+			fail("should throw exception for non-positive temperature");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), new double[] {1.0}, 0);
+			fail("should throw exception for swapInterval < 1");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			new ParallelTempering<BitVector>(problem, new BitFlipMutation(0.05), new BitVectorInitializer(32), new double[] {1.0}, 10, null);
+			fail("should throw exception for null tracker");
+		} catch (NullPointerException ex) {
+			// expected
+		}
+		try {
+			ParallelTempering.geometricTemperatures(0.0, 1.0, 3);
+			fail("should throw exception for non-positive temperature");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			ParallelTempering.geometricTemperatures(2.0, 1.0, 3);
+			fail("should throw exception for tMax < tMin");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			ParallelTempering.geometricTemperatures(1.0, 2.0, 0);
+			fail("should throw exception for no temperatures");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+	
+	/*
+	 * OneMax, but with an unreachable minimum cost, so that runs
+	 * don't end early.
+	 */
+	private static class NoKnownMin implements IntegerCostOptimizationProblem<BitVector> {
+		
+		private final OneMax problem = new OneMax();
+		
+		@Override
+		public int cost(BitVector candidate) {
+			return problem.cost(candidate);
+		}
+		
+		@Override
+		public int value(BitVector candidate) {
+			return problem.value(candidate);
+		}
+		
+		@Override
+		public int minCost() {
+			return -1;
+		}
+	}
+}
@@ -24,11 +24,16 @@ import org.junit.*;
 import static org.junit.Assert.*;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.IncrementalOptimizationProblem;
+import org.cicirello.search.problems.IncrementalIntegerCostOptimizationProblem;
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveMutationOperator;
+import org.cicirello.search.operators.Move;
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.util.Copyable;
 import org.cicirello.search.SolutionCostPair;
+import java.util.ArrayList;
 
 /**
  * JUnit test cases for the SimulatedAnnealing class.
@@ -399,6 +404,186 @@ public class SimulatedAnnealingTests {
 	}
 	
 	
+	@Test
+	public void testDeltaEvaluation() {
+		// Test with known min solution: int costs
+		TestProblemIntDelta pi = new TestProblemIntDelta();
+		TestMoveMutation mi = new TestMoveMutation();
+		SimulatedAnnealing<TestObject> sa = SimulatedAnnealing.createInstance(pi, mi, new TestInitializer());
+		ProgressTracker<TestObject> t = sa.getProgressTracker();
+		SolutionCostPair<TestObject> result;
+		for (int i = 1; i <= 15; i++) {
+			assertNotNull(result = sa.optimize(100));
+			assertEquals(100, result.getSolution().bar);
+			assertEquals(900, result.getCost());
+			assertEquals(900, t.getCost());
+			assertEquals(100, t.getSolution().bar);
+			assertEquals(100*i, sa.getTotalRunLength());
+		}
+		// full cost function only evaluated for the starting solution of each run
+		assertEquals(15, pi.costCalls);
+		assertEquals(1500, pi.deltaCalls);
+		// operator's mutate and undo never used in delta evaluation path
+		assertEquals(0, mi.mutateCalls);
+		assertEquals(0, mi.undoCalls);
+		assertNotNull(result = sa.optimize(1000));
+		assertEquals(600, result.getSolution().bar);
+		assertEquals(400, t.getCost());
+		assertEquals(400, pi.cost(t.getSolution()));
+		assertTrue(t.didFindBest());
+		assertEquals(2100, sa.getTotalRunLength());
+		
+		// Test with known min solution: double costs
+		TestProblemDelta pd = new TestProblemDelta();
+		TestMoveMutation md = new TestMoveMutation();
+		sa = SimulatedAnnealing.createInstance(pd, md, new TestInitializer());
+		t = sa.getProgressTracker();
+		for (int i = 1; i <= 15; i++) {
+			assertNotNull(result = sa.optimize(100));
+			assertEquals(100, result.getSolution().bar);
+			assertEquals(900.0, result.getCostDouble(), EPSILON);
+			assertEquals(900.0, t.getCostDouble(), EPSILON);
+			assertEquals(100, t.getSolution().bar);
+			assertEquals(100*i, sa.getTotalRunLength());
+		}
+		// full cost function evaluated for the starting solution and the end of each run,
+		// and for each of the 100 new best solutions of the first run
+		assertEquals(130, pd.costCalls);
+		assertEquals(1500, pd.deltaCalls);
+		assertEquals(0, md.mutateCalls);
+		assertEquals(0, md.undoCalls);
+		assertNotNull(result = sa.optimize(1000));
+		assertEquals(600, result.getSolution().bar);
+		assertEquals(400.0, t.getCostDouble(), EPSILON);
+		assertEquals(400.0, pd.cost(t.getSolution()), EPSILON);
+		assertTrue(t.didFindBest());
+		assertEquals(2100, sa.getTotalRunLength());
+	}
+	
+	@Test
+	public void testDeltaEvaluationDrift() {
+		// the sum of inexact deltas drifts from the actual cost, but the
+		// reported costs must be the actual costs
+		TestProblemDelta pd = new TestProblemDelta();
+		pd.error = 1e-7;
+		SimulatedAnnealing<TestObject> sa = SimulatedAnnealing.createInstance(pd, new TestMoveMutation(), new TestInitializer());
+		ProgressTracker<TestObject> t = sa.getProgressTracker();
+		SolutionCostPair<TestObject> result;
+		assertNotNull(result = sa.optimize(100));
+		assertEquals(100, result.getSolution().bar);
+		assertTrue(900.0 == result.getCostDouble());
+		assertTrue(900.0 == t.getCostDouble());
+		assertNotNull(result = sa.optimize(3000));
+		assertEquals(400.0, t.getCostDouble(), 0.0);
+		assertEquals(600, t.getSolution().bar);
+		assertTrue(t.didFindBest());
+	}
+	
+	@Test
+	public void testDeltaEvaluationSplit() {
+		TestProblemIntDelta pi = new TestProblemIntDelta();
+		SimulatedAnnealing<TestObject> sa = SimulatedAnnealing.createInstance(pi, new TestMoveMutation(), new TestInitializer());
+		SimulatedAnnealing<TestObject> split = sa.split();
+		assertEquals(sa.getProgressTracker(), split.getProgressTracker());
+		SolutionCostPair<TestObject> result;
+		assertNotNull(result = split.optimize(100));
+		assertEquals(100, result.getSolution().bar);
+		assertEquals(900, result.getCost());
+		assertEquals(1, pi.costCalls);
+		assertEquals(100, pi.deltaCalls);
+		assertNotNull(result = split.reoptimize(100));
+		assertEquals(200, result.getSolution().bar);
+		assertEquals(800, sa.getProgressTracker().getCost());
+		assertEquals(2, pi.costCalls);
+		assertEquals(200, pi.deltaCalls);
+	}
+	
+	@Test
+	public void testDeltaEvaluationRejections() {
+		// When every neighbor is rejected, no move should ever be applied, and
+		// the current solution should be the start.
+		TestProblemIntDelta pi = new TestProblemIntDelta();
+		TestMoveMutation mi = new TestMoveMutation();
+		SimulatedAnnealing<TestObject> sa = SimulatedAnnealing.createInstance(pi, mi, new TestInitializer(), new RejectAll());
+		SolutionCostPair<TestObject> result;
+		assertNotNull(result = sa.optimize(100, new TestObject(50)));
+		assertEquals(50, result.getSolution().bar);
+		assertEquals(950, result.getCost());
+		assertEquals(950, sa.getProgressTracker().getCost());
+		assertEquals(50, sa.getProgressTracker().getSolution().bar);
+		assertEquals(100, pi.deltaCalls);
+		assertEquals(0, mi.appliedMoves);
+		assertEquals(0, mi.undoCalls);
+		
+		TestProblemDelta pd = new TestProblemDelta();
+		TestMoveMutation md = new TestMoveMutation();
+		sa = SimulatedAnnealing.createInstance(pd, md, new TestInitializer(), new RejectAll());
+		assertNotNull(result = sa.optimize(100, new TestObject(50)));
+		assertEquals(50, result.getSolution().bar);
+		assertEquals(950.0, result.getCostDouble(), EPSILON);
+		assertEquals(950.0, sa.getProgressTracker().getCostDouble(), EPSILON);
+		assertEquals(100, pd.deltaCalls);
+		assertEquals(0, md.appliedMoves);
+		assertEquals(0, md.undoCalls);
+	}
+	
+	@Test
+	public void testDeltaEvaluationNotUsedWithoutMoves() {
+		// problem supports delta evaluation, but mutation operator doesn't describe moves
+		TestProblemIntDelta pi = new TestProblemIntDelta();
+		SimulatedAnnealing<TestObject> sa = SimulatedAnnealing.createInstance(pi, new TestMutation(), new TestInitializer());
+		SolutionCostPair<TestObject> result;
+		assertNotNull(result = sa.optimize(100));
+		assertEquals(100, result.getSolution().bar);
+		assertEquals(0, pi.deltaCalls);
+		assertEquals(101, pi.costCalls);
+	}
+	
+	@Test
+	public void testSegmentedRuns() {
+		CountingSchedule schedule = new CountingSchedule();
+		SimulatedAnnealing<TestObject> sa = SimulatedAnnealing.createInstance(new TestProblemInt(), new TestMutation(), new TestInitializer(), schedule);
+		SolutionCostPair<TestObject> first = sa.reoptimize(100, 30);
+		assertEquals(30, first.getSolution().bar);
+		assertEquals(970, first.getCost());
+		// the segments continue the run, without reinitializing the schedule
+		SolutionCostPair<TestObject> result = sa.resume(30, null);
+		assertEquals(60, result.getSolution().bar);
+		assertEquals(30, first.getSolution().bar);
+		TestObject injected = new TestObject(500);
+		result = sa.resume(30, injected);
+		assertEquals(530, result.getSolution().bar);
+		assertEquals(500, injected.bar);
+		// only 10 evaluations of the run remain
+		result = sa.resume(30, null);
+		assertEquals(540, result.getSolution().bar);
+		assertEquals(100, sa.getTotalRunLength());
+		assertEquals(100, schedule.accepted);
+		assertEquals(1, schedule.inits.size());
+		assertEquals(100, (int)schedule.inits.get(0));
+		// with no run to continue, a new run begins at the best found solution
+		result = sa.resume(20, null);
+		assertEquals(560, result.getSolution().bar);
+		assertEquals(2, schedule.inits.size());
+		assertEquals(20, (int)schedule.inits.get(1));
+		// or at the injected solution
+		result = sa.resume(10, new TestObject(0));
+		assertEquals(10, result.getSolution().bar);
+		assertEquals(3, schedule.inits.size());
+		assertEquals(130, sa.getTotalRunLength());
+		// a split has no run to continue
+		SimulatedAnnealing<TestObject> split = sa.split();
+		result = split.resume(10, null);
+		assertEquals(570, result.getSolution().bar);
+		// nothing runs once the best is found
+		SimulatedAnnealing<TestObject> known = SimulatedAnnealing.createInstance(new TestProblemIntKnownMin(), new TestMutation(), new TestInitializer(), new CountingSchedule());
+		result = known.reoptimize(1000, 700);
+		assertEquals(600, result.getSolution().bar);
+		assertTrue(known.getProgressTracker().didFindBest());
+		assertNull(known.resume(100, null));
+		assertNull(known.reoptimize(100, 10));
+	}
+	
 	private static class TestProblem implements OptimizationProblem<TestObject> {
 		@Override public double cost(TestObject c) { return 1000 - c.bar % 601; }
 		@Override public double value(TestObject c) { return cost(c); }
@@ -425,6 +610,54 @@ public class SimulatedAnnealingTests {
 		@Override public TestMutation split() { return new TestMutation(); }
 	}
 	
+	private static class TestProblemDelta extends TestProblemKnownMin implements IncrementalOptimizationProblem<TestObject> {
+		int costCalls;
+		int deltaCalls;
+		double error;
+		@Override public double cost(TestObject c) { costCalls++; return super.cost(c); }
+		@Override public double costDelta(TestObject c, Move<TestObject> m) { 
+			deltaCalls++;
+			// the only move of the TestMoveMutation increments bar
+			return super.cost(new TestObject(c.bar+1)) - super.cost(c) + error;
+		}
+	}
+	
+	private static class TestProblemIntDelta extends TestProblemIntKnownMin implements IncrementalIntegerCostOptimizationProblem<TestObject> {
+		int costCalls;
+		int deltaCalls;
+		@Override public int cost(TestObject c) { costCalls++; return super.cost(c); }
+		@Override public int costDelta(TestObject c, Move<TestObject> m) { 
+			deltaCalls++;
+			// the only move of the TestMoveMutation increments bar
+			return super.cost(new TestObject(c.bar+1)) - super.cost(c);
+		}
+	}
+	
+	private static class TestMoveMutation implements MoveMutationOperator<TestObject> {
+		int mutateCalls;
+		int undoCalls;
+		int appliedMoves;
+		private final Move<TestObject> move = c -> { c.bar++; appliedMoves++; };
+		@Override public void mutate(TestObject c) { mutateCalls++; c.bar++; }
+		@Override public void undo(TestObject c) { undoCalls++; c.bar--; }
+		@Override public Move<TestObject> nextMove(TestObject c) { return move; }
+		@Override public TestMoveMutation split() { return new TestMoveMutation(); }
+	}
+	
+	private static class RejectAll implements AnnealingSchedule {
+		@Override public void init(int maxEvals) { }
+		@Override public boolean accept(double neighborCost, double currentCost) { return false; }
+		@Override public RejectAll split() { return this; }
+	}
+	
+	private static class CountingSchedule implements AnnealingSchedule {
+		ArrayList<Integer> inits = new ArrayList<Integer>();
+		int accepted;
+		@Override public void init(int maxEvals) { inits.add(maxEvals); }
+		@Override public boolean accept(double neighborCost, double currentCost) { accepted++; return true; }
+		@Override public CountingSchedule split() { return new CountingSchedule(); }
+	}
+	
 	private static class TestInitializer implements Initializer<TestObject> {
 		// for testing always start with same solution rather than random for predictable results
 		@Override public TestObject createCandidateSolution() { return new TestObject(0); }
@@ -23,6 +23,7 @@ package org.cicirello.search.ss;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
@@ -594,6 +595,25 @@ public class HBSSTests {
 	}
 	
 	
+	@Test
+	public void testWithEngine() {
+		final HeuristicBiasedStochasticSampling.BiasFunction bias = 
+			new HeuristicBiasedStochasticSampling.BiasFunction() {
+				@Override public double bias(int rank) { return 1.0/rank; }
+			};
+		for (int n = 2; n < 10; n++) {
+			final int length = n;
+			final IntHeuristic h = new IntHeuristic(new IntProblem(), n);
+			assertSeeded(e -> new HeuristicBiasedStochasticSampling(h, bias, new ProgressTracker<Permutation>(), e), s -> s.split(), s -> {
+				Permutation p = s.optimize().getSolution();
+				assertEquals(length, p.length());
+				return p;
+			});
+			final DoubleHeuristic d = new DoubleHeuristic(new DoubleProblem(), n);
+			assertSeeded(e -> new HeuristicBiasedStochasticSampling(d, bias, new ProgressTracker<Permutation>(), e), s -> s.split(), s -> s.optimize().getSolution());
+		}
+	}
+	
 	/*
 	 * Fake heuristic designed for predictable test cases:
 	 * designed to prefer even permutation elements (largest to smallest), followed by odd
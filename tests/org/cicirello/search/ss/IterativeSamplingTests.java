@@ -29,6 +29,7 @@ import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.util.Copyable;
 import org.cicirello.search.SolutionCostPair;
+import java.util.List;
 
 
 /**
@@ -40,24 +41,28 @@ public class IterativeSamplingTests {
 	public void test1() {
 		verifyOptimize1("constructor 1", new IterativeSampling<TestObject>(new TestProblem(), new TestInitializer(), new ProgressTracker<TestObject>()));
 		verifyOptimize1("constructor 2", new IterativeSampling<TestObject>(new TestProblem(), new TestInitializer()));
+		verifyOptimize1("buffered", new IterativeSampling<TestObject>(new TestProblem(), new TestInitializer(), bufferedTracker()));
 	}
 	
 	@Test
 	public void testInt1() {
 		verifyOptimizeInt1("constructor 1", new IterativeSampling<TestObject>(new TestProblemInt(), new TestInitializer(), new ProgressTracker<TestObject>()));
 		verifyOptimizeInt1("constructor 2", new IterativeSampling<TestObject>(new TestProblemInt(), new TestInitializer()));
+		verifyOptimizeInt1("buffered", new IterativeSampling<TestObject>(new TestProblemInt(), new TestInitializer(), bufferedTracker()));
 	}
 	
 	@Test
 	public void testN() {
 		verifyOptimizeN("constructor 1", new IterativeSampling<TestObject>(new TestProblem(), new TestInitializer(), new ProgressTracker<TestObject>()));
 		verifyOptimizeN("constructor 2", new IterativeSampling<TestObject>(new TestProblem(), new TestInitializer()));
+		verifyOptimizeN("buffered", new IterativeSampling<TestObject>(new TestProblem(), new TestInitializer(), bufferedTracker()));
 	}
 	
 	@Test
 	public void testIntN() {
 		verifyOptimizeIntN("constructor 1", new IterativeSampling<TestObject>(new TestProblemInt(), new TestInitializer(), new ProgressTracker<TestObject>()));
 		verifyOptimizeIntN("constructor 2", new IterativeSampling<TestObject>(new TestProblemInt(), new TestInitializer()));
+		verifyOptimizeIntN("buffered", new IterativeSampling<TestObject>(new TestProblemInt(), new TestInitializer(), bufferedTracker()));
 	}
 	
 	@Test
@@ -72,6 +77,45 @@ public class IterativeSamplingTests {
 		verifySplitInt("constructor 2", new IterativeSampling<TestObject>(new TestProblemInt(), new TestInitializer()));
 	}
 	
+	@Test
+	public void testBatches() {
+		BatchProblem problem = new BatchProblem();
+		IterativeSampling<TestObject> is = new IterativeSampling<TestObject>(problem, new TestInitializer());
+		verifyOptimizeN("batches", is);
+		assertEquals(21, is.getTotalRunLength());
+		assertEquals(6, problem.batches);
+		assertEquals(21, problem.batched);
+		BatchProblemInt problemInt = new BatchProblemInt();
+		is = new IterativeSampling<TestObject>(problemInt, new TestInitializer());
+		verifyOptimizeIntN("batches", is);
+		assertEquals(21, is.getTotalRunLength());
+		assertEquals(6, problemInt.batches);
+		assertEquals(21, problemInt.batched);
+	}
+	
+	@Test
+	public void testNonPositiveBatchSize() {
+		// treated as a batch size of 1
+		for (int size = 0; size >= -1; size--) {
+			InvalidBatchProblem problem = new InvalidBatchProblem(size);
+			IterativeSampling<TestObject> is = new IterativeSampling<TestObject>(problem, new TestInitializer());
+			assertNotNull(is.optimize(5));
+			assertEquals(5, is.getTotalRunLength());
+			assertEquals(5, problem.batches);
+			InvalidBatchProblemInt problemInt = new InvalidBatchProblemInt(size);
+			is = new IterativeSampling<TestObject>(problemInt, new TestInitializer());
+			assertNotNull(is.optimize(5));
+			assertEquals(5, is.getTotalRunLength());
+			assertEquals(5, problemInt.batches);
+		}
+	}
+	
+	private ProgressTracker<TestObject> bufferedTracker() {
+		ProgressTracker<TestObject> tracker = new ProgressTracker<TestObject>();
+		tracker.setPublicationCadence(7, 0);
+		return tracker;
+	}
+	
 	@SuppressWarnings (value="unchecked")
 	private void verifyOptimize1(String which, IterativeSampling<TestObject> is) {
 		ProgressTracker<TestObject> tracker = is.getProgressTracker();
@@ -239,4 +283,52 @@ public class IterativeSamplingTests {
 		public boolean isMinCost(int cost) { return false; }
 		public int value(TestObject candidate) { return cost(candidate); }
 	}
+	
+	private static class BatchProblem extends TestProblem {
+		int batches;
+		int batched;
+		@Override public int preferredBatchSize() { return 4; }
+		@Override public void costs(List<TestObject> candidates, double[] costs) {
+			assertTrue(candidates.size() <= 4);
+			batches++;
+			batched += candidates.size();
+			super.costs(candidates, costs);
+		}
+	}
+	
+	private static class InvalidBatchProblem extends TestProblem {
+		int batches;
+		final int size;
+		InvalidBatchProblem(int size) { this.size = size; }
+		@Override public int preferredBatchSize() { return size; }
+		@Override public void costs(List<TestObject> candidates, double[] costs) {
+			assertEquals(1, candidates.size());
+			batches++;
+			super.costs(candidates, costs);
+		}
+	}
+	
+	private static class InvalidBatchProblemInt extends TestProblemInt {
+		int batches;
+		final int size;
+		InvalidBatchProblemInt(int size) { this.size = size; }
+		@Override public int preferredBatchSize() { return size; }
+		@Override public void costs(List<TestObject> candidates, int[] costs) {
+			assertEquals(1, candidates.size());
+			batches++;
+			super.costs(candidates, costs);
+		}
+	}
+	
+	private static class BatchProblemInt extends TestProblemInt {
+		int batches;
+		int batched;
+		@Override public int preferredBatchSize() { return 4; }
+		@Override public void costs(List<TestObject> candidates, int[] costs) {
+			assertTrue(candidates.size() <= 4);
+			batches++;
+			batched += candidates.size();
+			super.costs(candidates, costs);
+		}
+	}
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ package org.cicirello.search.ss;
 
 import org.junit.*;
 import static org.junit.Assert.*;
+import static org.cicirello.math.rand.RandomEngineTests.assertSeeded;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
@@ -530,6 +531,25 @@ public class VBSSTests {
 	}
 	
 	
+	@Test
+	public void testWithEngine() {
+		final ValueBiasedStochasticSampling.BiasFunction bias = 
+			new ValueBiasedStochasticSampling.BiasFunction() {
+				@Override public double bias(double value) { return value; }
+			};
+		for (int n = 2; n < 10; n++) {
+			final int length = n;
+			final IntHeuristic h = new IntHeuristic(new IntProblem(), n);
+			assertSeeded(e -> new ValueBiasedStochasticSampling(h, bias, new ProgressTracker<Permutation>(), e), s -> s.split(), s -> {
+				Permutation p = s.optimize().getSolution();
+				assertEquals(length, p.length());
+				return p;
+			});
+			final DoubleHeuristic d = new DoubleHeuristic(new DoubleProblem(), n);
+			assertSeeded(e -> new ValueBiasedStochasticSampling(d, bias, new ProgressTracker<Permutation>(), e), s -> s.split(), s -> s.optimize().getSolution());
+		}
+	}
+	
 	/*
 	 * Fake heuristic designed for predictable test cases:
 	 * designed to prefer even permutation elements (largest to smallest), followed by odd